@@ -0,0 +1,296 @@
+package battleship;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Skeleton of the {@linkplain Board} implementations, holding the rules every
+ * board shares: the checks on the ships placed, the random placement of the
+ * fleet, the counting of the shots fired (one at a time or in batches) and
+ * the matrix of ships handed out for debugging. A board only stores the ships
+ * and the shots its own way, through {@link #dropShip(Ship)} and
+ * {@link #fire(int, int)}, and keeps its own counts through
+ * {@link #countShots(int, int, int)}; the results of the shots are given by
+ * the rules of the {@linkplain ShotResults}.
+ *
+ * @author Angelo Oparah
+ *
+ */
+abstract class AbstractBoard implements Board, ShipPlacer.Occupancy
+{
+	/**
+	 * matrix of ships built on demand by {@link #getShipArray()}; once built it
+	 * is kept up to date by {@link #viewShip(Ship)} and
+	 * {@link #viewShot(int, int)}.
+	 */
+	private Ship[][] shipArray;
+
+
+	/**
+	 * {@inheritDoc} The matrix is built by {@link #buildShipArray()} the first
+	 * time this method is called, and from then on it will reflect every ship
+	 * placed and every shot fired.
+	 */
+	@Override
+	public Ship[][] getShipArray()
+	{
+		if (shipArray == null)
+		{
+			shipArray = buildShipArray();
+		}
+
+		return shipArray;
+	}
+
+	/**
+	 * Places all the ships randomly on the board in such a way that ships do
+	 * not overlap and are not adjacent to other ships either vertically,
+	 * horizontally, or diagonally.
+	 *
+	 * @throws IllegalStateException
+	 *             if any ship was already placed onto the board.
+	 */
+	@Override
+	public final void placeAllShipsRandomly()
+	{
+		ShipPlacer.checkEmpty(this);
+
+		placeFleet();
+	}
+
+	/**
+	 * Places the given ship onto the board, using its bow coordinates, length
+	 * and orientation to determine the locations it covers.
+	 *
+	 * @param ship
+	 *            the (real) ship to place.
+	 * @throws IllegalArgumentException
+	 *             if the ship is not real, exceeds the board's borders or
+	 *             overlaps with a ship already placed.
+	 */
+	@Override
+	public void placeShip(Ship ship)
+	{
+		ShipPlacer.checkPlacement(getSpec(), ship, this);
+
+		dropShip(ship);
+	}
+
+	/**
+	 * Displays the current status of the board on a numbered grid, using the
+	 * same notation as {@linkplain #getStateAt(int, int)}.
+	 */
+	@Override
+	public void print()
+	{
+		BoardRenderer.print(this);
+	}
+
+	/**
+	 * Shoots at the location correspondent to the given coordinates and updates
+	 * the shot and the hit count. If a location contains a real ship, it
+	 * returns true every time the user shoots at that same location. Once a
+	 * ship has been sunk, additional shots at the same location will return
+	 * {@code false}. Note: the method will also return {@code false} if the
+	 * location falls outside the board's borders.
+	 *
+	 * @param row
+	 *            vertical coordinate to be fired upon.
+	 * @param column
+	 *            horizontal coordinate to be fired upon.
+	 * @return {@code true} if the location contains a real ship still afloat,
+	 *         {@code false} otherwise.
+	 */
+	@Override
+	public boolean shootAt(int row, int column)
+	{
+		return shoot(row, column).isScored();
+	}
+
+	/**
+	 * Shoots at the location correspondent to the given coordinates and updates
+	 * the shot and the hit count, exactly as {@linkplain #shootAt(int, int)}
+	 * does, returning the whole outcome of the shot: a
+	 * {@linkplain ShotOutcome#MISS miss} at sea, a hit on a ship still afloat,
+	 * the hit that sinks it (telling the type of the ship), a shot falling on a
+	 * location already fired upon or, if the location falls outside the
+	 * board's borders, {@linkplain ShotOutcome#OUT_OF_RANGE out of range}.
+	 * Every shot is counted, out of range ones included; only the shots scoring
+	 * a hit on a ship afloat, repeated or not, add to the hit count, and only
+	 * the shot sinking a ship adds to the ships sunk.
+	 *
+	 * @param row
+	 *            vertical coordinate to be fired upon.
+	 * @param column
+	 *            horizontal coordinate to be fired upon.
+	 * @return the outcome of the shot.
+	 */
+	@Override
+	public ShotOutcome shoot(int row, int column)
+	{
+		byte result = fire(row, column);
+
+		countShots(1, ShotResults.isScored(result) ? 1 : 0, ShotResults.outcome(result) == ShotResults.SUNK ? 1 : 0);
+
+		return ShotOutcome.of(result);
+	}
+
+	@Override
+	public void shootAt(int[] rows, int[] columns, byte[] results)
+	{
+		ShotResults.checkBatch(rows.length, columns.length, results.length);
+
+		for (int i = 0; i < rows.length; i++)
+		{
+			results[i] = fire(rows[i], columns[i]);
+		}
+
+		countBatch(results, rows.length);
+	}
+
+	@Override
+	public void shootAt(long[] shots, byte[] results)
+	{
+		ShotResults.checkBatch(shots.length, shots.length, results.length);
+
+		for (int i = 0; i < shots.length; i++)
+		{
+			results[i] = fire(ShotResults.row(shots[i]), ShotResults.column(shots[i]));
+		}
+
+		countBatch(results, shots.length);
+	}
+
+	/**
+	 * Places the whole fleet of the spec, once the board has been checked to
+	 * be empty. By default the positions are drawn by a new
+	 * {@linkplain ShipPlacer} and each ship is placed through
+	 * {@link #placeShip(Ship)}.
+	 */
+	protected void placeFleet()
+	{
+		// the placement engine terminates even on the densest fleets, as it
+		// only draws bows that are still legal
+		new ShipPlacer(getSpec(), ThreadLocalRandom.current()).placeFleet(this);
+	}
+
+	/**
+	 * Stores the given ship, covering the locations given by its bow, length
+	 * and orientation. The ship has already been checked: it is real, within
+	 * the borders of the board and does not overlap with any ship.
+	 *
+	 * @param ship
+	 *            the ship to store.
+	 */
+	protected abstract void dropShip(Ship ship);
+
+	/**
+	 * Fires a shot at the given location, updating the state of the location
+	 * according to the rules of the {@linkplain ShotResults}, but none of the
+	 * counts kept by {@link #countShots(int, int, int)}.
+	 *
+	 * @param row
+	 *            vertical coordinate to be fired upon.
+	 * @param column
+	 *            horizontal coordinate to be fired upon.
+	 * @return the result of the shot, as a code of the
+	 *         {@linkplain ShotResults}.
+	 */
+	protected abstract byte fire(int row, int column);
+
+	/**
+	 * Adds the given shots to the counts of the board, once for every shot
+	 * fired or for a whole batch.
+	 *
+	 * @param fired
+	 *            the number of shots fired.
+	 * @param hits
+	 *            how many of them hit a ship afloat.
+	 * @param sinks
+	 *            how many of them sunk a ship.
+	 */
+	protected abstract void countShots(int fired, int hits, int sinks);
+
+	/**
+	 * Builds the matrix of ships handed out by {@link #getShipArray()}, with
+	 * the ships placed so far and a new {@linkplain EmptySea} on every other
+	 * location, replaying the shots fired at each location.
+	 *
+	 * @return the matrix of ships.
+	 */
+	protected abstract Ship[][] buildShipArray();
+
+	/**
+	 * Indicates whether the matrix of ships has been handed out, and has to be
+	 * kept in sync.
+	 *
+	 * @return {@code true} once {@link #getShipArray()} has been called,
+	 *         {@code false} otherwise.
+	 */
+	protected final boolean hasShipArray()
+	{
+		return shipArray != null;
+	}
+
+	/**
+	 * Drops the given ship onto the matrix of ships, if it has been handed
+	 * out.
+	 *
+	 * @param ship
+	 *            the ship placed.
+	 */
+	protected final void viewShip(Ship ship)
+	{
+		if (shipArray != null)
+		{
+			for (int i = 0; i < ship.getLength(); i++)
+			{
+				int row = ship.isHorizontal() ? ship.getBowRow() : ship.getBowRow() + i;
+				int column = ship.isHorizontal() ? ship.getBowColumn() + i : ship.getBowColumn();
+
+				shipArray[row][column] = ship;
+			}
+		}
+	}
+
+	/**
+	 * Replays the given shot on the matrix of ships, if it has been handed out.
+	 *
+	 * @param row
+	 *            vertical coordinate fired upon, within range.
+	 * @param column
+	 *            horizontal coordinate fired upon, within range.
+	 */
+	protected final void viewShot(int row, int column)
+	{
+		if (shipArray != null)
+		{
+			// keep the matrix handed out for debugging in sync
+			shipArray[row][column].shootAt(row, column);
+		}
+	}
+
+
+	// ============== private methods ============= //
+
+	/**
+	 * Counts a whole batch of shots fired at once.
+	 *
+	 * @param results
+	 *            the results of the shots.
+	 * @param count
+	 *            the number of shots fired.
+	 */
+	private void countBatch(byte[] results, int count)
+	{
+		int hits = 0;
+		int sunk = 0;
+
+		for (int i = 0; i < count; i++)
+		{
+			hits += ShotResults.isScored(results[i]) ? 1 : 0;
+			sunk += ShotResults.outcome(results[i]) == ShotResults.SUNK ? 1 : 0;
+		}
+
+		countShots(count, hits, sunk);
+	}
+}
@@ -25,9 +25,27 @@ public class Battleship extends Ship
 		super(BATTLESHIP_LENGTH);
 	}
 
+	/**
+	 * Creates a real {@linkplain Ship} of length equal to
+	 * {@value #BATTLESHIP_LENGTH} for a board of the given spec.
+	 *
+	 * @param spec
+	 *            spec of the board the ship will be placed onto.
+	 */
+	public Battleship(BoardSpec spec)
+	{
+		super(BATTLESHIP_LENGTH, spec);
+	}
+
 	@Override
 	public String getShipType()
 	{
 		return BATTLESHIP_TYPE;
 	}
+
+	@Override
+	public ShipKind getKind()
+	{
+		return ShipKind.BATTLESHIP;
+	}
 }
@@ -13,13 +13,37 @@ public class BattleshipGame {
      * Runs the Battleship game.
      */
     public static void runGame() {
+        runGame(BoardEngine.GRID);
+    }
+
+    /**
+     * Runs the Battleship game on a board of the given kind.
+     *
+     * @param engine the kind of board to play on
+     */
+    public static void runGame(BoardEngine engine) {
+        runGame(engine, null);
+    }
+
+    /**
+     * Runs the Battleship game on a board of the given kind, letting the
+     * given shooter choose every shot instead of the keyboard.
+     *
+     * @param engine the kind of board to play on
+     * @param shooter the computer player choosing the shots, or
+     *        {@code null} to read them from the keyboard
+     */
+    public static void runGame(BoardEngine engine, Shooter shooter) {
         System.out.println("============ B A T T L E S H I P ============");
-        Ocean ocean = new Ocean();
+        Board ocean = engine.newBoard();
         System.out.println("Placing ships on ocean ...");
         ocean.placeAllShipsRandomly();
         System.out.println("Done");
         System.out.println("The current state of the ocean: ");
         ocean.print();
+        if (shooter != null) {
+            shooter.reset(ocean.getSpec());
+        }
         while (! ocean.isGameOver()) {
             // inform the player of the results of their actions so far
             System.out.println();
@@ -28,17 +52,29 @@ public class BattleshipGame {
             System.out.println("You have sunk " + ocean.getShipsSunk() + " ships.");
 
             // get a new target from the player
-            System.out.println("Please enter the row for your next shot.");
-            int row = getZeroToNine();
-            System.out.println("Please enter the column for your next shot.");
-            int col = getZeroToNine();
+            int row;
+            int col;
+            if (shooter != null) {
+                long shot = shooter.nextShot();
+                row = ShotResults.row(shot);
+                col = ShotResults.column(shot);
+                System.out.println("The computer fires at " + row + ", " + col + ".");
+            } else {
+                System.out.println("Please enter the row for your next shot.");
+                row = getZeroToNine();
+                System.out.println("Please enter the column for your next shot.");
+                col = getZeroToNine();
+            }
 
-            // fire!
-            boolean hit = ocean.shootAt(row, col);
-            if (hit) {
+            // fire! The outcome tells whether a ship was sunk, and which
+            ShotOutcome outcome = ocean.shoot(row, col);
+            if (shooter != null) {
+                shooter.observe(row, col, outcome.isScored(), outcome.isSunk());
+            }
+            if (outcome.isScored()) {
                 System.out.println("Hit!");
-                if (ocean.hasSunkShipAt(row, col)) {
-                    System.out.println("You just sank a " + ocean.getShipTypeAt(row, col));
+                if (outcome.isSunk()) {
+                    System.out.println("You just sank a " + outcome.getShipType());
                 }
             } else {
                 System.out.println("Miss!");
@@ -77,9 +113,12 @@ public class BattleshipGame {
     /**
      * Calls the method to run the game once.
      *
-     * @param args Ignored.
+     * @param args Optionally, the name of the {@link BoardEngine} to use,
+     *        followed by {@code auto} to let the computer play.
      */
     public static void main(String[] args) {
-        runGame();
+        BoardEngine engine = args.length > 0 ? BoardEngine.valueOf(args[0]) : BoardEngine.GRID;
+        boolean auto = args.length > 1 && args[1].equals("auto");
+        runGame(engine, auto ? new HuntTargetShooter() : null);
     }
 }
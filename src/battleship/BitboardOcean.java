@@ -0,0 +1,355 @@
+package battleship;
+
+import java.util.Arrays;
+
+/**
+ * Alternative implementation of the {@linkplain Ocean} that stores the state of
+ * the {@value Ocean#OCEAN_WIDTH} x {@value Ocean#OCEAN_HEIGHT} matrix as packed
+ * bit masks rather than as a matrix of {@linkplain Ship} references. Each
+ * location is mapped to a single bit (row by row, starting from the top left
+ * corner) of three masks: one for the occupied locations, one for the locations
+ * fired upon and one for the locations containing a sunken ship. Probing a
+ * location therefore only requires a bitwise operation rather than a call on a
+ * {@linkplain Ship} instance.
+ *
+ * @author Angelo Oparah
+ *
+ */
+public class BitboardOcean extends AbstractBoard
+{
+	/** number of locations in the ocean. */
+	private static final int CELLS = Ocean.OCEAN_HEIGHT * Ocean.OCEAN_WIDTH;
+
+	/** number of {@code long} words needed to map every location to a bit. */
+	private static final int WORDS = (CELLS + Long.SIZE - 1) / Long.SIZE;
+
+	/** bits set for the locations containing a real ship. */
+	private final long[] occupied = new long[WORDS];
+
+	/** bits set for the locations that have been fired upon. */
+	private final long[] shots = new long[WORDS];
+
+	/** bits set for the locations containing a sunken ship. */
+	private final long[] sunk = new long[WORDS];
+
+	/**
+	 * maps each location to the (1-based) index of the ship covering it in the
+	 * fleet; {@code 0} means empty sea.
+	 */
+	private final byte[] shipIndexAt = new byte[CELLS];
+
+	/** composition of the fleet; the dimensions are the standard ones. */
+	private final BoardSpec spec;
+
+	/** ships placed onto the ocean, in order of placement. */
+	private Ship[] fleet;
+
+	/** masks of the locations covered by each ship: {@value #WORDS} per ship. */
+	private long[] fleetMasks;
+
+	/** number of ships placed onto the ocean. */
+	private int fleetSize;
+
+	/** count of the total shots fired at any given time of the game. */
+	private int shotsFired;
+
+	/** count of the total times a shot hit any ship that was not sunken. */
+	private int hitCount;
+
+	/** number of ships sunk. */
+	private int shipsSunk;
+
+
+	/**
+	 * Constructs a new empty BitboardOcean and sets the hit, the shot and the
+	 * ship sunk count to {@code 0}.
+	 */
+	public BitboardOcean()
+	{
+		this(BoardSpec.STANDARD);
+	}
+
+	/**
+	 * Constructs a new empty BitboardOcean that will hold the fleet given by
+	 * the spec. Every mask starts cleared, meaning empty sea.
+	 *
+	 * @param spec
+	 *            composition of the fleet.
+	 * @throws IllegalArgumentException
+	 *             if the spec does not have the standard {@linkplain Ocean}
+	 *             dimensions.
+	 */
+	public BitboardOcean(BoardSpec spec)
+	{
+		if (spec.getHeight() != Ocean.OCEAN_HEIGHT || spec.getWidth() != Ocean.OCEAN_WIDTH)
+		{
+			throw new IllegalArgumentException("Illegal non standard dimensions for a bitboard: " + spec);
+		}
+
+		this.spec = spec;
+
+		// make room for the whole fleet (and at least one ship)
+		fleet = new Ship[Math.max(1, spec.getFleetSize())];
+		fleetMasks = new long[fleet.length * WORDS];
+	}
+
+	@Override
+	public BoardSpec getSpec()
+	{
+		return spec;
+	}
+
+	@Override
+	public int getShotsFired()
+	{
+		return shotsFired;
+	}
+
+	@Override
+	public int getHitCount()
+	{
+		return hitCount;
+	}
+
+	@Override
+	public int getShipsSunk()
+	{
+		return shipsSunk;
+	}
+
+	@Override
+	public int getShipsPlaced()
+	{
+		return fleetSize;
+	}
+
+	@Override
+	public boolean isGameOver()
+	{
+		return shipsSunk == spec.getFleetSize();
+	}
+
+	@Override
+	public boolean isOccupied(int row, int column)
+	{
+		if (spec.contains(row, column))
+		{
+			// check only if the coordinates are in range
+			return isSet(occupied, row * Ocean.OCEAN_WIDTH + column);
+		}
+
+		return false;
+	}
+
+	@Override
+	public String getShipTypeAt(int row, int column)
+	{
+		spec.checkLocation(row, column);
+
+		int shipIndex = shipIndexAt[row * Ocean.OCEAN_WIDTH + column];
+
+		return shipIndex == 0 ? EmptySea.EMPTY_SEA_TYPE : fleet[shipIndex - 1].getShipType();
+	}
+
+	@Override
+	public boolean hasSunkShipAt(int row, int column)
+	{
+		if (spec.contains(row, column))
+		{
+			// check only if the coordinates are in range
+			return isSet(sunk, row * Ocean.OCEAN_WIDTH + column);
+		}
+
+		return false;
+	}
+
+	/**
+	 * Returns a {@code char} representing the current state of the given
+	 * location: "x" for a sunken ship, "S" for a ship part that was hit, "-"
+	 * for empty sea that was fired upon and "." for a location yet to be fired
+	 * upon.
+	 *
+	 * @param row
+	 *            vertical coordinate of the location to display.
+	 * @param column
+	 *            horizontal coordinate of the location to display.
+	 * @return a {@code char} representing the state of the location.
+	 * @throws IllegalArgumentException
+	 *             if the coordinates provided fall outside the ocean.
+	 */
+	@Override
+	public char getStateAt(int row, int column)
+	{
+		spec.checkLocation(row, column);
+
+		int cell = row * Ocean.OCEAN_WIDTH + column;
+
+		if (isSet(sunk, cell))
+		{
+			return 'x';
+		}
+		if (isSet(shots, cell))
+		{
+			return isSet(occupied, cell) ? 'S' : '-';
+		}
+
+		return '.';
+	}
+
+	/**
+	 * {@inheritDoc} Changes made directly to the matrix are not reflected by
+	 * the bit masks.
+	 */
+	@Override
+	protected Ship[][] buildShipArray()
+	{
+		Ship[][] shipArray = new Ship[Ocean.OCEAN_HEIGHT][Ocean.OCEAN_WIDTH];
+
+		for (int i = 0; i < Ocean.OCEAN_HEIGHT; i++)
+		{
+			for (int j = 0; j < Ocean.OCEAN_WIDTH; j++)
+			{
+				int cell = i * Ocean.OCEAN_WIDTH + j;
+				int shipIndex = shipIndexAt[cell];
+
+				// pick the ship covering the location or create an empty
+				// sea, then replay the shot fired at it (if any)
+				Ship ship = shipIndex == 0 ? Ocean.createShip(ShipKind.EMPTY_SEA, spec, i, j, true)
+						: fleet[shipIndex - 1];
+
+				if (isSet(shots, cell))
+				{
+					ship.shootAt(i, j);
+				}
+
+				shipArray[i][j] = ship;
+			}
+		}
+
+		return shipArray;
+	}
+
+	@Override
+	protected byte fire(int row, int column)
+	{
+		// try and hit ships only within the ocean's borders
+		if (!spec.contains(row, column))
+		{
+			return ShotResults.OUT_OF_RANGE;
+		}
+
+		int cell = row * Ocean.OCEAN_WIDTH + column;
+
+		if (isSet(sunk, cell))
+		{
+			return ShotResults.shotAtSunkShip(ShotResults.kindOf(fleet[shipIndexAt[cell] - 1]));
+		}
+
+		boolean repeated = isSet(shots, cell);
+
+		shots[cell >>> 6] |= 1L << cell;
+		viewShot(row, column);
+
+		if (!isSet(occupied, cell))
+		{
+			return ShotResults.shotAtSea(repeated);
+		}
+
+		int shipIndex = shipIndexAt[cell] - 1;
+		boolean sinking = !repeated && isShipSunk(shipIndex);
+
+		if (sinking)
+		{
+			// mark all of the locations of the ship as sunk
+			for (int w = 0; w < WORDS; w++)
+			{
+				sunk[w] |= fleetMasks[shipIndex * WORDS + w];
+			}
+		}
+
+		return ShotResults.shotAtShip(ShotResults.kindOf(fleet[shipIndex]), repeated, sinking);
+	}
+
+	@Override
+	protected void countShots(int fired, int hits, int sinks)
+	{
+		shotsFired += fired;
+		hitCount += hits;
+		shipsSunk += sinks;
+	}
+
+	/**
+	 * Sets the bits of the locations covered by the given ship and adds it to
+	 * the fleet. No check is performed on the area covered.
+	 *
+	 * @param ship
+	 *            the ship to add.
+	 */
+	@Override
+	protected void dropShip(Ship ship)
+	{
+		if (fleetSize == fleet.length)
+		{
+			// more ships than a standard fleet: make room for them
+			fleet = Arrays.copyOf(fleet, fleetSize * 2);
+			fleetMasks = Arrays.copyOf(fleetMasks, fleetSize * 2 * WORDS);
+		}
+
+		fleet[fleetSize++] = ship;
+
+		for (int i = 0; i < ship.getLength(); i++)
+		{
+			int row = ship.isHorizontal() ? ship.getBowRow() : ship.getBowRow() + i;
+			int column = ship.isHorizontal() ? ship.getBowColumn() + i : ship.getBowColumn();
+			int cell = row * Ocean.OCEAN_WIDTH + column;
+
+			occupied[cell >>> 6] |= 1L << cell;
+			fleetMasks[(fleetSize - 1) * WORDS + (cell >>> 6)] |= 1L << cell;
+			shipIndexAt[cell] = (byte) fleetSize;
+		}
+
+		viewShip(ship);
+	}
+
+
+	// ============== private methods ============= //
+
+	/**
+	 * Indicates whether the bit mapped to the given location is set in the
+	 * given mask.
+	 *
+	 * @param mask
+	 *            the mask to check.
+	 * @param cell
+	 *            index of the location, row by row.
+	 * @return {@code true} if the bit is set, {@code false} otherwise.
+	 */
+	private static boolean isSet(long[] mask, int cell)
+	{
+		// shifting a long only takes the lowest 6 bits of the distance into
+		// account, so there is no need to mask the cell index
+		return (mask[cell >>> 6] & (1L << cell)) != 0;
+	}
+
+	/**
+	 * Indicates whether every location covered by the ship at the given index
+	 * in the fleet has been fired upon.
+	 *
+	 * @param shipIndex
+	 *            (0-based) index of the ship in the fleet.
+	 * @return {@code true} if the ship is sunk, {@code false} otherwise.
+	 */
+	private boolean isShipSunk(int shipIndex)
+	{
+		for (int w = 0; w < WORDS; w++)
+		{
+			if ((fleetMasks[shipIndex * WORDS + w] & ~shots[w]) != 0)
+			{
+				// at least one part of the ship is yet to be fired upon
+				return false;
+			}
+		}
+
+		return true;
+	}
+}
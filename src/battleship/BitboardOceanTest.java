@@ -0,0 +1,18 @@
+package battleship;
+
+/**
+ * Runs every test in {@linkplain OceanTest} against the
+ * {@linkplain BitboardOcean} implementation.
+ *
+ * @author Angelo Oparah
+ *
+ */
+public class BitboardOceanTest extends OceanTest
+{
+	/** {@inheritDoc} */
+	@Override
+	protected Board createOcean()
+	{
+		return new BitboardOcean();
+	}
+}
@@ -0,0 +1,218 @@
+package battleship;
+
+/**
+ * Common contract of the boards the Battleship game can be played on. The
+ * {@linkplain Ocean} keeps a {@linkplain Ship} reference in every cell, while
+ * other implementations (such as the {@linkplain BitboardOcean}) are free to
+ * store the same information in a more compact way: from the outside they all
+ * behave exactly the same.
+ *
+ * @author Angelo Oparah
+ *
+ */
+public interface Board
+{
+	/**
+	 * Returns the dimensions of the board and the composition of its fleet.
+	 *
+	 * @return the spec of the board.
+	 */
+	BoardSpec getSpec();
+
+	/**
+	 * Returns the total number of shots fired.
+	 *
+	 * @return the number of shots fired.
+	 */
+	int getShotsFired();
+
+	/**
+	 * Returns the hit count, that is the count of how many times a ship was
+	 * hit.
+	 *
+	 * @return the current hit count.
+	 */
+	int getHitCount();
+
+	/**
+	 * Returns the current number of ships sunk.
+	 *
+	 * @return the number of ships sunk.
+	 */
+	int getShipsSunk();
+
+	/**
+	 * Returns the number of ships placed onto the board so far.
+	 *
+	 * @return the number of ships placed.
+	 */
+	int getShipsPlaced();
+
+	/**
+	 * Indicates if the game is still on or not.
+	 *
+	 * @return {@code true} if all ships have been sunk, {@code false}
+	 *         otherwise.
+	 */
+	boolean isGameOver();
+
+	/**
+	 * Returns a 2-dimensional array containing the ships in the board. Used for
+	 * testing and debugging purposes.
+	 *
+	 * @return the array containing the ships in the board.
+	 */
+	Ship[][] getShipArray();
+
+	/**
+	 * Places all the ships randomly on the board in such a way that ships do
+	 * not overlap and are not adjacent to other ships either vertically,
+	 * horizontally, or diagonally. The fleet can only be placed onto an empty
+	 * board: the positions drawn ignore any ship placed beforehand, so that
+	 * they would either overlap with it or lie next to it.
+	 *
+	 * @throws IllegalStateException
+	 *             if any ship was already placed onto the board.
+	 */
+	void placeAllShipsRandomly();
+
+	/**
+	 * Places the given ship onto the board, using its bow coordinates, length
+	 * and orientation to determine the locations it covers. Note: unlike
+	 * {@link #placeAllShipsRandomly()} adjacency is not checked, so that any
+	 * layout can be reproduced.
+	 *
+	 * @param ship
+	 *            the (real) ship to place.
+	 * @throws IllegalArgumentException
+	 *             if the ship is not real, exceeds the board's borders or
+	 *             overlaps with a ship already placed.
+	 */
+	void placeShip(Ship ship);
+
+	/**
+	 * Checks whether or not the location specified contains a real ship. Note:
+	 * if the coordinates given are out of range the method returns
+	 * {@code false}.
+	 *
+	 * @param row
+	 *            vertical coordinate of the ship.
+	 * @param column
+	 *            horizontal coordinate of the ship.
+	 *
+	 * @return {@code true} if the ship at the specified location is real,
+	 *         {@code false} otherwise.
+	 */
+	boolean isOccupied(int row, int column);
+
+	/**
+	 * Returns the ship type at the given location.
+	 *
+	 * @param row
+	 *            vertical coordinate of the ship.
+	 * @param column
+	 *            horizontal coordinate of the ship.
+	 * @return the type of the ship at the location specified.
+	 * @throws IllegalArgumentException
+	 *             if the coordinates provided fall outside the board.
+	 */
+	String getShipTypeAt(int row, int column);
+
+	/**
+	 * Indicates if the given location contains a sunken ship. Note: if the
+	 * coordinates given are out of range the method returns {@code false}.
+	 *
+	 * @param row
+	 *            vertical coordinate.
+	 * @param column
+	 *            horizontal coordinate.
+	 * @return {@code true} if the location contains a sunken ship,
+	 *         {@code false} otherwise.
+	 */
+	boolean hasSunkShipAt(int row, int column);
+
+	/**
+	 * Returns a {@code char} representing the current state of the given
+	 * location: "." for a location that is yet to be fired upon, "-" for empty
+	 * sea that was fired upon, "S" for a part of a ship afloat that was hit
+	 * and "x" for any part of a sunk ship.
+	 *
+	 * @param row
+	 *            vertical coordinate of the location.
+	 * @param column
+	 *            horizontal coordinate of the location.
+	 * @return a {@code char} representing the state of the location.
+	 * @throws IllegalArgumentException
+	 *             if the coordinates provided fall outside the board.
+	 */
+	char getStateAt(int row, int column);
+
+	/**
+	 * Displays the current status of the board on a numbered grid, as
+	 * rendered by the {@linkplain BoardRenderer}, with a single write.
+	 */
+	void print();
+
+	/**
+	 * Shoots at the location correspondent to the given coordinates and updates
+	 * the shot and the hit count.
+	 *
+	 * @param row
+	 *            vertical coordinate to be fired upon.
+	 * @param column
+	 *            horizontal coordinate to be fired upon.
+	 * @return {@code true} if the location contains a real ship still afloat,
+	 *         {@code false} otherwise.
+	 */
+	boolean shootAt(int row, int column);
+
+	/**
+	 * Shoots at the location correspondent to the given coordinates and updates
+	 * the shot and the hit count, exactly as
+	 * {@linkplain #shootAt(int, int)}, but tells the whole outcome of the shot
+	 * at once: whether it missed, hit, sunk a ship (and of what type), fell on
+	 * a location already fired upon or fell outside the board. Nothing is
+	 * allocated, and the location is looked up once.
+	 *
+	 * @param row
+	 *            vertical coordinate to be fired upon.
+	 * @param column
+	 *            horizontal coordinate to be fired upon.
+	 * @return the outcome of the shot.
+	 */
+	ShotOutcome shoot(int row, int column);
+
+	/**
+	 * Shoots at every location of the given batch, in order, and stores the
+	 * result of each shot as a code of the {@linkplain ShotResults}. The
+	 * board ends up in the same state as if each shot had been fired with
+	 * {@link #shootAt(int, int)}, but the shot, the hit and the ship sunk count
+	 * are updated once for the whole batch.
+	 *
+	 * @param rows
+	 *            vertical coordinates to be fired upon.
+	 * @param columns
+	 *            horizontal coordinates to be fired upon, as many as the rows.
+	 * @param results
+	 *            destination of the result of each shot; must have room for
+	 *            at least as many results as there are shots.
+	 * @throws IllegalArgumentException
+	 *             if the lengths of the arrays do not match.
+	 */
+	void shootAt(int[] rows, int[] columns, byte[] results);
+
+	/**
+	 * Shoots at every location of the given batch, in order, and stores the
+	 * result of each shot, just like {@link #shootAt(int[], int[], byte[])}.
+	 *
+	 * @param shots
+	 *            locations to be fired upon, as packed by
+	 *            {@linkplain ShotResults#shot(int, int)}.
+	 * @param results
+	 *            destination of the result of each shot; must have room for
+	 *            at least as many results as there are shots.
+	 * @throws IllegalArgumentException
+	 *             if there is not enough room for the results.
+	 */
+	void shootAt(long[] shots, byte[] results);
+}
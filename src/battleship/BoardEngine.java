@@ -0,0 +1,94 @@
+package battleship;
+
+/**
+ * Lists the available {@linkplain Board} implementations, so that the one to
+ * play on can be selected by name (for instance from the command line).
+ *
+ * @author Angelo Oparah
+ *
+ */
+public enum BoardEngine
+{
+	/** the {@linkplain Ocean}, holding a {@linkplain Ship} in every location. */
+	GRID
+	{
+		@Override
+		public Board newBoard(BoardSpec spec)
+		{
+			return new Ocean(spec);
+		}
+	},
+
+	/** the {@linkplain BitboardOcean}, holding the locations as bit masks. */
+	BITBOARD
+	{
+		@Override
+		public Board newBoard(BoardSpec spec)
+		{
+			return new BitboardOcean(spec);
+		}
+	},
+
+	/** the {@linkplain SparseOcean}, only indexing the locations of ships. */
+	SPARSE
+	{
+		@Override
+		public Board newBoard(BoardSpec spec)
+		{
+			return new SparseOcean(spec);
+		}
+	},
+
+	/** the {@linkplain ConcurrentOcean}, safe to shoot at from many threads. */
+	CONCURRENT
+	{
+		@Override
+		public Board newBoard(BoardSpec spec)
+		{
+			return new ConcurrentOcean(spec);
+		}
+	},
+
+	/** the {@linkplain SharedOcean}, locking stripes of rows independently. */
+	SHARED
+	{
+		@Override
+		public Board newBoard(BoardSpec spec)
+		{
+			return new SharedOcean(spec);
+		}
+	},
+
+	/** the {@linkplain FleetTableOcean}, holding the fleet as primitive columns. */
+	TABLE
+	{
+		@Override
+		public Board newBoard(BoardSpec spec)
+		{
+			return new FleetTableOcean(spec);
+		}
+	};
+
+
+	/**
+	 * Creates a new empty standard board of this kind.
+	 *
+	 * @return a new {@linkplain Board} with no ships placed onto it.
+	 */
+	public Board newBoard()
+	{
+		return newBoard(BoardSpec.STANDARD);
+	}
+
+	/**
+	 * Creates a new empty board of this kind, with the dimensions and the fleet
+	 * given by the spec.
+	 *
+	 * @param spec
+	 *            dimensions of the board and composition of the fleet.
+	 * @return a new {@linkplain Board} with no ships placed onto it.
+	 * @throws IllegalArgumentException
+	 *             if this kind of board does not support the spec.
+	 */
+	public abstract Board newBoard(BoardSpec spec);
+}
@@ -0,0 +1,156 @@
+package battleship;
+
+import java.util.function.ObjLongConsumer;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * Generates boards with a randomly placed fleet in bulk. Every board is
+ * identified by its index: the fleet of the board at a given index is placed
+ * drawing from its own {@linkplain SplitMixRandom} stream, derived from the
+ * seed of the generator and the index alone, so that a (seed, index) pair
+ * always reproduces the same board, whether boards are generated one at a
+ * time, sequentially or in parallel and in whatever order. As the streams
+ * share no state, boards are generated in parallel without contention.
+ *
+ * @author Angelo Oparah
+ *
+ */
+public class BoardGenerator
+{
+	/** kind of the boards generated. */
+	private final BoardEngine engine;
+
+	/** dimensions of the boards and composition of their fleet. */
+	private final BoardSpec spec;
+
+	/** seed of the family of random streams the fleets are placed from. */
+	private final long seed;
+
+
+	/**
+	 * Builds a new generator of boards of the given kind and spec.
+	 *
+	 * @param engine
+	 *            the kind of the boards to generate.
+	 * @param spec
+	 *            dimensions of the boards and composition of their fleet.
+	 * @param seed
+	 *            seed identifying the boards generated.
+	 * @throws IllegalArgumentException
+	 *             if the kind of board does not support the spec.
+	 */
+	public BoardGenerator(BoardEngine engine, BoardSpec spec, long seed)
+	{
+		if (engine == null || spec == null)
+		{
+			throw new IllegalArgumentException("Illegal engine or spec: " + engine + ", " + spec);
+		}
+
+		// fail now rather than on every board
+		engine.newBoard(spec);
+
+		this.engine = engine;
+		this.spec = spec;
+		this.seed = seed;
+	}
+
+	/**
+	 * Returns the seed identifying the boards generated.
+	 *
+	 * @return the seed of the generator.
+	 */
+	public long getSeed()
+	{
+		return seed;
+	}
+
+	/**
+	 * Generates the board at the given index.
+	 *
+	 * @param index
+	 *            the index of the board.
+	 * @return a new {@linkplain Board} with the whole fleet placed onto it.
+	 */
+	public Board generate(long index)
+	{
+		Board board = engine.newBoard(spec);
+
+		new ShipPlacer(spec, SplitMixRandom.forIndex(seed, index)).placeFleet(board);
+
+		return board;
+	}
+
+	/**
+	 * Generates the given number of consecutive boards in parallel.
+	 *
+	 * @param fromIndex
+	 *            the index of the first board.
+	 * @param count
+	 *            the number of boards to generate.
+	 * @return the boards generated, in order of index.
+	 * @throws IllegalArgumentException
+	 *             if the count is negative.
+	 */
+	public Board[] generate(long fromIndex, int count)
+	{
+		if (count < 0)
+		{
+			throw new IllegalArgumentException("Illegal negative count: " + count);
+		}
+
+		Board[] boards = new Board[count];
+
+		LongStream.range(0, count).parallel().forEach(i -> boards[(int) i] = generate(fromIndex + i));
+
+		return boards;
+	}
+
+	/**
+	 * Generates the given number of consecutive boards in parallel, handing
+	 * each of them, together with its index, to the given consumer as soon as
+	 * it is ready; no more boards than the threads generating them are held at
+	 * any time, which makes this method suitable for millions of boards. Note:
+	 * the consumer is invoked concurrently and in no particular order.
+	 *
+	 * @param fromIndex
+	 *            the index of the first board.
+	 * @param count
+	 *            the number of boards to generate.
+	 * @param consumer
+	 *            the consumer of each board and of its index.
+	 * @throws IllegalArgumentException
+	 *             if the count is negative.
+	 */
+	public void forEach(long fromIndex, long count, ObjLongConsumer<Board> consumer)
+	{
+		if (count < 0)
+		{
+			throw new IllegalArgumentException("Illegal negative count: " + count);
+		}
+
+		LongStream.range(fromIndex, fromIndex + count).parallel().forEach(i -> consumer.accept(generate(i), i));
+	}
+
+	/**
+	 * Returns a parallel stream of the given number of consecutive boards,
+	 * generated lazily as the stream is consumed.
+	 *
+	 * @param fromIndex
+	 *            the index of the first board.
+	 * @param count
+	 *            the number of boards in the stream.
+	 * @return a stream of the boards, ordered by index.
+	 * @throws IllegalArgumentException
+	 *             if the count is negative.
+	 */
+	public Stream<Board> stream(long fromIndex, long count)
+	{
+		if (count < 0)
+		{
+			throw new IllegalArgumentException("Illegal negative count: " + count);
+		}
+
+		return LongStream.range(fromIndex, fromIndex + count).parallel().mapToObj(this::generate);
+	}
+}
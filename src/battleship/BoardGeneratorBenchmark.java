@@ -0,0 +1,93 @@
+package battleship;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Measures the throughput of the {@linkplain BoardGenerator}: for every kind of
+ * board it generates a few million standard boards, first on a single thread
+ * and then in parallel across every core, and reports the boards generated per
+ * second overall and per core.
+ *
+ * @author Angelo Oparah
+ *
+ */
+public class BoardGeneratorBenchmark
+{
+	/** number of boards generated by each measurement. */
+	private static final long BOARDS = 2_000_000;
+
+	/** seed of the boards generated. */
+	private static final long SEED = 42;
+
+
+	/**
+	 * Runs the benchmark for every kind of board, printing one line per
+	 * measurement.
+	 *
+	 * @param args
+	 *            optionally, the number of boards to generate.
+	 */
+	public static void main(String[] args)
+	{
+		long boards = args.length > 0 ? Long.parseLong(args[0]) : BOARDS;
+		int cores = Runtime.getRuntime().availableProcessors();
+
+		System.out.printf("%-10s %-10s %8s %16s %20s%n", "engine", "mode", "threads", "boards/s",
+				"boards/s/core");
+
+		for (BoardEngine engine : BoardEngine.values())
+		{
+			BoardGenerator generator = new BoardGenerator(engine, BoardSpec.STANDARD, SEED);
+
+			// warm up the code before measuring it
+			measure(generator, boards / 10, false);
+
+			double sequential = measure(generator, boards, false);
+			double parallel = measure(generator, boards, true);
+
+			System.out.printf("%-10s %-10s %8d %16.0f %20.0f%n", engine, "sequential", 1, sequential, sequential);
+			System.out.printf("%-10s %-10s %8d %16.0f %20.0f%n", engine, "parallel", cores, parallel,
+					parallel / cores);
+		}
+	}
+
+	/**
+	 * Generates the given number of boards and returns the throughput.
+	 *
+	 * @param generator
+	 *            the generator of the boards.
+	 * @param boards
+	 *            the number of boards to generate.
+	 * @param parallel
+	 *            whether the boards should be generated across every core.
+	 * @return the number of boards generated per second.
+	 */
+	private static double measure(BoardGenerator generator, long boards, boolean parallel)
+	{
+		// consume every board, so that none of them can be optimized away
+		LongAdder occupied = new LongAdder();
+
+		long start = System.nanoTime();
+
+		if (parallel)
+		{
+			generator.forEach(0, boards, (board, index) -> occupied.add(board.isOccupied(0, 0) ? 1 : 0));
+		}
+		else
+		{
+			for (long i = 0; i < boards; i++)
+			{
+				occupied.add(generator.generate(i).isOccupied(0, 0) ? 1 : 0);
+			}
+		}
+
+		long elapsed = System.nanoTime() - start;
+
+		if (occupied.sum() > boards)
+		{
+			throw new IllegalStateException("Unexpected number of boards: " + occupied.sum());
+		}
+
+		return boards * 1e9 / elapsed;
+	}
+}
@@ -0,0 +1,109 @@
+package battleship;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import org.junit.Test;
+
+/**
+ * Test class to test the API of the {@linkplain BoardGenerator} class.
+ *
+ * @author Angelo Oparah
+ *
+ */
+public class BoardGeneratorTest
+{
+	/** default timeout test duration in milliseconds */
+	private static final int DEFAULT_TIMEOUT = 5000;
+
+	/**
+	 * A (seed, index) pair should always reproduce the same board, whether it
+	 * is generated on its own or in parallel with others, and on any kind of
+	 * board
+	 */
+	@Test(timeout = DEFAULT_TIMEOUT)
+	public void test_generate_sameSeedAndIndexShouldReproduceTheSameBoard()
+	{
+		// if we generate a batch of boards in parallel
+		BoardGenerator generator = new BoardGenerator(BoardEngine.GRID, BoardSpec.STANDARD, 42);
+		Board[] boards = generator.generate(1000, 200);
+
+		for (int i = 0; i < boards.length; i++)
+		{
+			// each of them should be the same as the board generated on its
+			// own, on a fresh generator and on a different kind of board
+			Board board = new BoardGenerator(BoardEngine.SPARSE, BoardSpec.STANDARD, 42).generate(1000 + i);
+
+			assertEquals("board not reproduced", layoutOf(board), layoutOf(boards[i]));
+		}
+	}
+
+	/**
+	 * Different indexes or seeds should produce different boards
+	 */
+	@Test(timeout = DEFAULT_TIMEOUT)
+	public void test_generate_differentSeedOrIndexShouldProduceDifferentBoards()
+	{
+		BoardGenerator generator = new BoardGenerator(BoardEngine.GRID, BoardSpec.STANDARD, 42);
+		String layout = layoutOf(generator.generate(0));
+
+		assertNotEquals("same board for a different index", layout, layoutOf(generator.generate(1)));
+		assertNotEquals("same board for a different seed", layout,
+				layoutOf(new BoardGenerator(BoardEngine.GRID, BoardSpec.STANDARD, 43).generate(0)));
+	}
+
+	/**
+	 * Every board handed to the consumer should have its whole fleet placed
+	 */
+	@Test(timeout = DEFAULT_TIMEOUT)
+	public void test_forEach_everyBoardShouldHaveTheWholeFleetPlaced()
+	{
+		BoardGenerator generator = new BoardGenerator(BoardEngine.BITBOARD, BoardSpec.STANDARD, 7);
+		long[] occupied = new long[1];
+
+		generator.forEach(0, 1000, (board, index) -> {
+			int cells = 0;
+
+			for (int i = 0; i < Ocean.OCEAN_HEIGHT; i++)
+			{
+				for (int j = 0; j < Ocean.OCEAN_WIDTH; j++)
+				{
+					cells += board.isOccupied(i, j) ? 1 : 0;
+				}
+			}
+
+			synchronized (occupied)
+			{
+				occupied[0] += cells;
+			}
+		});
+
+		assertEquals("incorrect number of locations occupied", 1000L * BoardSpec.STANDARD.getFleetArea(),
+				occupied[0]);
+	}
+
+
+	// ======================= helper methods ======================== //
+
+	/**
+	 * Returns the type of ship in every location of the board, row by row.
+	 *
+	 * @param board
+	 *            the board to describe.
+	 * @return a description of the layout of the fleet.
+	 */
+	private static String layoutOf(Board board)
+	{
+		StringBuilder layout = new StringBuilder();
+
+		for (int i = 0; i < Ocean.OCEAN_HEIGHT; i++)
+		{
+			for (int j = 0; j < Ocean.OCEAN_WIDTH; j++)
+			{
+				layout.append(board.getShipTypeAt(i, j).charAt(0));
+			}
+		}
+
+		return layout.toString();
+	}
+}
@@ -0,0 +1,288 @@
+package battleship;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+
+/**
+ * Renders the current status of a {@linkplain Board} on a numbered grid: the
+ * first line lists the column numbers and every following line starts with
+ * its row number, followed by the state of each location as returned by
+ * {@linkplain Board#getStateAt(int, int)}. The whole grid is written in a
+ * single pass into a caller-supplied {@linkplain Appendable}, {@code char}
+ * array or {@linkplain ByteBuffer}, without allocating anything per location,
+ * so that the same buffer can be reused to render a board over and over.
+ *
+ * @author Angelo Oparah
+ *
+ */
+public final class BoardRenderer
+{
+	/** separator written at the end of each line. */
+	private static final String LINE_SEPARATOR = System.lineSeparator();
+
+
+	/**
+	 * Prevents the instantiation of this utility class.
+	 */
+	private BoardRenderer()
+	{
+	}
+
+	/**
+	 * Returns the exact number of {@code char}s the grid of a board with the
+	 * given spec is rendered into.
+	 *
+	 * @param spec
+	 *            dimensions of the board.
+	 * @return the length of the rendered grid.
+	 */
+	public static int renderedLength(BoardSpec spec)
+	{
+		// the first line holds a space, the column numbers and a separator;
+		// every other line a row number, a char per location and a separator
+		long length = 1 + digitCount(spec.getWidth()) + LINE_SEPARATOR.length() + digitCount(spec.getHeight())
+				+ (long) spec.getHeight() * (spec.getWidth() + LINE_SEPARATOR.length());
+
+		if (length > Integer.MAX_VALUE)
+		{
+			throw new IllegalArgumentException("Illegal spec too large to render: " + spec);
+		}
+
+		return (int) length;
+	}
+
+	/**
+	 * Renders the grid of the given board into the given {@linkplain
+	 * Appendable}.
+	 *
+	 * @param board
+	 *            the board to render.
+	 * @param out
+	 *            the destination of the grid.
+	 * @throws IOException
+	 *             if the destination fails to append the grid.
+	 */
+	public static void render(Board board, Appendable out) throws IOException
+	{
+		int height = board.getSpec().getHeight();
+		int width = board.getSpec().getWidth();
+
+		// the first row of numbers
+		out.append(' ');
+
+		for (int j = 0; j < width; j++)
+		{
+			appendNumber(out, j);
+		}
+		out.append(LINE_SEPARATOR);
+
+		for (int i = 0; i < height; i++)
+		{
+			// the first column of numbers, then whatever is in the board
+			appendNumber(out, i);
+
+			for (int j = 0; j < width; j++)
+			{
+				out.append(board.getStateAt(i, j));
+			}
+			out.append(LINE_SEPARATOR);
+		}
+	}
+
+	/**
+	 * Renders the grid of the given board into the given array, starting at
+	 * the given offset.
+	 *
+	 * @param board
+	 *            the board to render.
+	 * @param buffer
+	 *            the destination of the grid; must have room for at least
+	 *            {@link #renderedLength(BoardSpec)} {@code char}s past the
+	 *            offset.
+	 * @param offset
+	 *            the index of the first {@code char} to write.
+	 * @return the number of {@code char}s written.
+	 * @throws IllegalArgumentException
+	 *             if the array has not enough room for the grid.
+	 */
+	public static int render(Board board, char[] buffer, int offset)
+	{
+		int length = renderedLength(board.getSpec());
+
+		if (offset < 0 || offset > buffer.length - length)
+		{
+			throw new IllegalArgumentException("Illegal buffer with no room for " + length + " chars at offset: "
+					+ offset);
+		}
+
+		try
+		{
+			render(board, CharBuffer.wrap(buffer, offset, length));
+		}
+		catch (IOException e)
+		{
+			// a char buffer never fails to append
+			throw new UncheckedIOException(e);
+		}
+
+		return length;
+	}
+
+	/**
+	 * Renders the grid of the given board into the given buffer, one byte per
+	 * {@code char} (the grid is plain ASCII), starting at its position.
+	 *
+	 * @param board
+	 *            the board to render.
+	 * @param buffer
+	 *            the destination of the grid; its position is advanced past
+	 *            the grid.
+	 * @return the number of bytes written.
+	 * @throws IllegalArgumentException
+	 *             if the buffer has not enough room for the grid.
+	 */
+	public static int render(Board board, ByteBuffer buffer)
+	{
+		int length = renderedLength(board.getSpec());
+
+		if (buffer.remaining() < length)
+		{
+			throw new IllegalArgumentException("Illegal buffer with no room for " + length + " bytes: "
+					+ buffer.remaining());
+		}
+
+		try
+		{
+			render(board, new AsciiAppender(buffer));
+		}
+		catch (IOException e)
+		{
+			// a byte buffer never fails to append
+			throw new UncheckedIOException(e);
+		}
+
+		return length;
+	}
+
+	/**
+	 * Writes the grid of the given board to the standard output with a single
+	 * write.
+	 *
+	 * @param board
+	 *            the board to print.
+	 */
+	public static void print(Board board)
+	{
+		char[] grid = new char[renderedLength(board.getSpec())];
+
+		render(board, grid, 0);
+
+		System.out.print(grid);
+	}
+
+
+	// ============== private methods ============= //
+
+	/**
+	 * Returns the total number of digits of the numbers from {@code 0} up to
+	 * the given one (exclusive).
+	 *
+	 * @param count
+	 *            the number of numbers.
+	 * @return the number of digits.
+	 */
+	private static long digitCount(int count)
+	{
+		long digits = 0;
+
+		for (long from = 0, to = 10, width = 1; from < count; from = to, to *= 10, width++)
+		{
+			digits += (Math.min(to, count) - from) * width;
+		}
+
+		return digits;
+	}
+
+	/**
+	 * Appends the decimal digits of the given number, without building any
+	 * string.
+	 *
+	 * @param out
+	 *            the destination of the digits.
+	 * @param number
+	 *            the non negative number to append.
+	 * @throws IOException
+	 *             if the destination fails to append the digits.
+	 */
+	private static void appendNumber(Appendable out, int number) throws IOException
+	{
+		int power = 1;
+
+		while (power <= number / 10)
+		{
+			power *= 10;
+		}
+
+		for (; power > 0; power /= 10)
+		{
+			out.append((char) ('0' + number / power % 10));
+		}
+	}
+
+
+	// ============== nested classes ============= //
+
+	/**
+	 * {@linkplain Appendable} writing each {@code char} as a single byte into
+	 * a {@linkplain ByteBuffer}.
+	 */
+	private static final class AsciiAppender implements Appendable
+	{
+		/** destination of the bytes. */
+		private final ByteBuffer buffer;
+
+		/**
+		 * Builds an appender writing into the given buffer.
+		 *
+		 * @param buffer
+		 *            destination of the bytes.
+		 */
+		AsciiAppender(ByteBuffer buffer)
+		{
+			this.buffer = buffer;
+		}
+
+		@Override
+		public Appendable append(char c)
+		{
+			buffer.put((byte) c);
+
+			return this;
+		}
+
+		@Override
+		public Appendable append(CharSequence csq)
+		{
+			return append(csq, 0, csq.length());
+		}
+
+		@Override
+		public Appendable append(CharSequence csq, int start, int end)
+		{
+			if (end - start > buffer.remaining())
+			{
+				throw new BufferOverflowException();
+			}
+
+			for (int i = start; i < end; i++)
+			{
+				buffer.put((byte) csq.charAt(i));
+			}
+
+			return this;
+		}
+	}
+}
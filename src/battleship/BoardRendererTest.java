@@ -0,0 +1,92 @@
+package battleship;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+
+/**
+ * Test class to test the API of the {@linkplain BoardRenderer} class.
+ *
+ * @author Angelo Oparah
+ *
+ */
+public class BoardRendererTest
+{
+	/** separator at the end of each line. */
+	private static final String NL = System.lineSeparator();
+
+	/**
+	 * The grid should number rows and columns and show the state of every
+	 * location
+	 */
+	@Test
+	public void test_render_shouldDrawTheNumberedGrid() throws IOException
+	{
+		// if we have a 3 x 12 ocean with a destroyer and a submarine, the
+		// destroyer hit once and the submarine sunk
+		BoardSpec spec = new BoardSpec(3, 12, 0, 0, 1, 1);
+		Ocean ocean = new Ocean(spec);
+
+		ocean.placeShip(Ocean.createShip(Destroyer.class, spec, 0, 0, true));
+		ocean.placeShip(Ocean.createShip(Submarine.class, spec, 2, 11, true));
+		ocean.shootAt(0, 1);
+		ocean.shootAt(2, 11);
+		ocean.shootAt(1, 5);
+
+		StringBuilder grid = new StringBuilder();
+		BoardRenderer.render(ocean, grid);
+
+		// we should find the column numbers first, then each row
+		String expected = " 01234567891011" + NL
+				+ "0.S.........." + NL
+				+ "1.....-......" + NL
+				+ "2...........x" + NL;
+
+		assertEquals("incorrect grid", expected, grid.toString());
+		assertEquals("incorrect rendered length", expected.length(), BoardRenderer.renderedLength(spec));
+	}
+
+	/**
+	 * Every destination should receive the same grid
+	 */
+	@Test
+	public void test_render_everyDestinationShouldReceiveTheSameGrid() throws IOException
+	{
+		Board board = new BoardGenerator(BoardEngine.BITBOARD, BoardSpec.STANDARD, 3).generate(0);
+
+		for (int i = 0; i < 30; i++)
+		{
+			board.shootAt(i % Ocean.OCEAN_HEIGHT, i * 7 % Ocean.OCEAN_WIDTH);
+		}
+
+		StringBuilder expected = new StringBuilder();
+		BoardRenderer.render(board, expected);
+
+		// if we render into an array past a given offset
+		int offset = 5;
+		char[] chars = new char[offset + BoardRenderer.renderedLength(board.getSpec())];
+		int written = BoardRenderer.render(board, chars, offset);
+
+		assertEquals("incorrect grid in the array", expected.toString(), new String(chars, offset, written));
+
+		// or into a byte buffer
+		ByteBuffer bytes = ByteBuffer.allocate(written);
+		BoardRenderer.render(board, bytes);
+
+		assertEquals("incorrect grid in the buffer", expected.toString(),
+				new String(bytes.array(), StandardCharsets.US_ASCII));
+	}
+
+	/**
+	 * Expect a IAE for an array with no room for the grid
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void test_render_shouldThrowExceptionIfTheArrayIsTooSmall()
+	{
+		BoardRenderer.render(new Ocean(), new char[10], 0);
+	}
+}
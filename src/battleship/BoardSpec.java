@@ -0,0 +1,306 @@
+package battleship;
+
+/**
+ * Describes the dimensions of a {@linkplain Board} and the composition of the
+ * fleet placed onto it. The {@linkplain #STANDARD} spec describes the
+ * {@value Ocean#OCEAN_WIDTH} x {@value Ocean#OCEAN_HEIGHT} ocean of the
+ * original game, but any board from 1 x 1 up to {@value #MAX_WIDTH} x
+ * {@value #MAX_HEIGHT} can be described. Instances are immutable, so the same
+ * spec can be shared by any number of boards.
+ *
+ * @author Angelo Oparah
+ *
+ */
+public final class BoardSpec
+{
+	/** max height of a board. */
+	public static final int MAX_HEIGHT = 10000;
+
+	/** max width of a board. */
+	public static final int MAX_WIDTH = 10000;
+
+	/** spec of the standard ocean and fleet of the original game. */
+	public static final BoardSpec STANDARD = new BoardSpec(Ocean.OCEAN_HEIGHT, Ocean.OCEAN_WIDTH, Ocean.BATTLESHIPS,
+			Ocean.CRUISERS, Ocean.DESTROYERS, Ocean.SUBMARINES);
+
+	/** height of the board. */
+	private final int height;
+
+	/** width of the board. */
+	private final int width;
+
+	/** number of {@linkplain Battleship} in the fleet. */
+	private final int battleships;
+
+	/** number of {@linkplain Cruiser} ships in the fleet. */
+	private final int cruisers;
+
+	/** number of {@linkplain Destroyer} ships in the fleet. */
+	private final int destroyers;
+
+	/** number of {@linkplain Submarine} ships in the fleet. */
+	private final int submarines;
+
+
+	/**
+	 * Builds a new spec for a board of the given dimensions, holding a fleet of
+	 * the given composition.
+	 *
+	 * @param height
+	 *            height of the board; between 1 and {@value #MAX_HEIGHT}.
+	 * @param width
+	 *            width of the board; between 1 and {@value #MAX_WIDTH}.
+	 * @param battleships
+	 *            number of {@linkplain Battleship} in the fleet.
+	 * @param cruisers
+	 *            number of {@linkplain Cruiser} ships in the fleet.
+	 * @param destroyers
+	 *            number of {@linkplain Destroyer} ships in the fleet.
+	 * @param submarines
+	 *            number of {@linkplain Submarine} ships in the fleet.
+	 * @throws IllegalArgumentException
+	 *             if a dimension is out of range, if a count is negative or if
+	 *             the fleet cannot possibly fit onto the board.
+	 */
+	public BoardSpec(int height, int width, int battleships, int cruisers, int destroyers, int submarines)
+	{
+		if (height <= 0 || height > MAX_HEIGHT)
+		{
+			throw new IllegalArgumentException("Illegal out of range value for height: " + height);
+		}
+		if (width <= 0 || width > MAX_WIDTH)
+		{
+			throw new IllegalArgumentException("Illegal out of range value for width: " + width);
+		}
+		if (battleships < 0 || cruisers < 0 || destroyers < 0 || submarines < 0)
+		{
+			throw new IllegalArgumentException("Illegal negative ship count: " + battleships + ", " + cruisers + ", "
+					+ destroyers + ", " + submarines);
+		}
+
+		this.height = height;
+		this.width = width;
+		this.battleships = battleships;
+		this.cruisers = cruisers;
+		this.destroyers = destroyers;
+		this.submarines = submarines;
+
+		// every ship (plus the sea between ships) must be able to fit: this
+		// does not guarantee that a random placement exists, but rules out the
+		// layouts that can never be placed. The counts are summed as longs, so
+		// that no count can overflow past the check: once it passes, the size
+		// and the area of the fleet are bound by the area of the board, which
+		// fits an int
+		long fleetSize = (long) battleships + cruisers + destroyers + submarines;
+		long fleetArea = (long) battleships * Battleship.BATTLESHIP_LENGTH + (long) cruisers * Cruiser.CRUISER_LENGTH
+				+ (long) destroyers * Destroyer.DESTROYER_LENGTH + (long) submarines * Submarine.SUBMARINE_LENGTH;
+
+		if (fleetArea + fleetSize > (long) height * width)
+		{
+			throw new IllegalArgumentException("Illegal fleet too large for a " + height + " x " + width + " board");
+		}
+		if (battleships > 0 && Battleship.BATTLESHIP_LENGTH > Math.min(height, width))
+		{
+			throw new IllegalArgumentException("Illegal board too small for a battleship: " + height + " x " + width);
+		}
+		if (cruisers > 0 && Cruiser.CRUISER_LENGTH > Math.min(height, width))
+		{
+			throw new IllegalArgumentException("Illegal board too small for a cruiser: " + height + " x " + width);
+		}
+		if (destroyers > 0 && Destroyer.DESTROYER_LENGTH > Math.min(height, width))
+		{
+			throw new IllegalArgumentException("Illegal board too small for a destroyer: " + height + " x " + width);
+		}
+	}
+
+	/**
+	 * Returns the height of the board.
+	 *
+	 * @return the height of the board.
+	 */
+	public int getHeight()
+	{
+		return height;
+	}
+
+	/**
+	 * Returns the width of the board.
+	 *
+	 * @return the width of the board.
+	 */
+	public int getWidth()
+	{
+		return width;
+	}
+
+	/**
+	 * Returns the number of {@linkplain Battleship} in the fleet.
+	 *
+	 * @return the number of battleships.
+	 */
+	public int getBattleships()
+	{
+		return battleships;
+	}
+
+	/**
+	 * Returns the number of {@linkplain Cruiser} ships in the fleet.
+	 *
+	 * @return the number of cruisers.
+	 */
+	public int getCruisers()
+	{
+		return cruisers;
+	}
+
+	/**
+	 * Returns the number of {@linkplain Destroyer} ships in the fleet.
+	 *
+	 * @return the number of destroyers.
+	 */
+	public int getDestroyers()
+	{
+		return destroyers;
+	}
+
+	/**
+	 * Returns the number of {@linkplain Submarine} ships in the fleet.
+	 *
+	 * @return the number of submarines.
+	 */
+	public int getSubmarines()
+	{
+		return submarines;
+	}
+
+	/**
+	 * Returns the number of ships of the given kind in the fleet.
+	 *
+	 * @param kind
+	 *            the kind of ship to count.
+	 * @return the number of ships of that kind, {@code 0} for the
+	 *         {@linkplain ShipKind#EMPTY_SEA}.
+	 */
+	public int getShipCount(ShipKind kind)
+	{
+		switch (kind)
+		{
+			case BATTLESHIP:
+				return battleships;
+			case CRUISER:
+				return cruisers;
+			case DESTROYER:
+				return destroyers;
+			case SUBMARINE:
+				return submarines;
+			default:
+				return 0;
+		}
+	}
+
+	/**
+	 * Returns the total number of ships in the fleet: the game is over once
+	 * they have all been sunk.
+	 *
+	 * @return the number of ships in the fleet.
+	 */
+	public int getFleetSize()
+	{
+		return battleships + cruisers + destroyers + submarines;
+	}
+
+	/**
+	 * Returns the number of locations covered by the whole fleet.
+	 *
+	 * @return the area covered by the fleet.
+	 */
+	public int getFleetArea()
+	{
+		return battleships * Battleship.BATTLESHIP_LENGTH + cruisers * Cruiser.CRUISER_LENGTH + destroyers
+				* Destroyer.DESTROYER_LENGTH + submarines * Submarine.SUBMARINE_LENGTH;
+	}
+
+	/**
+	 * Indicates whether the given location falls within the board.
+	 *
+	 * @param row
+	 *            vertical coordinate.
+	 * @param column
+	 *            horizontal coordinate.
+	 * @return {@code true} if the location is within the board's borders,
+	 *         {@code false} otherwise.
+	 */
+	public boolean contains(int row, int column)
+	{
+		return row >= 0 && row < height && column >= 0 && column < width;
+	}
+
+	/**
+	 * Checks that the given location falls within the board.
+	 *
+	 * @param row
+	 *            vertical coordinate.
+	 * @param column
+	 *            horizontal coordinate.
+	 * @throws IllegalArgumentException
+	 *             if the coordinates provided fall outside the board.
+	 */
+	void checkLocation(int row, int column)
+	{
+		if (row < 0 || row >= height)
+		{
+			throw new IllegalArgumentException("Illegal out of range value for row: " + row);
+		}
+		if (column < 0 || column >= width)
+		{
+			throw new IllegalArgumentException("Illegal out of range value for column: " + column);
+		}
+	}
+
+	/**
+	 * Indicates whether the given object is a spec of the same dimensions and
+	 * the same fleet.
+	 *
+	 * @param other
+	 *            the object to compare.
+	 * @return {@code true} if both specs describe the same board,
+	 *         {@code false} otherwise.
+	 */
+	@Override
+	public boolean equals(Object other)
+	{
+		if (this == other)
+		{
+			return true;
+		}
+		if (!(other instanceof BoardSpec))
+		{
+			return false;
+		}
+
+		BoardSpec spec = (BoardSpec) other;
+
+		return height == spec.height && width == spec.width && battleships == spec.battleships
+				&& cruisers == spec.cruisers && destroyers == spec.destroyers && submarines == spec.submarines;
+	}
+
+	@Override
+	public int hashCode()
+	{
+		int hash = height;
+
+		hash = 31 * hash + width;
+		hash = 31 * hash + battleships;
+		hash = 31 * hash + cruisers;
+		hash = 31 * hash + destroyers;
+
+		return 31 * hash + submarines;
+	}
+
+	@Override
+	public String toString()
+	{
+		return height + " x " + width + " [" + battleships + ", " + cruisers + ", " + destroyers + ", " + submarines
+				+ "]";
+	}
+}
@@ -0,0 +1,159 @@
+package battleship;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * Test class to test the API of the {@linkplain BoardSpec} class and of the
+ * {@linkplain Ocean} built from it.
+ *
+ * @author Angelo Oparah
+ *
+ */
+public class BoardSpecTest
+{
+	/** default timeout test duration in milliseconds */
+	private static final int DEFAULT_TIMEOUT = 2000;
+
+	// ======================= constructor tests ======================== //
+
+	/**
+	 * The standard spec should describe the standard ocean
+	 */
+	@Test
+	public void test_BoardSpec_standardSpecShouldMatchTheStandardOcean()
+	{
+		BoardSpec spec = BoardSpec.STANDARD;
+
+		assertEquals("incorrect standard height", Ocean.OCEAN_HEIGHT, spec.getHeight());
+		assertEquals("incorrect standard width", Ocean.OCEAN_WIDTH, spec.getWidth());
+		assertEquals("incorrect standard fleet size",
+				Ocean.BATTLESHIPS + Ocean.CRUISERS + Ocean.DESTROYERS + Ocean.SUBMARINES, spec.getFleetSize());
+	}
+
+	/**
+	 * The count of each kind of ship should match the fleet of the spec
+	 */
+	@Test
+	public void test_getShipCount_shouldMatchTheFleetOfTheSpec()
+	{
+		BoardSpec spec = new BoardSpec(20, 20, 1, 2, 3, 4);
+
+		assertEquals("incorrect battleship count", 1, spec.getShipCount(ShipKind.BATTLESHIP));
+		assertEquals("incorrect cruiser count", 2, spec.getShipCount(ShipKind.CRUISER));
+		assertEquals("incorrect destroyer count", 3, spec.getShipCount(ShipKind.DESTROYER));
+		assertEquals("incorrect submarine count", 4, spec.getShipCount(ShipKind.SUBMARINE));
+		assertEquals("incorrect empty sea count", 0, spec.getShipCount(ShipKind.EMPTY_SEA));
+	}
+
+	/**
+	 * Specs of the same dimensions and fleet should be equal, and specs
+	 * differing in any count should not
+	 */
+	@Test
+	public void test_equals_specsOfTheSameBoardShouldBeEqual()
+	{
+		BoardSpec spec = new BoardSpec(Ocean.OCEAN_HEIGHT, Ocean.OCEAN_WIDTH, Ocean.BATTLESHIPS, Ocean.CRUISERS,
+				Ocean.DESTROYERS, Ocean.SUBMARINES);
+
+		assertEquals("specs of the same board not equal", BoardSpec.STANDARD, spec);
+		assertEquals("equal specs with different hashes", BoardSpec.STANDARD.hashCode(), spec.hashCode());
+		assertFalse("specs of different boards equal", BoardSpec.STANDARD.equals(new BoardSpec(
+				Ocean.OCEAN_HEIGHT, Ocean.OCEAN_WIDTH, Ocean.BATTLESHIPS, Ocean.CRUISERS, Ocean.DESTROYERS, 3)));
+		assertFalse("spec equal to another type", BoardSpec.STANDARD.equals(BoardSpec.STANDARD.toString()));
+	}
+
+	/**
+	 * Expect a IAE for dimensions exceeding the max ones
+	 */
+	@SuppressWarnings("unused")
+	@Test(expected = IllegalArgumentException.class)
+	public void test_BoardSpec_shouldThrowExceptionIfHeightExceedsMaxHeight()
+	{
+		BoardSpec spec = new BoardSpec(BoardSpec.MAX_HEIGHT + 1, 10, 1, 0, 0, 0);
+	}
+
+	/**
+	 * Expect a IAE for a fleet that cannot fit onto the board
+	 */
+	@SuppressWarnings("unused")
+	@Test(expected = IllegalArgumentException.class)
+	public void test_BoardSpec_shouldThrowExceptionIfFleetDoesNotFit()
+	{
+		BoardSpec spec = new BoardSpec(3, 3, 0, 0, 0, 5);
+	}
+
+	/**
+	 * Expect a IAE for a fleet whose size would overflow an int, rather than a
+	 * spec with a negative fleet size
+	 */
+	@SuppressWarnings("unused")
+	@Test(expected = IllegalArgumentException.class)
+	public void test_BoardSpec_shouldThrowExceptionIfFleetSizeOverflows()
+	{
+		BoardSpec spec = new BoardSpec(10, 10, 1 << 30, 0, 0, 1 << 30);
+	}
+
+	/**
+	 * Expect a IAE for a ship that would exceed the board's borders
+	 */
+	@SuppressWarnings("unused")
+	@Test(expected = IllegalArgumentException.class)
+	public void test_BoardSpec_shouldThrowExceptionIfBattleshipExceedsBoard()
+	{
+		BoardSpec spec = new BoardSpec(3, 30, 1, 0, 0, 0);
+	}
+
+	// ==================== large ocean tests ========================= //
+
+	/**
+	 * Ships built for a large board accept bow coordinates beyond the standard
+	 * ocean's borders
+	 */
+	@Test
+	public void test_Ship_bowCoordinatesShouldBeValidatedAgainstTheSpec()
+	{
+		Ship ship = new Battleship(new BoardSpec(1000, 1000, 1, 0, 0, 0));
+		ship.setBowRow(900);
+		ship.setBowColumn(500);
+
+		assertEquals("incorrect bow row", 900, ship.getBowRow());
+		assertEquals("incorrect bow column", 500, ship.getBowColumn());
+	}
+
+	/**
+	 * A large ocean should hold the whole fleet and the game should be over
+	 * once every ship has been sunk
+	 */
+	@Test(timeout = DEFAULT_TIMEOUT)
+	public void test_Ocean_largeOceanShouldBePlayableUntilGameOver()
+	{
+		// if we place a large fleet onto a large ocean
+		BoardSpec spec = new BoardSpec(2000, 1000, 10, 20, 30, 40);
+		Ocean ocean = new Ocean(spec);
+		ocean.placeAllShipsRandomly();
+
+		// we should find every ship, and sinking them all should end the game
+		int shipArea = 0;
+
+		for (int i = 0; i < spec.getHeight() && !ocean.isGameOver(); i++)
+		{
+			for (int j = 0; j < spec.getWidth(); j++)
+			{
+				if (ocean.isOccupied(i, j))
+				{
+					shipArea++;
+					assertTrue("shooting a ship afloat was unsuccessful", ocean.shootAt(i, j));
+				}
+			}
+		}
+
+		assertEquals("incorrect area covered by the fleet", spec.getFleetArea(), shipArea);
+		assertEquals("incorrect number of ships sunk", spec.getFleetSize(), ocean.getShipsSunk());
+		assertTrue("game not over after sinking every ship", ocean.isGameOver());
+		assertFalse("location out of range reported as occupied", ocean.isOccupied(spec.getHeight(), 0));
+	}
+}
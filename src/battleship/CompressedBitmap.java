@@ -0,0 +1,166 @@
+package battleship;
+
+import java.util.Arrays;
+
+/**
+ * Set of non negative {@code long} indexes stored as a compressed bitmap. The
+ * range of indexes is split into chunks of {@value #CHUNK_SIZE} indexes, and
+ * each chunk is only allocated once an index falling into it is added: a chunk
+ * holding few indexes keeps them in a sorted {@code char} array, and it is
+ * turned into a plain bitmap once it would take more room than one. Memory
+ * therefore grows with the number of indexes added rather than with the range
+ * they are drawn from.
+ *
+ * @author Angelo Oparah
+ *
+ */
+final class CompressedBitmap
+{
+	/** number of bits used to address an index within its chunk. */
+	private static final int CHUNK_BITS = 16;
+
+	/** number of indexes covered by each chunk. */
+	private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+
+	/**
+	 * max number of indexes kept in a sorted array before becoming a bitmap:
+	 * one {@code char} per index, so that a full array takes as much room as
+	 * the bitmap of a chunk.
+	 */
+	static final int MAX_ARRAY_SIZE = CHUNK_SIZE / Character.SIZE;
+
+	/**
+	 * chunks of the bitmap: either a sorted {@code char[]} or a {@code long[]}
+	 * bitmap; {@code null} for chunks that do not contain any index.
+	 */
+	private final Object[] chunks;
+
+	/** number of indexes held by each chunk kept as a sorted array. */
+	private final int[] chunkSizes;
+
+	/** number of indexes in the set. */
+	private long cardinality;
+
+
+	/**
+	 * Builds an empty set for the indexes from {@code 0} (inclusive) up to the
+	 * given size (exclusive).
+	 *
+	 * @param size
+	 *            the number of indexes the set can hold.
+	 */
+	CompressedBitmap(long size)
+	{
+		int chunkCount = (int) ((size + CHUNK_SIZE - 1) >>> CHUNK_BITS);
+
+		chunks = new Object[chunkCount];
+		chunkSizes = new int[chunkCount];
+	}
+
+	/**
+	 * Indicates whether the given index belongs to the set.
+	 *
+	 * @param index
+	 *            the index to look up, within range.
+	 * @return {@code true} if the index was added, {@code false} otherwise.
+	 */
+	boolean contains(long index)
+	{
+		int chunk = (int) (index >>> CHUNK_BITS);
+		char low = (char) index;
+
+		Object container = chunks[chunk];
+
+		if (container instanceof long[])
+		{
+			return (((long[]) container)[low >>> 6] & (1L << low)) != 0;
+		}
+
+		return container != null && Arrays.binarySearch((char[]) container, 0, chunkSizes[chunk], low) >= 0;
+	}
+
+	/**
+	 * Adds the given index to the set.
+	 *
+	 * @param index
+	 *            the index to add, within range.
+	 * @return {@code true} if the index was not in the set yet, {@code false}
+	 *         otherwise.
+	 */
+	boolean add(long index)
+	{
+		int chunk = (int) (index >>> CHUNK_BITS);
+		char low = (char) index;
+
+		Object container = chunks[chunk];
+
+		if (container instanceof long[])
+		{
+			long[] bitmap = (long[]) container;
+
+			if ((bitmap[low >>> 6] & (1L << low)) != 0)
+			{
+				return false;
+			}
+
+			bitmap[low >>> 6] |= 1L << low;
+			cardinality++;
+
+			return true;
+		}
+
+		char[] array = container == null ? new char[4] : (char[]) container;
+		int size = chunkSizes[chunk];
+		int position = Arrays.binarySearch(array, 0, size, low);
+
+		if (position >= 0)
+		{
+			return false;
+		}
+
+		position = -position - 1;
+
+		if (size == MAX_ARRAY_SIZE)
+		{
+			// the sorted array is as large as a bitmap: one more index would
+			// take more room than the bitmap
+			long[] bitmap = new long[CHUNK_SIZE / Long.SIZE];
+
+			for (int i = 0; i < size; i++)
+			{
+				bitmap[array[i] >>> 6] |= 1L << array[i];
+			}
+			bitmap[low >>> 6] |= 1L << low;
+
+			chunks[chunk] = bitmap;
+		}
+		else
+		{
+			if (size == array.length)
+			{
+				array = Arrays.copyOf(array, Math.min(MAX_ARRAY_SIZE, size * 2));
+			}
+
+			// shift the greater indexes to keep the array sorted
+			System.arraycopy(array, position, array, position + 1, size - position);
+			array[position] = low;
+
+			chunks[chunk] = array;
+			chunkSizes[chunk] = size + 1;
+		}
+
+		cardinality++;
+
+		return true;
+	}
+
+	/**
+	 * Returns the number of indexes in the set.
+	 *
+	 * @return the number of indexes added.
+	 */
+	long cardinality()
+	{
+		return cardinality;
+	}
+}
@@ -0,0 +1,100 @@
+package battleship;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * Test class to test the API of the {@linkplain CompressedBitmap} class.
+ *
+ * @author Angelo Oparah
+ *
+ */
+public class CompressedBitmapTest
+{
+	/**
+	 * Indexes added should be found, the others should not
+	 */
+	@Test
+	public void test_contains_shouldOnlyFindTheIndexesAdded()
+	{
+		// if we add a few indexes spread over a large range
+		CompressedBitmap bitmap = new CompressedBitmap(100_000_000L);
+		long[] indexes = { 0, 65_535, 65_536, 42_424_242, 99_999_999 };
+
+		for (long index : indexes)
+		{
+			assertTrue("new index reported as already added", bitmap.add(index));
+		}
+
+		// we should find exactly those
+		for (long index : indexes)
+		{
+			assertTrue("index added not found", bitmap.contains(index));
+		}
+
+		assertFalse("index never added was found", bitmap.contains(1));
+		assertFalse("index never added was found", bitmap.contains(42_424_243));
+		assertFalse("index added twice reported as new", bitmap.add(65_536));
+		assertEquals("incorrect cardinality", indexes.length, bitmap.cardinality());
+	}
+
+	/**
+	 * A chunk turning from a sorted array into a bitmap should keep every index
+	 */
+	@Test
+	public void test_add_denseChunkShouldKeepEveryIndex()
+	{
+		// if we fill every other index of a whole chunk, in descending order
+		CompressedBitmap bitmap = new CompressedBitmap(1 << 16);
+
+		for (int index = (1 << 16) - 2; index >= 0; index -= 2)
+		{
+			bitmap.add(index);
+		}
+
+		// we should find every index added and none of the others
+		for (int index = 0; index < 1 << 16; index++)
+		{
+			assertEquals("incorrect membership of index " + index, index % 2 == 0, bitmap.contains(index));
+		}
+
+		assertEquals("incorrect cardinality", 1 << 15, bitmap.cardinality());
+	}
+
+	/**
+	 * A chunk should stay a sorted array until it would take more room than a
+	 * bitmap, and keep every index across the conversion
+	 */
+	@Test
+	public void test_add_chunkShouldKeepEveryIndexAcrossTheConversionPoint()
+	{
+		// knowing that a full sorted array takes as much room as a bitmap
+		assertEquals("incorrect conversion point", 1 << 16, CompressedBitmap.MAX_ARRAY_SIZE * Character.SIZE);
+
+		// if we fill a chunk with as many indexes as its sorted array can hold
+		CompressedBitmap bitmap = new CompressedBitmap(1 << 16);
+		int stride = 3;
+
+		for (int i = 0; i < CompressedBitmap.MAX_ARRAY_SIZE; i++)
+		{
+			assertTrue("new index reported as already added", bitmap.add(i * stride));
+		}
+
+		// and then add one more, turning the chunk into a bitmap
+		int last = CompressedBitmap.MAX_ARRAY_SIZE * stride;
+		assertTrue("new index reported as already added", bitmap.add(last));
+
+		// we should find every index added and none of the others
+		for (int index = 0; index <= last + stride; index++)
+		{
+			assertEquals("incorrect membership of index " + index, index % stride == 0 && index <= last,
+					bitmap.contains(index));
+		}
+
+		assertFalse("index added twice reported as new", bitmap.add(last));
+		assertEquals("incorrect cardinality", CompressedBitmap.MAX_ARRAY_SIZE + 1, bitmap.cardinality());
+	}
+}
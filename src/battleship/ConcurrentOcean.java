@@ -0,0 +1,430 @@
+package battleship;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Implementation of the {@linkplain Board} that can be shot at by many threads
+ * at once. Ships are placed first, by a single thread and before the board is
+ * shared; from then on every shot is lock free: the locations fired upon are
+ * kept as bits of an atomic array and the parts hit of each ship as a bit mask
+ * in an atomic array, both updated by compare and swap, so that no shot is ever
+ * lost and exactly one shot, the one setting the last bit of a ship, sinks it.
+ * The shot and the hit counts are striped adders, so that shooters do not
+ * contend on them, while the count of the ships sunk (which rarely changes) is
+ * a plain atomic: every query, {@linkplain #isGameOver()} included, is wait
+ * free. Note: the counts are only exact once the shooters are done; while
+ * shots are being fired they may lag behind by the shots in flight.
+ *
+ * @author Angelo Oparah
+ *
+ */
+public class ConcurrentOcean extends AbstractBoard
+{
+	/** dimensions of the ocean and composition of the fleet. */
+	private final BoardSpec spec;
+
+	/**
+	 * maps each location (row by row) to the (1-based) index of the ship
+	 * covering it in the fleet; {@code 0} means empty sea.
+	 */
+	private final int[] shipIndexAt;
+
+	/** bits set for the locations that have been fired upon. */
+	private final AtomicLongArray shots;
+
+	/** ships placed onto the ocean, in order of placement. */
+	private Ship[] fleet;
+
+	/** parts hit of each ship placed, one bit per part. */
+	private AtomicIntegerArray fleetHits;
+
+	/** number of ships placed onto the ocean. */
+	private int fleetSize;
+
+	/** count of the total shots fired at any given time of the game. */
+	private final LongAdder shotsFired = new LongAdder();
+
+	/** count of the total times a shot hit any ship that was not sunken. */
+	private final LongAdder hitCount = new LongAdder();
+
+	/** number of ships sunk. */
+	private final AtomicInteger shipsSunk = new AtomicInteger();
+
+
+	/**
+	 * Constructs a new empty standard ConcurrentOcean and sets the hit, the
+	 * shot and the ship sunk count to {@code 0}.
+	 */
+	public ConcurrentOcean()
+	{
+		this(BoardSpec.STANDARD);
+	}
+
+	/**
+	 * Constructs a new empty ConcurrentOcean with the dimensions and the fleet
+	 * given by the spec, and sets the hit, the shot and the ship sunk count to
+	 * {@code 0}.
+	 *
+	 * @param spec
+	 *            dimensions of the ocean and composition of the fleet.
+	 */
+	public ConcurrentOcean(BoardSpec spec)
+	{
+		this.spec = spec;
+
+		int area = spec.getHeight() * spec.getWidth();
+
+		shipIndexAt = new int[area];
+		shots = new AtomicLongArray((area + Long.SIZE - 1) / Long.SIZE);
+
+		// make room for the whole fleet (and at least one ship)
+		fleet = new Ship[Math.max(1, spec.getFleetSize())];
+		fleetHits = new AtomicIntegerArray(fleet.length);
+	}
+
+	@Override
+	public BoardSpec getSpec()
+	{
+		return spec;
+	}
+
+	@Override
+	public int getShotsFired()
+	{
+		return (int) shotsFired.sum();
+	}
+
+	@Override
+	public int getHitCount()
+	{
+		return (int) hitCount.sum();
+	}
+
+	@Override
+	public int getShipsSunk()
+	{
+		return shipsSunk.get();
+	}
+
+	@Override
+	public int getShipsPlaced()
+	{
+		return fleetSize;
+	}
+
+	@Override
+	public boolean isGameOver()
+	{
+		return shipsSunk.get() == spec.getFleetSize();
+	}
+
+	/**
+	 * Returns a 2-dimensional array containing the ships in the ocean. Used for
+	 * testing and debugging purposes. The matrix is a snapshot of the shots
+	 * fired, taken under the lock of the ocean the first time this method is
+	 * called: from then on it will reflect every ship placed, but none of the
+	 * shots fired, so that the shooters never take a lock. Changes made
+	 * directly to the matrix are not reflected by the ocean.
+	 *
+	 * @return the array containing the ships in the ocean.
+	 */
+	@Override
+	public synchronized Ship[][] getShipArray()
+	{
+		return super.getShipArray();
+	}
+
+	/**
+	 * {@inheritDoc} Ships must be placed before the ocean is shared with the
+	 * shooters.
+	 */
+	@Override
+	public synchronized void placeShip(Ship ship)
+	{
+		super.placeShip(ship);
+	}
+
+	@Override
+	public boolean isOccupied(int row, int column)
+	{
+		if (spec.contains(row, column))
+		{
+			// check only if the coordinates are in range
+			return shipIndexAt[row * spec.getWidth() + column] != 0;
+		}
+
+		return false;
+	}
+
+	@Override
+	public String getShipTypeAt(int row, int column)
+	{
+		spec.checkLocation(row, column);
+
+		int shipIndex = shipIndexAt[row * spec.getWidth() + column];
+
+		return shipIndex == 0 ? EmptySea.EMPTY_SEA_TYPE : fleet[shipIndex - 1].getShipType();
+	}
+
+	@Override
+	public boolean hasSunkShipAt(int row, int column)
+	{
+		if (spec.contains(row, column))
+		{
+			// check only if the coordinates are in range
+			int shipIndex = shipIndexAt[row * spec.getWidth() + column];
+
+			return shipIndex != 0 && isSunk(shipIndex - 1);
+		}
+
+		return false;
+	}
+
+	/**
+	 * Returns a {@code char} representing the current state of the given
+	 * location: "x" for a sunken ship, "S" for a ship part that was hit, "-"
+	 * for empty sea that was fired upon and "." for a location yet to be fired
+	 * upon.
+	 *
+	 * @param row
+	 *            vertical coordinate of the location to display.
+	 * @param column
+	 *            horizontal coordinate of the location to display.
+	 * @return a {@code char} representing the state of the location.
+	 * @throws IllegalArgumentException
+	 *             if the coordinates provided fall outside the ocean.
+	 */
+	@Override
+	public char getStateAt(int row, int column)
+	{
+		spec.checkLocation(row, column);
+
+		int cell = row * spec.getWidth() + column;
+		int shipIndex = shipIndexAt[cell];
+
+		if (shipIndex != 0 && isSunk(shipIndex - 1))
+		{
+			return 'x';
+		}
+		if (isShot(cell))
+		{
+			return shipIndex != 0 ? 'S' : '-';
+		}
+
+		return '.';
+	}
+
+	@Override
+	protected Ship[][] buildShipArray()
+	{
+		Ship[][] shipArray = new Ship[spec.getHeight()][spec.getWidth()];
+
+		for (int i = 0; i < spec.getHeight(); i++)
+		{
+			for (int j = 0; j < spec.getWidth(); j++)
+			{
+				int cell = i * spec.getWidth() + j;
+				int shipIndex = shipIndexAt[cell];
+
+				// pick the ship covering the location or create an empty
+				// sea, then replay the shot fired at it (if any)
+				Ship ship = shipIndex == 0 ? Ocean.createShip(ShipKind.EMPTY_SEA, spec, i, j, true)
+						: fleet[shipIndex - 1];
+
+				if (isShot(cell))
+				{
+					ship.shootAt(i, j);
+				}
+
+				shipArray[i][j] = ship;
+			}
+		}
+
+		return shipArray;
+	}
+
+	/**
+	 * Fires a shot at the given location, updating the state of the location
+	 * and the count of the ships sunk, but neither the shot nor the hit count.
+	 * Safe to call from many threads at once.
+	 *
+	 * @param row
+	 *            vertical coordinate to be fired upon.
+	 * @param column
+	 *            horizontal coordinate to be fired upon.
+	 * @return the result of the shot, as a code of the
+	 *         {@linkplain ShotResults}.
+	 */
+	@Override
+	protected byte fire(int row, int column)
+	{
+		// try and hit ships only within the ocean's borders
+		if (!spec.contains(row, column))
+		{
+			return ShotResults.OUT_OF_RANGE;
+		}
+
+		int cell = row * spec.getWidth() + column;
+		boolean repeated = !markShot(cell);
+		int shipIndex = shipIndexAt[cell];
+
+		if (shipIndex == 0)
+		{
+			return ShotResults.shotAtSea(repeated);
+		}
+
+		Ship ship = fleet[shipIndex - 1];
+		byte kind = ShotResults.kindOf(ship);
+		int offset = ship.isHorizontal() ? column - ship.getBowColumn() : row - ship.getBowRow();
+		int part = 1 << offset;
+		int whole = wholeMask(ship.getLength());
+
+		while (true)
+		{
+			int hits = fleetHits.get(shipIndex - 1);
+
+			if (hits == whole)
+			{
+				return ShotResults.shotAtSunkShip(kind);
+			}
+			if ((hits & part) != 0)
+			{
+				return ShotResults.shotAtShip(kind, true, false);
+			}
+			if (fleetHits.compareAndSet(shipIndex - 1, hits, hits | part))
+			{
+				// only the shot hitting the last part sinks the ship
+				boolean sinking = (hits | part) == whole;
+
+				if (sinking)
+				{
+					shipsSunk.incrementAndGet();
+				}
+
+				return ShotResults.shotAtShip(kind, false, sinking);
+			}
+
+			// another shot hit the same ship in the meantime: try again
+		}
+	}
+
+	/**
+	 * {@inheritDoc} The ships sunk are counted as they sink, by
+	 * {@link #fire(int, int)}.
+	 */
+	@Override
+	protected void countShots(int fired, int hits, int sinks)
+	{
+		shotsFired.add(fired);
+		hitCount.add(hits);
+	}
+
+	/**
+	 * Indexes the locations covered by the given ship and adds it to the fleet.
+	 * No check is performed on the area covered.
+	 *
+	 * @param ship
+	 *            the ship to add.
+	 */
+	@Override
+	protected void dropShip(Ship ship)
+	{
+		if (fleetSize == fleet.length)
+		{
+			// more ships than the fleet in the spec: make room for them
+			fleet = Arrays.copyOf(fleet, fleetSize * 2);
+
+			AtomicIntegerArray hits = new AtomicIntegerArray(fleet.length);
+
+			for (int i = 0; i < fleetSize; i++)
+			{
+				hits.set(i, fleetHits.get(i));
+			}
+
+			fleetHits = hits;
+		}
+
+		fleet[fleetSize++] = ship;
+
+		for (int i = 0; i < ship.getLength(); i++)
+		{
+			int row = ship.isHorizontal() ? ship.getBowRow() : ship.getBowRow() + i;
+			int column = ship.isHorizontal() ? ship.getBowColumn() + i : ship.getBowColumn();
+
+			shipIndexAt[row * spec.getWidth() + column] = fleetSize;
+		}
+
+		viewShip(ship);
+	}
+
+
+	// ============== private methods ============= //
+
+	/**
+	 * Marks the given location as fired upon.
+	 *
+	 * @param cell
+	 *            index of the location, row by row.
+	 * @return {@code true} if this was the first shot at the location,
+	 *         {@code false} otherwise.
+	 */
+	private boolean markShot(int cell)
+	{
+		long bit = 1L << cell;
+
+		while (true)
+		{
+			long word = shots.get(cell >>> 6);
+
+			if ((word & bit) != 0)
+			{
+				return false;
+			}
+			if (shots.compareAndSet(cell >>> 6, word, word | bit))
+			{
+				return true;
+			}
+		}
+	}
+
+	/**
+	 * Indicates whether the given location has been fired upon.
+	 *
+	 * @param cell
+	 *            index of the location, row by row.
+	 * @return {@code true} if the location was fired upon, {@code false}
+	 *         otherwise.
+	 */
+	private boolean isShot(int cell)
+	{
+		return (shots.get(cell >>> 6) & (1L << cell)) != 0;
+	}
+
+	/**
+	 * Indicates whether every part of the given ship has been hit.
+	 *
+	 * @param shipIndex
+	 *            (0-based) index of the ship in the fleet.
+	 * @return {@code true} if the ship is sunk, {@code false} otherwise.
+	 */
+	private boolean isSunk(int shipIndex)
+	{
+		return fleetHits.get(shipIndex) == wholeMask(fleet[shipIndex].getLength());
+	}
+
+	/**
+	 * Returns the mask of the parts hit of a sunken ship of the given length.
+	 *
+	 * @param length
+	 *            the length of the ship.
+	 * @return a mask with a bit set for each part of the ship.
+	 */
+	private static int wholeMask(int length)
+	{
+		return length == Integer.SIZE ? -1 : (1 << length) - 1;
+	}
+}
@@ -0,0 +1,161 @@
+package battleship;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Measures how the throughput of shots fired at a single shared board scales
+ * with the number of threads shooting at it. The lock free
+ * {@linkplain ConcurrentOcean} is compared against a plain {@linkplain Ocean}
+ * guarded by a single lock; for each number of threads the benchmark reports
+ * the total shots per second and the shots per second of each thread.
+ *
+ * @author Angelo Oparah
+ *
+ */
+public class ConcurrentOceanBenchmark
+{
+	/** dimensions of the shared board and composition of its fleet. */
+	private static final BoardSpec SPEC = new BoardSpec(1000, 1000, 100, 200, 300, 400);
+
+	/** number of random shots fired by each thread. */
+	private static final int SHOTS = 2_000_000;
+
+	/** number of threads to measure, unless given on the command line. */
+	private static final int[] THREADS = { 1, 2, 4, 8 };
+
+
+	/**
+	 * Runs the benchmark for both the lock free and the locked board, printing
+	 * one line per measurement.
+	 *
+	 * @param args
+	 *            optionally, the numbers of threads to measure.
+	 */
+	public static void main(String[] args) throws InterruptedException
+	{
+		int[] threads = THREADS;
+
+		if (args.length > 0)
+		{
+			threads = new int[args.length];
+
+			for (int i = 0; i < args.length; i++)
+			{
+				threads[i] = Integer.parseInt(args[i]);
+			}
+		}
+
+		System.out.printf("available processors: %d%n", Runtime.getRuntime().availableProcessors());
+		System.out.printf("%-10s %8s %16s %18s%n", "board", "threads", "shots/s", "shots/s/thread");
+
+		for (boolean locked : new boolean[] { false, true })
+		{
+			for (int count : threads)
+			{
+				// run twice, so that the second run is measured on warm code
+				measure(locked, count, false);
+				measure(locked, count, true);
+			}
+		}
+	}
+
+	/**
+	 * Measures a number of threads shooting at the same board.
+	 *
+	 * @param locked
+	 *            whether to shoot at a plain ocean under a lock rather than at
+	 *            the lock free one.
+	 * @param threads
+	 *            the number of threads shooting.
+	 * @param report
+	 *            whether or not the results should be printed.
+	 */
+	private static void measure(boolean locked, int threads, boolean report) throws InterruptedException
+	{
+		Board board = locked ? new Ocean(SPEC) : new ConcurrentOcean(SPEC);
+		board.placeAllShipsRandomly();
+
+		CountDownLatch ready = new CountDownLatch(threads);
+		CountDownLatch start = new CountDownLatch(1);
+		Thread[] shooters = new Thread[threads];
+
+		for (int t = 0; t < threads; t++)
+		{
+			// draw the shots up front, so that only the shots are measured
+			int[] rows = new int[SHOTS];
+			int[] columns = new int[SHOTS];
+			SplittableRandom random = new SplittableRandom(t);
+
+			for (int i = 0; i < SHOTS; i++)
+			{
+				rows[i] = random.nextInt(SPEC.getHeight());
+				columns[i] = random.nextInt(SPEC.getWidth());
+			}
+
+			shooters[t] = new Thread(() ->
+			{
+				ready.countDown();
+				awaitQuietly(start);
+
+				for (int i = 0; i < SHOTS; i++)
+				{
+					if (locked)
+					{
+						synchronized (board)
+						{
+							board.shootAt(rows[i], columns[i]);
+						}
+					}
+					else
+					{
+						board.shootAt(rows[i], columns[i]);
+					}
+				}
+			});
+			shooters[t].start();
+		}
+
+		ready.await();
+		long begin = System.nanoTime();
+		start.countDown();
+
+		for (Thread shooter : shooters)
+		{
+			shooter.join();
+		}
+
+		long elapsed = System.nanoTime() - begin;
+		double shotsPerSecond = (double) SHOTS * threads * 1e9 / elapsed;
+
+		if (board.getShotsFired() != SHOTS * threads)
+		{
+			throw new IllegalStateException("Lost shots: " + board.getShotsFired());
+		}
+
+		if (report)
+		{
+			System.out.printf("%-10s %8d %16.0f %18.0f%n", locked ? "locked" : "lock-free", threads, shotsPerSecond,
+					shotsPerSecond / threads);
+		}
+	}
+
+	/**
+	 * Waits for the given latch to be released, restoring the interrupt status
+	 * if interrupted.
+	 *
+	 * @param latch
+	 *            the latch to wait for.
+	 */
+	private static void awaitQuietly(CountDownLatch latch)
+	{
+		try
+		{
+			latch.await();
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,161 @@
+package battleship;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+/**
+ * Runs every test in {@linkplain OceanTest} against the
+ * {@linkplain ConcurrentOcean} implementation, and checks that the ocean stays
+ * consistent when shot at by many threads at once.
+ *
+ * @author Angelo Oparah
+ *
+ */
+public class ConcurrentOceanTest extends OceanTest
+{
+	/** number of threads shooting at the same ocean. */
+	private static final int SHOOTERS = 8;
+
+	/** number of times each shooter fires at every location of the ocean. */
+	private static final int ROUNDS = 20;
+
+
+	/** {@inheritDoc} */
+	@Override
+	protected Board createOcean()
+	{
+		return new ConcurrentOcean();
+	}
+
+	/**
+	 * Many threads shooting at the same ocean at once should sink each ship
+	 * exactly once, and lose neither shots nor hits
+	 */
+	@Test
+	public void test_shootAt_concurrentShootersShouldSinkEachShipExactlyOnce() throws Exception
+	{
+		// if we place the fleet onto a large ocean
+		BoardSpec spec = new BoardSpec(40, 40, 4, 6, 8, 10);
+		Board board = new ConcurrentOcean(spec);
+		board.placeAllShipsRandomly();
+
+		// and many threads fire at every location at once, each one starting
+		// from a different row
+		ExecutorService executor = Executors.newFixedThreadPool(SHOOTERS);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<int[]>> outcomes = new ArrayList<>();
+
+		try
+		{
+			for (int s = 0; s < SHOOTERS; s++)
+			{
+				outcomes.add(executor.submit(shooter(board, s, start)));
+			}
+
+			start.countDown();
+
+			int sunk = 0;
+			int scored = 0;
+
+			for (Future<int[]> outcome : outcomes)
+			{
+				sunk += outcome.get()[0];
+				scored += outcome.get()[1];
+			}
+
+			// we should expect every ship to be sunk by exactly one shot, and
+			// no shot or hit to be lost
+			assertEquals(spec.getFleetSize(), sunk);
+			assertEquals(spec.getFleetSize(), board.getShipsSunk());
+			assertTrue(board.isGameOver());
+			assertEquals(SHOOTERS * ROUNDS * spec.getHeight() * spec.getWidth(), board.getShotsFired());
+			assertEquals(scored, board.getHitCount());
+			assertTrue(scored >= spec.getFleetArea());
+		}
+		finally
+		{
+			executor.shutdownNow();
+		}
+	}
+
+
+	// ======================= helper methods ======================== //
+
+	/**
+	 * Creates a task firing at every location of the board {@value #ROUNDS}
+	 * times: the first round in batches of a whole row, so that every ship is
+	 * sunk by a shot whose result is known, then alternating single shots and
+	 * packed batches.
+	 *
+	 * @param board
+	 *            the board to shoot at.
+	 * @param offset
+	 *            the row the shooter starts from.
+	 * @param start
+	 *            latch released once every shooter is ready.
+	 * @return the task, counting the ships it sunk and its successful shots.
+	 */
+	private static Callable<int[]> shooter(Board board, int offset, CountDownLatch start)
+	{
+		return () ->
+		{
+			BoardSpec spec = board.getSpec();
+			int[] rows = new int[spec.getWidth()];
+			int[] columns = new int[spec.getWidth()];
+			long[] shots = new long[spec.getWidth()];
+			byte[] results = new byte[spec.getWidth()];
+			int[] counts = new int[2];
+
+			start.await();
+
+			for (int round = 0; round < ROUNDS; round++)
+			{
+				for (int i = 0; i < spec.getHeight(); i++)
+				{
+					int row = (i + offset) % spec.getHeight();
+
+					for (int j = 0; j < spec.getWidth(); j++)
+					{
+						rows[j] = row;
+						columns[j] = j;
+						shots[j] = ShotResults.shot(row, j);
+
+						if (round > 0 && round % 2 == 0)
+						{
+							// every ship was sunk in the first round: a single
+							// shot cannot sink one any more
+							results[j] = board.shootAt(row, j) ? ShotResults.SCORED : ShotResults.MISS;
+						}
+					}
+
+					if (round == 0)
+					{
+						board.shootAt(rows, columns, results);
+					}
+					else if (round % 2 != 0)
+					{
+						board.shootAt(shots, results);
+					}
+
+					for (byte result : results)
+					{
+						counts[0] += ShotResults.outcome(result) == ShotResults.SUNK ? 1 : 0;
+						counts[1] += ShotResults.isScored(result) ? 1 : 0;
+					}
+				}
+			}
+
+			return counts;
+		};
+	}
+}
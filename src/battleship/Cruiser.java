@@ -25,9 +25,27 @@ public class Cruiser extends Ship
 		super(CRUISER_LENGTH);
 	}
 
+	/**
+	 * Creates a real {@linkplain Ship} of length equal to
+	 * {@value #CRUISER_LENGTH} for a board of the given spec.
+	 *
+	 * @param spec
+	 *            spec of the board the ship will be placed onto.
+	 */
+	public Cruiser(BoardSpec spec)
+	{
+		super(CRUISER_LENGTH, spec);
+	}
+
 	@Override
 	public String getShipType()
 	{
 		return CRUISER_TYPE;
 	}
+
+	@Override
+	public ShipKind getKind()
+	{
+		return ShipKind.CRUISER;
+	}
 }
@@ -0,0 +1,589 @@
+package battleship;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * {@linkplain Shooter} firing at the location most likely to hold a ship. For
+ * every location it counts how many legal placements of each type of ship
+ * still afloat cover it: a placement is legal when it only covers locations
+ * that are not known to be empty sea or part of a sunken ship, and no location
+ * around it holds a hit on another ship, as ships never touch each other (the
+ * same rule followed by {@linkplain Ocean#placeAllShipsRandomly()}). While no ship is
+ * hit it fires at the location covered by the most placements, weighting the
+ * placements of each type by the number of ships of that type still afloat;
+ * once a ship is hit it only weighs the placements covering hits, by the number
+ * of hits they cover.
+ * <p>
+ * Every placement is enumerated once per board size, and each location knows
+ * the placements covering it or its surroundings: when a location changes
+ * state only those placements are checked again, and the counts of the
+ * locations they cover are updated by difference. Choosing a shot is a single
+ * scan of the board, and neither choosing a shot nor learning from its outcome
+ * allocates anything.
+ *
+ * @author Angelo Oparah
+ *
+ */
+public class DensityShooter implements Shooter
+{
+	/** largest area of board the placements are enumerated for. */
+	public static final int MAX_AREA = 1 << 16;
+
+	/** state of a location that has not been fired upon nor ruled out. */
+	private static final byte UNKNOWN = 0;
+
+	/** state of a location known to be empty sea. */
+	private static final byte SEA = 1;
+
+	/** state of a location holding a hit on a ship still afloat. */
+	private static final byte HIT = 2;
+
+	/** state of a location holding part of a sunken ship. */
+	private static final byte SUNK = 3;
+
+	/** source of randomness to break ties between locations. */
+	private final Random random;
+
+	/** height of the board being played. */
+	private int height;
+
+	/** width of the board being played. */
+	private int width;
+
+	/** state of each location of the board, row by row. */
+	private byte[] states;
+
+	/** number of ships of each type still afloat, as in the spec at first. */
+	private final int[] afloat = new int[ShipPlacer.LENGTHS.length];
+
+	/** number of locations holding a hit on a ship still afloat. */
+	private int hitsAfloat;
+
+	/** type of each placement, as an index of the ship lengths. */
+	private int[] placementTypes;
+
+	/** location of the bow of each placement, row by row. */
+	private int[] placementBows;
+
+	/** distance between consecutive locations covered by each placement. */
+	private int[] placementSteps;
+
+	/**
+	 * hits covered by each legal placement plus one; {@code 0} for illegal
+	 * placements.
+	 */
+	private int[] placementScores;
+
+	/**
+	 * placements covering each location or a location around it, so that a
+	 * change of state of the location can affect their legality.
+	 */
+	private int[][] touching;
+
+	/** number of legal placements of each type covering each location. */
+	private int[][] densities;
+
+	/**
+	 * number of hits covered by the legal placements of each type covering
+	 * each location.
+	 */
+	private int[][] targetDensities;
+
+
+	/**
+	 * Creates a new solver breaking ties at random.
+	 */
+	public DensityShooter()
+	{
+		this(new Random());
+	}
+
+	/**
+	 * Creates a new solver breaking ties with the given source of randomness,
+	 * so that the same seed plays the same board the same way.
+	 *
+	 * @param random
+	 *            source of randomness to break ties between locations.
+	 */
+	public DensityShooter(Random random)
+	{
+		this.random = random;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @throws IllegalArgumentException
+	 *             if the area of the board exceeds {@value #MAX_AREA}.
+	 */
+	@Override
+	public void reset(BoardSpec spec)
+	{
+		if (spec.getHeight() * spec.getWidth() > MAX_AREA)
+		{
+			throw new IllegalArgumentException("Illegal board too large for the solver: " + spec);
+		}
+
+		if (states == null || height != spec.getHeight() || width != spec.getWidth())
+		{
+			// only enumerate the placements when the size of the board changes
+			height = spec.getHeight();
+			width = spec.getWidth();
+
+			enumeratePlacements();
+		}
+
+		for (int type = 0; type < afloat.length; type++)
+		{
+			afloat[type] = spec.getShipCount(ShipKind.byId(type));
+		}
+
+		hitsAfloat = 0;
+		Arrays.fill(states, UNKNOWN);
+
+		// on an empty board every placement is legal and covers no hits
+		for (int type = 0; type < afloat.length; type++)
+		{
+			Arrays.fill(densities[type], 0);
+			Arrays.fill(targetDensities[type], 0);
+		}
+
+		Arrays.fill(placementScores, 0);
+
+		for (int placement = 0; placement < placementScores.length; placement++)
+		{
+			update(placement, 1);
+		}
+	}
+
+	@Override
+	public long nextShot()
+	{
+		if (states == null)
+		{
+			throw new IllegalStateException("The shooter has not been reset for a board");
+		}
+
+		int cell = -1;
+
+		if (hitsAfloat > 0)
+		{
+			// finish off the ships hit first
+			cell = densest(targetDensities);
+		}
+		if (cell < 0)
+		{
+			cell = densest(densities);
+		}
+		if (cell < 0)
+		{
+			// no placement is left (the board does not match the fleet): fire
+			// at the first location still unknown
+			for (int i = 0; i < states.length && cell < 0; i++)
+			{
+				cell = states[i] == UNKNOWN ? i : -1;
+			}
+		}
+		if (cell < 0)
+		{
+			throw new IllegalStateException("Every location has been fired upon");
+		}
+
+		return ShotResults.shot(cell / width, cell % width);
+	}
+
+	@Override
+	public void observe(int row, int column, boolean hit, boolean sunk)
+	{
+		if (row < 0 || row >= height || column < 0 || column >= width)
+		{
+			// nothing to learn from a shot outside the board
+			return;
+		}
+
+		int cell = row * width + column;
+
+		if (!hit)
+		{
+			if (states[cell] == UNKNOWN)
+			{
+				change(cell, SEA);
+			}
+
+			return;
+		}
+
+		if (states[cell] != HIT)
+		{
+			hitsAfloat++;
+			change(cell, HIT);
+		}
+
+		// ships are straight and never touch: the diagonals are empty sea
+		rule(row - 1, column - 1);
+		rule(row - 1, column + 1);
+		rule(row + 1, column - 1);
+		rule(row + 1, column + 1);
+
+		if (sunk)
+		{
+			sink(row, column);
+		}
+	}
+
+
+	// ============== private methods ============= //
+
+	/**
+	 * Enumerates every placement of every type of ship on the board, and the
+	 * placements touching each location.
+	 */
+	private void enumeratePlacements()
+	{
+		int area = height * width;
+		int count = 0;
+
+		// count the placements first, submarines having a single orientation
+		for (int length : ShipPlacer.LENGTHS)
+		{
+			count += positions(length, true) + (length > 1 ? positions(length, false) : 0);
+		}
+
+		states = new byte[area];
+		placementTypes = new int[count];
+		placementBows = new int[count];
+		placementSteps = new int[count];
+		placementScores = new int[count];
+		densities = new int[afloat.length][area];
+		targetDensities = new int[afloat.length][area];
+
+		int[] touchCounts = new int[area];
+		int placement = 0;
+
+		for (int type = 0; type < ShipPlacer.LENGTHS.length; type++)
+		{
+			int length = ShipPlacer.LENGTHS[type];
+
+			for (int orientation = 0; orientation < (length > 1 ? 2 : 1); orientation++)
+			{
+				boolean horizontal = orientation == 0;
+				int rows = horizontal ? height : height - length + 1;
+				int columns = horizontal ? width - length + 1 : width;
+
+				for (int i = 0; i < rows; i++)
+				{
+					for (int j = 0; j < columns; j++)
+					{
+						placementTypes[placement] = type;
+						placementBows[placement] = i * width + j;
+						placementSteps[placement] = horizontal ? 1 : width;
+
+						touch(placement, touchCounts, null);
+						placement++;
+					}
+				}
+			}
+		}
+
+		touching = new int[area][];
+
+		for (int cell = 0; cell < area; cell++)
+		{
+			touching[cell] = new int[touchCounts[cell]];
+		}
+
+		// fill in the placements touching each location, counting down
+		for (placement = 0; placement < count; placement++)
+		{
+			touch(placement, touchCounts, touching);
+		}
+	}
+
+	/**
+	 * Returns the number of positions of a ship of the given length and
+	 * orientation on the board.
+	 *
+	 * @param length
+	 *            the length of the ship.
+	 * @param horizontal
+	 *            the orientation of the ship.
+	 * @return the number of positions, possibly {@code 0}.
+	 */
+	private int positions(int length, boolean horizontal)
+	{
+		int rows = horizontal ? height : height - length + 1;
+		int columns = horizontal ? width - length + 1 : width;
+
+		return Math.max(0, rows) * Math.max(0, columns);
+	}
+
+	/**
+	 * Visits the locations covered by the given placement and those around
+	 * it: counts them if no table is given, adds the placement to the table of
+	 * each of them otherwise.
+	 *
+	 * @param placement
+	 *            the placement to visit.
+	 * @param touchCounts
+	 *            the number of placements touching each location, incremented
+	 *            while counting and decremented while filling the table.
+	 * @param table
+	 *            the placements touching each location, or {@code null} to
+	 *            count them.
+	 */
+	private void touch(int placement, int[] touchCounts, int[][] table)
+	{
+		int bow = placementBows[placement];
+		boolean horizontal = placementSteps[placement] == 1;
+		int length = ShipPlacer.LENGTHS[placementTypes[placement]];
+		int lastRow = bow / width + (horizontal ? 0 : length - 1);
+		int lastColumn = bow % width + (horizontal ? length - 1 : 0);
+
+		for (int i = Math.max(0, bow / width - 1); i <= Math.min(height - 1, lastRow + 1); i++)
+		{
+			for (int j = Math.max(0, bow % width - 1); j <= Math.min(width - 1, lastColumn + 1); j++)
+			{
+				int cell = i * width + j;
+
+				if (table == null)
+				{
+					touchCounts[cell]++;
+				}
+				else
+				{
+					table[cell][--touchCounts[cell]] = placement;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Changes the state of a location, and checks again the legality of the
+	 * placements touching it.
+	 *
+	 * @param cell
+	 *            the index of the location.
+	 * @param state
+	 *            the new state of the location.
+	 */
+	private void change(int cell, byte state)
+	{
+		states[cell] = state;
+
+		for (int placement : touching[cell])
+		{
+			update(placement, score(placement));
+		}
+	}
+
+	/**
+	 * Marks the given location as empty sea, if within the board and unknown.
+	 *
+	 * @param row
+	 *            vertical coordinate of the location.
+	 * @param column
+	 *            horizontal coordinate of the location.
+	 */
+	private void rule(int row, int column)
+	{
+		if (row >= 0 && row < height && column >= 0 && column < width && states[row * width + column] == UNKNOWN)
+		{
+			change(row * width + column, SEA);
+		}
+	}
+
+	/**
+	 * Marks the ship covering the given location as sunk, rules out its
+	 * surroundings and takes a ship of its type out of the fleet afloat.
+	 *
+	 * @param row
+	 *            vertical coordinate of the last hit on the ship.
+	 * @param column
+	 *            horizontal coordinate of the last hit on the ship.
+	 */
+	private void sink(int row, int column)
+	{
+		// ships never touch, so the hits adjacent to the sinking one belong
+		// to the same ship
+		boolean horizontal = isHit(row, column - 1) || isHit(row, column + 1);
+		int rowStep = horizontal ? 0 : 1;
+		int columnStep = horizontal ? 1 : 0;
+
+		int r = row;
+		int c = column;
+
+		while (isHit(r - rowStep, c - columnStep))
+		{
+			r -= rowStep;
+			c -= columnStep;
+		}
+
+		int length = 0;
+
+		while (isHit(r, c))
+		{
+			hitsAfloat--;
+			change(r * width + c, SUNK);
+
+			for (int i = -1; i <= 1; i++)
+			{
+				for (int j = -1; j <= 1; j++)
+				{
+					rule(r + i, c + j);
+				}
+			}
+
+			r += rowStep;
+			c += columnStep;
+			length++;
+		}
+
+		for (int type = 0; type < afloat.length; type++)
+		{
+			if (ShipPlacer.LENGTHS[type] == length && afloat[type] > 0)
+			{
+				// only one ship was sunk, even if another type has its length
+				afloat[type]--;
+				break;
+			}
+		}
+	}
+
+	/**
+	 * Indicates whether the given location holds a hit on a ship still afloat.
+	 *
+	 * @param row
+	 *            vertical coordinate of the location.
+	 * @param column
+	 *            horizontal coordinate of the location.
+	 * @return {@code true} if the location is within the board and was hit,
+	 *         {@code false} otherwise.
+	 */
+	private boolean isHit(int row, int column)
+	{
+		return row >= 0 && row < height && column >= 0 && column < width && states[row * width + column] == HIT;
+	}
+
+	/**
+	 * Works out the score of a placement from the state of the locations it
+	 * touches.
+	 *
+	 * @param placement
+	 *            the placement to score.
+	 * @return the number of hits it covers plus one if legal, {@code 0}
+	 *         otherwise.
+	 */
+	private int score(int placement)
+	{
+		int bow = placementBows[placement];
+		int step = placementSteps[placement];
+		int length = ShipPlacer.LENGTHS[placementTypes[placement]];
+		int hits = 0;
+
+		// the locations covered must not be known to be empty or sunk
+		for (int i = 0, cell = bow; i < length; i++, cell += step)
+		{
+			if (states[cell] == SEA || states[cell] == SUNK)
+			{
+				return 0;
+			}
+
+			hits += states[cell] == HIT ? 1 : 0;
+		}
+
+		// and the locations around them must not hold hits on other ships
+		int lastRow = bow / width + (step == 1 ? 0 : length - 1);
+		int lastColumn = bow % width + (step == 1 ? length - 1 : 0);
+		int around = 0;
+
+		for (int i = Math.max(0, bow / width - 1); i <= Math.min(height - 1, lastRow + 1); i++)
+		{
+			for (int j = Math.max(0, bow % width - 1); j <= Math.min(width - 1, lastColumn + 1); j++)
+			{
+				around += states[i * width + j] == HIT ? 1 : 0;
+			}
+		}
+
+		return around == hits ? hits + 1 : 0;
+	}
+
+	/**
+	 * Sets the score of a placement, updating the counts of the locations it
+	 * covers by the difference with its previous score.
+	 *
+	 * @param placement
+	 *            the placement to update.
+	 * @param score
+	 *            the new score of the placement.
+	 */
+	private void update(int placement, int score)
+	{
+		int previous = placementScores[placement];
+
+		if (score == previous)
+		{
+			return;
+		}
+
+		placementScores[placement] = score;
+
+		int[] density = densities[placementTypes[placement]];
+		int[] targetDensity = targetDensities[placementTypes[placement]];
+		int legal = (score > 0 ? 1 : 0) - (previous > 0 ? 1 : 0);
+		int hits = Math.max(0, score - 1) - Math.max(0, previous - 1);
+
+		for (int i = 0, cell = placementBows[placement]; i < ShipPlacer.LENGTHS[placementTypes[placement]]; i++,
+				cell += placementSteps[placement])
+		{
+			density[cell] += legal;
+			targetDensity[cell] += hits;
+		}
+	}
+
+	/**
+	 * Finds the unknown location with the highest count, weighting the count
+	 * of each type by the number of ships of that type still afloat and
+	 * breaking ties at random.
+	 *
+	 * @param counts
+	 *            the counts of each type for each location.
+	 * @return the index of the location, or {@code -1} if every unknown
+	 *         location has a count of {@code 0}.
+	 */
+	private int densest(int[][] counts)
+	{
+		int best = -1;
+		long bestWeight = 0;
+		int ties = 0;
+
+		for (int cell = 0; cell < states.length; cell++)
+		{
+			if (states[cell] != UNKNOWN)
+			{
+				continue;
+			}
+
+			long weight = 0;
+
+			for (int type = 0; type < afloat.length; type++)
+			{
+				weight += (long) afloat[type] * counts[type][cell];
+			}
+
+			if (weight > bestWeight)
+			{
+				best = cell;
+				bestWeight = weight;
+				ties = 1;
+			}
+			else if (weight == bestWeight && weight > 0 && random.nextInt(++ties) == 0)
+			{
+				// pick each of the tied locations with the same probability
+				best = cell;
+			}
+		}
+
+		return best;
+	}
+}
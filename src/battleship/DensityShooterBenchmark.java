@@ -0,0 +1,103 @@
+package battleship;
+
+import java.util.Random;
+
+/**
+ * Measures the latency of each move of the {@linkplain DensityShooter}, that is
+ * the time to choose a shot plus the time to learn from its outcome, as the AI
+ * opponent has to move within a strict time budget. The same games are played
+ * by the {@linkplain HuntTargetShooter} for comparison; for each spec and
+ * shooter the benchmark reports the average number of shots per game and the
+ * median, the 99th percentile and the max latency of a move.
+ *
+ * @author Angelo Oparah
+ *
+ */
+public class DensityShooterBenchmark
+{
+	/** specs to measure, from the standard one to the largest one. */
+	private static final BoardSpec[] SPECS = {
+			BoardSpec.STANDARD,
+			new BoardSpec(30, 30, 3, 6, 9, 12),
+			new BoardSpec(100, 100, 10, 20, 30, 40) };
+
+	/**
+	 * number of games played on the standard board, and as many to warm up;
+	 * larger boards play proportionally fewer games.
+	 */
+	private static final int GAMES = 200;
+
+	/** seed of the boards and of the shooters, so that every run is the same. */
+	private static final long SEED = 42;
+
+
+	/**
+	 * Runs the benchmark for every spec, printing one line per shooter.
+	 *
+	 * @param args
+	 *            not used.
+	 */
+	public static void main(String[] args)
+	{
+		System.out.printf("%-18s %-30s %10s %12s %12s %12s%n", "shooter", "spec", "shots", "p50 (ns)", "p99 (ns)",
+				"max (ns)");
+
+		for (BoardSpec spec : SPECS)
+		{
+			// run twice, so that the second run is measured on warm code
+			measure(new DensityShooter(new Random(SEED)), spec, false);
+			measure(new DensityShooter(new Random(SEED)), spec, true);
+			measure(new HuntTargetShooter(new Random(SEED)), spec, false);
+			measure(new HuntTargetShooter(new Random(SEED)), spec, true);
+		}
+	}
+
+	/**
+	 * Plays a number of games with the given shooter, timing every move.
+	 *
+	 * @param shooter
+	 *            the shooter to measure.
+	 * @param spec
+	 *            dimensions of the board and composition of the fleet.
+	 * @param report
+	 *            whether or not the results should be printed.
+	 */
+	private static void measure(Shooter shooter, BoardSpec spec, boolean report)
+	{
+		BoardGenerator generator = new BoardGenerator(BoardEngine.SPARSE, spec, SEED);
+		LatencyHistogram latencies = new LatencyHistogram();
+		int games = Math.max(10, GAMES * BoardSpec.STANDARD.getFleetArea() / spec.getFleetArea());
+		long shots = 0;
+
+		for (int game = 0; game < games; game++)
+		{
+			Board board = generator.generate(game);
+
+			shooter.reset(spec);
+
+			while (!board.isGameOver())
+			{
+				long start = System.nanoTime();
+				long shot = shooter.nextShot();
+				long elapsed = System.nanoTime() - start;
+
+				int row = ShotResults.row(shot);
+				int column = ShotResults.column(shot);
+				ShotOutcome outcome = board.shoot(row, column);
+
+				// only time the shooter, not the board
+				start = System.nanoTime();
+				shooter.observe(row, column, outcome.isScored(), outcome.isSunk());
+				latencies.record(elapsed + System.nanoTime() - start);
+
+				shots++;
+			}
+		}
+
+		if (report)
+		{
+			System.out.printf("%-18s %-30s %10.1f %12d %12d %12d%n", shooter.getClass().getSimpleName(), spec,
+					(double) shots / games, latencies.percentile(0.5), latencies.percentile(0.99), latencies.max());
+		}
+	}
+}
@@ -0,0 +1,83 @@
+package battleship;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Test class to test the API of the {@linkplain DensityShooter} class.
+ *
+ * @author Angelo Oparah
+ *
+ */
+public class DensityShooterTest
+{
+	/** default timeout test duration in milliseconds */
+	private static final int DEFAULT_TIMEOUT = 10000;
+
+	/** number of games played by each test. */
+	private static final int GAMES = 300;
+
+	/**
+	 * The solver should sink the whole fleet without ever firing twice at the
+	 * same location, in fewer shots than hunting and targeting
+	 */
+	@Test(timeout = DEFAULT_TIMEOUT)
+	public void test_play_shouldSinkTheFleetInFewerShotsThanHuntAndTarget()
+	{
+		BoardGenerator generator = new BoardGenerator(BoardEngine.BITBOARD, BoardSpec.STANDARD, 42);
+		Shooter solver = new DensityShooter(new Random(42));
+		Shooter hunter = new HuntTargetShooter(new Random(42));
+		long solverShots = 0;
+		long hunterShots = 0;
+
+		for (int game = 0; game < GAMES; game++)
+		{
+			Board board = generator.generate(game);
+			int shots = solver.play(board);
+
+			assertTrue("game not over", board.isGameOver());
+			assertEquals("repeated shots", shots, OceanTest.firedUpon(board));
+			assertEquals("wasted hits", BoardSpec.STANDARD.getFleetArea(), board.getHitCount());
+
+			solverShots += shots;
+			hunterShots += hunter.play(generator.generate(game));
+		}
+
+		assertTrue("too many shots: " + solverShots / GAMES + " vs " + hunterShots / GAMES,
+				solverShots < hunterShots);
+	}
+
+	/**
+	 * The solver should sink any fleet on a board of any size, reusing its
+	 * placements from one game to the next, without repeating shots
+	 */
+	@Test(timeout = DEFAULT_TIMEOUT)
+	public void test_play_shouldPlayAnyFleetOnAnyBoardToTheEnd()
+	{
+		BoardSpec spec = new BoardSpec(12, 15, 2, 2, 3, 5);
+		BoardGenerator generator = new BoardGenerator(BoardEngine.SPARSE, spec, 7);
+		Shooter solver = new DensityShooter(new Random(7));
+
+		for (int game = 0; game < GAMES; game++)
+		{
+			Board board = generator.generate(game);
+			int shots = solver.play(board);
+
+			assertTrue("game not over", board.isGameOver());
+			assertEquals("repeated shots", shots, OceanTest.firedUpon(board));
+		}
+	}
+
+	/**
+	 * Boards too large to enumerate every placement should be refused
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void test_reset_shouldRefuseBoardsLargerThanTheMaxArea()
+	{
+		new DensityShooter().reset(new BoardSpec(1000, 1000, 1, 2, 3, 4));
+	}
+}
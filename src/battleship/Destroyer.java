@@ -25,9 +25,27 @@ public class Destroyer extends Ship
 		super(DESTROYER_LENGTH);
 	}
 
+	/**
+	 * Creates a real {@linkplain Ship} of length equal to
+	 * {@value #DESTROYER_LENGTH} for a board of the given spec.
+	 *
+	 * @param spec
+	 *            spec of the board the ship will be placed onto.
+	 */
+	public Destroyer(BoardSpec spec)
+	{
+		super(DESTROYER_LENGTH, spec);
+	}
+
 	@Override
 	public String getShipType()
 	{
 		return DESTROYER_TYPE;
 	}
+
+	@Override
+	public ShipKind getKind()
+	{
+		return ShipKind.DESTROYER;
+	}
 }
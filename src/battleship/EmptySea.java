@@ -15,6 +15,43 @@ public class EmptySea extends Ship
 	/** empty sea type. */
 	public static final String EMPTY_SEA_TYPE = "empty sea";
 
+	/**
+	 * Shared, immutable empty sea that boards can drop onto every empty
+	 * location instead of allocating one instance per location. Since it is
+	 * shared it cannot keep track of shots: boards using it must record the
+	 * locations fired upon themselves.
+	 */
+	static final EmptySea SHARED = new EmptySea()
+	{
+		/** {@inheritDoc} The shared empty sea never records a shot. */
+		@Override
+		public boolean shootAt(int row, int col)
+		{
+			return false;
+		}
+
+		/** @throws UnsupportedOperationException always: it is shared. */
+		@Override
+		public void setBowRow(int bowRow)
+		{
+			throw new UnsupportedOperationException("the shared empty sea cannot be moved");
+		}
+
+		/** @throws UnsupportedOperationException always: it is shared. */
+		@Override
+		public void setBowColumn(int bowColumn)
+		{
+			throw new UnsupportedOperationException("the shared empty sea cannot be moved");
+		}
+
+		/** @throws UnsupportedOperationException always: it is shared. */
+		@Override
+		public void setHorizontal(boolean horizontal)
+		{
+			throw new UnsupportedOperationException("the shared empty sea cannot be rotated");
+		}
+	};
+
 
 	/**
 	 * Creates a dummy {@linkplain Ship} of length equal to
@@ -26,6 +63,19 @@ public class EmptySea extends Ship
 		super(EMPTY_SEA_LENGTH);
 	}
 
+	/**
+	 * Creates a dummy {@linkplain Ship} of length equal to
+	 * {@value #EMPTY_SEA_LENGTH}, representing an empty sea location on a
+	 * board of the given spec.
+	 *
+	 * @param spec
+	 *            spec of the board the empty sea will be placed onto.
+	 */
+	public EmptySea(BoardSpec spec)
+	{
+		super(EMPTY_SEA_LENGTH, spec);
+	}
+
 	/**
 	 * {@inheritDoc} For an EmptySea it returns the string
 	 * {@value #EMPTY_SEA_TYPE}.
@@ -36,6 +86,12 @@ public class EmptySea extends Ship
 		return EMPTY_SEA_TYPE;
 	}
 
+	@Override
+	public ShipKind getKind()
+	{
+		return ShipKind.EMPTY_SEA;
+	}
+
 	/** {@inheritDoc} */
 	@Override
 	public boolean isRealShip()
@@ -0,0 +1,495 @@
+package battleship;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Data oriented implementation of the {@linkplain Ocean}, holding no
+ * {@linkplain Ship} instance at all while playing. The grid is a single
+ * {@code byte} per location, holding the (1-based) id of the ship covering it,
+ * {@code 0} meaning empty sea, and the fleet is a table of primitive columns,
+ * one entry per ship: the bow row and column, the length, the
+ * {@linkplain ShipKind} id, the orientation (as a bit set) and the mask of the
+ * parts hit. A shot at a ship loads its id from the grid and its hit mask from
+ * the table and sets one bit of the mask, without any virtual call; misses are
+ * kept in a bit set of their own. A board holds at most {@value #MAX_SHIPS}
+ * ships, so that ids fit a byte.
+ * <p>
+ * Ships are only built as a view, for the matrix handed out by
+ * {@linkplain #getShipArray()} (for testing and debugging), which is then kept
+ * in sync with the shots fired.
+ *
+ * @author Angelo Oparah
+ *
+ */
+public class FleetTableOcean extends AbstractBoard
+{
+	/** max number of ships on a board, as their ids are stored as bytes. */
+	public static final int MAX_SHIPS = 255;
+
+	/** dimensions of the ocean and composition of the fleet. */
+	private final BoardSpec spec;
+
+	/** id of the ship covering each location, row by row; {@code 0} is sea. */
+	private final byte[] shipIdAt;
+
+	/** bits set for the empty sea locations that have been fired upon. */
+	private final long[] misses;
+
+	/** vertical coordinate of the bow of each ship. */
+	private int[] bowRows;
+
+	/** horizontal coordinate of the bow of each ship. */
+	private int[] bowColumns;
+
+	/** length of each ship. */
+	private byte[] lengths;
+
+	/** id of the {@linkplain ShipKind} of each ship. */
+	private byte[] kindIds;
+
+	/** bits set for the horizontal ships. */
+	private long[] horizontals;
+
+	/** parts hit of each ship, one bit per part from the bow. */
+	private int[] hitMasks;
+
+	/** number of ships placed onto the ocean. */
+	private int fleetSize;
+
+	/** count of the total shots fired at any given time of the game. */
+	private int shotsFired;
+
+	/** count of the total times a shot hit any ship that was not sunken. */
+	private int hitCount;
+
+	/** number of ships sunk. */
+	private int shipsSunk;
+
+
+	/**
+	 * Constructs a new empty standard FleetTableOcean and sets the hit, the
+	 * shot and the ship sunk count to {@code 0}.
+	 */
+	public FleetTableOcean()
+	{
+		this(BoardSpec.STANDARD);
+	}
+
+	/**
+	 * Constructs a new empty FleetTableOcean with the dimensions and the fleet
+	 * given by the spec, and sets the hit, the shot and the ship sunk count to
+	 * {@code 0}.
+	 *
+	 * @param spec
+	 *            dimensions of the ocean and composition of the fleet.
+	 * @throws IllegalArgumentException
+	 *             if the fleet of the spec has more than {@value #MAX_SHIPS}
+	 *             ships.
+	 */
+	public FleetTableOcean(BoardSpec spec)
+	{
+		if (spec.getFleetSize() > MAX_SHIPS)
+		{
+			throw new IllegalArgumentException("Illegal fleet larger than " + MAX_SHIPS + " ships: " + spec);
+		}
+
+		this.spec = spec;
+
+		int area = spec.getHeight() * spec.getWidth();
+
+		shipIdAt = new byte[area];
+		misses = new long[(area + Long.SIZE - 1) / Long.SIZE];
+
+		// make room for the whole fleet (and at least one ship)
+		int capacity = Math.max(1, spec.getFleetSize());
+
+		bowRows = new int[capacity];
+		bowColumns = new int[capacity];
+		lengths = new byte[capacity];
+		kindIds = new byte[capacity];
+		horizontals = new long[(capacity + Long.SIZE - 1) / Long.SIZE];
+		hitMasks = new int[capacity];
+	}
+
+	@Override
+	public BoardSpec getSpec()
+	{
+		return spec;
+	}
+
+	@Override
+	public int getShotsFired()
+	{
+		return shotsFired;
+	}
+
+	@Override
+	public int getHitCount()
+	{
+		return hitCount;
+	}
+
+	@Override
+	public int getShipsSunk()
+	{
+		return shipsSunk;
+	}
+
+	@Override
+	public int getShipsPlaced()
+	{
+		return fleetSize;
+	}
+
+	@Override
+	public boolean isGameOver()
+	{
+		return shipsSunk == spec.getFleetSize();
+	}
+
+	/**
+	 * Places the given ship onto the ocean, copying its position and its kind
+	 * into the fleet table: the ship itself is not kept.
+	 *
+	 * @param ship
+	 *            the (real) ship to place.
+	 * @throws IllegalArgumentException
+	 *             if the ship is not real or not of a registered
+	 *             {@linkplain ShipKind}, exceeds the borders of the ocean,
+	 *             overlaps with a ship already placed or if the ocean already
+	 *             holds {@value #MAX_SHIPS} ships.
+	 */
+	@Override
+	public void placeShip(Ship ship)
+	{
+		if (ship != null && ship.getKind() == null)
+		{
+			throw new IllegalArgumentException("Illegal ship to place: " + ship);
+		}
+
+		super.placeShip(ship);
+	}
+
+	@Override
+	public boolean isOccupied(int row, int column)
+	{
+		// check only if the coordinates are in range
+		return spec.contains(row, column) && shipIdAt[row * spec.getWidth() + column] != 0;
+	}
+
+	@Override
+	public String getShipTypeAt(int row, int column)
+	{
+		int ship = (shipIdAt[checkedCell(row, column)] & 0xFF) - 1;
+
+		return ship < 0 ? EmptySea.EMPTY_SEA_TYPE : ShipKind.byId(kindIds[ship]).getType();
+	}
+
+	@Override
+	public boolean hasSunkShipAt(int row, int column)
+	{
+		if (spec.contains(row, column))
+		{
+			// check only if the coordinates are in range
+			int ship = (shipIdAt[row * spec.getWidth() + column] & 0xFF) - 1;
+
+			return ship >= 0 && isSunk(ship);
+		}
+
+		return false;
+	}
+
+	/**
+	 * Returns a {@code char} representing the current state of the given
+	 * location: "x" for a sunken ship, "S" for a ship part that was hit, "-"
+	 * for empty sea that was fired upon and "." for a location yet to be fired
+	 * upon.
+	 *
+	 * @param row
+	 *            vertical coordinate of the location to display.
+	 * @param column
+	 *            horizontal coordinate of the location to display.
+	 * @return a {@code char} representing the state of the location.
+	 * @throws IllegalArgumentException
+	 *             if the coordinates provided fall outside the ocean.
+	 */
+	@Override
+	public char getStateAt(int row, int column)
+	{
+		int cell = checkedCell(row, column);
+		int ship = (shipIdAt[cell] & 0xFF) - 1;
+
+		if (ship < 0)
+		{
+			return isMissed(cell) ? '-' : '.';
+		}
+		if (isSunk(ship))
+		{
+			return 'x';
+		}
+
+		return (hitMasks[ship] & 1 << offset(ship, row, column)) != 0 ? 'S' : '.';
+	}
+
+	/**
+	 * {@inheritDoc} Changes made directly to the matrix are not reflected by
+	 * the fleet table.
+	 */
+	@Override
+	protected Ship[][] buildShipArray()
+	{
+		int width = spec.getWidth();
+		Ship[] fleet = new Ship[fleetSize];
+
+		for (int ship = 0; ship < fleetSize; ship++)
+		{
+			fleet[ship] = Ocean.createShip(ShipKind.byId(kindIds[ship]), spec, bowRows[ship], bowColumns[ship],
+					isHorizontal(ship));
+		}
+
+		Ship[][] shipArray = new Ship[spec.getHeight()][width];
+
+		for (int i = 0; i < spec.getHeight(); i++)
+		{
+			for (int j = 0; j < width; j++)
+			{
+				int cell = i * width + j;
+				int ship = (shipIdAt[cell] & 0xFF) - 1;
+
+				// pick the ship covering the location or create an empty
+				// sea, then replay the shot fired at it (if any)
+				shipArray[i][j] = ship < 0 ? Ocean.createShip(ShipKind.EMPTY_SEA, spec, i, j, true) : fleet[ship];
+
+				if (ship < 0 ? isMissed(cell) : (hitMasks[ship] & 1 << offset(ship, i, j)) != 0)
+				{
+					shipArray[i][j].shootAt(i, j);
+				}
+			}
+		}
+
+		return shipArray;
+	}
+
+	/**
+	 * {@inheritDoc} The positions are drawn straight into the fleet table: no
+	 * {@linkplain Ship} is built.
+	 */
+	@Override
+	protected void placeFleet()
+	{
+		ShipPlacer placer = new ShipPlacer(spec, ThreadLocalRandom.current());
+		placer.drawFleet();
+
+		for (int i = 0; i < spec.getFleetSize(); i++)
+		{
+			int kind = placer.getShipType(i);
+
+			addShip(kind, ShipPlacer.LENGTHS[kind], placer.getBowRow(i), placer.getBowColumn(i),
+					placer.isHorizontal(i));
+		}
+	}
+
+	@Override
+	protected byte fire(int row, int column)
+	{
+		// try and hit ships only within the ocean's borders
+		if (!spec.contains(row, column))
+		{
+			return ShotResults.OUT_OF_RANGE;
+		}
+
+		int cell = row * spec.getWidth() + column;
+		int ship = (shipIdAt[cell] & 0xFF) - 1;
+
+		viewShot(row, column);
+
+		if (ship < 0)
+		{
+			// record the miss in the bit set of the empty sea
+			boolean repeated = isMissed(cell);
+			misses[cell >>> 6] |= 1L << cell;
+
+			return ShotResults.shotAtSea(repeated);
+		}
+
+		int hits = hitMasks[ship];
+		int sunkMask = -1 >>> (Integer.SIZE - lengths[ship]);
+		byte kind = ShotResults.kindOf(kindIds[ship]);
+
+		if (hits == sunkMask)
+		{
+			return ShotResults.shotAtSunkShip(kind);
+		}
+
+		int part = 1 << offset(ship, row, column);
+
+		if ((hits & part) != 0)
+		{
+			return ShotResults.shotAtShip(kind, true, false);
+		}
+
+		hitMasks[ship] = hits | part;
+
+		return ShotResults.shotAtShip(kind, false, (hits | part) == sunkMask);
+	}
+
+	@Override
+	protected void countShots(int fired, int hits, int sinks)
+	{
+		shotsFired += fired;
+		hitCount += hits;
+		shipsSunk += sinks;
+	}
+
+	/**
+	 * {@inheritDoc} The position and the kind of the ship are copied into the
+	 * fleet table.
+	 */
+	@Override
+	protected void dropShip(Ship ship)
+	{
+		addShip(ship.getKind().getId(), ship.getLength(), ship.getBowRow(), ship.getBowColumn(),
+				ship.isHorizontal());
+	}
+
+
+	// ============== private methods ============= //
+
+	/**
+	 * Adds a ship to the fleet table and writes its id onto the grid, as long
+	 * as its id fits a byte. No check is performed on the area covered.
+	 *
+	 * @param kind
+	 *            the id of the {@linkplain ShipKind} of the ship.
+	 * @param length
+	 *            the length of the ship.
+	 * @param bowRow
+	 *            vertical coordinate of the bow.
+	 * @param bowColumn
+	 *            horizontal coordinate of the bow.
+	 * @param horizontal
+	 *            orientation of the ship.
+	 * @throws IllegalArgumentException
+	 *             if the ocean already holds {@value #MAX_SHIPS} ships.
+	 */
+	private void addShip(int kind, int length, int bowRow, int bowColumn, boolean horizontal)
+	{
+		if (fleetSize == MAX_SHIPS)
+		{
+			throw new IllegalArgumentException("Illegal ship to place beyond " + MAX_SHIPS + " ships: "
+					+ ShipKind.byId(kind).getType() + " at " + bowRow + ", " + bowColumn);
+		}
+		if (fleetSize == bowRows.length)
+		{
+			// more ships than the spec: make room for them
+			int capacity = Math.min(MAX_SHIPS, fleetSize * 2);
+
+			bowRows = Arrays.copyOf(bowRows, capacity);
+			bowColumns = Arrays.copyOf(bowColumns, capacity);
+			lengths = Arrays.copyOf(lengths, capacity);
+			kindIds = Arrays.copyOf(kindIds, capacity);
+			horizontals = Arrays.copyOf(horizontals, (capacity + Long.SIZE - 1) / Long.SIZE);
+			hitMasks = Arrays.copyOf(hitMasks, capacity);
+		}
+
+		int ship = fleetSize++;
+
+		bowRows[ship] = bowRow;
+		bowColumns[ship] = bowColumn;
+		lengths[ship] = (byte) length;
+		kindIds[ship] = (byte) kind;
+
+		if (horizontal)
+		{
+			horizontals[ship >>> 6] |= 1L << ship;
+		}
+
+		for (int i = 0; i < length; i++)
+		{
+			int row = horizontal ? bowRow : bowRow + i;
+			int column = horizontal ? bowColumn + i : bowColumn;
+
+			shipIdAt[row * spec.getWidth() + column] = (byte) fleetSize;
+		}
+
+		if (hasShipArray())
+		{
+			viewShip(Ocean.createShip(ShipKind.byId(kind), spec, bowRow, bowColumn, horizontal));
+		}
+	}
+
+	/**
+	 * Returns the index of the given location, row by row.
+	 *
+	 * @param row
+	 *            vertical coordinate of the location.
+	 * @param column
+	 *            horizontal coordinate of the location.
+	 * @return the index of the location.
+	 * @throws IllegalArgumentException
+	 *             if the coordinates provided fall outside the ocean.
+	 */
+	private int checkedCell(int row, int column)
+	{
+		spec.checkLocation(row, column);
+
+		return row * spec.getWidth() + column;
+	}
+
+	/**
+	 * Indicates whether the given empty sea location was fired upon.
+	 *
+	 * @param cell
+	 *            index of the location, row by row.
+	 * @return {@code true} if the location was missed, {@code false}
+	 *         otherwise.
+	 */
+	private boolean isMissed(int cell)
+	{
+		// shifting a long only takes the lowest 6 bits of the distance into
+		// account, so there is no need to mask the cell index
+		return (misses[cell >>> 6] & (1L << cell)) != 0;
+	}
+
+	/**
+	 * Indicates whether the given ship is horizontal.
+	 *
+	 * @param ship
+	 *            (0-based) index of the ship in the fleet table.
+	 * @return {@code true} if the ship is horizontal, {@code false}
+	 *         otherwise.
+	 */
+	private boolean isHorizontal(int ship)
+	{
+		return (horizontals[ship >>> 6] & (1L << ship)) != 0;
+	}
+
+	/**
+	 * Indicates whether every part of the given ship was hit.
+	 *
+	 * @param ship
+	 *            (0-based) index of the ship in the fleet table.
+	 * @return {@code true} if the ship is sunk, {@code false} otherwise.
+	 */
+	private boolean isSunk(int ship)
+	{
+		return hitMasks[ship] == -1 >>> (Integer.SIZE - lengths[ship]);
+	}
+
+	/**
+	 * Returns the offset from the bow of the given location of a ship.
+	 *
+	 * @param ship
+	 *            (0-based) index of the ship in the fleet table.
+	 * @param row
+	 *            vertical coordinate of a location covered by the ship.
+	 * @param column
+	 *            horizontal coordinate of a location covered by the ship.
+	 * @return the offset of the part of the ship at the location.
+	 */
+	private int offset(int ship, int row, int column)
+	{
+		return isHorizontal(ship) ? column - bowColumns[ship] : row - bowRows[ship];
+	}
+}
@@ -0,0 +1,82 @@
+package battleship;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+/**
+ * Runs every test in {@linkplain OceanTest} against the
+ * {@linkplain FleetTableOcean} implementation, through the {@linkplain Board}
+ * interface and the matrix of ships it builds as a view.
+ *
+ * @author Angelo Oparah
+ *
+ */
+public class FleetTableOceanTest extends OceanTest
+{
+	/** {@inheritDoc} */
+	@Override
+	protected Board createOcean()
+	{
+		return new FleetTableOcean();
+	}
+
+	/**
+	 * The ocean should refuse a ship beyond {@value FleetTableOcean#MAX_SHIPS}
+	 * ships, as their ids would no longer fit a byte, and keep the ships
+	 * already placed
+	 */
+	@Test
+	public void test_placeShip_shouldRejectAShipBeyondTheMaxShips()
+	{
+		// if we fill an ocean with as many submarines as allowed
+		BoardSpec spec = new BoardSpec(16, 16, 0, 0, 0, 0);
+		Board board = new FleetTableOcean(spec);
+
+		for (int i = 0; i < FleetTableOcean.MAX_SHIPS; i++)
+		{
+			board.placeShip(submarineAt(spec, i / spec.getWidth(), i % spec.getWidth()));
+		}
+
+		// and then try and place one more
+		try
+		{
+			board.placeShip(submarineAt(spec, spec.getHeight() - 1, spec.getWidth() - 1));
+			fail("placed a ship beyond the max ships");
+		}
+		catch (IllegalArgumentException e)
+		{
+			// expected
+		}
+
+		// we should expect the ocean to still hold the max ships only
+		assertEquals(FleetTableOcean.MAX_SHIPS, board.getShipsPlaced());
+		assertFalse(board.isOccupied(spec.getHeight() - 1, spec.getWidth() - 1));
+	}
+
+
+	// ======================= helper methods ======================== //
+
+	/**
+	 * Creates a submarine at the given location.
+	 *
+	 * @param spec
+	 *            the spec of the board the submarine is meant for.
+	 * @param row
+	 *            vertical coordinate of the submarine.
+	 * @param column
+	 *            horizontal coordinate of the submarine.
+	 * @return the submarine.
+	 */
+	private static Ship submarineAt(BoardSpec spec, int row, int column)
+	{
+		Ship submarine = new Submarine(spec);
+		submarine.setBowRow(row);
+		submarine.setBowColumn(column);
+		submarine.setHorizontal(true);
+
+		return submarine;
+	}
+}
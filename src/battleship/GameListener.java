@@ -0,0 +1,65 @@
+package battleship;
+
+/**
+ * Listener of the events of the games played on a {@linkplain MonitoredBoard}:
+ * the placement of a fleet, every shot fired (whose result tells hits and
+ * sinks apart) and the end of the game. Every method does nothing by default,
+ * so that a listener only implements the events it is interested in. Events
+ * are delivered on the thread that caused them, right after the fact: a
+ * listener must be quick, and thread safe if the board is shared.
+ *
+ * @author Angelo Oparah
+ *
+ */
+public interface GameListener
+{
+	/**
+	 * Invoked once the whole fleet has been placed onto a board at random.
+	 *
+	 * @param board
+	 *            the board the fleet was placed onto.
+	 * @param retries
+	 *            the number of random bows that turned out not to be legal.
+	 * @param backtracks
+	 *            the number of ships moved because no legal position was left
+	 *            for the following ones.
+	 * @param elapsedNanos
+	 *            the time taken to place the fleet, in nanoseconds.
+	 */
+	default void onShipsPlaced(Board board, long retries, long backtracks, long elapsedNanos)
+	{
+	}
+
+	/**
+	 * Invoked after each shot fired at a board.
+	 *
+	 * @param board
+	 *            the board shot at.
+	 * @param row
+	 *            vertical coordinate fired upon.
+	 * @param column
+	 *            horizontal coordinate fired upon.
+	 * @param result
+	 *            the result of the shot, as a code of the
+	 *            {@linkplain ShotResults}.
+	 * @param elapsedNanos
+	 *            the time taken by the shot, in nanoseconds; for shots fired in
+	 *            a batch, the average time of a shot of the batch.
+	 */
+	default void onShot(Board board, int row, int column, byte result, long elapsedNanos)
+	{
+	}
+
+	/**
+	 * Invoked once, after the shot sinking the last ship of a board.
+	 *
+	 * @param board
+	 *            the board whose fleet has been sunk.
+	 * @param elapsedNanos
+	 *            the duration of the game, from the placement of the fleet (or
+	 *            the creation of the board) to the last shot, in nanoseconds.
+	 */
+	default void onGameOver(Board board, long elapsedNanos)
+	{
+	}
+}
@@ -0,0 +1,483 @@
+package battleship;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Random;
+
+/**
+ * Load generator for the {@linkplain GameServer}: it opens the given number of
+ * connections, starts a standard game on each of them and keeps every player
+ * firing at the locations of its board in a random order, one shot at a time,
+ * starting a new game as soon as one is over. Every connection always has one
+ * shot in flight, so the server is kept under a constant load. All the
+ * connections are driven by a single thread through a
+ * {@linkplain Selector}, which makes it possible to simulate thousands of
+ * players. After a warm up, it measures the shots answered per second and the
+ * latency of each shot, from the moment it was sent until its answer was
+ * received.
+ *
+ * @author Angelo Oparah
+ *
+ */
+public class GameLoadGenerator
+{
+	/** size of the buffers of each connection. */
+	private static final int BUFFER_SIZE = 256;
+
+	/** address of the server. */
+	private final InetSocketAddress address;
+
+	/** number of players, each one on its own connection. */
+	private final int sessions;
+
+	/** seed of the order the players fire their shots in. */
+	private final long seed;
+
+
+	/**
+	 * Builds a new load generator.
+	 *
+	 * @param address
+	 *            the address of the server.
+	 * @param sessions
+	 *            the number of players, each one on its own connection; must
+	 *            be strictly positive.
+	 * @param seed
+	 *            the seed of the order the players fire their shots in.
+	 * @throws IllegalArgumentException
+	 *             if the number of sessions is not positive.
+	 */
+	public GameLoadGenerator(InetSocketAddress address, int sessions, long seed)
+	{
+		if (sessions <= 0)
+		{
+			throw new IllegalArgumentException("Illegal non positive value for sessions: " + sessions);
+		}
+
+		this.address = address;
+		this.sessions = sessions;
+		this.seed = seed;
+	}
+
+	/**
+	 * Connects every player, keeps them playing for the given warm up and
+	 * measurement periods and then disconnects them.
+	 *
+	 * @param warmupNanos
+	 *            how long the players play before the measurement starts, in
+	 *            nanoseconds.
+	 * @param measureNanos
+	 *            how long the measurement lasts, in nanoseconds.
+	 * @return the measurements.
+	 * @throws IOException
+	 *             if a connection fails.
+	 * @throws IllegalStateException
+	 *             if the server answers with an error.
+	 */
+	public Report run(long warmupNanos, long measureNanos) throws IOException
+	{
+		LatencyHistogram latencies = new LatencyHistogram();
+		Player[] players = new Player[sessions];
+
+		try (Selector selector = Selector.open())
+		{
+			for (int i = 0; i < sessions; i++)
+			{
+				// connect one player at a time, so that the backlog of the
+				// server is never exceeded
+				SocketChannel channel = SocketChannel.open(address);
+				channel.socket().setTcpNoDelay(true);
+				channel.configureBlocking(false);
+
+				players[i] = new Player(channel, SplitMixRandom.forIndex(seed, i));
+				channel.register(selector, SelectionKey.OP_READ, players[i]);
+			}
+
+			for (Player player : players)
+			{
+				player.startGame();
+			}
+
+			long measureStart = System.nanoTime() + warmupNanos;
+			long end = measureStart + measureNanos;
+			boolean measuring = false;
+			long shots = 0;
+			long games = 0;
+
+			for (long now = System.nanoTime(); now < end; now = System.nanoTime())
+			{
+				if (!measuring && now >= measureStart)
+				{
+					// forget about the warm up
+					latencies.clear();
+					shots = 0;
+					games = 0;
+					measuring = true;
+				}
+
+				selector.select(10);
+
+				Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+
+				while (keys.hasNext())
+				{
+					SelectionKey key = keys.next();
+					keys.remove();
+
+					Player player = (Player) key.attachment();
+
+					for (String answer; (answer = player.readAnswer()) != null;)
+					{
+						if (answer.startsWith("ERR"))
+						{
+							throw new IllegalStateException("Unexpected answer from the server: " + answer);
+						}
+
+						if (player.starting)
+						{
+							player.starting = false;
+						}
+						else
+						{
+							latencies.record(System.nanoTime() - player.sentAt);
+							shots++;
+
+							if (answer.endsWith("GAME_OVER"))
+							{
+								games++;
+								player.startGame();
+								continue;
+							}
+						}
+
+						player.fireNextShot();
+					}
+				}
+			}
+
+			return new Report(shots, games, measureNanos, latencies);
+		}
+		finally
+		{
+			for (Player player : players)
+			{
+				if (player != null)
+				{
+					player.channel.close();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Runs the load generator against a server on the loopback interface and
+	 * prints the measurements.
+	 *
+	 * @param args
+	 *            optionally, the port of the server, the number of sessions
+	 *            and the number of seconds of the measurement.
+	 * @throws IOException
+	 *             if a connection fails.
+	 */
+	public static void main(String[] args) throws IOException
+	{
+		int port = args.length > 0 ? Integer.parseInt(args[0]) : GameServer.DEFAULT_PORT;
+		int sessions = args.length > 1 ? Integer.parseInt(args[1]) : 10_000;
+		int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+
+		Report report = new GameLoadGenerator(new InetSocketAddress(InetAddress.getLoopbackAddress(), port),
+				sessions, 42).run(2_000_000_000L, seconds * 1_000_000_000L);
+
+		System.out.println(sessions + " sessions: " + report);
+	}
+
+
+	// ============== nested classes ============= //
+
+	/**
+	 * Measurements of a run of the load generator.
+	 */
+	public static final class Report
+	{
+		/** number of shots answered. */
+		private final long shots;
+
+		/** number of games over. */
+		private final long games;
+
+		/** duration of the measurement, in nanoseconds. */
+		private final long elapsedNanos;
+
+		/** latencies of the shots, in nanoseconds. */
+		private final LatencyHistogram latencies;
+
+		/**
+		 * Builds a new report.
+		 *
+		 * @param shots
+		 *            number of shots answered.
+		 * @param games
+		 *            number of games over.
+		 * @param elapsedNanos
+		 *            duration of the measurement, in nanoseconds.
+		 * @param latencies
+		 *            latencies of the shots, in nanoseconds.
+		 */
+		Report(long shots, long games, long elapsedNanos, LatencyHistogram latencies)
+		{
+			this.shots = shots;
+			this.games = games;
+			this.elapsedNanos = elapsedNanos;
+			this.latencies = latencies;
+		}
+
+		/**
+		 * Returns the number of shots answered during the measurement.
+		 *
+		 * @return the number of shots.
+		 */
+		public long getShots()
+		{
+			return shots;
+		}
+
+		/**
+		 * Returns the number of games over during the measurement.
+		 *
+		 * @return the number of games.
+		 */
+		public long getGames()
+		{
+			return games;
+		}
+
+		/**
+		 * Returns the sustained number of shots answered per second.
+		 *
+		 * @return the throughput of the server.
+		 */
+		public double getShotsPerSecond()
+		{
+			return shots * 1e9 / elapsedNanos;
+		}
+
+		/**
+		 * Returns the latency below which the given fraction of the shots was
+		 * answered.
+		 *
+		 * @param fraction
+		 *            the fraction of the shots, from {@code 0} to {@code 1}.
+		 * @return the latency, in nanoseconds.
+		 */
+		public long getLatencyPercentile(double fraction)
+		{
+			return latencies.percentile(fraction);
+		}
+
+		/**
+		 * Returns the greatest latency of a shot.
+		 *
+		 * @return the latency, in nanoseconds.
+		 */
+		public long getMaxLatency()
+		{
+			return latencies.max();
+		}
+
+		@Override
+		public String toString()
+		{
+			return String.format("%.0f shots/s, %d games, latency p50 %d us, p99 %d us, p99.9 %d us, max %d us",
+					getShotsPerSecond(), games, getLatencyPercentile(0.5) / 1000, getLatencyPercentile(0.99) / 1000,
+					getLatencyPercentile(0.999) / 1000, getMaxLatency() / 1000);
+		}
+	}
+
+	/**
+	 * Player firing at every location of its board in a random order.
+	 */
+	private static final class Player
+	{
+		/** channel of the connection. */
+		final SocketChannel channel;
+
+		/** source of the order of the shots. */
+		private final Random random;
+
+		/** locations of the board, in the order they are fired upon. */
+		private final int[] order = new int[Ocean.OCEAN_HEIGHT * Ocean.OCEAN_WIDTH];
+
+		/** index of the next location to fire upon. */
+		private int next;
+
+		/** bytes read and not processed yet. */
+		private final ByteBuffer input = ByteBuffer.allocate(BUFFER_SIZE);
+
+		/** bytes of the request being sent. */
+		private final ByteBuffer output = ByteBuffer.allocate(BUFFER_SIZE);
+
+		/** answer being read. */
+		private final StringBuilder line = new StringBuilder();
+
+		/** time the last shot was sent at. */
+		long sentAt;
+
+		/** whether the player is waiting for a game to start. */
+		boolean starting;
+
+		/**
+		 * Builds a new player over the given channel.
+		 *
+		 * @param channel
+		 *            the channel of the connection.
+		 * @param random
+		 *            source of the order of the shots.
+		 */
+		Player(SocketChannel channel, Random random)
+		{
+			this.channel = channel;
+			this.random = random;
+
+			for (int i = 0; i < order.length; i++)
+			{
+				order[i] = i;
+			}
+
+			input.flip();
+		}
+
+		/**
+		 * Asks for a new game and shuffles the order of the shots.
+		 *
+		 * @throws IOException
+		 *             if the connection fails.
+		 */
+		void startGame() throws IOException
+		{
+			for (int i = order.length - 1; i > 0; i--)
+			{
+				int j = random.nextInt(i + 1);
+				int location = order[i];
+				order[i] = order[j];
+				order[j] = location;
+			}
+
+			next = 0;
+			starting = true;
+
+			output.clear();
+			output.put((byte) 'N').put((byte) 'E').put((byte) 'W').put((byte) '\n');
+			send();
+		}
+
+		/**
+		 * Fires at the next location, starting a new game if every location
+		 * was fired upon.
+		 *
+		 * @throws IOException
+		 *             if the connection fails.
+		 */
+		void fireNextShot() throws IOException
+		{
+			if (next == order.length)
+			{
+				startGame();
+				return;
+			}
+
+			int location = order[next++];
+
+			output.clear();
+			output.put((byte) 'S').put((byte) 'H').put((byte) 'O').put((byte) 'T').put((byte) ' ');
+			putNumber(location / Ocean.OCEAN_WIDTH);
+			output.put((byte) ' ');
+			putNumber(location % Ocean.OCEAN_WIDTH);
+			output.put((byte) '\n');
+
+			sentAt = System.nanoTime();
+			send();
+		}
+
+		/**
+		 * Returns the next complete answer received.
+		 *
+		 * @return the answer, without the line separator, or {@code null} if
+		 *         no complete answer is available yet.
+		 * @throws IOException
+		 *             if the connection fails or is closed by the server.
+		 */
+		String readAnswer() throws IOException
+		{
+			while (true)
+			{
+				if (!input.hasRemaining())
+				{
+					input.clear();
+					int read = channel.read(input);
+					input.flip();
+
+					if (read < 0)
+					{
+						throw new IOException("Connection closed by the server");
+					}
+					if (read == 0)
+					{
+						return null;
+					}
+				}
+
+				char c = (char) (input.get() & 0xFF);
+
+				if (c == '\n')
+				{
+					String answer = line.toString();
+					line.setLength(0);
+
+					return answer;
+				}
+
+				line.append(c);
+			}
+		}
+
+		/**
+		 * Appends the decimal digits of the given number to the request.
+		 *
+		 * @param number
+		 *            the non negative number to append.
+		 */
+		private void putNumber(int number)
+		{
+			if (number >= 10)
+			{
+				putNumber(number / 10);
+			}
+
+			output.put((byte) ('0' + number % 10));
+		}
+
+		/**
+		 * Sends the request.
+		 *
+		 * @throws IOException
+		 *             if the connection fails.
+		 */
+		private void send() throws IOException
+		{
+			output.flip();
+
+			// a request is only sent once the previous answer was received, so
+			// the socket buffer is empty and the request is written at once
+			while (output.hasRemaining())
+			{
+				channel.write(output);
+			}
+		}
+	}
+}
@@ -0,0 +1,268 @@
+package battleship;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Built-in {@linkplain GameListener} keeping counters and latency histograms
+ * of the games played on any number of {@linkplain MonitoredBoard}s, to be
+ * exported to dashboards through {@linkplain #snapshot()}. Counters are
+ * striped adders and each thread records its latencies into its own
+ * histograms, merged only when read, so that boards shot at from many threads
+ * do not contend on the metrics. Reads are exact once the games are done, and
+ * approximate while shots are being fired.
+ *
+ * @author Angelo Oparah
+ *
+ */
+public class GameMetrics implements GameListener
+{
+	/** time the metrics started to be collected at. */
+	private final long createdAt = System.nanoTime();
+
+	/** number of shots fired. */
+	private final LongAdder shots = new LongAdder();
+
+	/** number of shots hitting a ship still afloat. */
+	private final LongAdder hits = new LongAdder();
+
+	/** number of shots sinking a ship. */
+	private final LongAdder sinks = new LongAdder();
+
+	/** number of shots landing outside the board. */
+	private final LongAdder outOfRange = new LongAdder();
+
+	/** number of games over. */
+	private final LongAdder gamesOver = new LongAdder();
+
+	/** number of fleets placed at random. */
+	private final LongAdder placements = new LongAdder();
+
+	/** number of random bows that turned out not to be legal. */
+	private final LongAdder placementRetries = new LongAdder();
+
+	/** number of ships moved while placing the fleets. */
+	private final LongAdder placementBacktracks = new LongAdder();
+
+	/** histograms of every thread that recorded a latency. */
+	private final List<Recorder> recorders = new CopyOnWriteArrayList<>();
+
+	/** histograms of the current thread. */
+	private final ThreadLocal<Recorder> recorder = ThreadLocal.withInitial(() ->
+	{
+		Recorder created = new Recorder();
+
+		recorders.add(created);
+
+		return created;
+	});
+
+
+	@Override
+	public void onShipsPlaced(Board board, long retries, long backtracks, long elapsedNanos)
+	{
+		placements.increment();
+		placementRetries.add(retries);
+		placementBacktracks.add(backtracks);
+
+		recorder.get().placements.record(elapsedNanos);
+	}
+
+	@Override
+	public void onShot(Board board, int row, int column, byte result, long elapsedNanos)
+	{
+		shots.increment();
+
+		if (ShotResults.isScored(result))
+		{
+			hits.increment();
+
+			if (ShotResults.outcome(result) == ShotResults.SUNK)
+			{
+				sinks.increment();
+			}
+		}
+		else if (result == ShotResults.OUT_OF_RANGE)
+		{
+			outOfRange.increment();
+		}
+
+		recorder.get().shots.record(elapsedNanos);
+	}
+
+	@Override
+	public void onGameOver(Board board, long elapsedNanos)
+	{
+		gamesOver.increment();
+
+		Recorder current = recorder.get();
+
+		current.games.record(elapsedNanos);
+		current.shotsPerGame.record(board.getShotsFired());
+	}
+
+	/**
+	 * Returns the number of shots fired.
+	 *
+	 * @return the number of shots.
+	 */
+	public long getShots()
+	{
+		return shots.sum();
+	}
+
+	/**
+	 * Returns the number of shots hitting a ship still afloat.
+	 *
+	 * @return the number of hits.
+	 */
+	public long getHits()
+	{
+		return hits.sum();
+	}
+
+	/**
+	 * Returns the number of shots sinking a ship.
+	 *
+	 * @return the number of ships sunk.
+	 */
+	public long getSinks()
+	{
+		return sinks.sum();
+	}
+
+	/**
+	 * Returns the number of games over.
+	 *
+	 * @return the number of games.
+	 */
+	public long getGamesOver()
+	{
+		return gamesOver.sum();
+	}
+
+	/**
+	 * Returns the number of fleets placed at random.
+	 *
+	 * @return the number of placements.
+	 */
+	public long getPlacements()
+	{
+		return placements.sum();
+	}
+
+	/**
+	 * Returns the number of random bows that turned out not to be legal, over
+	 * every fleet placed.
+	 *
+	 * @return the number of retries.
+	 */
+	public long getPlacementRetries()
+	{
+		return placementRetries.sum();
+	}
+
+	/**
+	 * Returns the number of shots fired per second, since the metrics started
+	 * to be collected.
+	 *
+	 * @return the rate of the shots.
+	 */
+	public double getShotsPerSecond()
+	{
+		return shots.sum() * 1e9 / Math.max(1, System.nanoTime() - createdAt);
+	}
+
+	/**
+	 * Returns a snapshot of every metric, by name, in a stable order: counters
+	 * first, then rates, then percentiles of the latencies (in nanoseconds) and
+	 * of the shots fired per game.
+	 *
+	 * @return the metrics, by name.
+	 */
+	public Map<String, Number> snapshot()
+	{
+		LatencyHistogram shotLatencies = new LatencyHistogram();
+		LatencyHistogram placementTimes = new LatencyHistogram();
+		LatencyHistogram gameDurations = new LatencyHistogram();
+		LatencyHistogram shotsPerGame = new LatencyHistogram();
+
+		for (Recorder each : recorders)
+		{
+			shotLatencies.add(each.shots);
+			placementTimes.add(each.placements);
+			gameDurations.add(each.games);
+			shotsPerGame.add(each.shotsPerGame);
+		}
+
+		Map<String, Number> metrics = new LinkedHashMap<>();
+
+		metrics.put("shots", getShots());
+		metrics.put("hits", getHits());
+		metrics.put("sinks", getSinks());
+		metrics.put("shots.outOfRange", outOfRange.sum());
+		metrics.put("games.over", getGamesOver());
+		metrics.put("placements", getPlacements());
+		metrics.put("placements.retries", getPlacementRetries());
+		metrics.put("placements.backtracks", placementBacktracks.sum());
+		metrics.put("shots.perSecond", getShotsPerSecond());
+
+		putPercentiles(metrics, "shots.latencyNanos", shotLatencies);
+		putPercentiles(metrics, "placements.timeNanos", placementTimes);
+		putPercentiles(metrics, "games.durationNanos", gameDurations);
+		putPercentiles(metrics, "games.shots", shotsPerGame);
+
+		return metrics;
+	}
+
+	@Override
+	public String toString()
+	{
+		return snapshot().toString();
+	}
+
+
+	// ============== private methods ============= //
+
+	/**
+	 * Adds the median, the 99th percentile and the max of a histogram to the
+	 * given metrics.
+	 *
+	 * @param metrics
+	 *            the metrics to add to.
+	 * @param name
+	 *            the name of the histogram.
+	 * @param histogram
+	 *            the histogram.
+	 */
+	private static void putPercentiles(Map<String, Number> metrics, String name, LatencyHistogram histogram)
+	{
+		metrics.put(name + ".p50", histogram.percentile(0.5));
+		metrics.put(name + ".p99", histogram.percentile(0.99));
+		metrics.put(name + ".max", histogram.max());
+	}
+
+
+	// ============== nested classes ============= //
+
+	/**
+	 * Histograms written by a single thread.
+	 */
+	private static final class Recorder
+	{
+		/** latencies of the shots. */
+		final LatencyHistogram shots = new LatencyHistogram();
+
+		/** time taken to place each fleet. */
+		final LatencyHistogram placements = new LatencyHistogram();
+
+		/** duration of each game. */
+		final LatencyHistogram games = new LatencyHistogram();
+
+		/** shots fired in each game. */
+		final LatencyHistogram shotsPerGame = new LatencyHistogram();
+	}
+}
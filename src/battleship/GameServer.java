@@ -0,0 +1,530 @@
+package battleship;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Server hosting many concurrent games over a local TCP socket, each
+ * connection playing its own {@linkplain GameSession} with the line based
+ * protocol described there. Rather than dedicating a thread to each
+ * connection, the server multiplexes all of them over a few event loops (one
+ * per core by default), each one owning its connections and the boards played
+ * on them: a board is only ever touched by the thread of its loop, so no
+ * locking is needed, and thousands of idle sessions cost no more than their
+ * buffers and boards.
+ *
+ * @author Angelo Oparah
+ *
+ */
+public class GameServer implements Closeable
+{
+	/** port the server listens on, unless told otherwise. */
+	public static final int DEFAULT_PORT = 4242;
+
+	/** max number of connections waiting to be accepted. */
+	private static final int BACKLOG = 4096;
+
+	/** size of the buffers of each connection. */
+	private static final int BUFFER_SIZE = 1024;
+
+	/** max length of a command. */
+	private static final int MAX_LINE_LENGTH = 8192;
+
+	/** max number of idle oceans kept for the following games. */
+	private static final int POOL_CAPACITY = 4096;
+
+	/** kind of the boards played on. */
+	private final BoardEngine engine;
+
+	/** oceans recycled from game to game, when playing on oceans. */
+	private final OceanPool pool;
+
+	/** channel accepting the connections. */
+	private final ServerSocketChannel serverChannel;
+
+	/** event loops serving the connections. */
+	private final EventLoop[] loops;
+
+	/** number of connections open. */
+	private final AtomicInteger sessionCount = new AtomicInteger();
+
+	/** whether or not the server is running. */
+	private volatile boolean running;
+
+
+	/**
+	 * Builds a new server listening on the given port of the loopback
+	 * interface; the server does not accept any connection until it is
+	 * {@link #start() started}.
+	 *
+	 * @param port
+	 *            the port to listen on, or {@code 0} for any free port.
+	 * @param engine
+	 *            the kind of the boards to play on.
+	 * @param eventLoops
+	 *            the number of threads serving the connections; must be
+	 *            strictly positive.
+	 * @throws IOException
+	 *             if the server cannot listen on the port.
+	 * @throws IllegalArgumentException
+	 *             if the number of event loops is not positive.
+	 */
+	public GameServer(int port, BoardEngine engine, int eventLoops) throws IOException
+	{
+		if (eventLoops <= 0)
+		{
+			throw new IllegalArgumentException("Illegal non positive value for eventLoops: " + eventLoops);
+		}
+
+		this.engine = engine;
+
+		// only plain oceans can be reset in place
+		pool = engine == BoardEngine.GRID ? new OceanPool(BoardSpec.STANDARD, POOL_CAPACITY) : null;
+
+		serverChannel = ServerSocketChannel.open();
+		serverChannel.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), BACKLOG);
+
+		loops = new EventLoop[eventLoops];
+
+		for (int i = 0; i < eventLoops; i++)
+		{
+			loops[i] = new EventLoop();
+		}
+	}
+
+	/**
+	 * Starts accepting connections and serving them on background threads,
+	 * which keep running until the server is {@link #close() closed}.
+	 */
+	public void start()
+	{
+		running = true;
+
+		for (int i = 0; i < loops.length; i++)
+		{
+			startThread(loops[i], "game-loop-" + i);
+		}
+
+		startThread(this::acceptConnections, "game-acceptor");
+	}
+
+	/**
+	 * Returns the port the server listens on.
+	 *
+	 * @return the local port.
+	 */
+	public int getPort()
+	{
+		return serverChannel.socket().getLocalPort();
+	}
+
+	/**
+	 * Returns the number of connections currently open, each one holding a
+	 * session.
+	 *
+	 * @return the number of sessions.
+	 */
+	public int getSessionCount()
+	{
+		return sessionCount.get();
+	}
+
+	/**
+	 * Stops the server, closing every connection.
+	 */
+	@Override
+	public void close() throws IOException
+	{
+		running = false;
+		serverChannel.close();
+
+		for (EventLoop loop : loops)
+		{
+			loop.selector.wakeup();
+		}
+	}
+
+	/**
+	 * Starts a server on the loopback interface and serves connections until
+	 * the process is killed.
+	 *
+	 * @param args
+	 *            optionally, the port to listen on (or {@code 0} for any free
+	 *            port), the name of the {@linkplain BoardEngine} to play on and
+	 *            the number of event loops.
+	 * @throws IOException
+	 *             if the server cannot listen on the port.
+	 */
+	public static void main(String[] args) throws IOException
+	{
+		int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+		BoardEngine engine = args.length > 1 ? BoardEngine.valueOf(args[1]) : BoardEngine.GRID;
+		int eventLoops = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+
+		GameServer server = new GameServer(port, engine, eventLoops);
+		server.start();
+
+		System.out.println("Listening on port " + server.getPort());
+	}
+
+
+	// ============== private methods ============= //
+
+	/**
+	 * Starts a thread running the given task.
+	 *
+	 * @param task
+	 *            the task to run.
+	 * @param name
+	 *            the name of the thread.
+	 */
+	private static void startThread(Runnable task, String name)
+	{
+		new Thread(task, name).start();
+	}
+
+	/**
+	 * Closes the given resource, ignoring any failure.
+	 *
+	 * @param resource
+	 *            the resource to close.
+	 */
+	private static void closeQuietly(Closeable resource)
+	{
+		try
+		{
+			resource.close();
+		}
+		catch (IOException e)
+		{
+			// the resource is gone anyway
+		}
+	}
+
+	/**
+	 * Accepts connections until the server is closed, handing them to the
+	 * event loops in turn.
+	 */
+	private void acceptConnections()
+	{
+		int next = 0;
+
+		while (running)
+		{
+			SocketChannel channel;
+
+			try
+			{
+				channel = serverChannel.accept();
+			}
+			catch (ClosedChannelException e)
+			{
+				// the server was closed
+				return;
+			}
+			catch (IOException e)
+			{
+				// the connection failed before being accepted: skip it
+				continue;
+			}
+
+			try
+			{
+				channel.configureBlocking(false);
+				channel.socket().setTcpNoDelay(true);
+			}
+			catch (IOException e)
+			{
+				// the connection failed before being served: drop it
+				closeQuietly(channel);
+				continue;
+			}
+
+			sessionCount.incrementAndGet();
+			loops[next].register(channel);
+			next = (next + 1) % loops.length;
+		}
+	}
+
+
+	// ============== nested classes ============= //
+
+	/**
+	 * Connection served by an event loop, with its session and its buffers.
+	 */
+	private final class Connection
+	{
+		/** channel of the connection. */
+		final SocketChannel channel;
+
+		/** game played on the connection. */
+		final GameSession session = new GameSession(engine, pool);
+
+		/** bytes read and not processed yet. */
+		final ByteBuffer input = ByteBuffer.allocate(BUFFER_SIZE);
+
+		/** bytes to write, in write mode. */
+		ByteBuffer output = ByteBuffer.allocate(BUFFER_SIZE);
+
+		/** command being read. */
+		final StringBuilder line = new StringBuilder();
+
+		/** answer to the last command. */
+		final StringBuilder reply = new StringBuilder();
+
+		/** whether the connection should be closed once the output is sent. */
+		boolean closing;
+
+		/**
+		 * Builds a new connection over the given channel.
+		 *
+		 * @param channel
+		 *            the channel of the connection.
+		 */
+		Connection(SocketChannel channel)
+		{
+			this.channel = channel;
+		}
+
+		/**
+		 * Reads the bytes available and executes every command completed by
+		 * them, queuing the answers.
+		 *
+		 * @return {@code false} if the connection should be closed,
+		 *         {@code true} otherwise.
+		 * @throws IOException
+		 *             if the channel fails.
+		 */
+		boolean read() throws IOException
+		{
+			if (channel.read(input) < 0)
+			{
+				return false;
+			}
+
+			input.flip();
+
+			while (input.hasRemaining() && !closing)
+			{
+				char c = (char) (input.get() & 0xFF);
+
+				if (c == '\n')
+				{
+					reply.setLength(0);
+					closing = !session.execute(line.toString(), reply);
+					line.setLength(0);
+
+					queue(reply);
+				}
+				else if (c != '\r')
+				{
+					if (line.length() == MAX_LINE_LENGTH)
+					{
+						// refuse to buffer endless lines
+						return false;
+					}
+
+					line.append(c);
+				}
+			}
+
+			input.clear();
+
+			return true;
+		}
+
+		/**
+		 * Writes as many of the bytes queued as possible.
+		 *
+		 * @return {@code true} if every byte queued was written,
+		 *         {@code false} otherwise.
+		 * @throws IOException
+		 *             if the channel fails.
+		 */
+		boolean flush() throws IOException
+		{
+			output.flip();
+			channel.write(output);
+			output.compact();
+
+			return output.position() == 0;
+		}
+
+		/**
+		 * Queues the given answer, followed by a new line, as ASCII bytes.
+		 *
+		 * @param answer
+		 *            the answer to queue.
+		 */
+		private void queue(CharSequence answer)
+		{
+			if (output.remaining() < answer.length() + 1)
+			{
+				// make room for the answer
+				ByteBuffer larger = ByteBuffer.allocate(Math.max(2 * output.capacity(),
+						output.position() + answer.length() + 1));
+				output.flip();
+				larger.put(output);
+				output = larger;
+			}
+
+			for (int i = 0; i < answer.length(); i++)
+			{
+				output.put((byte) answer.charAt(i));
+			}
+			output.put((byte) '\n');
+		}
+	}
+
+	/**
+	 * Thread serving its own connections through a {@linkplain Selector}.
+	 */
+	private final class EventLoop implements Runnable
+	{
+		/** selector of the connections of the loop. */
+		final Selector selector;
+
+		/** connections accepted and not registered with the selector yet. */
+		private final Queue<SocketChannel> pending = new ConcurrentLinkedQueue<>();
+
+		/**
+		 * Builds a new event loop with no connections.
+		 *
+		 * @throws IOException
+		 *             if the selector cannot be opened.
+		 */
+		EventLoop() throws IOException
+		{
+			selector = Selector.open();
+		}
+
+		/**
+		 * Hands the given connection over to this loop.
+		 *
+		 * @param channel
+		 *            the channel of the connection.
+		 */
+		void register(SocketChannel channel)
+		{
+			pending.add(channel);
+			selector.wakeup();
+		}
+
+		@Override
+		public void run()
+		{
+			try
+			{
+				while (running)
+				{
+					selector.select();
+
+					for (SocketChannel channel; (channel = pending.poll()) != null;)
+					{
+						channel.register(selector, SelectionKey.OP_READ, new Connection(channel));
+					}
+
+					Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+
+					while (keys.hasNext())
+					{
+						SelectionKey key = keys.next();
+						keys.remove();
+
+						serve(key);
+					}
+				}
+			}
+			catch (IOException e)
+			{
+				// the selector itself failed: nothing else can be served
+			}
+			finally
+			{
+				for (SelectionKey key : selector.keys())
+				{
+					close(key);
+				}
+
+				for (SocketChannel channel; (channel = pending.poll()) != null;)
+				{
+					closeQuietly(channel);
+					sessionCount.decrementAndGet();
+				}
+
+				closeQuietly(selector);
+			}
+		}
+
+		/**
+		 * Serves the connection of the given key, reading the commands
+		 * available and writing the answers queued.
+		 *
+		 * @param key
+		 *            the key of the connection.
+		 */
+		private void serve(SelectionKey key)
+		{
+			Connection connection = (Connection) key.attachment();
+
+			try
+			{
+				if (key.isReadable() && !connection.read())
+				{
+					close(key);
+					return;
+				}
+
+				if (connection.flush())
+				{
+					if (connection.closing)
+					{
+						close(key);
+						return;
+					}
+
+					key.interestOps(SelectionKey.OP_READ);
+				}
+				else
+				{
+					// the peer is slow: stop reading until the answers are sent
+					key.interestOps(SelectionKey.OP_WRITE);
+				}
+			}
+			catch (IOException e)
+			{
+				close(key);
+			}
+		}
+
+		/**
+		 * Closes the connection of the given key.
+		 *
+		 * @param key
+		 *            the key of the connection.
+		 */
+		private void close(SelectionKey key)
+		{
+			if (key.isValid())
+			{
+				// only count the connections closed for the first time
+				key.cancel();
+				closeQuietly(key.channel());
+				((Connection) key.attachment()).session.close();
+				sessionCount.decrementAndGet();
+			}
+		}
+	}
+}
@@ -0,0 +1,84 @@
+package battleship;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+
+/**
+ * Measures the sustained throughput and the latency of the
+ * {@linkplain GameServer} under the load of many concurrent players. The
+ * server is started in a separate JVM, so that the server and the
+ * {@linkplain GameLoadGenerator} do not compete for the same file descriptors
+ * and heap, and is driven by the load generator with every player keeping one
+ * shot in flight. It reports the shots answered per second and the latency
+ * percentiles of a shot.
+ *
+ * @author Angelo Oparah
+ *
+ */
+public class GameServerBenchmark
+{
+	/** number of concurrent players, unless told otherwise. */
+	private static final int SESSIONS = 10_000;
+
+	/** number of seconds of the measurement, unless told otherwise. */
+	private static final int SECONDS = 10;
+
+	/** number of seconds of the warm up. */
+	private static final int WARMUP_SECONDS = 3;
+
+
+	/**
+	 * Runs the benchmark, printing one line with the measurements.
+	 *
+	 * @param args
+	 *            optionally, the number of sessions, the number of seconds of
+	 *            the measurement, the name of the {@linkplain BoardEngine} to
+	 *            play on and the number of event loops of the server.
+	 * @throws IOException
+	 *             if the server cannot be started or a connection fails.
+	 */
+	public static void main(String[] args) throws IOException
+	{
+		int sessions = args.length > 0 ? Integer.parseInt(args[0]) : SESSIONS;
+		int seconds = args.length > 1 ? Integer.parseInt(args[1]) : SECONDS;
+		String engine = args.length > 2 ? args[2] : BoardEngine.GRID.name();
+		String eventLoops = args.length > 3 ? args[3] : String.valueOf(Runtime.getRuntime().availableProcessors());
+
+		// start the server on any free port, in a JVM of its own
+		String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+		Process server = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+				GameServer.class.getName(), "0", engine, eventLoops).redirectErrorStream(true).start();
+
+		try
+		{
+			BufferedReader output = new BufferedReader(new InputStreamReader(server.getInputStream()));
+			String banner = output.readLine();
+
+			if (banner == null || !banner.startsWith("Listening on port "))
+			{
+				throw new IOException("The server failed to start: " + banner);
+			}
+
+			int port = Integer.parseInt(banner.substring("Listening on port ".length()));
+
+			GameLoadGenerator.Report report = new GameLoadGenerator(new InetSocketAddress(
+					InetAddress.getLoopbackAddress(), port), sessions, 42).run(WARMUP_SECONDS * 1_000_000_000L,
+							seconds * 1_000_000_000L);
+
+			System.out.printf("%-10s %10s %8s %14s %10s %10s %10s %10s%n", "engine", "sessions", "loops", "shots/s",
+					"p50 (us)", "p99 (us)", "p99.9 (us)", "max (us)");
+			System.out.printf("%-10s %10d %8s %14.0f %10d %10d %10d %10d%n", engine, sessions, eventLoops,
+					report.getShotsPerSecond(), report.getLatencyPercentile(0.5) / 1000,
+					report.getLatencyPercentile(0.99) / 1000, report.getLatencyPercentile(0.999) / 1000,
+					report.getMaxLatency() / 1000);
+		}
+		finally
+		{
+			server.destroy();
+		}
+	}
+}
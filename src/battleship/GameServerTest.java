@@ -0,0 +1,99 @@
+package battleship;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+
+/**
+ * Test class to test the {@linkplain GameServer} class over the network.
+ *
+ * @author Angelo Oparah
+ *
+ */
+public class GameServerTest
+{
+	/** default timeout test duration in milliseconds */
+	private static final int DEFAULT_TIMEOUT = 10000;
+
+	/**
+	 * Concurrent connections should each play their own game
+	 */
+	@Test(timeout = DEFAULT_TIMEOUT)
+	public void test_server_eachConnectionShouldPlayItsOwnGame() throws Exception
+	{
+		try (GameServer server = new GameServer(0, BoardEngine.BITBOARD, 2))
+		{
+			server.start();
+
+			try (Socket first = new Socket(InetAddress.getLoopbackAddress(), server.getPort());
+					Socket second = new Socket(InetAddress.getLoopbackAddress(), server.getPort()))
+			{
+				BufferedReader firstIn = reader(first);
+				PrintWriter firstOut = writer(first);
+				BufferedReader secondIn = reader(second);
+				PrintWriter secondOut = writer(second);
+
+				// if both players start a game and only the first one shoots
+				firstOut.println("NEW 1");
+				secondOut.println("NEW 2");
+				assertEquals("incorrect answer to a new game", "OK", firstIn.readLine());
+				assertEquals("incorrect answer to a new game", "OK", secondIn.readLine());
+
+				firstOut.println("SHOT 3 4");
+				firstIn.readLine();
+
+				// only the first one should see the shot
+				firstOut.println("STATS");
+				secondOut.println("STATS");
+				assertTrue("shot not counted", firstIn.readLine().startsWith("STATS 1 "));
+				assertEquals("shot counted on the wrong game", "STATS 0 0 0", secondIn.readLine());
+				assertEquals("incorrect number of sessions", 2, server.getSessionCount());
+
+				// and quitting should close the connection
+				firstOut.println("QUIT");
+				assertEquals("incorrect answer to quitting", "BYE", firstIn.readLine());
+				assertEquals("connection not closed", null, firstIn.readLine());
+			}
+		}
+	}
+
+
+	// ======================= helper methods ======================== //
+
+	/**
+	 * Returns a reader of the lines received by the given socket.
+	 *
+	 * @param socket
+	 *            the socket.
+	 * @return the reader.
+	 * @throws Exception
+	 *             if the socket is closed.
+	 */
+	private static BufferedReader reader(Socket socket) throws Exception
+	{
+		return new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+	}
+
+	/**
+	 * Returns a writer of the lines sent by the given socket, flushing each
+	 * line.
+	 *
+	 * @param socket
+	 *            the socket.
+	 * @return the writer.
+	 * @throws Exception
+	 *             if the socket is closed.
+	 */
+	private static PrintWriter writer(Socket socket) throws Exception
+	{
+		return new PrintWriter(socket.getOutputStream(), true);
+	}
+}
@@ -0,0 +1,281 @@
+package battleship;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
+
+/**
+ * A game played by a single player on its own {@linkplain Board}, driven by
+ * the text commands of the {@linkplain GameServer} protocol. Every command is
+ * a single line and is answered with a single line:
+ * <ul>
+ * <li>{@code NEW [seed]}: starts a new game on a board with the fleet placed
+ * randomly (or from the given seed) and answers {@code OK};</li>
+ * <li>{@code SHOT row column}: fires a shot and answers with its result;</li>
+ * <li>{@code VOLLEY row column [row column ...]}: fires a batch of shots and
+ * answers with the result of each of them, separated by a space;</li>
+ * <li>{@code STATS}: answers {@code STATS shots hits sunk};</li>
+ * <li>{@code QUIT}: answers {@code BYE} and ends the session.</li>
+ * </ul>
+ * The result of a shot is the name of its outcome as given by
+ * {@linkplain ShotResults#outcomeName(byte)}, followed by a colon and the type
+ * of the ship fired upon, if any (for instance {@code HIT:destroyer}); the
+ * answer to the shot that ends the game is followed by {@code GAME_OVER}.
+ * Invalid commands are answered with {@code ERR} followed by the reason. A
+ * session is not thread safe: each one is meant to be driven by a single
+ * thread at a time.
+ *
+ * @author Angelo Oparah
+ *
+ */
+final class GameSession
+{
+	/** separator of the words of a command. */
+	private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+	/** kind of the boards played on. */
+	private final BoardEngine engine;
+
+	/** pool the oceans played on are borrowed from, if any. */
+	private final OceanPool pool;
+
+	/** board of the current game, {@code null} until the first game. */
+	private Board board;
+
+	/** vertical coordinates of the shots of the last volley. */
+	private int[] rows = new int[0];
+
+	/** horizontal coordinates of the shots of the last volley. */
+	private int[] columns = new int[0];
+
+	/** results of the shots of the last volley. */
+	private byte[] results = new byte[0];
+
+
+	/**
+	 * Builds a new session playing on boards of the given kind.
+	 *
+	 * @param engine
+	 *            the kind of the boards to play on.
+	 */
+	GameSession(BoardEngine engine)
+	{
+		this(engine, null);
+	}
+
+	/**
+	 * Builds a new session playing on oceans borrowed from the given pool,
+	 * each one released as soon as its game is replaced or the session is
+	 * {@linkplain #close() closed}.
+	 *
+	 * @param engine
+	 *            the kind of the boards to play on.
+	 * @param pool
+	 *            the pool of the oceans to play on, or {@code null} to build
+	 *            a new board of the given kind for every game.
+	 */
+	GameSession(BoardEngine engine, OceanPool pool)
+	{
+		this.engine = engine;
+		this.pool = pool;
+	}
+
+	/**
+	 * Returns the board of the current game.
+	 *
+	 * @return the board played on, or {@code null} if no game was started.
+	 */
+	Board getBoard()
+	{
+		return board;
+	}
+
+	/**
+	 * Executes the given command and appends the answer to the given reply,
+	 * without any line separator.
+	 *
+	 * @param command
+	 *            the command to execute.
+	 * @param reply
+	 *            the destination of the answer.
+	 * @return {@code false} if the session is over, {@code true} otherwise.
+	 */
+	boolean execute(String command, StringBuilder reply)
+	{
+		String[] words = WHITESPACE.split(command.trim());
+
+		try
+		{
+			switch (words[0].toUpperCase())
+			{
+				case "NEW":
+					startGame(words);
+					reply.append("OK");
+					break;
+				case "SHOT":
+					checkWords(words, 3);
+					fire(words, reply);
+					break;
+				case "VOLLEY":
+					checkWords(words, words.length < 3 || words.length % 2 == 0 ? 3 : words.length);
+					fire(words, reply);
+					break;
+				case "STATS":
+					checkGame();
+					reply.append("STATS ").append(board.getShotsFired()).append(' ').append(board.getHitCount())
+							.append(' ').append(board.getShipsSunk());
+					break;
+				case "QUIT":
+					reply.append("BYE");
+					return false;
+				default:
+					reply.append("ERR unknown command: ").append(words[0]);
+			}
+		}
+		catch (IllegalArgumentException | IllegalStateException e)
+		{
+			reply.append("ERR ").append(e.getMessage());
+		}
+
+		return true;
+	}
+
+	/**
+	 * Ends the session, giving the board of the current game back to the pool,
+	 * if any.
+	 */
+	void close()
+	{
+		releaseBoard();
+		board = null;
+	}
+
+
+	// ============== private methods ============= //
+
+	/**
+	 * Starts a new game, placing the fleet from the seed given, if any.
+	 *
+	 * @param words
+	 *            the words of the command.
+	 */
+	private void startGame(String[] words)
+	{
+		// parse the seed first, so that a bad one does not leak a pooled ocean
+		long seed = words.length > 1 ? Long.parseLong(words[1]) : 0;
+		Board newBoard = pool != null ? pool.borrow() : engine.newBoard();
+		BoardSpec spec = newBoard.getSpec();
+
+		if (words.length > 1)
+		{
+			new ShipPlacer(spec, new SplitMixRandom(seed)).placeFleet(newBoard);
+		}
+		else if (pool != null)
+		{
+			// a pooled ocean places its ships of the previous game again
+			newBoard.placeAllShipsRandomly();
+		}
+		else
+		{
+			new ShipPlacer(spec, ThreadLocalRandom.current()).placeFleet(newBoard);
+		}
+
+		releaseBoard();
+		board = newBoard;
+	}
+
+	/**
+	 * Gives the board of the current game back to the pool, if any.
+	 */
+	private void releaseBoard()
+	{
+		if (pool != null && board != null)
+		{
+			pool.release((Ocean) board);
+		}
+	}
+
+	/**
+	 * Fires the shots of the command, as a single batch, and appends their
+	 * results to the reply.
+	 *
+	 * @param words
+	 *            the words of the command: the coordinates of the shots follow
+	 *            the command itself.
+	 * @param reply
+	 *            the destination of the answer.
+	 */
+	private void fire(String[] words, StringBuilder reply)
+	{
+		checkGame();
+
+		int shots = (words.length - 1) / 2;
+
+		if (rows.length != shots)
+		{
+			// the batch fires every shot of the arrays: size them to the volley
+			rows = new int[shots];
+			columns = new int[shots];
+			results = new byte[shots];
+		}
+
+		for (int i = 0; i < shots; i++)
+		{
+			rows[i] = Integer.parseInt(words[2 * i + 1]);
+			columns[i] = Integer.parseInt(words[2 * i + 2]);
+		}
+
+		board.shootAt(rows, columns, results);
+
+		for (int i = 0; i < shots; i++)
+		{
+			if (i > 0)
+			{
+				reply.append(' ');
+			}
+
+			reply.append(ShotResults.outcomeName(results[i]));
+
+			if (ShotResults.kind(results[i]) != ShotResults.NO_SHIP)
+			{
+				reply.append(':').append(ShotResults.kindName(results[i]));
+			}
+		}
+
+		if (board.isGameOver())
+		{
+			reply.append(" GAME_OVER");
+		}
+	}
+
+	/**
+	 * Checks that the command has the given number of words.
+	 *
+	 * @param words
+	 *            the words of the command.
+	 * @param expected
+	 *            the number of words expected.
+	 * @throws IllegalArgumentException
+	 *             if the number of words is not the one expected.
+	 */
+	private static void checkWords(String[] words, int expected)
+	{
+		if (words.length != expected)
+		{
+			throw new IllegalArgumentException("wrong number of arguments for " + words[0].toUpperCase());
+		}
+	}
+
+	/**
+	 * Checks that a game was started.
+	 *
+	 * @throws IllegalStateException
+	 *             if no game was started.
+	 */
+	private void checkGame()
+	{
+		if (board == null)
+		{
+			throw new IllegalStateException("no game started");
+		}
+	}
+}
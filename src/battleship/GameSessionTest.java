@@ -0,0 +1,106 @@
+package battleship;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * Test class to test the protocol of the {@linkplain GameSession} class.
+ *
+ * @author Angelo Oparah
+ *
+ */
+public class GameSessionTest
+{
+	/**
+	 * Shots and volleys should be answered with the result of each shot, and
+	 * the game should end once every location was fired upon
+	 */
+	@Test
+	public void test_execute_shotsShouldBeAnsweredUntilTheGameIsOver()
+	{
+		// if we start a game from a seed
+		GameSession session = new GameSession(BoardEngine.GRID);
+		assertEquals("incorrect answer to a new game", "OK", execute(session, "NEW 7"));
+
+		// the board should be the one placed from the same seed
+		Board expected = new Ocean();
+		new ShipPlacer(BoardSpec.STANDARD, new SplitMixRandom(7)).placeFleet(expected);
+
+		for (int i = 0; i < Ocean.OCEAN_HEIGHT; i++)
+		{
+			for (int j = 0; j < Ocean.OCEAN_WIDTH; j++)
+			{
+				assertEquals("board not placed from the seed", expected.getShipTypeAt(i, j),
+						session.getBoard().getShipTypeAt(i, j));
+			}
+		}
+
+		// and shooting at a location should tell us what we hit
+		String answer = execute(session, "shot 0 0");
+		String type = expected.getShipTypeAt(0, 0);
+		assertEquals("incorrect answer to a shot", expected.isOccupied(0, 0) ? "HIT:" + type : "MISS", answer);
+
+		// then a volley at every location should sink the whole fleet
+		StringBuilder volley = new StringBuilder("VOLLEY");
+
+		for (int i = 0; i < Ocean.OCEAN_HEIGHT; i++)
+		{
+			for (int j = 0; j < Ocean.OCEAN_WIDTH; j++)
+			{
+				volley.append(' ').append(i).append(' ').append(j);
+			}
+		}
+
+		answer = execute(session, volley.toString());
+		assertTrue("game not over after shooting everywhere", answer.endsWith(" GAME_OVER"));
+		assertTrue("incorrect answer to a repeated shot", answer.startsWith("ALREADY_HIT"));
+		assertEquals("incorrect stats", "STATS 101 " + (BoardSpec.STANDARD.getFleetArea() + (expected.isOccupied(
+				0, 0) ? 1 : 0)) + " " + BoardSpec.STANDARD.getFleetSize(), execute(session, "STATS"));
+	}
+
+	/**
+	 * Invalid commands should be answered with an error without ending the
+	 * session, while quitting should end it
+	 */
+	@Test
+	public void test_execute_invalidCommandsShouldBeAnsweredWithAnError()
+	{
+		GameSession session = new GameSession(BoardEngine.SPARSE);
+
+		assertTrue("shot before a game not refused", execute(session, "SHOT 1 1").startsWith("ERR"));
+		assertEquals("incorrect answer to a new game", "OK", execute(session, "NEW"));
+		assertTrue("unknown command not refused", execute(session, "FIRE 1 1").startsWith("ERR"));
+		assertTrue("shot with missing column not refused", execute(session, "SHOT 1").startsWith("ERR"));
+		assertTrue("shot with invalid row not refused", execute(session, "SHOT a 1").startsWith("ERR"));
+		assertTrue("odd volley not refused", execute(session, "VOLLEY 1 2 3").startsWith("ERR"));
+		assertEquals("incorrect answer to a shot out of range", "OUT_OF_RANGE", execute(session, "SHOT 10 0"));
+
+		StringBuilder reply = new StringBuilder();
+		assertFalse("session not over after quitting", session.execute("QUIT", reply));
+		assertEquals("incorrect answer to quitting", "BYE", reply.toString());
+	}
+
+
+	// ======================= helper methods ======================== //
+
+	/**
+	 * Executes the given command and returns the answer.
+	 *
+	 * @param session
+	 *            the session to execute the command on.
+	 * @param command
+	 *            the command to execute.
+	 * @return the answer to the command.
+	 */
+	private static String execute(GameSession session, String command)
+	{
+		StringBuilder reply = new StringBuilder();
+
+		assertTrue("session over after " + command, session.execute(command, reply));
+
+		return reply.toString();
+	}
+}
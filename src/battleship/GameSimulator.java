@@ -0,0 +1,418 @@
+package battleship;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Function;
+
+/**
+ * Plays a large number of games with a {@linkplain Shooter} strategy, in
+ * parallel across a fork/join pool, and collects the distribution of the shots
+ * needed to sink the whole fleet. Every game is identified by its index: its
+ * board is generated by a {@linkplain BoardGenerator} and the shooter playing
+ * it draws from its own {@linkplain SplitMixRandom} stream, both derived from
+ * the seed of the simulator and the index alone, so that a run produces the
+ * same distribution whatever the number of threads and the order games are
+ * played in. Each worker thread builds its own shooter once and resets it for
+ * every game.
+ *
+ * @author Angelo Oparah
+ *
+ */
+public class GameSimulator
+{
+	/** number of games played sequentially by each task. */
+	private static final int GAMES_PER_TASK = 256;
+
+	/**
+	 * max number of shots per location of the board before giving up on a
+	 * game, so that a strategy that never finishes fails rather than hangs.
+	 */
+	private static final int MAX_SHOTS_PER_LOCATION = 4;
+
+	/** generator of the boards, one per game. */
+	private final BoardGenerator generator;
+
+	/** builds a shooter drawing from the given source of randomness. */
+	private final Function<Random, Shooter> strategy;
+
+
+	/**
+	 * Builds a new simulator playing the boards of the given kind and spec with
+	 * the given strategy.
+	 *
+	 * @param engine
+	 *            the kind of the boards to play.
+	 * @param spec
+	 *            dimensions of the boards and composition of their fleet.
+	 * @param seed
+	 *            seed identifying the games played.
+	 * @param strategy
+	 *            builds a shooter drawing from the given source of randomness;
+	 *            called once per worker thread.
+	 * @throws IllegalArgumentException
+	 *             if the kind of board does not support the spec, or the
+	 *             strategy is missing.
+	 */
+	public GameSimulator(BoardEngine engine, BoardSpec spec, long seed, Function<Random, Shooter> strategy)
+	{
+		if (strategy == null)
+		{
+			throw new IllegalArgumentException("Illegal strategy: " + strategy);
+		}
+
+		this.generator = new BoardGenerator(engine, spec, seed);
+		this.strategy = strategy;
+	}
+
+	/**
+	 * Plays the games of the given indexes on the common fork/join pool.
+	 *
+	 * @param from
+	 *            the index of the first game.
+	 * @param count
+	 *            the number of games to play.
+	 * @return the distribution of the shots fired per game.
+	 */
+	public Report run(long from, long count)
+	{
+		return run(from, count, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Plays the games of the given indexes on the given fork/join pool.
+	 *
+	 * @param from
+	 *            the index of the first game.
+	 * @param count
+	 *            the number of games to play.
+	 * @param pool
+	 *            the pool to play the games on.
+	 * @return the distribution of the shots fired per game.
+	 * @throws IllegalArgumentException
+	 *             if the number of games is negative.
+	 */
+	public Report run(long from, long count, ForkJoinPool pool)
+	{
+		if (count < 0)
+		{
+			throw new IllegalArgumentException("Illegal number of games: " + count);
+		}
+
+		// every run builds fresh shooters, in case the strategy changed
+		ThreadLocal<Worker> workers = ThreadLocal.withInitial(Worker::new);
+
+		long start = System.nanoTime();
+		long[] histogram = pool.invoke(new SimulationTask(workers, from, from + count));
+		long elapsed = System.nanoTime() - start;
+
+		return new Report(histogram, count, elapsed);
+	}
+
+	/**
+	 * Plays a number of games with a hunt/target or a probability density
+	 * strategy and prints the distribution of the shots fired.
+	 *
+	 * @param args
+	 *            optionally, the number of games (a million by default), the
+	 *            strategy ({@code hunt} by default, or {@code density}) and
+	 *            the name of the {@linkplain BoardEngine} to play on.
+	 */
+	public static void main(String[] args)
+	{
+		long games = args.length > 0 ? Long.parseLong(args[0]) : 1_000_000;
+		boolean density = args.length > 1 && args[1].equals("density");
+		BoardEngine engine = args.length > 2 ? BoardEngine.valueOf(args[2]) : BoardEngine.BITBOARD;
+
+		GameSimulator simulator = new GameSimulator(engine, BoardSpec.STANDARD, 42,
+				density ? DensityShooter::new : HuntTargetShooter::new);
+
+		// warm up on a different range of games
+		simulator.run(-games / 10 - 1, games / 10 + 1);
+
+		System.out.println(simulator.run(0, games));
+	}
+
+
+	// ============== private methods ============= //
+
+	/**
+	 * Plays the game of the given index with the shooter of the current
+	 * thread.
+	 *
+	 * @param worker
+	 *            the shooter of the current thread.
+	 * @param index
+	 *            the index of the game.
+	 * @return the number of shots fired to sink the whole fleet.
+	 * @throws IllegalStateException
+	 *             if the strategy does not sink the fleet within
+	 *             {@value #MAX_SHOTS_PER_LOCATION} shots per location.
+	 */
+	private int play(Worker worker, long index)
+	{
+		Board board = generator.generate(index);
+		BoardSpec spec = board.getSpec();
+		long maxShots = (long) MAX_SHOTS_PER_LOCATION * spec.getHeight() * spec.getWidth();
+
+		// draw from the stream of the game, not from that of the board
+		worker.random.setSeed(SplitMixRandom.forIndex(~generator.getSeed(), index).nextLong());
+
+		try
+		{
+			return worker.shooter.play(board, maxShots);
+		}
+		catch (IllegalStateException e)
+		{
+			throw new IllegalStateException("Game " + index + " failed: " + e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Adds the counts of a histogram to another one, growing it if needed.
+	 *
+	 * @param into
+	 *            the histogram to add to.
+	 * @param from
+	 *            the histogram to add.
+	 * @return the sum of the histograms, possibly the first one.
+	 */
+	private static long[] merge(long[] into, long[] from)
+	{
+		if (from.length > into.length)
+		{
+			into = Arrays.copyOf(into, from.length);
+		}
+
+		for (int i = 0; i < from.length; i++)
+		{
+			into[i] += from[i];
+		}
+
+		return into;
+	}
+
+
+	// ============== nested classes ============= //
+
+	/**
+	 * Shooter owned by a worker thread, with the source of randomness it
+	 * draws from.
+	 */
+	private final class Worker
+	{
+		/** source of randomness of the shooter, reseeded for every game. */
+		final SplitMixRandom random = new SplitMixRandom(0);
+
+		/** the shooter, reset for every game. */
+		final Shooter shooter = strategy.apply(random);
+	}
+
+	/**
+	 * Task playing a range of games, split in halves until small enough to be
+	 * played sequentially; it returns the number of games per number of shots
+	 * fired.
+	 */
+	private final class SimulationTask extends RecursiveTask<long[]>
+	{
+		private static final long serialVersionUID = 1L;
+
+		/** the shooter of each worker thread. */
+		private final transient ThreadLocal<Worker> workers;
+
+		/** index of the first game of the range. */
+		private final long from;
+
+		/** index past the last game of the range. */
+		private final long to;
+
+		/**
+		 * Builds a task playing the given range of games.
+		 *
+		 * @param workers
+		 *            the shooter of each worker thread.
+		 * @param from
+		 *            index of the first game.
+		 * @param to
+		 *            index past the last game.
+		 */
+		SimulationTask(ThreadLocal<Worker> workers, long from, long to)
+		{
+			this.workers = workers;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected long[] compute()
+		{
+			if (to - from > GAMES_PER_TASK)
+			{
+				long middle = from + (to - from) / 2;
+
+				SimulationTask left = new SimulationTask(workers, from, middle);
+				left.fork();
+
+				long[] right = new SimulationTask(workers, middle, to).compute();
+
+				return merge(right, left.join());
+			}
+
+			Worker worker = workers.get();
+			long[] histogram = new long[0];
+
+			for (long index = from; index < to; index++)
+			{
+				int shots = play(worker, index);
+
+				if (shots >= histogram.length)
+				{
+					histogram = Arrays.copyOf(histogram, Math.max(shots + 1, histogram.length * 2));
+				}
+
+				histogram[shots]++;
+			}
+
+			return histogram;
+		}
+	}
+
+	/**
+	 * Distribution of the shots fired per game over a run of the simulator.
+	 */
+	public static final class Report
+	{
+		/** width of the bars of the histogram printed, in characters. */
+		private static final int BAR_WIDTH = 50;
+
+		/** number of games per number of shots fired. */
+		private final long[] histogram;
+
+		/** number of games played. */
+		private final long games;
+
+		/** duration of the run, in nanoseconds. */
+		private final long elapsedNanos;
+
+		/**
+		 * Builds a new report.
+		 *
+		 * @param histogram
+		 *            number of games per number of shots fired.
+		 * @param games
+		 *            number of games played.
+		 * @param elapsedNanos
+		 *            duration of the run, in nanoseconds.
+		 */
+		Report(long[] histogram, long games, long elapsedNanos)
+		{
+			this.histogram = histogram;
+			this.games = games;
+			this.elapsedNanos = elapsedNanos;
+		}
+
+		/**
+		 * Returns the number of games played.
+		 *
+		 * @return the number of games.
+		 */
+		public long getGames()
+		{
+			return games;
+		}
+
+		/**
+		 * Returns the number of games that took the given number of shots.
+		 *
+		 * @param shots
+		 *            a number of shots.
+		 * @return the number of games.
+		 */
+		public long getGamesWith(int shots)
+		{
+			return shots >= 0 && shots < histogram.length ? histogram[shots] : 0;
+		}
+
+		/**
+		 * Returns the average number of shots fired per game.
+		 *
+		 * @return the mean of the distribution, or {@code NaN} if no game was
+		 *         played.
+		 */
+		public double getMean()
+		{
+			long shots = 0;
+
+			for (int i = 0; i < histogram.length; i++)
+			{
+				shots += i * histogram[i];
+			}
+
+			return (double) shots / games;
+		}
+
+		/**
+		 * Returns the number of shots within which the given fraction of the
+		 * games was over.
+		 *
+		 * @param fraction
+		 *            the fraction of the games, from {@code 0} to {@code 1}.
+		 * @return the number of shots, or {@code 0} if no game was played.
+		 */
+		public int getPercentile(double fraction)
+		{
+			long rank = (long) Math.ceil(fraction * games);
+			long seen = 0;
+
+			for (int i = 0; i < histogram.length; i++)
+			{
+				seen += histogram[i];
+
+				if (seen >= Math.max(1, rank))
+				{
+					return i;
+				}
+			}
+
+			return 0;
+		}
+
+		/**
+		 * Returns the sustained number of games played per second.
+		 *
+		 * @return the throughput of the simulator.
+		 */
+		public double getGamesPerSecond()
+		{
+			return games * 1e9 / elapsedNanos;
+		}
+
+		@Override
+		public String toString()
+		{
+			StringBuilder report = new StringBuilder();
+			long peak = 1;
+
+			for (long count : histogram)
+			{
+				peak = Math.max(peak, count);
+			}
+
+			report.append(String.format("%d games, %.0f games/s, mean %.2f shots, min %d, p50 %d, p90 %d, p99 %d, "
+					+ "max %d%n", games, getGamesPerSecond(), getMean(), getPercentile(0), getPercentile(0.5),
+					getPercentile(0.9), getPercentile(0.99), getPercentile(1)));
+
+			// one bar per number of shots, between the min and the max
+			for (int i = getPercentile(0); games > 0 && i <= getPercentile(1); i++)
+			{
+				char[] bar = new char[(int) (histogram[i] * BAR_WIDTH / peak)];
+				Arrays.fill(bar, '#');
+
+				report.append(String.format("%4d %10d %s%n", i, histogram[i], new String(bar)));
+			}
+
+			return report.toString();
+		}
+	}
+}
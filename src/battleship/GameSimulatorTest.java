@@ -0,0 +1,113 @@
+package battleship;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Test;
+
+/**
+ * Test class to test the API of the {@linkplain GameSimulator} class.
+ *
+ * @author Angelo Oparah
+ *
+ */
+public class GameSimulatorTest
+{
+	/** default timeout test duration in milliseconds */
+	private static final int DEFAULT_TIMEOUT = 10000;
+
+	/** number of games played by each test. */
+	private static final int GAMES = 2000;
+
+	/**
+	 * The same seed should produce the same distribution whatever the number
+	 * of threads playing the games
+	 */
+	@Test(timeout = DEFAULT_TIMEOUT)
+	public void test_run_sameSeedShouldProduceTheSameDistributionOnAnyPool()
+	{
+		GameSimulator simulator = new GameSimulator(BoardEngine.BITBOARD, BoardSpec.STANDARD, 42,
+				HuntTargetShooter::new);
+
+		ForkJoinPool single = new ForkJoinPool(1);
+		ForkJoinPool many = new ForkJoinPool(4);
+
+		try
+		{
+			GameSimulator.Report sequential = simulator.run(0, GAMES, single);
+			GameSimulator.Report parallel = simulator.run(0, GAMES, many);
+
+			assertEquals(GAMES, parallel.getGames());
+			assertEquals(sequential.getMean(), parallel.getMean(), 0);
+
+			for (int shots = 0; shots <= Ocean.OCEAN_HEIGHT * Ocean.OCEAN_WIDTH; shots++)
+			{
+				assertEquals("different count for " + shots + " shots", sequential.getGamesWith(shots),
+						parallel.getGamesWith(shots));
+			}
+		}
+		finally
+		{
+			single.shutdown();
+			many.shutdown();
+		}
+	}
+
+	/**
+	 * The report should describe the distribution of the shots fired, game by
+	 * game
+	 */
+	@Test(timeout = DEFAULT_TIMEOUT)
+	public void test_run_reportShouldMatchTheGamesPlayedOneByOne()
+	{
+		BoardSpec spec = new BoardSpec(6, 6, 0, 1, 1, 2);
+		GameSimulator.Report report = new GameSimulator(BoardEngine.GRID, spec, 7, random -> new Shooter()
+		{
+			/** index of the next location to fire upon. */
+			private int next;
+
+			@Override
+			public void reset(BoardSpec spec)
+			{
+				next = 0;
+			}
+
+			@Override
+			public long nextShot()
+			{
+				// sweep the board row by row
+				return ShotResults.shot(next / spec.getWidth(), next++ % spec.getWidth());
+			}
+
+			@Override
+			public void observe(int row, int column, boolean hit, boolean sunk)
+			{
+			}
+		}).run(0, GAMES);
+
+		// a sweep fires at most once per location
+		BoardGenerator generator = new BoardGenerator(BoardEngine.GRID, spec, 7);
+		long shots = 0;
+
+		for (int game = 0; game < GAMES; game++)
+		{
+			Board board = generator.generate(game);
+			int lastShip = 0;
+
+			for (int cell = 0; cell < 36; cell++)
+			{
+				lastShip = board.isOccupied(cell / 6, cell % 6) ? cell : lastShip;
+			}
+
+			shots += lastShip + 1;
+		}
+
+		assertEquals((double) shots / GAMES, report.getMean(), 1e-9);
+		assertTrue(report.getPercentile(0) <= report.getPercentile(0.5));
+		assertTrue(report.getPercentile(0.5) <= report.getPercentile(1));
+		assertTrue(report.getPercentile(1) <= 36);
+	}
+}
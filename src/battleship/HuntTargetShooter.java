@@ -0,0 +1,444 @@
+package battleship;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * {@linkplain Shooter} hunting for ships at random and targeting them once hit.
+ * While hunting it only fires upon the locations of one colour of a
+ * checkerboard, as every ship longer than one location covers at least one of
+ * them; after a hit it targets the locations next to it and, as soon as two
+ * adjacent hits reveal the orientation of the ship, the locations extending
+ * the line of hits. As ships never touch each other, the locations diagonal to
+ * a hit, those beside a line of hits and the whole halo of a sunken ship are
+ * known to be empty sea and are never fired upon.
+ * <p>
+ * Every set of candidate locations is kept as a bitmap of {@code long} words,
+ * allocated once per board size: choosing a shot and learning from its outcome
+ * allocate nothing.
+ *
+ * @author Angelo Oparah
+ *
+ */
+public class HuntTargetShooter implements Shooter
+{
+	/** source of randomness for the hunt. */
+	private final Random random;
+
+	/** height of the board being played. */
+	private int height;
+
+	/** width of the board being played. */
+	private int width;
+
+	/** locations that were neither fired upon nor ruled out. */
+	private long[] unknown;
+
+	/** locations of the hunting colour of the checkerboard. */
+	private long[] parity;
+
+	/** locations next to a hit on a ship still afloat. */
+	private long[] targets;
+
+	/** locations extending a line of hits on a ship still afloat. */
+	private long[] lineTargets;
+
+	/** locations hit on ships still afloat. */
+	private long[] hits;
+
+
+	/**
+	 * Creates a new shooter hunting at random.
+	 */
+	public HuntTargetShooter()
+	{
+		this(new Random());
+	}
+
+	/**
+	 * Creates a new shooter hunting with the given source of randomness, so
+	 * that the same seed plays the same board the same way.
+	 *
+	 * @param random
+	 *            source of randomness for the hunt.
+	 */
+	public HuntTargetShooter(Random random)
+	{
+		this.random = random;
+	}
+
+	@Override
+	public void reset(BoardSpec spec)
+	{
+		int words = (spec.getHeight() * spec.getWidth() + Long.SIZE - 1) / Long.SIZE;
+
+		if (unknown == null || height != spec.getHeight() || width != spec.getWidth())
+		{
+			// only allocate when the size of the board changes
+			height = spec.getHeight();
+			width = spec.getWidth();
+
+			unknown = new long[words];
+			parity = new long[words];
+			targets = new long[words];
+			lineTargets = new long[words];
+			hits = new long[words];
+
+			for (int i = 0; i < height; i++)
+			{
+				for (int j = (i & 1); j < width; j += 2)
+				{
+					set(parity, i * width + j);
+				}
+			}
+		}
+		else
+		{
+			Arrays.fill(targets, 0);
+			Arrays.fill(lineTargets, 0);
+			Arrays.fill(hits, 0);
+		}
+
+		// every location is unknown, but the bits past the last one
+		Arrays.fill(unknown, -1L);
+
+		if (height * width % Long.SIZE != 0)
+		{
+			unknown[words - 1] = (1L << (height * width % Long.SIZE)) - 1;
+		}
+	}
+
+	@Override
+	public long nextShot()
+	{
+		if (unknown == null)
+		{
+			throw new IllegalStateException("The shooter has not been reset for a board");
+		}
+
+		// finish off the ships hit first, then hunt
+		int cell = firstCommon(lineTargets, unknown);
+
+		if (cell < 0)
+		{
+			cell = firstCommon(targets, unknown);
+		}
+		if (cell < 0)
+		{
+			cell = randomCommon(parity, unknown);
+		}
+		if (cell < 0)
+		{
+			// only submarines can be left off the checkerboard
+			cell = randomCommon(unknown, unknown);
+		}
+		if (cell < 0)
+		{
+			throw new IllegalStateException("Every location has been fired upon");
+		}
+
+		return ShotResults.shot(cell / width, cell % width);
+	}
+
+	@Override
+	public void observe(int row, int column, boolean hit, boolean sunk)
+	{
+		if (row < 0 || row >= height || column < 0 || column >= width)
+		{
+			// nothing to learn from a shot outside the board
+			return;
+		}
+
+		rule(row, column);
+
+		if (!hit)
+		{
+			return;
+		}
+
+		set(hits, row * width + column);
+
+		// ships are straight and never touch: the diagonals are empty sea
+		rule(row - 1, column - 1);
+		rule(row - 1, column + 1);
+		rule(row + 1, column - 1);
+		rule(row + 1, column + 1);
+
+		if (sunk)
+		{
+			ruleOutSunkShip(row, column);
+
+			return;
+		}
+
+		mark(targets, row - 1, column);
+		mark(targets, row + 1, column);
+		mark(targets, row, column - 1);
+		mark(targets, row, column + 1);
+
+		if (isHit(row, column - 1) || isHit(row, column + 1))
+		{
+			targetLine(row, column, true);
+		}
+		if (isHit(row - 1, column) || isHit(row + 1, column))
+		{
+			targetLine(row, column, false);
+		}
+	}
+
+
+	// ============== private methods ============= //
+
+	/**
+	 * Targets the two ends of the line of hits through the given location, and
+	 * rules out the locations beside it.
+	 *
+	 * @param row
+	 *            vertical coordinate of a hit in the line.
+	 * @param column
+	 *            horizontal coordinate of a hit in the line.
+	 * @param horizontal
+	 *            the orientation of the line.
+	 */
+	private void targetLine(int row, int column, boolean horizontal)
+	{
+		int rowStep = horizontal ? 0 : 1;
+		int columnStep = horizontal ? 1 : 0;
+
+		// walk back to the first hit of the line
+		int r = row;
+		int c = column;
+
+		while (isHit(r - rowStep, c - columnStep))
+		{
+			r -= rowStep;
+			c -= columnStep;
+		}
+
+		mark(lineTargets, r - rowStep, c - columnStep);
+
+		// then forward to the last one, ruling out both sides of the line
+		while (isHit(r, c))
+		{
+			rule(r - columnStep, c - rowStep);
+			rule(r + columnStep, c + rowStep);
+
+			r += rowStep;
+			c += columnStep;
+		}
+
+		mark(lineTargets, r, c);
+	}
+
+	/**
+	 * Rules out the halo of the sunken ship covering the given location, and
+	 * forgets the hits on the ship.
+	 *
+	 * @param row
+	 *            vertical coordinate of the last hit on the ship.
+	 * @param column
+	 *            horizontal coordinate of the last hit on the ship.
+	 */
+	private void ruleOutSunkShip(int row, int column)
+	{
+		// ships never touch, so the hits adjacent to the sinking one belong
+		// to the same ship
+		boolean horizontal = isHit(row, column - 1) || isHit(row, column + 1);
+		int rowStep = horizontal ? 0 : 1;
+		int columnStep = horizontal ? 1 : 0;
+
+		int r = row;
+		int c = column;
+
+		while (isHit(r - rowStep, c - columnStep))
+		{
+			r -= rowStep;
+			c -= columnStep;
+		}
+
+		while (isHit(r, c))
+		{
+			clear(hits, r * width + c);
+
+			for (int i = -1; i <= 1; i++)
+			{
+				for (int j = -1; j <= 1; j++)
+				{
+					rule(r + i, c + j);
+				}
+			}
+
+			r += rowStep;
+			c += columnStep;
+		}
+	}
+
+	/**
+	 * Rules out the given location, if within the board: it will never be
+	 * fired upon.
+	 *
+	 * @param row
+	 *            vertical coordinate of the location.
+	 * @param column
+	 *            horizontal coordinate of the location.
+	 */
+	private void rule(int row, int column)
+	{
+		if (row >= 0 && row < height && column >= 0 && column < width)
+		{
+			int cell = row * width + column;
+
+			clear(unknown, cell);
+			clear(targets, cell);
+			clear(lineTargets, cell);
+		}
+	}
+
+	/**
+	 * Adds the given location to a set of candidates, if within the board and
+	 * not ruled out yet.
+	 *
+	 * @param candidates
+	 *            the set of candidates.
+	 * @param row
+	 *            vertical coordinate of the location.
+	 * @param column
+	 *            horizontal coordinate of the location.
+	 */
+	private void mark(long[] candidates, int row, int column)
+	{
+		if (row >= 0 && row < height && column >= 0 && column < width && isSet(unknown, row * width + column))
+		{
+			set(candidates, row * width + column);
+		}
+	}
+
+	/**
+	 * Indicates whether the given location is a hit on a ship still afloat.
+	 *
+	 * @param row
+	 *            vertical coordinate of the location.
+	 * @param column
+	 *            horizontal coordinate of the location.
+	 * @return {@code true} if the location is within the board and was hit,
+	 *         {@code false} otherwise.
+	 */
+	private boolean isHit(int row, int column)
+	{
+		return row >= 0 && row < height && column >= 0 && column < width && isSet(hits, row * width + column);
+	}
+
+	/**
+	 * Returns the first location in both the given sets.
+	 *
+	 * @param first
+	 *            the first set.
+	 * @param second
+	 *            the second set.
+	 * @return the index of the location, or {@code -1} if the sets have no
+	 *         location in common.
+	 */
+	private static int firstCommon(long[] first, long[] second)
+	{
+		for (int i = 0; i < first.length; i++)
+		{
+			long word = first[i] & second[i];
+
+			if (word != 0)
+			{
+				return i * Long.SIZE + Long.numberOfTrailingZeros(word);
+			}
+		}
+
+		return -1;
+	}
+
+	/**
+	 * Draws a location uniformly at random among those in both the given sets.
+	 *
+	 * @param first
+	 *            the first set.
+	 * @param second
+	 *            the second set.
+	 * @return the index of the location, or {@code -1} if the sets have no
+	 *         location in common.
+	 */
+	private int randomCommon(long[] first, long[] second)
+	{
+		int count = 0;
+
+		for (int i = 0; i < first.length; i++)
+		{
+			count += Long.bitCount(first[i] & second[i]);
+		}
+
+		if (count == 0)
+		{
+			return -1;
+		}
+
+		int rank = random.nextInt(count);
+
+		for (int i = 0; i < first.length; i++)
+		{
+			long word = first[i] & second[i];
+			int bits = Long.bitCount(word);
+
+			if (rank < bits)
+			{
+				// drop the lower locations of the word, up to the one drawn
+				for (int j = 0; j < rank; j++)
+				{
+					word &= word - 1;
+				}
+
+				return i * Long.SIZE + Long.numberOfTrailingZeros(word);
+			}
+
+			rank -= bits;
+		}
+
+		return -1;
+	}
+
+	/**
+	 * Indicates whether the given location belongs to a set.
+	 *
+	 * @param bits
+	 *            the set.
+	 * @param cell
+	 *            the index of the location.
+	 * @return {@code true} if the location belongs to the set, {@code false}
+	 *         otherwise.
+	 */
+	private static boolean isSet(long[] bits, int cell)
+	{
+		return (bits[cell >>> 6] & (1L << cell)) != 0;
+	}
+
+	/**
+	 * Adds the given location to a set.
+	 *
+	 * @param bits
+	 *            the set.
+	 * @param cell
+	 *            the index of the location.
+	 */
+	private static void set(long[] bits, int cell)
+	{
+		bits[cell >>> 6] |= 1L << cell;
+	}
+
+	/**
+	 * Removes the given location from a set.
+	 *
+	 * @param bits
+	 *            the set.
+	 * @param cell
+	 *            the index of the location.
+	 */
+	private static void clear(long[] bits, int cell)
+	{
+		bits[cell >>> 6] &= ~(1L << cell);
+	}
+}
@@ -0,0 +1,117 @@
+package battleship;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Test class to test the API of the {@linkplain HuntTargetShooter} class.
+ *
+ * @author Angelo Oparah
+ *
+ */
+public class HuntTargetShooterTest
+{
+	/** default timeout test duration in milliseconds */
+	private static final int DEFAULT_TIMEOUT = 5000;
+
+	/** number of games played by each test. */
+	private static final int GAMES = 500;
+
+	/**
+	 * The shooter should sink the whole fleet without ever firing twice at the
+	 * same location, and in far fewer shots than the area of the board
+	 */
+	@Test(timeout = DEFAULT_TIMEOUT)
+	public void test_play_shouldSinkTheFleetWithoutRepeatingShots()
+	{
+		BoardGenerator generator = new BoardGenerator(BoardEngine.BITBOARD, BoardSpec.STANDARD, 42);
+		Shooter shooter = new HuntTargetShooter(new Random(42));
+		long totalShots = 0;
+
+		for (int game = 0; game < GAMES; game++)
+		{
+			Board board = generator.generate(game);
+			int shots = shooter.play(board);
+
+			assertTrue("game not over", board.isGameOver());
+			assertEquals("shots not counted", board.getShotsFired(), shots);
+			assertEquals("repeated shots", shots, OceanTest.firedUpon(board));
+			assertEquals("wasted hits", BoardSpec.STANDARD.getFleetArea(), board.getHitCount());
+
+			totalShots += shots;
+		}
+
+		// random shots would take about 95 on average
+		assertTrue("too many shots: " + totalShots / GAMES, totalShots < 60L * GAMES);
+	}
+
+	/**
+	 * A fleet of submarines only lies partly off the hunting checkerboard: the
+	 * shooter should still find it all
+	 */
+	@Test(timeout = DEFAULT_TIMEOUT)
+	public void test_play_shouldFindShipsOffTheCheckerboard()
+	{
+		BoardSpec spec = new BoardSpec(7, 9, 0, 0, 0, 12);
+		BoardGenerator generator = new BoardGenerator(BoardEngine.SPARSE, spec, 7);
+		Shooter shooter = new HuntTargetShooter(new Random(7));
+
+		for (int game = 0; game < GAMES; game++)
+		{
+			Board board = generator.generate(game);
+			int shots = shooter.play(board);
+
+			assertTrue("game not over", board.isGameOver());
+			assertEquals("repeated shots", shots, OceanTest.firedUpon(board));
+		}
+	}
+
+	/**
+	 * A game that cannot be won within the max number of shots should fail
+	 * once they have all been fired
+	 */
+	@Test
+	public void test_play_shouldGiveUpAfterTheMaxNumberOfShots()
+	{
+		// if we play a standard board allowing fewer shots than the area of
+		// its fleet
+		Board board = new BoardGenerator(BoardEngine.BITBOARD, BoardSpec.STANDARD, 42).generate(0);
+		Shooter shooter = new HuntTargetShooter(new Random(42));
+		int maxShots = BoardSpec.STANDARD.getFleetArea() - 1;
+
+		try
+		{
+			shooter.play(board, maxShots);
+			fail("game won in fewer shots than the area of the fleet");
+		}
+		catch (IllegalStateException e)
+		{
+			// expected
+		}
+
+		// we should expect every shot allowed, and no more, to be fired
+		assertFalse("game over", board.isGameOver());
+		assertEquals("incorrect shots fired", maxShots, board.getShotsFired());
+	}
+
+	/**
+	 * Asking for a shot once every location has been fired upon should fail
+	 */
+	@Test(expected = IllegalStateException.class)
+	public void test_nextShot_shouldFailOnceEveryLocationWasFiredUpon()
+	{
+		Shooter shooter = new HuntTargetShooter(new Random(1));
+		shooter.reset(new BoardSpec(1, 2, 0, 0, 0, 0));
+
+		shooter.observe(0, 0, false, false);
+		shooter.observe(0, 1, false, false);
+
+		shooter.nextShot();
+	}
+}
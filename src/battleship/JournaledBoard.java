@@ -0,0 +1,181 @@
+package battleship;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * {@linkplain Board} journaling its game to a {@linkplain ShotJournal}, on top
+ * of any other board it delegates to: the spec of the board when created,
+ * then every ship placed and every shot fired, so that
+ * {@linkplain ShotJournal#replay(java.nio.file.Path, BoardEngine)} can
+ * rebuild the board in the same state. Only ships and shots the board accepted
+ * are journaled.
+ * Thread safe if the board delegated to is, although concurrent shots are
+ * journaled in an order that may differ from the order they were fired in.
+ *
+ * @author Angelo Oparah
+ *
+ */
+public class JournaledBoard implements Board
+{
+	/** the board delegated to. */
+	private final Board board;
+
+	/** the journal of the game. */
+	private final ShotJournal journal;
+
+	/** the id of the game within the journal. */
+	private final int game;
+
+
+	/**
+	 * Wraps the given empty board, journaling the start of its game.
+	 *
+	 * @param board
+	 *            the board to delegate to, with no ships placed yet.
+	 * @param journal
+	 *            the journal to append to.
+	 * @param game
+	 *            the id of the game, unique within the journal.
+	 * @throws IllegalArgumentException
+	 *             if the board or the journal is missing.
+	 */
+	public JournaledBoard(Board board, ShotJournal journal, int game)
+	{
+		if (board == null || journal == null)
+		{
+			throw new IllegalArgumentException("Illegal board or journal: " + board + ", " + journal);
+		}
+
+		this.board = board;
+		this.journal = journal;
+		this.game = game;
+
+		journal.startGame(game, board.getSpec());
+	}
+
+	/**
+	 * Returns the id of the game within the journal.
+	 *
+	 * @return the id of the game.
+	 */
+	public int getGame()
+	{
+		return game;
+	}
+
+	@Override
+	public BoardSpec getSpec()
+	{
+		return board.getSpec();
+	}
+
+	@Override
+	public int getShotsFired()
+	{
+		return board.getShotsFired();
+	}
+
+	@Override
+	public int getHitCount()
+	{
+		return board.getHitCount();
+	}
+
+	@Override
+	public int getShipsSunk()
+	{
+		return board.getShipsSunk();
+	}
+
+	@Override
+	public int getShipsPlaced()
+	{
+		return board.getShipsPlaced();
+	}
+
+	@Override
+	public boolean isGameOver()
+	{
+		return board.isGameOver();
+	}
+
+	@Override
+	public Ship[][] getShipArray()
+	{
+		return board.getShipArray();
+	}
+
+	@Override
+	public void placeAllShipsRandomly()
+	{
+		// place through this board, so that every ship is journaled
+		new ShipPlacer(board.getSpec(), ThreadLocalRandom.current()).placeFleet(this);
+	}
+
+	@Override
+	public void placeShip(Ship ship)
+	{
+		board.placeShip(ship);
+		journal.appendShip(game, ship);
+	}
+
+	@Override
+	public boolean isOccupied(int row, int column)
+	{
+		return board.isOccupied(row, column);
+	}
+
+	@Override
+	public String getShipTypeAt(int row, int column)
+	{
+		return board.getShipTypeAt(row, column);
+	}
+
+	@Override
+	public boolean hasSunkShipAt(int row, int column)
+	{
+		return board.hasSunkShipAt(row, column);
+	}
+
+	@Override
+	public char getStateAt(int row, int column)
+	{
+		return board.getStateAt(row, column);
+	}
+
+	@Override
+	public void print()
+	{
+		board.print();
+	}
+
+	@Override
+	public boolean shootAt(int row, int column)
+	{
+		return shoot(row, column).isScored();
+	}
+
+	@Override
+	public ShotOutcome shoot(int row, int column)
+	{
+		ShotOutcome outcome = board.shoot(row, column);
+
+		journal.appendShot(game, row, column);
+
+		return outcome;
+	}
+
+	@Override
+	public void shootAt(int[] rows, int[] columns, byte[] results)
+	{
+		board.shootAt(rows, columns, results);
+		journal.appendShots(game, rows, columns);
+	}
+
+	@Override
+	public void shootAt(long[] shots, byte[] results)
+	{
+		board.shootAt(shots, results);
+		journal.appendShots(game, shots);
+	}
+}
@@ -0,0 +1,169 @@
+package battleship;
+
+import java.util.Arrays;
+
+/**
+ * Histogram of latencies (or any other non negative {@code long} values) with
+ * a bounded relative error. Values are counted in buckets whose width doubles
+ * at each power of two, each power of two being split into
+ * {@value #SUB_BUCKETS} buckets, so that the whole {@code long} range is
+ * covered by a couple of thousand counters and every percentile is reported
+ * within about 3% of its actual value. Recording a value takes constant time
+ * and allocates nothing. Not thread safe: each thread should record into its
+ * own histogram, to be merged at the end with {@link #add(LatencyHistogram)}.
+ *
+ * @author Angelo Oparah
+ *
+ */
+final class LatencyHistogram
+{
+	/** number of bits used to address a bucket within its power of two. */
+	private static final int SUB_BUCKET_BITS = 5;
+
+	/** number of buckets each power of two is split into. */
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+	/** number of values counted in each bucket. */
+	private final long[] counts = new long[(Long.SIZE - SUB_BUCKET_BITS + 1) * SUB_BUCKETS];
+
+	/** number of values recorded. */
+	private long count;
+
+	/** greatest value recorded. */
+	private long max;
+
+
+	/**
+	 * Records the given value.
+	 *
+	 * @param value
+	 *            the value to record; negative values are recorded as
+	 *            {@code 0}.
+	 */
+	void record(long value)
+	{
+		value = Math.max(0, value);
+
+		counts[bucketOf(value)]++;
+		count++;
+		max = Math.max(max, value);
+	}
+
+	/**
+	 * Adds every value recorded by the given histogram to this one.
+	 *
+	 * @param other
+	 *            the histogram to add.
+	 */
+	void add(LatencyHistogram other)
+	{
+		for (int i = 0; i < counts.length; i++)
+		{
+			counts[i] += other.counts[i];
+		}
+
+		count += other.count;
+		max = Math.max(max, other.max);
+	}
+
+	/**
+	 * Forgets every value recorded so far.
+	 */
+	void clear()
+	{
+		Arrays.fill(counts, 0);
+		count = 0;
+		max = 0;
+	}
+
+	/**
+	 * Returns the number of values recorded.
+	 *
+	 * @return the number of values.
+	 */
+	long count()
+	{
+		return count;
+	}
+
+	/**
+	 * Returns the greatest value recorded.
+	 *
+	 * @return the greatest value, or {@code 0} if none was recorded.
+	 */
+	long max()
+	{
+		return max;
+	}
+
+	/**
+	 * Returns the value below which the given fraction of the values recorded
+	 * falls.
+	 *
+	 * @param fraction
+	 *            the fraction of the values, from {@code 0} to {@code 1} (for
+	 *            instance {@code 0.99} for the 99th percentile).
+	 * @return the percentile, or {@code 0} if no value was recorded.
+	 */
+	long percentile(double fraction)
+	{
+		long rank = (long) Math.ceil(fraction * count);
+		long seen = 0;
+
+		for (int i = 0; i < counts.length; i++)
+		{
+			seen += counts[i];
+
+			if (seen >= rank && seen > 0)
+			{
+				// report the upper bound of the bucket, but never beyond the max
+				return Math.min(max, upperBoundOf(i));
+			}
+		}
+
+		return 0;
+	}
+
+
+	// ============== private methods ============= //
+
+	/**
+	 * Returns the index of the bucket counting the given value.
+	 *
+	 * @param value
+	 *            a non negative value.
+	 * @return the index of the bucket.
+	 */
+	private static int bucketOf(long value)
+	{
+		if (value < SUB_BUCKETS)
+		{
+			// small values have a bucket each
+			return (int) value;
+		}
+
+		int shift = Long.SIZE - 1 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+
+		return (shift + 1) * SUB_BUCKETS + (int) ((value >>> shift) & (SUB_BUCKETS - 1));
+	}
+
+	/**
+	 * Returns the greatest value counted by the given bucket.
+	 *
+	 * @param bucket
+	 *            the index of the bucket.
+	 * @return the upper bound of the bucket (inclusive).
+	 */
+	private static long upperBoundOf(int bucket)
+	{
+		if (bucket < SUB_BUCKETS)
+		{
+			return bucket;
+		}
+
+		int shift = bucket / SUB_BUCKETS - 1;
+		long lowerBound = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << shift;
+
+		return lowerBound + (1L << shift) - 1;
+	}
+}
@@ -0,0 +1,155 @@
+package battleship;
+
+import java.util.Arrays;
+
+/**
+ * Minimal open addressing hash map from non negative {@code long} keys to
+ * {@code int} values, used to index the ship segments of a sparse board
+ * without boxing keys and values or allocating an entry per mapping. Keys are
+ * probed linearly and the table doubles once it is half full, so lookups take
+ * constant time on average.
+ *
+ * @author Angelo Oparah
+ *
+ */
+final class LongIntHashMap
+{
+	/** marks a free slot: keys are never negative. */
+	private static final long FREE = -1;
+
+	/** multiplier used to spread the keys over the table (golden ratio). */
+	private static final long SPREAD = 0x9E3779B97F4A7C15L;
+
+	/** keys of the mappings; {@value #FREE} for free slots. */
+	private long[] keys;
+
+	/** values of the mappings, at the same index as their key. */
+	private int[] values;
+
+	/** number of mappings in the map. */
+	private int size;
+
+
+	/**
+	 * Builds an empty map able to hold the given number of mappings before
+	 * growing.
+	 *
+	 * @param expectedSize
+	 *            number of mappings expected; must not be negative.
+	 */
+	LongIntHashMap(int expectedSize)
+	{
+		// keep the table at most half full and its capacity a power of two
+		int capacity = Integer.highestOneBit(Math.max(4, expectedSize * 2 - 1)) << 1;
+
+		keys = new long[capacity];
+		values = new int[capacity];
+		Arrays.fill(keys, FREE);
+	}
+
+	/**
+	 * Returns the value mapped to the given key.
+	 *
+	 * @param key
+	 *            the key to look up; must not be negative.
+	 * @return the value mapped to the key, {@code 0} if there is none.
+	 */
+	int get(long key)
+	{
+		int mask = keys.length - 1;
+
+		for (int slot = slotOf(key, mask);; slot = (slot + 1) & mask)
+		{
+			if (keys[slot] == key)
+			{
+				return values[slot];
+			}
+			if (keys[slot] == FREE)
+			{
+				return 0;
+			}
+		}
+	}
+
+	/**
+	 * Maps the given key to the given value, replacing any previous value.
+	 *
+	 * @param key
+	 *            the key to map; must not be negative.
+	 * @param value
+	 *            the value to map the key to.
+	 */
+	void put(long key, int value)
+	{
+		assert key >= 0 : "negative key: " + key;
+
+		if ((size + 1) * 2 > keys.length)
+		{
+			grow();
+		}
+
+		int mask = keys.length - 1;
+		int slot = slotOf(key, mask);
+
+		while (keys[slot] != FREE && keys[slot] != key)
+		{
+			slot = (slot + 1) & mask;
+		}
+
+		if (keys[slot] == FREE)
+		{
+			size++;
+		}
+
+		keys[slot] = key;
+		values[slot] = value;
+	}
+
+	/**
+	 * Returns the number of mappings in the map.
+	 *
+	 * @return the number of mappings.
+	 */
+	int size()
+	{
+		return size;
+	}
+
+	/**
+	 * Returns the slot the search for the given key starts from.
+	 *
+	 * @param key
+	 *            the key to look up.
+	 * @param mask
+	 *            the table capacity minus one.
+	 * @return the first slot to probe.
+	 */
+	private static int slotOf(long key, int mask)
+	{
+		long hash = key * SPREAD;
+
+		return (int) (hash ^ (hash >>> 32)) & mask;
+	}
+
+	/**
+	 * Doubles the capacity of the table, moving every mapping to its new slot.
+	 */
+	private void grow()
+	{
+		long[] oldKeys = keys;
+		int[] oldValues = values;
+
+		keys = new long[oldKeys.length * 2];
+		values = new int[oldValues.length * 2];
+		Arrays.fill(keys, FREE);
+		size = 0;
+
+		for (int i = 0; i < oldKeys.length; i++)
+		{
+			if (oldKeys[i] != FREE)
+			{
+				put(oldKeys[i], oldValues[i]);
+			}
+		}
+	}
+}
@@ -0,0 +1,232 @@
+package battleship;
+
+import java.io.PrintStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+
+/**
+ * Minimal harness for micro benchmarks, standing in for JMH where no build is
+ * available to host it. A benchmark is a {@linkplain Setup} preparing, outside
+ * of the measurement, a {@linkplain Round} performing a known number of
+ * operations: rounds are run a few times to warm up the code, then measured
+ * one by one. For every benchmark the harness reports the average time of an
+ * operation, the bytes allocated per operation by the measuring thread (as
+ * reported by the JVM, when supported) and the collections run and the time
+ * spent collecting during the measurement, much like the GC profiler of JMH.
+ *
+ * @author Angelo Oparah
+ *
+ */
+final class MicroBenchmark
+{
+	/** number of rounds run to warm up before measuring. */
+	static final int WARMUP_ROUNDS = 10;
+
+	/** number of rounds measured. */
+	static final int MEASURED_ROUNDS = 10;
+
+	/** format of the header and of each line of the report. */
+	private static final String FORMAT = "%-34s %12s %14s %10s %10s%n";
+
+	/** results of the rounds, so that the JIT cannot optimize them away. */
+	private static volatile long sink;
+
+	/** thread bean of the JVM, counting the bytes allocated by each thread. */
+	private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+	/**
+	 * Prepares a round of a benchmark; the time it takes and the memory it
+	 * allocates are not measured.
+	 */
+	interface Setup
+	{
+		/**
+		 * Prepares a new round.
+		 *
+		 * @return the round, ready to run.
+		 */
+		Round prepare();
+	}
+
+	/**
+	 * Round of a benchmark, performing a known number of operations.
+	 */
+	interface Round
+	{
+		/**
+		 * Performs the operations of the round.
+		 *
+		 * @return any value depending on the operations performed, so that
+		 *         they cannot be optimized away.
+		 */
+		long run();
+	}
+
+	/**
+	 * Prevents instantiation.
+	 */
+	private MicroBenchmark()
+	{
+	}
+
+	/**
+	 * Prints the header of the lines printed by
+	 * {@link #measure(String, int, Setup)} on the standard output.
+	 */
+	static void printHeader()
+	{
+		printHeader(System.out);
+	}
+
+	/**
+	 * Prints the header of the lines printed by
+	 * {@link #measure(PrintStream, String, int, Setup)}.
+	 *
+	 * @param out
+	 *            the stream the header is printed to.
+	 */
+	static void printHeader(PrintStream out)
+	{
+		out.printf(FORMAT, "benchmark", "ns/op", "B/op", "gc count", "gc ms");
+	}
+
+	/**
+	 * Warms up and measures a benchmark, printing one line with the results
+	 * on the standard output.
+	 *
+	 * @param name
+	 *            the name of the benchmark.
+	 * @param operations
+	 *            the number of operations performed by each round.
+	 * @param setup
+	 *            prepares each round of the benchmark.
+	 * @return the average number of bytes allocated per operation, or
+	 *         {@code -1} if the JVM does not count the bytes allocated.
+	 */
+	static double measure(String name, int operations, Setup setup)
+	{
+		return measure(System.out, name, operations, setup);
+	}
+
+	/**
+	 * Warms up and measures a benchmark, printing one line with the results.
+	 *
+	 * @param out
+	 *            the stream the results are printed to.
+	 * @param name
+	 *            the name of the benchmark.
+	 * @param operations
+	 *            the number of operations performed by each round.
+	 * @param setup
+	 *            prepares each round of the benchmark.
+	 * @return the average number of bytes allocated per operation, or
+	 *         {@code -1} if the JVM does not count the bytes allocated.
+	 */
+	static double measure(PrintStream out, String name, int operations, Setup setup)
+	{
+		for (int i = 0; i < WARMUP_ROUNDS; i++)
+		{
+			sink += setup.prepare().run();
+		}
+
+		long elapsed = 0;
+		long allocated = 0;
+		long collections = -gcCount();
+		long collectionTime = -gcTime();
+
+		for (int i = 0; i < MEASURED_ROUNDS; i++)
+		{
+			Round round = setup.prepare();
+
+			long bytes = allocatedBytes();
+			long start = System.nanoTime();
+
+			sink += round.run();
+
+			elapsed += System.nanoTime() - start;
+			allocated += allocatedBytes() - bytes;
+		}
+
+		collections += gcCount();
+		collectionTime += gcTime();
+
+		long total = (long) operations * MEASURED_ROUNDS;
+		double bytesPerOperation = allocatedBytes() < 0 ? -1 : (double) allocated / total;
+
+		out.printf(FORMAT, name, String.format("%.1f", (double) elapsed / total),
+				bytesPerOperation < 0 ? "n/a" : String.format("%.1f", bytesPerOperation), collections,
+				collectionTime);
+
+		return bytesPerOperation;
+	}
+
+
+	// ============== private methods ============= //
+
+	/**
+	 * Returns the number of bytes allocated so far by the current thread.
+	 *
+	 * @return the number of bytes, or {@code -1} if the JVM does not count
+	 *         them.
+	 */
+	private static long allocatedBytes()
+	{
+		if (THREADS instanceof com.sun.management.ThreadMXBean)
+		{
+			com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) THREADS;
+
+			if (threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled())
+			{
+				return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+			}
+		}
+
+		return -1;
+	}
+
+	/**
+	 * Returns the number of collections run so far by every collector.
+	 *
+	 * @return the number of collections.
+	 */
+	private static long gcCount()
+	{
+		long count = 0;
+
+		for (GarbageCollectorMXBean collector : collectors())
+		{
+			count += Math.max(0, collector.getCollectionCount());
+		}
+
+		return count;
+	}
+
+	/**
+	 * Returns the time spent so far collecting by every collector.
+	 *
+	 * @return the time, in milliseconds.
+	 */
+	private static long gcTime()
+	{
+		long time = 0;
+
+		for (GarbageCollectorMXBean collector : collectors())
+		{
+			time += Math.max(0, collector.getCollectionTime());
+		}
+
+		return time;
+	}
+
+	/**
+	 * Returns the collectors of the JVM.
+	 *
+	 * @return the beans of the collectors.
+	 */
+	private static List<GarbageCollectorMXBean> collectors()
+	{
+		return ManagementFactory.getGarbageCollectorMXBeans();
+	}
+}
@@ -0,0 +1,73 @@
+package battleship;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+
+import org.junit.Test;
+
+/**
+ * Test class to test the API of the {@linkplain MicroBenchmark} class.
+ *
+ * @author Angelo Oparah
+ *
+ */
+public class MicroBenchmarkTest
+{
+	/** number of operations of each round. */
+	private static final int OPERATIONS = 1000;
+
+	/**
+	 * The bytes allocated by the rounds should be reported per operation,
+	 * leaving out those allocated while preparing the rounds
+	 */
+	@Test
+	public void test_measure_shouldReportTheBytesAllocatedPerOperationByTheRoundsOnly()
+	{
+		// keep the report off the output of the build
+		ByteArrayOutputStream report = new ByteArrayOutputStream();
+		PrintStream out = new PrintStream(report, true);
+
+		double allocating = MicroBenchmark.measure(out, "allocating", OPERATIONS, () ->
+		{
+			long[][] arrays = new long[OPERATIONS][];
+
+			return () ->
+			{
+				for (int i = 0; i < OPERATIONS; i++)
+				{
+					arrays[i] = new long[16];
+				}
+
+				return arrays[OPERATIONS - 1].length;
+			};
+		});
+
+		// skip the test if the JVM does not count the bytes allocated
+		assumeTrue(allocating >= 0);
+
+		double idle = MicroBenchmark.measure(out, "idle", OPERATIONS, () ->
+		{
+			long[][] arrays = new long[OPERATIONS][16];
+
+			return () ->
+			{
+				long sum = 0;
+
+				for (long[] array : arrays)
+				{
+					sum += array[0];
+				}
+
+				return sum;
+			};
+		});
+
+		// an array of 16 longs takes at least 128 bytes
+		assertTrue("allocation not reported: " + allocating, allocating >= 16 * Long.BYTES);
+		assertTrue("setup counted: " + idle, idle < 1);
+		assertTrue("not reported: " + report, report.toString().contains("allocating"));
+	}
+}
@@ -0,0 +1,233 @@
+package battleship;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * {@linkplain Board} reporting the events of its game to a
+ * {@linkplain GameListener}, on top of any other board it delegates to. The
+ * monitoring lives in this wrapper alone, so that boards that are not
+ * monitored run exactly the same code as before and pay nothing for it; a
+ * monitored board pays for timing each shot and calling the listener. Placing
+ * the fleet at random reports the retries and backtracks of the placement
+ * engine, every shot reports its result code (telling hits and sinks apart,
+ * even through {@linkplain #shootAt(int, int)}) and the shot sinking the last
+ * ship reports the end of the game. Thread safe if the board delegated to is.
+ *
+ * @author Angelo Oparah
+ *
+ */
+public class MonitoredBoard implements Board
+{
+	/** single shot fired through {@link #shootAt(int, int)}, per thread. */
+	private static final ThreadLocal<long[]> SINGLE_SHOT = ThreadLocal.withInitial(() -> new long[1]);
+
+	/** result of the single shot fired through {@link #shootAt(int, int)}. */
+	private static final ThreadLocal<byte[]> SINGLE_RESULT = ThreadLocal.withInitial(() -> new byte[1]);
+
+	/** the board delegated to. */
+	private final Board board;
+
+	/** the listener notified of the events. */
+	private final GameListener listener;
+
+	/** time the game started at: when the fleet was placed, at the latest. */
+	private volatile long startedAt = System.nanoTime();
+
+	/** whether the end of the game has been reported already. */
+	private final AtomicBoolean over = new AtomicBoolean();
+
+
+	/**
+	 * Wraps the given board, reporting its events to the given listener.
+	 *
+	 * @param board
+	 *            the board to delegate to.
+	 * @param listener
+	 *            the listener to notify of the events.
+	 * @throws IllegalArgumentException
+	 *             if the board or the listener is missing.
+	 */
+	public MonitoredBoard(Board board, GameListener listener)
+	{
+		if (board == null || listener == null)
+		{
+			throw new IllegalArgumentException("Illegal board or listener: " + board + ", " + listener);
+		}
+
+		this.board = board;
+		this.listener = listener;
+	}
+
+	/**
+	 * Returns the board delegated to.
+	 *
+	 * @return the board monitored.
+	 */
+	public Board getBoard()
+	{
+		return board;
+	}
+
+	@Override
+	public BoardSpec getSpec()
+	{
+		return board.getSpec();
+	}
+
+	@Override
+	public int getShotsFired()
+	{
+		return board.getShotsFired();
+	}
+
+	@Override
+	public int getHitCount()
+	{
+		return board.getHitCount();
+	}
+
+	@Override
+	public int getShipsSunk()
+	{
+		return board.getShipsSunk();
+	}
+
+	@Override
+	public int getShipsPlaced()
+	{
+		return board.getShipsPlaced();
+	}
+
+	@Override
+	public boolean isGameOver()
+	{
+		return board.isGameOver();
+	}
+
+	@Override
+	public Ship[][] getShipArray()
+	{
+		return board.getShipArray();
+	}
+
+	/**
+	 * {@inheritDoc} The placement is reported to the listener, and the game is
+	 * deemed to start once the fleet is placed.
+	 */
+	@Override
+	public void placeAllShipsRandomly()
+	{
+		ShipPlacer placer = new ShipPlacer(board.getSpec(), ThreadLocalRandom.current());
+
+		long start = System.nanoTime();
+		placer.placeFleet(board);
+		long end = System.nanoTime();
+
+		startedAt = end;
+		listener.onShipsPlaced(this, placer.getRetries(), placer.getBacktracks(), end - start);
+	}
+
+	@Override
+	public void placeShip(Ship ship)
+	{
+		board.placeShip(ship);
+	}
+
+	@Override
+	public boolean isOccupied(int row, int column)
+	{
+		return board.isOccupied(row, column);
+	}
+
+	@Override
+	public String getShipTypeAt(int row, int column)
+	{
+		return board.getShipTypeAt(row, column);
+	}
+
+	@Override
+	public boolean hasSunkShipAt(int row, int column)
+	{
+		return board.hasSunkShipAt(row, column);
+	}
+
+	@Override
+	public char getStateAt(int row, int column)
+	{
+		return board.getStateAt(row, column);
+	}
+
+	@Override
+	public void print()
+	{
+		board.print();
+	}
+
+	/**
+	 * {@inheritDoc} The shot is fired as a batch of one, so that its result
+	 * code can be reported to the listener.
+	 */
+	@Override
+	public boolean shootAt(int row, int column)
+	{
+		return shoot(row, column).isScored();
+	}
+
+	@Override
+	public ShotOutcome shoot(int row, int column)
+	{
+		long[] shots = SINGLE_SHOT.get();
+		byte[] results = SINGLE_RESULT.get();
+
+		shots[0] = ShotResults.shot(row, column);
+		shootAt(shots, results);
+
+		return ShotOutcome.of(results[0]);
+	}
+
+	@Override
+	public void shootAt(int[] rows, int[] columns, byte[] results)
+	{
+		long start = System.nanoTime();
+		board.shootAt(rows, columns, results);
+		long elapsed = (System.nanoTime() - start) / Math.max(1, rows.length);
+
+		for (int i = 0; i < rows.length; i++)
+		{
+			listener.onShot(this, rows[i], columns[i], results[i], elapsed);
+		}
+
+		checkGameOver();
+	}
+
+	@Override
+	public void shootAt(long[] shots, byte[] results)
+	{
+		long start = System.nanoTime();
+		board.shootAt(shots, results);
+		long elapsed = (System.nanoTime() - start) / Math.max(1, shots.length);
+
+		for (int i = 0; i < shots.length; i++)
+		{
+			listener.onShot(this, ShotResults.row(shots[i]), ShotResults.column(shots[i]), results[i], elapsed);
+		}
+
+		checkGameOver();
+	}
+
+
+	// ============== private methods ============= //
+
+	/**
+	 * Reports the end of the game, if the game is over and it was not reported
+	 * yet.
+	 */
+	private void checkGameOver()
+	{
+		if (board.isGameOver() && over.compareAndSet(false, true))
+		{
+			listener.onGameOver(this, System.nanoTime() - startedAt);
+		}
+	}
+}
@@ -0,0 +1,58 @@
+package battleship;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Runs every test in {@linkplain OceanTest} against a
+ * {@linkplain MonitoredBoard} wrapping an {@linkplain Ocean}, and checks the
+ * events reported to the listener.
+ *
+ * @author Angelo Oparah
+ *
+ */
+public class MonitoredBoardTest extends OceanTest
+{
+	/** {@inheritDoc} */
+	@Override
+	protected Board createOcean()
+	{
+		return new MonitoredBoard(new Ocean(), new GameMetrics());
+	}
+
+	/**
+	 * The metrics should count every event of a game played on a monitored
+	 * board, and the end of the game only once
+	 */
+	@Test
+	public void test_GameMetrics_shouldCountEveryEventOfAGame()
+	{
+		// if we place the fleet onto a monitored board
+		GameMetrics metrics = new GameMetrics();
+		Board board = new MonitoredBoard(new BitboardOcean(), metrics);
+		board.placeAllShipsRandomly();
+
+		// and play a game to the end, firing a few more shots afterwards
+		int shots = new HuntTargetShooter(new Random(3)).play(board);
+
+		board.shootAt(0, 0);
+		board.shootAt(-1, 0);
+
+		// we should expect every event to be counted, and the end of the game
+		// only once
+		Map<String, Number> snapshot = metrics.snapshot();
+
+		assertEquals(1L, metrics.getPlacements());
+		assertEquals(shots + 2L, metrics.getShots());
+		assertEquals((long) board.getShotsFired(), metrics.getShots());
+		assertEquals((long) BoardSpec.STANDARD.getFleetArea(), metrics.getHits());
+		assertEquals((long) BoardSpec.STANDARD.getFleetSize(), metrics.getSinks());
+		assertEquals(1L, metrics.getGamesOver());
+		assertEquals(1L, snapshot.get("shots.outOfRange"));
+		assertEquals((long) shots, snapshot.get("games.shots.max").longValue());
+	}
+}
@@ -1,6 +1,7 @@
 package battleship;
 
-import java.util.Random;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Represents the {@value #OCEAN_WIDTH} x {@value #OCEAN_HEIGHT} matrix where
@@ -8,16 +9,48 @@ import java.util.Random;
  * {@linkplain Cruiser}(s), {@value #DESTROYERS} {@linkplain Destroyer}(s),
  * {@value #SUBMARINES} {@linkplain Submarine}(s) are randomly placed onto. It
  * keeps a count of the number of shots fired during the game, the number of
- * successful hits and the number of ships that have been sunk.
+ * successful hits and the number of ships that have been sunk. Oceans of
+ * different dimensions and fleets can be built from a {@linkplain BoardSpec}:
+ * the rows of the matrix are only allocated once a ship is placed onto them,
+ * so that large and mostly empty oceans stay cheap to build.
  *
  * @author Angelo Oparah
  *
  */
-public class Ocean
+public class Ocean extends AbstractBoard
 {
-	/** matrix to access ships in the ocean. */
+	/**
+	 * matrix to access ships in the ocean; a {@code null} row only contains
+	 * empty sea.
+	 */
 	private Ship[][] ships;
 
+	/**
+	 * bits set for the empty sea locations that have been fired upon, row by
+	 * row: the empty sea dropped onto the ocean is shared, so it cannot keep
+	 * track of the shots itself. A {@code null} row has not been missed yet.
+	 */
+	private long[][] misses;
+
+	/**
+	 * ships placed onto the ocean, in the order they were placed, followed by
+	 * the ships of the previous game that can be placed again once the ocean
+	 * has been {@linkplain #reset() reset}.
+	 */
+	private Ship[] fleet;
+
+	/** number of ships placed onto the ocean. */
+	private int fleetSize;
+
+	/** placement engine of the fleet, built on the first random placement. */
+	private ShipPlacer placer;
+
+	/** whether the ocean sits idle in an {@linkplain OceanPool}. */
+	boolean pooled;
+
+	/** dimensions of the ocean and composition of the fleet. */
+	private final BoardSpec spec;
+
 	/** count of the total shots fired at any given time of the game. */
 	private int shotsFired;
 
@@ -27,10 +60,10 @@ public class Ocean
 	/** number of ships sunk. */
 	private int shipsSunk;
 
-	/** max height of the {@linkplain Ocean}. */
+	/** height of the standard {@linkplain Ocean}. */
 	public static final int OCEAN_HEIGHT = 10;
 
-	/** max length of the {@linkplain Ocean}. */
+	/** length of the standard {@linkplain Ocean}. */
 	public static final int OCEAN_WIDTH = 10;
 
 	/** number of {@linkplain Battleship} in the ocean. */
@@ -47,25 +80,85 @@ public class Ocean
 
 
 	/**
-	 * Constructs a new Ocean instance filling each position with an
-	 * {@linkplain EmptySea} and sets the hit, the shot and the ship sunk count
-	 * to {@code 0}.
+	 * Constructs a new standard Ocean instance filling each position with the
+	 * shared {@linkplain EmptySea} and sets the hit, the shot and the ship sunk
+	 * count to {@code 0}.
 	 *
 	 */
 	public Ocean()
 	{
-		ships = new Ship[OCEAN_HEIGHT][OCEAN_WIDTH];
+		this(BoardSpec.STANDARD);
+	}
+
+	/**
+	 * Constructs a new Ocean instance with the dimensions and the fleet given
+	 * by the spec. Each position is considered to contain the shared
+	 * {@linkplain EmptySea}, and the hit, the shot and the ship sunk count are
+	 * set to {@code 0}. Only the row references are allocated at this stage.
+	 *
+	 * @param spec
+	 *            dimensions of the ocean and composition of the fleet.
+	 */
+	public Ocean(BoardSpec spec)
+	{
+		this.spec = spec;
+
+		ships = new Ship[spec.getHeight()][];
+		misses = new long[spec.getHeight()][];
+		fleet = new Ship[spec.getFleetSize()];
+	}
+
+	/**
+	 * Brings the ocean back to the state it was in once constructed, in place:
+	 * every ship is removed, every location is considered not to have been
+	 * fired upon and the hit, the shot and the ship sunk count are set to
+	 * {@code 0}. The memory of the ocean is kept for the next game, ships
+	 * included: the ships removed are repaired and placed again by the next
+	 * {@linkplain #placeAllShipsRandomly()}, so any reference to them obtained
+	 * during the previous game should no longer be used. Only the locations
+	 * covered by the ships and the rows missed are cleared, so a reset costs
+	 * far less than building a new ocean.
+	 */
+	public void reset()
+	{
+		for (int i = 0; i < fleetSize; i++)
+		{
+			Ship ship = fleet[i];
+
+			// drop the empty sea back onto the locations covered by the ship
+			for (int j = 0; j < ship.getLength(); j++)
+			{
+				int row = ship.isHorizontal() ? ship.getBowRow() : ship.getBowRow() + j;
+				int column = ship.isHorizontal() ? ship.getBowColumn() + j : ship.getBowColumn();
 
-		for (int i = 0; i < OCEAN_HEIGHT; i++)
+				ships[row][column] = EmptySea.SHARED;
+			}
+		}
+
+		for (long[] missedRow : misses)
 		{
-			for (int j = 0; j < OCEAN_WIDTH; j++)
+			if (missedRow != null)
 			{
-				// create an empty sea with bow at row "i" and column "j"
-				// and drop it onto the ocean, the orientation is irrelevant:
-				// we will set it to horizontal (true)
-				ships[i][j] = createShip(EmptySea.class, i, j, true);
+				Arrays.fill(missedRow, 0);
 			}
 		}
+
+		// the ships removed are kept as spares for the next game
+		fleetSize = 0;
+		shotsFired = 0;
+		hitCount = 0;
+		shipsSunk = 0;
+	}
+
+	/**
+	 * Returns the dimensions of the ocean and the composition of its fleet.
+	 *
+	 * @return the spec of the ocean.
+	 */
+	@Override
+	public BoardSpec getSpec()
+	{
+		return spec;
 	}
 
 	/**
@@ -73,6 +166,7 @@ public class Ocean
 	 *
 	 * @return the number of shots fired.
 	 */
+	@Override
 	public int getShotsFired()
 	{
 		return shotsFired;
@@ -84,6 +178,7 @@ public class Ocean
 	 *
 	 * @return the current hit count.
 	 */
+	@Override
 	public int getHitCount()
 	{
 		return hitCount;
@@ -94,46 +189,34 @@ public class Ocean
 	 *
 	 * @return the number of ships sunk.
 	 */
+	@Override
 	public int getShipsSunk()
 	{
 		return shipsSunk;
 	}
 
 	/**
-	 * Indicates if the game is still on or not.
+	 * Returns the number of ships placed onto the ocean since it was
+	 * constructed or last {@linkplain #reset() reset}.
 	 *
-	 * @return {@code true} if all ships have been sunk, {@code false}
-	 *         otherwise.
+	 * @return the number of ships placed.
 	 */
-	public boolean isGameOver()
+	@Override
+	public int getShipsPlaced()
 	{
-		return shipsSunk == BATTLESHIPS + CRUISERS + DESTROYERS + SUBMARINES;
+		return fleetSize;
 	}
 
 	/**
-	 * Returns a 2-dimensional array containing the ships in the ocean. Used for
-	 * testing and debugging purposes.
+	 * Indicates if the game is still on or not.
 	 *
-	 * @return the array containing the ships in the ocean.
-	 */
-	public Ship[][] getShipArray()
-	{
-		return ships;
-	}
-
-	/**
-	 * Places all the ships randomly on the ocean in such a way that ships do
-	 * not overlap and are not adjacent to other ships either vertically,
-	 * horizontally, or diagonally.
+	 * @return {@code true} if all ships have been sunk, {@code false}
+	 *         otherwise.
 	 */
-	public final void placeAllShipsRandomly()
+	@Override
+	public boolean isGameOver()
 	{
-		// Longer ones are placed first to increase the chances of dropping all
-		// the ships
-		this.<Battleship>placeShipsOntoOcean(BATTLESHIPS, Battleship.BATTLESHIP_LENGTH, Battleship.class);
-		this.<Cruiser>placeShipsOntoOcean(CRUISERS, Cruiser.CRUISER_LENGTH, Cruiser.class);
-		this.<Destroyer>placeShipsOntoOcean(DESTROYERS, Destroyer.DESTROYER_LENGTH, Destroyer.class);
-		this.<Submarine>placeShipsOntoOcean(SUBMARINES, Submarine.SUBMARINE_LENGTH, Submarine.class);
+		return shipsSunk == spec.getFleetSize();
 	}
 
 	/**
@@ -150,12 +233,13 @@ public class Ocean
 	 * @return {@code true} if the ship at the specified location is real,
 	 *         {@code false} otherwise.
 	 */
+	@Override
 	public boolean isOccupied(int row, int column)
 	{
-		if (row >= 0 && row < OCEAN_HEIGHT && column >= 0 && column < OCEAN_WIDTH)
+		if (spec.contains(row, column))
 		{
 			// check only if the coordinates are in range
-			return ships[row][column].isRealShip();
+			return shipAt(row, column).isRealShip();
 		}
 
 		return false;
@@ -174,18 +258,12 @@ public class Ocean
 	 *             if the coordinates provided fall outside the
 	 *             {@linkplain Ocean} boundaries.
 	 */
+	@Override
 	public String getShipTypeAt(int row, int column)
 	{
-		if (row < 0 || row >= OCEAN_HEIGHT)
-		{
-			throw new IllegalArgumentException("Illegal out of range value for row: " + row);
-		}
-		if (column < 0 || column >= OCEAN_WIDTH)
-		{
-			throw new IllegalArgumentException("Illegal out of range value for column: " + column);
-		}
+		spec.checkLocation(row, column);
 
-		return ships[row][column].getShipType();
+		return shipAt(row, column).getShipType();
 	}
 
 	/**
@@ -199,107 +277,248 @@ public class Ocean
 	 * @return {@code true} if the location contains a sunken ship,
 	 *         {@code false} otherwise.
 	 */
+	@Override
 	public boolean hasSunkShipAt(int row, int column)
 	{
-		if (row >= 0 && row < OCEAN_HEIGHT && column >= 0 && column < OCEAN_WIDTH)
+		if (spec.contains(row, column))
 		{
 			// check only if the coordinates are in range
-			return ships[row][column].isSunk();
+			return shipAt(row, column).isSunk();
 		}
 
 		return false;
 	}
 
 	/**
-	 * Displays the current status of the ocean on a numbered grid.
-	 *
-	 * "S" indicates a location that was fired with a successful outcome. "-"
-	 * indicates a location that was fired with an unsuccessful outcome. "x"
-	 * indicates a location containing a sunken ship. "." indicates a location
-	 * that is yet to be fired upon.
+	 * Returns a {@code char} representing the current state of the ship part at
+	 * the given location. If the location contains a sunk {@linkplain Ship}
+	 * (considered as a whole) the ship state will be overwritten with a "x" to
+	 * indicate that the whole ship was sunk. Otherwise the ship state will be
+	 * returned. Note: the {@linkplain Ship} class will mark a location that is
+	 * yet to be fired upon with a "." (dot) and a location that was fired upon
+	 * hitting a ship with a "S", while the ocean itself marks a location that
+	 * was fired upon without hitting any ship with a "-" (dash).
 	 *
+	 * @param row
+	 *            horizontal coordinate of the ship part to display.
+	 * @param column
+	 *            vertical coordinate of the ship part to display
+	 * @return a {@code char} representing the state of the part of the ship at
+	 *         the given location.
+	 * @throws IllegalArgumentException
+	 *             if the coordinates provided fall outside the ocean.
 	 */
-	public void print()
+	@Override
+	public char getStateAt(int row, int column)
 	{
-		for (int i = 0; i <= OCEAN_HEIGHT; i++)
+		spec.checkLocation(row, column);
+
+		Ship ship = shipAt(row, column);
+
+		if (!ship.isRealShip())
 		{
-			for (int j = 0; j <= OCEAN_WIDTH; j++)
-			{
-				if (i == 0 && j < OCEAN_WIDTH)
-				{
-					// print the first row of numbers
-					System.out.print(j == 0 ? " " + j : j);
-				}
-				else if (j == 0)
-				{
-					// print the first column of numbers
-					System.out.print(i - 1);
-				}
-				else if (i > 0)
-				{
-					// otherwise print whatever is in the ocean
-					System.out.print(getShipStateAt(i - 1, j - 1));
-				}
-			}
-			// print the next row on a separate line
-			System.out.println();
+			// empty sea locations are marked with a "-" (dash) once fired upon
+			boolean missed = misses[row] != null && (misses[row][column >>> 6] & (1L << column)) != 0;
+
+			return missed ? '-' : '.';
+		}
+
+		if (!ship.isSunk())
+		{
+			// if the ship is not sunk get the relevant char from the ship state
+			// based on orientation and offset from the bow
+			int offset = ship.isHorizontal() ? column - ship.getBowColumn() : row - ship.getBowRow();
+
+			return ship.getStateAt(offset);
 		}
+
+		// otherwise return an 'x', meaning the ship is sunk
+		return 'x';
 	}
 
 	/**
-	 * Shoots at the location correspondent to the given coordinates and updates
-	 * the shot and the hit count. If a location contains a real ship, it
-	 * returns true every time the user shoots at that same location. Once a
-	 * ship has been sunk, additional shots at the same location will return
-	 * {@code false}. Note: the method will also return {@code false} if the
-	 * location falls outside the ocean borders.
+	 * Returns a 2-dimensional array containing the ships in the ocean. Used for
+	 * testing and debugging purposes: it is the matrix the ocean is played on,
+	 * so changes made directly to it are reflected by the ocean. Note: every
+	 * row that is yet to be allocated will be, which defeats the purpose of
+	 * lazy rows on large oceans.
 	 *
-	 * @param row
-	 *            horizontal coordinate to be fired upon.
-	 * @param column
-	 *            vertical coordinate to be fired upon.
-	 * @return {@code true} if the location contains a real ship still afloat,
-	 *         {@code false} otherwise.
+	 * @return the array containing the ships in the ocean.
 	 */
-	public boolean shootAt(int row, int column)
+	@Override
+	protected Ship[][] buildShipArray()
 	{
-		// increment the total number of shots fired, regardless
-		shotsFired++;
+		for (int i = 0; i < ships.length; i++)
+		{
+			allocateRow(i);
+		}
 
-		// try and hit ships only within the ocean's borders
-		if (row >= 0 && row < OCEAN_HEIGHT && column >= 0 && column < OCEAN_WIDTH)
+		return ships;
+	}
+
+	/**
+	 * {@inheritDoc} The ocean draws the positions of the fleet from a
+	 * placement engine of its own, and places the ships of the previous game
+	 * again once it has been {@linkplain #reset() reset}.
+	 */
+	@Override
+	protected void placeFleet()
+	{
+		if (placer == null)
 		{
-			if (ships[row][column].shootAt(row, column))
+			// the ocean may be played on by different threads over time, so
+			// it draws its positions from a stream of its own
+			placer = new ShipPlacer(spec, new SplitMixRandom(ThreadLocalRandom.current().nextLong()));
+		}
+
+		placer.drawFleet();
+
+		for (int i = 0; i < spec.getFleetSize(); i++)
+		{
+			ShipKind kind = ShipKind.byId(placer.getShipType(i));
+			Ship spare = fleetSize < fleet.length ? fleet[fleetSize] : null;
+
+			if (spare != null && spare.getKind() == kind)
+			{
+				// place a ship of the previous game again, rather than a new one
+				spare.repair();
+				spare.setBowRow(placer.getBowRow(i));
+				spare.setBowColumn(placer.getBowColumn(i));
+				spare.setHorizontal(placer.isHorizontal(i));
+
+				placeShip(spare);
+			}
+			else
 			{
-				// increment the hit count in case of a successful shot
-				hitCount++;
+				placeShip(createShip(kind, spec, placer.getBowRow(i), placer.getBowColumn(i), placer.isHorizontal(i)));
+			}
+		}
+	}
+
+	@Override
+	protected byte fire(int row, int column)
+	{
+		// try and hit ships only within the ocean's borders
+		if (!spec.contains(row, column))
+		{
+			return ShotResults.OUT_OF_RANGE;
+		}
 
-				if (ships[row][column].isSunk())
-				{
-					// increment the count of the sunk ships if this shot
-					// sunk the ship
-					shipsSunk++;
-				}
+		Ship ship = shipAt(row, column);
 
-				return true;
+		if (!ship.isRealShip())
+		{
+			// record the miss on the ocean rather than on the empty sea
+			if (misses[row] == null)
+			{
+				misses[row] = new long[(spec.getWidth() + Long.SIZE - 1) / Long.SIZE];
 			}
+
+			long missed = misses[row][column >>> 6];
+			misses[row][column >>> 6] |= 1L << column;
+
+			return ShotResults.shotAtSea((missed & (1L << column)) != 0);
 		}
 
-		return false;
+		byte kind = ShotResults.kindOf(ship);
+
+		if (ship.isSunk())
+		{
+			return ShotResults.shotAtSunkShip(kind);
+		}
+
+		int offset = ship.isHorizontal() ? column - ship.getBowColumn() : row - ship.getBowRow();
+		boolean repeated = ship.isHitAt(offset);
+
+		ship.shootAt(row, column);
+
+		return ShotResults.shotAtShip(kind, repeated, ship.isSunk());
+	}
+
+	@Override
+	protected void countShots(int fired, int hits, int sinks)
+	{
+		shotsFired += fired;
+		hitCount += hits;
+		shipsSunk += sinks;
+	}
+
+	/**
+	 * Drops the given ship part onto the ocean, replicating it across the
+	 * length of the (whole) ship. No check is performed on the area covered.
+	 *
+	 * @param shipPart
+	 *            the ship part to replicate.
+	 */
+	@Override
+	protected void dropShip(Ship shipPart)
+	{
+		int bowRow = shipPart.getBowRow();
+		int bowColumn = shipPart.getBowColumn();
+		boolean horizontal = shipPart.isHorizontal();
+
+		// place copies of the ship part onto the ocean at 'i' offset from the
+		// bow. Copying the same ship part will ensure that the information
+		// contained in the hit array will be the same for the whole ship
+		// regardless of the location of the ship part
+		for (int i = 0; i < shipPart.getLength(); i++)
+		{
+			int row = horizontal ? bowRow : bowRow + i;
+			int column = horizontal ? bowColumn + i : bowColumn;
+
+			allocateRow(row);
+			ships[row][column] = shipPart;
+		}
+
+		if (fleetSize == fleet.length)
+		{
+			// more ships than the spec were placed one by one
+			fleet = Arrays.copyOf(fleet, Math.max(4, 2 * fleetSize));
+		}
+
+		fleet[fleetSize++] = shipPart;
 	}
 
 
 	// ============== private methods ============= //
 
+	/**
+	 * Restores the shot and the hit count, as they were when the ocean was
+	 * saved: replaying every location fired upon once rebuilds the state of
+	 * the ocean and the ship sunk count, but misses the shots fired more than
+	 * once at the same location.
+	 *
+	 * @param shotsFired
+	 *            the count of the total shots fired.
+	 * @param hitCount
+	 *            the count of the total times a shot hit a ship afloat.
+	 * @throws IllegalArgumentException
+	 *             if either count is lower than the one obtained by replaying
+	 *             the locations fired upon.
+	 */
+	void restoreCounts(int shotsFired, int hitCount)
+	{
+		if (shotsFired < this.shotsFired || hitCount < this.hitCount || hitCount > shotsFired)
+		{
+			throw new IllegalArgumentException("Illegal counts to restore: " + shotsFired + ", " + hitCount);
+		}
+
+		this.shotsFired = shotsFired;
+		this.hitCount = hitCount;
+	}
+
 	/**
 	 * Factory method to generate ship parts of the given type. It will set the
 	 * bow coordinates and orientation to the values passed as arguments. It can
-	 * return a null value if the class passed as parameter is not recognized.
+	 * return a null value if the class passed as parameter is not registered
+	 * as a {@linkplain ShipKind}.
 	 *
 	 * @param <T>
 	 *            subclass of the {@linkplain Ship} type.
 	 * @param shipClass
 	 *            type of the ship part to be generated.
+	 * @param spec
+	 *            spec of the board the ship part will be placed onto.
 	 * @param bowRow
 	 *            horizontal coordinate of the bow.
 	 * @param bowColumn
@@ -309,188 +528,80 @@ public class Ocean
 	 *            part of.
 	 * @return a ship part of the requested type; can be {@code null}.
 	 */
-	private static <T extends Ship> Ship createShip(Class<T> shipClass, int bowRow, int bowColumn, boolean horizontal)
+	static <T extends Ship> Ship createShip(Class<T> shipClass, BoardSpec spec, int bowRow, int bowColumn,
+			boolean horizontal)
 	{
-		Ship ship = null;
-
-		if (shipClass == Battleship.class)
-		{
-			ship = new Battleship();
-		}
-		else if (shipClass == Cruiser.class)
-		{
-			ship = new Cruiser();
-		}
-		else if (shipClass == Destroyer.class)
-		{
-			ship = new Destroyer();
-		}
-		else if (shipClass == Submarine.class)
-		{
-			ship = new Submarine();
-		}
-		else if (shipClass == EmptySea.class)
-		{
-			ship = new EmptySea();
-		}
-
-		if (ship != null)
-		{
-			// set the bow coordinates and the orientation of the ship
-			ship.setBowRow(bowRow);
-			ship.setBowColumn(bowColumn);
-			ship.setHorizontal(horizontal);
-		}
+		ShipKind kind = ShipKind.forClass(shipClass);
 
 		// can return null (rather than a ship of a default ship type): think
 		// about future extensibility. If we add a new ship type but
-		// forget to add it in this method, the assertion used after calling
-		// this method will fail and we will know exactly what happened, rather
-		// than wondering why we get extra ships of a given default type.
-		return ship;
+		// forget to register it, the assertion used after calling this method
+		// will fail and we will know exactly what happened, rather than
+		// wondering why we get extra ships of a given default type.
+		return kind == null ? null : createShip(kind, spec, bowRow, bowColumn, horizontal);
 	}
 
 	/**
-	 * Returns a {@code char} representing the current state of the ship part at
-	 * the given location. If the location contains a sunk {@linkplain Ship}
-	 * (considered as a whole) the ship state will be overwritten with a "x" to
-	 * indicate that the whole ship was sunk. Otherwise the ship state will be
-	 * returned. Note: the {@linkplain Ship} class will mark a location that is
-	 * yet to be fired upon with a "." (dot) , a location that was fired upon
-	 * hitting a ship with a "S" and a location that was fired upon without
-	 * hitting any ship with a "-" (dash).
+	 * Factory method to generate ship parts of the given kind. It will set the
+	 * bow coordinates and orientation to the values passed as arguments.
 	 *
-	 * @param row
-	 *            horizontal coordinate of the ship part to display.
-	 * @param column
-	 *            vertical coordinate of the ship part to display
-	 * @return a {@code char} representing the state of the part of the ship at
-	 *         the given location.
+	 * @param kind
+	 *            kind of the ship part to be generated.
+	 * @param spec
+	 *            spec of the board the ship part will be placed onto.
+	 * @param bowRow
+	 *            horizontal coordinate of the bow.
+	 * @param bowColumn
+	 *            vertical coordinate of the bow.
+	 * @param horizontal
+	 *            orientation of the ship that the ship part to create will be
+	 *            part of.
+	 * @return a ship part of the requested kind.
 	 */
-	private char getShipStateAt(int row, int column)
+	static Ship createShip(ShipKind kind, BoardSpec spec, int bowRow, int bowColumn, boolean horizontal)
 	{
-		assert row >= 0 && row < OCEAN_HEIGHT : "row coordinate out of range: " + row;
-		assert column >= 0 && column < OCEAN_WIDTH : "column coordinate out of range: " + column;
-
-		if (!hasSunkShipAt(row, column))
-		{
-			// if the ship is not sunk get the relevant char from the ship state
-			// based on orientation and offset from the bow
-			int bowRow = ships[row][column].getBowRow();
-			int bowColumn = ships[row][column].getBowColumn();
-			boolean horizontal = ships[row][column].isHorizontal();
+		Ship ship = kind.newShip(spec);
 
-			String shipState = ships[row][column].toString();
+		// set the bow coordinates and the orientation of the ship
+		ship.setBowRow(bowRow);
+		ship.setBowColumn(bowColumn);
+		ship.setHorizontal(horizontal);
 
-			return shipState.charAt(horizontal ? column - bowColumn : row - bowRow);
-		}
-
-		// otherwise return an 'x', meaning the ship is sunk
-		return 'x';
+		return ship;
 	}
 
 	/**
-	 * Randomly places the given number of ships of the given type and the given
-	 * length on to the ocean, making sure that ships don't overlap, aren't
-	 * adjacent in any direction to any other ship (horizontally, vertically or
-	 * diagonally) and don't exceed the ocean's borders.
+	 * Returns the ship part at the given location, that is the shared
+	 * {@linkplain EmptySea} if the row is yet to be allocated.
 	 *
-	 * @param <T>
-	 *            type of the ships to place.
-	 * @param amount
-	 *            number of ships to place.
-	 * @param shipLength
-	 *            length of a single ship.
-	 * @param shipClass
-	 *            type of the ship to place.
+	 * @param row
+	 *            vertical coordinate, within range.
+	 * @param column
+	 *            horizontal coordinate, within range.
+	 * @return the ship part at the given location.
 	 */
-	private <T extends Ship> void placeShipsOntoOcean(int amount, int shipLength, Class<T> shipClass)
+	Ship shipAt(int row, int column)
 	{
-		assert amount > 0 : "number of ships must be strictly positive";
-		assert shipLength > 0 : "ship length must be strictly positive";
-
-		Random random = new Random();
-
-		// keeps count of how many ships of the current type have been
-		// successfully placed in the ocean
-		int shipPlaced = 0;
-
-		while (shipPlaced < amount)
-		{
-			// get a random orientation for the current ship
-			boolean horizontal = random.nextBoolean();
+		Ship[] shipRow = ships[row];
 
-			// get random coordinates for the bow within the ocean's boundaries,
-			// with the upper bound depending on the orientation of the ship
-			int bowColumn = random.nextInt(horizontal ? OCEAN_WIDTH - shipLength + 1 : OCEAN_WIDTH);
-			int bowRow = random.nextInt(horizontal ? OCEAN_HEIGHT : OCEAN_HEIGHT - shipLength + 1);
-
-			// try and place the (whole) ship onto the ocean
-			if (areaIsSuitableToPlaceShip(bowRow, bowColumn, shipLength, horizontal))
-			{
-				// create a ship representing a ship part to replicate
-				// across the length of the (whole) ship in the given direction
-				Ship shipPart = createShip(shipClass, bowRow, bowColumn, horizontal);
-
-				assert shipPart != null : "unable to create ship. '" + shipClass + "' not recognized.";
-
-				// place copies of the ship part onto the ocean at 'i' offset
-				// from the bow. Copying the same ship part will ensure that the
-				// information contained in the hit array will be the same for
-				// the whole ship regardless of the location of the ship part
-				for (int i = 0; i < shipLength; i++)
-				{
-					int row = horizontal ? bowRow : bowRow + i;
-					int column = horizontal ? bowColumn + i : bowColumn;
-					ships[row][column] = shipPart;
-				}
-
-				// increment the count of ship placed
-				shipPlaced++;
-			}
-		}
+		return shipRow == null ? EmptySea.SHARED : shipRow[column];
 	}
 
 	/**
-	 * Determines whether or not a ship can be placed in the area starting from
-	 * the bow coordinates up to the ship length, moving in the specified
-	 * direction. The criteria to determine if the area is suitable are: ships
-	 * cannot overlap with any other ship, they cannot be adjacent to any other
-	 * ship (either vertically, horizontally or diagonally) and they cannot
-	 * exceed the ocean's borders.
+	 * Allocates the given row of the matrix, if that hasn't happened yet,
+	 * filling each of its locations with the shared {@linkplain EmptySea}.
 	 *
-	 * @param bowRow
-	 *            horizontal coordinate of the bow.
-	 * @param bowColumn
-	 *            vertical coordinate of the bow.
-	 * @param shipLength
-	 *            length of the ship.
-	 * @param horizontal
-	 *            orientation on the ocean's matrix (vertical or diagonal).
-	 * @return {@code true} if the ship can be placed in the area respecting the
-	 *         criteria, {@code false} otherwise.
+	 * @param row
+	 *            vertical coordinate of the row, within range.
 	 */
-	private boolean areaIsSuitableToPlaceShip(int bowRow, int bowColumn, int shipLength, boolean horizontal)
+	private void allocateRow(int row)
 	{
-		// treating vertical ships as horizontal ships with length equal to 1
-		// and height equal the length of the ship
-		int height = horizontal ? 1 : shipLength;
-		int length = horizontal ? shipLength : 1;
-
-		// loop from bowRow(bowColumn) - 1 up to the ship height(length),
-		// inclusively as we are checking the augmented virtual area sorrounding
-		// the ocean locations where the (whole) ship will be placed
-		for (int i = bowRow - 1; i <= bowRow + height; i++)
+		if (ships[row] == null)
 		{
-			for (int j = bowColumn - 1; j <= bowColumn + length; j++)
-			{
-				if (isOccupied(i, j))
-				{
-					return false;
-				}
-			}
+			// drop the same empty sea onto every location of the row: the
+			// misses are tracked by the ocean, so no state is shared
+			ships[row] = new Ship[spec.getWidth()];
+			Arrays.fill(ships[row], EmptySea.SHARED);
 		}
-
-		return true;
 	}
 }
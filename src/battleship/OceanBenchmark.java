@@ -0,0 +1,423 @@
+package battleship;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+
+/**
+ * Micro benchmarks of the hot paths of every kind of standard board and of the
+ * ships: building an empty board, placing its fleet, shooting at a hit and at
+ * a miss, finding out the type of ship at a location, printing the board (to
+ * a stream discarding everything) and checking whether a ship is sunk. Telling
+ * what each hit sunk is measured both with the lookups following
+ * {@linkplain Board#shootAt(int, int)} and with the outcome of
+ * {@linkplain Board#shoot(int, int)}. Each benchmark is measured by the
+ * {@linkplain MicroBenchmark} harness, reporting the time and the bytes
+ * allocated per operation and the collections run, so that regressions can be
+ * spotted and the kinds of board compared. The cost of a
+ * {@linkplain MonitoredBoard} reporting to {@linkplain GameMetrics} is
+ * measured on top of the plain board.
+ *
+ * @author Angelo Oparah
+ *
+ */
+public class OceanBenchmark
+{
+	/** number of boards prepared for each round of a benchmark. */
+	private static final int BOARDS = 1000;
+
+	/** number of locations of the standard board. */
+	private static final int AREA = Ocean.OCEAN_HEIGHT * Ocean.OCEAN_WIDTH;
+
+	/** number of locations occupied by the standard fleet. */
+	private static final int FLEET_AREA = BoardSpec.STANDARD.getFleetArea();
+
+	/** stream discarding everything printed to it. */
+	private static final PrintStream NULL_STREAM = new PrintStream(new OutputStream()
+	{
+		@Override
+		public void write(int b)
+		{
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len)
+		{
+		}
+	});
+
+
+	/**
+	 * Runs every benchmark for every kind of board, printing one line per
+	 * benchmark.
+	 *
+	 * @param args
+	 *            optionally, the names of the {@linkplain BoardEngine} to
+	 *            measure; all the engines otherwise.
+	 */
+	public static void main(String[] args)
+	{
+		BoardEngine[] engines = BoardEngine.values();
+
+		if (args.length > 0)
+		{
+			engines = new BoardEngine[args.length];
+
+			for (int i = 0; i < args.length; i++)
+			{
+				engines[i] = BoardEngine.valueOf(args[i]);
+			}
+		}
+
+		MicroBenchmark.printHeader();
+
+		for (BoardEngine engine : engines)
+		{
+			measure(engine);
+		}
+
+		// the cost of monitoring a board, against the GRID lines above
+		GameMetrics metrics = new GameMetrics();
+
+		MicroBenchmark.measure("GRID monitored shootAt (miss)", BOARDS * (AREA - FLEET_AREA), () ->
+		{
+			Board[] boards = placedBoards(BoardEngine.GRID);
+			int[][] targets = targets(boards, false);
+
+			for (int i = 0; i < BOARDS; i++)
+			{
+				boards[i] = new MonitoredBoard(boards[i], metrics);
+			}
+
+			return () -> shootAt(boards, targets);
+		});
+
+		MicroBenchmark.measure("Ship.isSunk", BOARDS * AREA, () ->
+		{
+			Ship[][][] ships = new Ship[BOARDS][][];
+
+			for (int i = 0; i < BOARDS; i++)
+			{
+				// half of the shots fired, so that some ships are sunk
+				ships[i] = shotAt(placed(BoardEngine.GRID), 2).getShipArray();
+			}
+
+			return () ->
+			{
+				long sunk = 0;
+
+				for (Ship[][] board : ships)
+				{
+					for (Ship[] row : board)
+					{
+						for (Ship ship : row)
+						{
+							sunk += ship.isSunk() ? 1 : 0;
+						}
+					}
+				}
+
+				return sunk;
+			};
+		});
+	}
+
+
+	// ============== private methods ============= //
+
+	/**
+	 * Runs every benchmark of the boards for the given kind of board.
+	 *
+	 * @param engine
+	 *            the kind of board to measure.
+	 */
+	private static void measure(BoardEngine engine)
+	{
+		MicroBenchmark.measure(engine + " new", BOARDS, () -> () ->
+		{
+			long hash = 0;
+
+			for (int i = 0; i < BOARDS; i++)
+			{
+				hash += System.identityHashCode(engine.newBoard());
+			}
+
+			return hash;
+		});
+
+		MicroBenchmark.measure(engine + " placeAllShipsRandomly", BOARDS, () ->
+		{
+			Board[] boards = new Board[BOARDS];
+
+			for (int i = 0; i < BOARDS; i++)
+			{
+				boards[i] = engine.newBoard();
+			}
+
+			return () ->
+			{
+				for (Board board : boards)
+				{
+					board.placeAllShipsRandomly();
+				}
+
+				return boards[BOARDS - 1].isOccupied(0, 0) ? 1 : 0;
+			};
+		});
+
+		MicroBenchmark.measure(engine + " shootAt (hit)", BOARDS * FLEET_AREA, () ->
+		{
+			Board[] boards = placedBoards(engine);
+			int[][] targets = targets(boards, true);
+
+			return () -> shootAt(boards, targets);
+		});
+
+		MicroBenchmark.measure(engine + " shootAt + lookups (hit)", BOARDS * FLEET_AREA, () ->
+		{
+			Board[] boards = placedBoards(engine);
+			int[][] targets = targets(boards, true);
+
+			return () -> shootAndLookUp(boards, targets);
+		});
+
+		MicroBenchmark.measure(engine + " shoot (hit)", BOARDS * FLEET_AREA, () ->
+		{
+			Board[] boards = placedBoards(engine);
+			int[][] targets = targets(boards, true);
+
+			return () -> shoot(boards, targets);
+		});
+
+		MicroBenchmark.measure(engine + " shootAt (miss)", BOARDS * (AREA - FLEET_AREA), () ->
+		{
+			Board[] boards = placedBoards(engine);
+			int[][] targets = targets(boards, false);
+
+			return () -> shootAt(boards, targets);
+		});
+
+		MicroBenchmark.measure(engine + " getShipTypeAt", BOARDS * AREA, () ->
+		{
+			Board[] boards = placedBoards(engine);
+
+			return () ->
+			{
+				long length = 0;
+
+				for (Board board : boards)
+				{
+					for (int i = 0; i < Ocean.OCEAN_HEIGHT; i++)
+					{
+						for (int j = 0; j < Ocean.OCEAN_WIDTH; j++)
+						{
+							length += board.getShipTypeAt(i, j).length();
+						}
+					}
+				}
+
+				return length;
+			};
+		});
+
+		MicroBenchmark.measure(engine + " print", BOARDS / 10, () ->
+		{
+			Board[] boards = new Board[BOARDS / 10];
+
+			for (int i = 0; i < boards.length; i++)
+			{
+				boards[i] = shotAt(placed(engine), 2);
+			}
+
+			return () ->
+			{
+				PrintStream out = System.out;
+
+				System.setOut(NULL_STREAM);
+
+				try
+				{
+					for (Board board : boards)
+					{
+						board.print();
+					}
+				}
+				finally
+				{
+					System.setOut(out);
+				}
+
+				return boards.length;
+			};
+		});
+	}
+
+	/**
+	 * Prepares a round of boards with their fleet placed.
+	 *
+	 * @param engine
+	 *            the kind of board.
+	 * @return the boards.
+	 */
+	private static Board[] placedBoards(BoardEngine engine)
+	{
+		Board[] boards = new Board[BOARDS];
+
+		for (int i = 0; i < BOARDS; i++)
+		{
+			boards[i] = placed(engine);
+		}
+
+		return boards;
+	}
+
+	/**
+	 * Builds a board with its fleet placed.
+	 *
+	 * @param engine
+	 *            the kind of board.
+	 * @return the board.
+	 */
+	private static Board placed(BoardEngine engine)
+	{
+		Board board = engine.newBoard();
+		board.placeAllShipsRandomly();
+
+		return board;
+	}
+
+	/**
+	 * Fires at every other location of the given board.
+	 *
+	 * @param board
+	 *            the board to shoot at.
+	 * @param step
+	 *            the distance between the locations fired upon.
+	 * @return the board.
+	 */
+	private static Board shotAt(Board board, int step)
+	{
+		for (int cell = 0; cell < AREA; cell += step)
+		{
+			board.shootAt(cell / Ocean.OCEAN_WIDTH, cell % Ocean.OCEAN_WIDTH);
+		}
+
+		return board;
+	}
+
+	/**
+	 * Lists the locations of each board either holding a ship or holding
+	 * empty sea.
+	 *
+	 * @param boards
+	 *            the boards to shoot at.
+	 * @param ships
+	 *            whether to list the ships rather than the empty sea.
+	 * @return the locations of each board, row by row.
+	 */
+	private static int[][] targets(Board[] boards, boolean ships)
+	{
+		int[][] targets = new int[boards.length][];
+
+		for (int b = 0; b < boards.length; b++)
+		{
+			targets[b] = new int[ships ? FLEET_AREA : AREA - FLEET_AREA];
+
+			for (int cell = 0, count = 0; cell < AREA; cell++)
+			{
+				if (boards[b].isOccupied(cell / Ocean.OCEAN_WIDTH, cell % Ocean.OCEAN_WIDTH) == ships)
+				{
+					targets[b][count++] = cell;
+				}
+			}
+		}
+
+		return targets;
+	}
+
+	/**
+	 * Fires once at each of the given locations of each board.
+	 *
+	 * @param boards
+	 *            the boards to shoot at.
+	 * @param targets
+	 *            the locations of each board to fire upon, row by row.
+	 * @return the number of hits.
+	 */
+	private static long shootAt(Board[] boards, int[][] targets)
+	{
+		long hits = 0;
+
+		for (int b = 0; b < boards.length; b++)
+		{
+			for (int cell : targets[b])
+			{
+				hits += boards[b].shootAt(cell / Ocean.OCEAN_WIDTH, cell % Ocean.OCEAN_WIDTH) ? 1 : 0;
+			}
+		}
+
+		return hits;
+	}
+
+	/**
+	 * Fires once at each of the given locations of each board, finding out
+	 * whether each hit sunk a ship, and of what type, with the lookups that
+	 * used to follow {@linkplain Board#shootAt(int, int)}.
+	 *
+	 * @param boards
+	 *            the boards to shoot at.
+	 * @param targets
+	 *            the locations of each board to fire upon, row by row.
+	 * @return a hash of the ships sunk.
+	 */
+	private static long shootAndLookUp(Board[] boards, int[][] targets)
+	{
+		long hash = 0;
+
+		for (int b = 0; b < boards.length; b++)
+		{
+			for (int cell : targets[b])
+			{
+				int row = cell / Ocean.OCEAN_WIDTH;
+				int column = cell % Ocean.OCEAN_WIDTH;
+
+				if (boards[b].shootAt(row, column) && boards[b].hasSunkShipAt(row, column))
+				{
+					hash += boards[b].getShipTypeAt(row, column).length();
+				}
+			}
+		}
+
+		return hash;
+	}
+
+	/**
+	 * Fires once at each of the given locations of each board, finding out
+	 * whether each hit sunk a ship, and of what type, from the outcome of
+	 * {@linkplain Board#shoot(int, int)} alone.
+	 *
+	 * @param boards
+	 *            the boards to shoot at.
+	 * @param targets
+	 *            the locations of each board to fire upon, row by row.
+	 * @return a hash of the ships sunk.
+	 */
+	private static long shoot(Board[] boards, int[][] targets)
+	{
+		long hash = 0;
+
+		for (int b = 0; b < boards.length; b++)
+		{
+			for (int cell : targets[b])
+			{
+				ShotOutcome outcome = boards[b].shoot(cell / Ocean.OCEAN_WIDTH, cell % Ocean.OCEAN_WIDTH);
+
+				if (outcome.isSunk())
+				{
+					hash += outcome.getShipType().length();
+				}
+			}
+		}
+
+		return hash;
+	}
+}
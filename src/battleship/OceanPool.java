@@ -0,0 +1,159 @@
+package battleship;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded pool of {@linkplain Ocean oceans} of the same spec, so that servers
+ * and simulators playing game after game can recycle the oceans of the games
+ * over rather than building new ones: an ocean returned to the pool is
+ * {@linkplain Ocean#reset() reset} in place and handed out again by the next
+ * {@linkplain #borrow()}, keeping its rows and its ships. Once the oceans in
+ * use and the oceans in the pool cover the peak number of games, playing
+ * allocates next to nothing. The pool holds at most the given number of
+ * oceans: any ocean returned to a full pool is left to the garbage collector,
+ * and an empty pool builds a new ocean. An ocean may be returned only once
+ * for each time it is handed out. Instances are thread safe, and neither
+ * borrowing nor returning allocates.
+ *
+ * @author Angelo Oparah
+ *
+ */
+public final class OceanPool
+{
+	/** dimensions and fleet of the oceans of the pool. */
+	private final BoardSpec spec;
+
+	/** oceans ready to be borrowed. */
+	private final ArrayBlockingQueue<Ocean> idle;
+
+	/** number of oceans built by the pool. */
+	private final AtomicLong created = new AtomicLong();
+
+	/** number of oceans borrowed from the pool rather than built. */
+	private final AtomicLong reused = new AtomicLong();
+
+
+	/**
+	 * Builds a new, empty pool of oceans of the given spec.
+	 *
+	 * @param spec
+	 *            dimensions of the oceans and composition of their fleet.
+	 * @param capacity
+	 *            the max number of oceans kept in the pool; must be strictly
+	 *            positive.
+	 * @throws IllegalArgumentException
+	 *             if the capacity is not positive.
+	 */
+	public OceanPool(BoardSpec spec, int capacity)
+	{
+		if (capacity <= 0)
+		{
+			throw new IllegalArgumentException("Illegal non positive value for capacity: " + capacity);
+		}
+
+		this.spec = spec;
+		idle = new ArrayBlockingQueue<>(capacity);
+	}
+
+	/**
+	 * Returns the dimensions and the fleet of the oceans of the pool.
+	 *
+	 * @return the spec of the oceans.
+	 */
+	public BoardSpec getSpec()
+	{
+		return spec;
+	}
+
+	/**
+	 * Hands out an ocean in the same state as a new one, with no ship placed:
+	 * an ocean of the pool if any, a new one otherwise.
+	 *
+	 * @return an empty ocean, to be {@linkplain #release(Ocean) released}
+	 *         once the game is over.
+	 */
+	public Ocean borrow()
+	{
+		Ocean ocean = idle.poll();
+
+		if (ocean == null)
+		{
+			created.incrementAndGet();
+
+			return new Ocean(spec);
+		}
+
+		reused.incrementAndGet();
+
+		synchronized (ocean)
+		{
+			ocean.pooled = false;
+		}
+
+		return ocean;
+	}
+
+	/**
+	 * Resets the given ocean and gives it back to the pool, unless the pool is
+	 * full. The ocean must no longer be used by the caller, and may not be
+	 * released again until it is borrowed back: otherwise the pool would hand
+	 * out the same ocean to two games at once.
+	 *
+	 * @param ocean
+	 *            an ocean of the spec of the pool.
+	 * @throws IllegalArgumentException
+	 *             if the ocean is of a different spec, or was already released.
+	 */
+	public void release(Ocean ocean)
+	{
+		if (!spec.equals(ocean.getSpec()))
+		{
+			throw new IllegalArgumentException("Illegal ocean of a different spec: " + ocean.getSpec());
+		}
+
+		synchronized (ocean)
+		{
+			if (ocean.pooled)
+			{
+				throw new IllegalArgumentException("Illegal ocean already released");
+			}
+
+			ocean.pooled = true;
+		}
+
+		// reset on the way in, so that the oceans of the pool hold no game
+		ocean.reset();
+		idle.offer(ocean);
+	}
+
+	/**
+	 * Returns the number of oceans ready to be borrowed.
+	 *
+	 * @return the number of oceans in the pool.
+	 */
+	public int size()
+	{
+		return idle.size();
+	}
+
+	/**
+	 * Returns the number of oceans built by the pool, because it was empty.
+	 *
+	 * @return the number of oceans built.
+	 */
+	public long getCreated()
+	{
+		return created.get();
+	}
+
+	/**
+	 * Returns the number of oceans borrowed from the pool rather than built.
+	 *
+	 * @return the number of oceans reused.
+	 */
+	public long getReused()
+	{
+		return reused.get();
+	}
+}
@@ -0,0 +1,87 @@
+package battleship;
+
+/**
+ * Measures the steady state of game churn on standard oceans: each operation
+ * plays a whole game, getting an empty ocean, placing the fleet and firing at
+ * every location until the game is over. Building a new ocean for every game
+ * is compared against borrowing one from an {@linkplain OceanPool} and
+ * releasing it at the end of the game, which resets it in place: once the pool
+ * is warm, the games played on pooled oceans should allocate next to nothing,
+ * and trigger no collection at all.
+ *
+ * @author Angelo Oparah
+ *
+ */
+public class OceanPoolBenchmark
+{
+	/** number of games played by each round of a benchmark. */
+	private static final int GAMES = 10_000;
+
+
+	/**
+	 * Runs the benchmarks, printing one line per benchmark.
+	 *
+	 * @param args
+	 *            not used.
+	 */
+	public static void main(String[] args)
+	{
+		MicroBenchmark.printHeader();
+
+		MicroBenchmark.measure("new Ocean per game", GAMES, () -> () ->
+		{
+			long shots = 0;
+
+			for (int i = 0; i < GAMES; i++)
+			{
+				shots += play(new Ocean());
+			}
+
+			return shots;
+		});
+
+		OceanPool pool = new OceanPool(BoardSpec.STANDARD, 1);
+
+		MicroBenchmark.measure("pooled Ocean per game", GAMES, () -> () ->
+		{
+			long shots = 0;
+
+			for (int i = 0; i < GAMES; i++)
+			{
+				Ocean ocean = pool.borrow();
+				shots += play(ocean);
+				pool.release(ocean);
+			}
+
+			return shots;
+		});
+
+		System.out.printf("pool: %d oceans built, %d reused%n", pool.getCreated(), pool.getReused());
+	}
+
+
+	// ============== private methods ============= //
+
+	/**
+	 * Places the fleet onto the given ocean and fires at every location, row
+	 * by row, until the game is over.
+	 *
+	 * @param ocean
+	 *            an empty ocean.
+	 * @return the number of shots fired.
+	 */
+	private static int play(Ocean ocean)
+	{
+		ocean.placeAllShipsRandomly();
+
+		for (int i = 0; i < Ocean.OCEAN_HEIGHT && !ocean.isGameOver(); i++)
+		{
+			for (int j = 0; j < Ocean.OCEAN_WIDTH; j++)
+			{
+				ocean.shootAt(i, j);
+			}
+		}
+
+		return ocean.getShotsFired();
+	}
+}
@@ -0,0 +1,152 @@
+package battleship;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * Runs every test in {@linkplain OceanTest} against oceans recycled by an
+ * {@linkplain OceanPool}, each one reset after a whole game was played on it,
+ * and tests the API of the pool itself.
+ *
+ * @author Angelo Oparah
+ *
+ */
+public class OceanPoolTest extends OceanTest
+{
+	/** {@inheritDoc} */
+	@Override
+	protected Board createOcean()
+	{
+		OceanPool pool = new OceanPool(BoardSpec.STANDARD, 1);
+
+		Ocean played = pool.borrow();
+		played.placeAllShipsRandomly();
+		playWholeGame(played);
+		pool.release(played);
+
+		Ocean recycled = pool.borrow();
+		assertSame("ocean not recycled", played, recycled);
+
+		return recycled;
+	}
+
+	/**
+	 * A reset ocean should be in the same state as a new one, and its ships of
+	 * the previous game should be placed again afloat
+	 */
+	@Test
+	public void test_reset_shouldBringTheOceanBackToItsInitialState()
+	{
+		Ocean ocean = new Ocean();
+		ocean.placeAllShipsRandomly();
+		playWholeGame(ocean);
+
+		ocean.reset();
+
+		assertEquals(0, ocean.getShotsFired());
+		assertEquals(0, ocean.getHitCount());
+		assertEquals(0, ocean.getShipsSunk());
+		assertTrue("game over", !ocean.isGameOver());
+
+		for (int i = 0; i < Ocean.OCEAN_HEIGHT; i++)
+		{
+			for (int j = 0; j < Ocean.OCEAN_WIDTH; j++)
+			{
+				assertTrue("ship left at " + i + ", " + j, !ocean.isOccupied(i, j));
+				assertEquals("shot left at " + i + ", " + j, '.', ocean.getStateAt(i, j));
+			}
+		}
+
+		ocean.placeAllShipsRandomly();
+
+		// every part of the fleet should be afloat again
+		assertEquals(BoardSpec.STANDARD.getFleetArea(), playWholeGame(ocean));
+		assertEquals(BoardSpec.STANDARD.getFleetSize(), ocean.getShipsSunk());
+	}
+
+	/**
+	 * The pool should hand out the oceans released, keeping no more than its
+	 * capacity
+	 */
+	@Test
+	public void test_borrow_shouldReuseTheOceansReleasedUpToTheCapacity()
+	{
+		OceanPool pool = new OceanPool(BoardSpec.STANDARD, 2);
+		Ocean[] oceans = { pool.borrow(), pool.borrow(), pool.borrow() };
+
+		for (Ocean ocean : oceans)
+		{
+			pool.release(ocean);
+		}
+
+		assertEquals(2, pool.size());
+		assertSame(oceans[0], pool.borrow());
+		assertSame(oceans[1], pool.borrow());
+		assertEquals(3, pool.getCreated());
+		assertEquals(2, pool.getReused());
+	}
+
+	/**
+	 * Releasing an ocean of a different spec should fail
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void test_release_shouldRejectAnOceanOfADifferentSpec()
+	{
+		new OceanPool(BoardSpec.STANDARD, 1).release(new Ocean(new BoardSpec(10, 10, 0, 0, 0, 1)));
+	}
+
+	/**
+	 * An ocean of an equal spec, built apart, should be accepted
+	 */
+	@Test
+	public void test_release_shouldAcceptAnOceanOfAnEqualSpec()
+	{
+		OceanPool pool = new OceanPool(new BoardSpec(10, 10, 1, 2, 3, 4), 1);
+
+		pool.release(new Ocean());
+
+		assertEquals(1, pool.size());
+	}
+
+	/**
+	 * Releasing the same ocean twice without borrowing it back should fail
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void test_release_shouldRejectAnOceanAlreadyReleased()
+	{
+		OceanPool pool = new OceanPool(BoardSpec.STANDARD, 2);
+		Ocean ocean = pool.borrow();
+
+		pool.release(ocean);
+		pool.release(ocean);
+	}
+
+
+	// ======================= helper methods ======================== //
+
+	/**
+	 * Fires at every location of the ocean, twice.
+	 *
+	 * @param ocean
+	 *            the ocean to play on.
+	 * @return the number of hits scored by the first shot at each location.
+	 */
+	private static int playWholeGame(Ocean ocean)
+	{
+		int hits = 0;
+
+		for (int i = 0; i < Ocean.OCEAN_HEIGHT; i++)
+		{
+			for (int j = 0; j < Ocean.OCEAN_WIDTH; j++)
+			{
+				hits += ocean.shootAt(i, j) ? 1 : 0;
+				ocean.shootAt(i, j);
+			}
+		}
+
+		return hits;
+	}
+}
@@ -0,0 +1,186 @@
+package battleship;
+
+import java.util.Random;
+
+/**
+ * Measures how the cost of building an ocean, placing its fleet and shooting at
+ * it scales with the dimensions of the board and the size of the fleet, from
+ * the standard {@value Ocean#OCEAN_WIDTH} x {@value Ocean#OCEAN_HEIGHT} ocean
+ * up to a {@value BoardSpec#MAX_WIDTH} x {@value BoardSpec#MAX_HEIGHT} one with
+ * thousands of ships. For each spec it reports the average time to build an
+ * empty board, the average time to place the whole fleet, the average time of
+ * a shot and the heap retained by a board once the fleet has been placed.
+ *
+ * @author Angelo Oparah
+ *
+ */
+public class OceanScalingBenchmark
+{
+	/** specs to measure, from the standard one to the largest one. */
+	private static final BoardSpec[] SPECS = {
+			BoardSpec.STANDARD,
+			new BoardSpec(100, 100, 10, 20, 30, 40),
+			new BoardSpec(1000, 1000, 100, 200, 300, 400),
+			new BoardSpec(BoardSpec.MAX_HEIGHT, BoardSpec.MAX_WIDTH, 500, 1000, 1500, 2000) };
+
+	/** number of random shots fired at each board. */
+	private static final int SHOTS = 1_000_000;
+
+	/** seed of the random shots, so that every run fires the same shots. */
+	private static final long SEED = 42;
+
+
+	/**
+	 * Runs the benchmark for every kind of board and every spec, printing one
+	 * line per measurement.
+	 *
+	 * @param args
+	 *            optionally, the names of the {@linkplain BoardEngine} to
+	 *            measure; all the engines supporting the spec otherwise.
+	 */
+	public static void main(String[] args)
+	{
+		BoardEngine[] engines = BoardEngine.values();
+
+		if (args.length > 0)
+		{
+			engines = new BoardEngine[args.length];
+
+			for (int i = 0; i < args.length; i++)
+			{
+				engines[i] = BoardEngine.valueOf(args[i]);
+			}
+		}
+
+		System.out.printf("%-10s %-36s %14s %14s %12s %14s%n", "engine", "spec", "build (ns)", "place (ns)",
+				"shot (ns)", "retained (B)");
+
+		for (BoardEngine engine : engines)
+		{
+			for (BoardSpec spec : SPECS)
+			{
+				try
+				{
+					engine.newBoard(spec);
+				}
+				catch (IllegalArgumentException e)
+				{
+					// this kind of board does not support the spec: skip it
+					continue;
+				}
+
+				// run twice, so that the second run is measured on warm code
+				measure(engine, spec, false);
+				measure(engine, spec, true);
+			}
+		}
+	}
+
+	/**
+	 * Measures a single kind of board for the given spec.
+	 *
+	 * @param engine
+	 *            the kind of board to measure.
+	 * @param spec
+	 *            dimensions of the board and composition of the fleet.
+	 * @param report
+	 *            whether or not the results should be printed.
+	 */
+	private static void measure(BoardEngine engine, BoardSpec spec, boolean report)
+	{
+		// repeat the cheap measurements more often on smaller boards
+		int rounds = (int) Math.max(3, Math.min(10_000, 10_000_000L / spec.getFleetArea() / 10));
+
+		long start = System.nanoTime();
+
+		for (int i = 0; i < rounds; i++)
+		{
+			engine.newBoard(spec);
+		}
+
+		long buildTime = (System.nanoTime() - start) / rounds;
+
+		long placeTime = 0;
+		Board board = null;
+
+		for (int i = 0; i < rounds; i++)
+		{
+			board = engine.newBoard(spec);
+
+			start = System.nanoTime();
+			board.placeAllShipsRandomly();
+			placeTime += System.nanoTime() - start;
+		}
+
+		placeTime /= rounds;
+
+		// the memory retained by a board that has just been placed
+		long retained = retainedBytes(engine, spec);
+
+		// draw the shots up front, so that only the shots are measured
+		Random random = new Random(SEED);
+		int[] rows = new int[SHOTS];
+		int[] columns = new int[SHOTS];
+
+		for (int i = 0; i < SHOTS; i++)
+		{
+			rows[i] = random.nextInt(spec.getHeight());
+			columns[i] = random.nextInt(spec.getWidth());
+		}
+
+		start = System.nanoTime();
+
+		for (int i = 0; i < SHOTS; i++)
+		{
+			board.shootAt(rows[i], columns[i]);
+		}
+
+		long shotTime = (System.nanoTime() - start) / SHOTS;
+
+		if (report)
+		{
+			System.out.printf("%-10s %-36s %14d %14d %12d %14d%n", engine, spec, buildTime, placeTime, shotTime,
+					retained);
+		}
+	}
+
+	/**
+	 * Estimates the heap retained by a board of the given kind and spec, with
+	 * the whole fleet placed onto it.
+	 *
+	 * @param engine
+	 *            the kind of board to measure.
+	 * @param spec
+	 *            dimensions of the board and composition of the fleet.
+	 * @return the number of bytes retained by the board.
+	 */
+	private static long retainedBytes(BoardEngine engine, BoardSpec spec)
+	{
+		long before = usedMemory();
+
+		Board board = engine.newBoard(spec);
+		board.placeAllShipsRandomly();
+
+		long after = usedMemory();
+
+		// keep the board reachable until the memory has been measured
+		return board.isGameOver() ? -1 : after - before;
+	}
+
+	/**
+	 * Returns the heap in use after running the garbage collector.
+	 *
+	 * @return the number of bytes in use.
+	 */
+	private static long usedMemory()
+	{
+		Runtime runtime = Runtime.getRuntime();
+
+		for (int i = 0; i < 3; i++)
+		{
+			System.gc();
+		}
+
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+}
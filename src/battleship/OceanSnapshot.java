@@ -0,0 +1,450 @@
+package battleship;
+
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * Compact binary snapshot of an {@linkplain Ocean}, to save a game and restore
+ * it later in the same state. A snapshot holds the spec of the ocean, the
+ * counts of the game, the type, the orientation and the bow of every ship
+ * placed and one bit for every location of the ocean telling whether it was
+ * fired upon: the state of each ship part follows, since a ship part was hit
+ * if and only if its location was fired upon. A standard ocean takes a few
+ * dozen bytes, whatever the state of the game.
+ * <p>
+ * The version of the format, the spec and the counts are written as
+ * variable-length integers of 7 bits per byte, followed by the ships and the
+ * locations fired upon, packed into as few bytes as possible: each ship takes
+ * as many bits as needed to hold the id of any real {@linkplain ShipKind} (2
+ * for the four standard kinds), 1 bit of orientation and as many bits as
+ * needed to address any location of the ocean. Snapshots are written into and read from a
+ * {@linkplain ByteBuffer} directly, starting from its position, without
+ * creating any object other than the ocean restored.
+ *
+ * @author Angelo Oparah
+ *
+ */
+public final class OceanSnapshot
+{
+	/** version of the format of the snapshots. */
+	public static final int VERSION = 1;
+
+	/** number of bits holding the type of each ship: the id of any real kind. */
+	private static final int TYPE_BITS = 32 - Integer.numberOfLeadingZeros(ShipKind.count() - 2);
+
+
+	/**
+	 * Private constructor: only static methods in this class.
+	 */
+	private OceanSnapshot()
+	{
+	}
+
+	/**
+	 * Returns the number of bytes taken by a snapshot of the given ocean, in its
+	 * current state.
+	 *
+	 * @param ocean
+	 *            the ocean to save.
+	 * @return the size of the snapshot, in bytes.
+	 */
+	public static int encodedLength(Ocean ocean)
+	{
+		BoardSpec spec = ocean.getSpec();
+		int ships = countShips(ocean);
+
+		return headerLength(spec, ships, ocean.getShotsFired(), ocean.getHitCount())
+				+ (int) ((bitLength(spec, ships) + Byte.SIZE - 1) / Byte.SIZE);
+	}
+
+	/**
+	 * Writes a snapshot of the given ocean into the buffer, from its position
+	 * onwards. The position of the buffer is moved past the snapshot.
+	 *
+	 * @param ocean
+	 *            the ocean to save.
+	 * @param out
+	 *            the buffer to write the snapshot into.
+	 * @throws BufferOverflowException
+	 *             if the buffer does not have room for the whole snapshot, in
+	 *             which case nothing is written.
+	 * @throws IllegalArgumentException
+	 *             if any of the ships of the ocean is not one of the four
+	 *             standard types.
+	 */
+	public static void encode(Ocean ocean, ByteBuffer out)
+	{
+		BoardSpec spec = ocean.getSpec();
+		int height = spec.getHeight();
+		int width = spec.getWidth();
+		int ships = countShips(ocean);
+
+		int bytes = (int) ((bitLength(spec, ships) + Byte.SIZE - 1) / Byte.SIZE);
+
+		if (out.remaining() < headerLength(spec, ships, ocean.getShotsFired(), ocean.getHitCount()) + bytes)
+		{
+			throw new BufferOverflowException();
+		}
+
+		writeVarInt(out, VERSION);
+		writeVarInt(out, height);
+		writeVarInt(out, width);
+		writeVarInt(out, spec.getBattleships());
+		writeVarInt(out, spec.getCruisers());
+		writeVarInt(out, spec.getDestroyers());
+		writeVarInt(out, spec.getSubmarines());
+		writeVarInt(out, ships);
+		writeVarInt(out, ocean.getShotsFired());
+		writeVarInt(out, ocean.getHitCount());
+
+		// clear the packed bits, so that only the bits set need writing
+		int start = out.position();
+
+		for (int i = 0; i < bytes; i++)
+		{
+			out.put(start + i, (byte) 0);
+		}
+
+		int cellBits = cellBits(spec);
+		long shipOffset = 0;
+		long shotOffset = (long) ships * (TYPE_BITS + 1 + cellBits);
+
+		for (int row = 0; row < height; row++)
+		{
+			for (int column = 0; column < width; column++)
+			{
+				long cell = (long) row * width + column;
+				Ship ship = ocean.shipAt(row, column);
+
+				if (ship.isRealShip() && ship.getBowRow() == row && ship.getBowColumn() == column)
+				{
+					// each ship is written once, at its bow
+					writeBits(out, start, shipOffset, shipType(ship), TYPE_BITS);
+					writeBits(out, start, shipOffset + TYPE_BITS, ship.isHorizontal() ? 1 : 0, 1);
+					writeBits(out, start, shipOffset + TYPE_BITS + 1, cell, cellBits);
+
+					shipOffset += TYPE_BITS + 1 + cellBits;
+				}
+
+				if (ocean.getStateAt(row, column) != '.')
+				{
+					writeBits(out, start, shotOffset + cell, 1, 1);
+				}
+			}
+		}
+
+		out.position(start + bytes);
+	}
+
+	/**
+	 * Restores an ocean from the snapshot in the buffer, starting from its
+	 * position. The position of the buffer is moved past the snapshot.
+	 *
+	 * @param in
+	 *            the buffer to read the snapshot from.
+	 * @return a new ocean, in the same state as the ocean saved.
+	 * @throws IllegalArgumentException
+	 *             if the buffer does not hold a valid snapshot.
+	 * @throws BufferUnderflowException
+	 *             if the snapshot is truncated.
+	 */
+	public static Ocean decode(ByteBuffer in)
+	{
+		int version = readVarInt(in);
+
+		if (version != VERSION)
+		{
+			throw new IllegalArgumentException("Illegal snapshot version: " + version);
+		}
+
+		int height = readVarInt(in);
+		int width = readVarInt(in);
+		BoardSpec spec = new BoardSpec(height, width, readVarInt(in), readVarInt(in), readVarInt(in),
+				readVarInt(in));
+
+		int ships = readVarInt(in);
+		int shotsFired = readVarInt(in);
+		int hitCount = readVarInt(in);
+
+		int start = in.position();
+		long bytes = (bitLength(spec, ships) + Byte.SIZE - 1) / Byte.SIZE;
+
+		if (in.remaining() < bytes)
+		{
+			throw new BufferUnderflowException();
+		}
+
+		Ocean ocean = new Ocean(spec);
+		int cellBits = cellBits(spec);
+		long area = (long) height * width;
+		long offset = 0;
+
+		for (int i = 0; i < ships; i++)
+		{
+			int type = (int) readBits(in, start, offset, TYPE_BITS);
+			boolean horizontal = readBits(in, start, offset + TYPE_BITS, 1) != 0;
+			long bow = readBits(in, start, offset + TYPE_BITS + 1, cellBits);
+
+			if (type >= ShipKind.count() - 1)
+			{
+				throw new IllegalArgumentException("Illegal ship type: " + type);
+			}
+
+			if (bow >= area)
+			{
+				throw new IllegalArgumentException("Illegal out of range ship bow: " + bow);
+			}
+
+			// placing the ship checks that it fits the ocean
+			ocean.placeShip(Ocean.createShip(ShipKind.byId(type), spec, (int) (bow / width),
+					(int) (bow % width), horizontal));
+
+			offset += TYPE_BITS + 1 + cellBits;
+		}
+
+		// fire once at every location fired upon, which rebuilds the state of
+		// the ships and the ship sunk count, then restore the other counts
+		for (int row = 0; row < height; row++)
+		{
+			for (int column = 0; column < width; column++)
+			{
+				if (readBits(in, start, offset + (long) row * width + column, 1) != 0)
+				{
+					ocean.shootAt(row, column);
+				}
+			}
+		}
+
+		ocean.restoreCounts(shotsFired, hitCount);
+		in.position(start + (int) bytes);
+
+		return ocean;
+	}
+
+
+	// ============== private methods ============= //
+
+	/**
+	 * Counts the ships placed onto the given ocean.
+	 *
+	 * @param ocean
+	 *            the ocean to look at.
+	 * @return the number of ships placed.
+	 */
+	private static int countShips(Ocean ocean)
+	{
+		BoardSpec spec = ocean.getSpec();
+		int ships = 0;
+
+		for (int row = 0; row < spec.getHeight(); row++)
+		{
+			for (int column = 0; column < spec.getWidth(); column++)
+			{
+				Ship ship = ocean.shipAt(row, column);
+
+				if (ship.isRealShip() && ship.getBowRow() == row && ship.getBowColumn() == column)
+				{
+					ships++;
+				}
+			}
+		}
+
+		return ships;
+	}
+
+	/**
+	 * Returns the type of the given ship, as the id of its
+	 * {@linkplain ShipKind}.
+	 *
+	 * @param ship
+	 *            the (real) ship.
+	 * @return the type of the ship.
+	 * @throws IllegalArgumentException
+	 *             if the ship is not of a real kind.
+	 */
+	private static int shipType(Ship ship)
+	{
+		ShipKind kind = ship.getKind();
+
+		if (kind == null || !kind.isReal())
+		{
+			throw new IllegalArgumentException("Illegal ship type to save: " + ship.getShipType());
+		}
+
+		return kind.getId();
+	}
+
+	/**
+	 * Returns the number of bits needed to address any location of a board of
+	 * the given spec.
+	 *
+	 * @param spec
+	 *            dimensions of the board.
+	 * @return the number of bits of a location.
+	 */
+	private static int cellBits(BoardSpec spec)
+	{
+		long area = (long) spec.getHeight() * spec.getWidth();
+
+		return Long.SIZE - Long.numberOfLeadingZeros(area - 1);
+	}
+
+	/**
+	 * Returns the number of bits packed after the header: the ships and one bit
+	 * for every location.
+	 *
+	 * @param spec
+	 *            dimensions of the board.
+	 * @param ships
+	 *            number of ships placed.
+	 * @return the number of bits packed.
+	 */
+	private static long bitLength(BoardSpec spec, int ships)
+	{
+		return (long) ships * (TYPE_BITS + 1 + cellBits(spec)) + (long) spec.getHeight() * spec.getWidth();
+	}
+
+	/**
+	 * Returns the number of bytes taken by the header of a snapshot.
+	 *
+	 * @param spec
+	 *            dimensions of the board and composition of the fleet.
+	 * @param ships
+	 *            number of ships placed.
+	 * @param shotsFired
+	 *            count of the total shots fired.
+	 * @param hitCount
+	 *            count of the total hits.
+	 * @return the size of the header, in bytes.
+	 */
+	private static int headerLength(BoardSpec spec, int ships, int shotsFired, int hitCount)
+	{
+		return varIntLength(VERSION) + varIntLength(spec.getHeight()) + varIntLength(spec.getWidth())
+				+ varIntLength(spec.getBattleships()) + varIntLength(spec.getCruisers())
+				+ varIntLength(spec.getDestroyers()) + varIntLength(spec.getSubmarines()) + varIntLength(ships)
+				+ varIntLength(shotsFired) + varIntLength(hitCount);
+	}
+
+	/**
+	 * Returns the number of bytes taken by the given value, as a
+	 * variable-length integer.
+	 *
+	 * @param value
+	 *            the value, treated as unsigned.
+	 * @return the number of bytes, between 1 and 5.
+	 */
+	private static int varIntLength(int value)
+	{
+		int length = 1;
+
+		while ((value >>>= 7) != 0)
+		{
+			length++;
+		}
+
+		return length;
+	}
+
+	/**
+	 * Writes the given value as a variable-length integer: 7 bits per byte,
+	 * from the lowest ones, the highest bit of each byte telling whether more
+	 * bytes follow.
+	 *
+	 * @param out
+	 *            the buffer to write into.
+	 * @param value
+	 *            the value, treated as unsigned.
+	 */
+	private static void writeVarInt(ByteBuffer out, int value)
+	{
+		while ((value & ~0x7F) != 0)
+		{
+			out.put((byte) (value & 0x7F | 0x80));
+			value >>>= 7;
+		}
+
+		out.put((byte) value);
+	}
+
+	/**
+	 * Reads a variable-length integer written by
+	 * {@linkplain #writeVarInt(ByteBuffer, int)}.
+	 *
+	 * @param in
+	 *            the buffer to read from.
+	 * @return the value read.
+	 * @throws IllegalArgumentException
+	 *             if the integer takes more than 5 bytes.
+	 */
+	private static int readVarInt(ByteBuffer in)
+	{
+		int value = 0;
+
+		for (int shift = 0; shift < Integer.SIZE; shift += 7)
+		{
+			byte next = in.get();
+			value |= (next & 0x7F) << shift;
+
+			if (next >= 0)
+			{
+				return value;
+			}
+		}
+
+		throw new IllegalArgumentException("Illegal variable-length integer");
+	}
+
+	/**
+	 * Sets the bits of the given value within the packed bits, which must be
+	 * clear.
+	 *
+	 * @param out
+	 *            the buffer holding the packed bits.
+	 * @param start
+	 *            index of the first byte of the packed bits.
+	 * @param offset
+	 *            offset of the first bit to set, from the start.
+	 * @param value
+	 *            the value to write, from its lowest bit.
+	 * @param bits
+	 *            the number of bits of the value to write.
+	 */
+	private static void writeBits(ByteBuffer out, int start, long offset, long value, int bits)
+	{
+		for (int i = 0; i < bits; i++)
+		{
+			if ((value >>> i & 1) != 0)
+			{
+				int index = start + (int) ((offset + i) >>> 3);
+				out.put(index, (byte) (out.get(index) | 1 << ((offset + i) & 7)));
+			}
+		}
+	}
+
+	/**
+	 * Reads a value from the packed bits.
+	 *
+	 * @param in
+	 *            the buffer holding the packed bits.
+	 * @param start
+	 *            index of the first byte of the packed bits.
+	 * @param offset
+	 *            offset of the first bit to read, from the start.
+	 * @param bits
+	 *            the number of bits to read.
+	 * @return the value read, from its lowest bit.
+	 */
+	private static long readBits(ByteBuffer in, int start, long offset, int bits)
+	{
+		long value = 0;
+
+		for (int i = 0; i < bits; i++)
+		{
+			int index = start + (int) ((offset + i) >>> 3);
+			value |= (long) (in.get(index) >>> ((offset + i) & 7) & 1) << i;
+		}
+
+		return value;
+	}
+}
@@ -0,0 +1,120 @@
+package battleship;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Test class to test the API of the {@linkplain OceanSnapshot} class.
+ *
+ * @author Angelo Oparah
+ *
+ */
+public class OceanSnapshotTest
+{
+	/**
+	 * Restoring a snapshot should rebuild the ocean in the same state, at any
+	 * stage of the game, repeated shots included
+	 */
+	@Test
+	public void test_decode_shouldRestoreTheSameState()
+	{
+		Random random = new Random(42);
+		BoardSpec spec = new BoardSpec(20, 30, 2, 3, 4, 5);
+		ByteBuffer buffer = ByteBuffer.allocate(1024);
+
+		for (int game = 0; game < 50; game++)
+		{
+			Ocean ocean = new Ocean(game % 2 == 0 ? BoardSpec.STANDARD : spec);
+			ocean.placeAllShipsRandomly();
+
+			// fire a growing number of random shots, some out of range
+			for (int shot = 0; shot < game * 12; shot++)
+			{
+				ocean.shootAt(random.nextInt(ocean.getSpec().getHeight() + 1), random.nextInt(ocean.getSpec()
+						.getWidth()));
+			}
+
+			buffer.clear();
+			buffer.position(3);
+			OceanSnapshot.encode(ocean, buffer);
+
+			assertEquals(3 + OceanSnapshot.encodedLength(ocean), buffer.position());
+
+			buffer.flip();
+			buffer.position(3);
+
+			OceanTest.assertSameState(ocean, OceanSnapshot.decode(buffer));
+			assertEquals("snapshot not consumed", 0, buffer.remaining());
+		}
+	}
+
+	/**
+	 * A standard ocean should take a few dozen bytes, whatever the state of the
+	 * game
+	 */
+	@Test
+	public void test_encodedLength_shouldBeAFewDozenBytesForAStandardOcean()
+	{
+		Ocean ocean = new Ocean();
+		ocean.placeAllShipsRandomly();
+
+		for (int i = 0; i < Ocean.OCEAN_HEIGHT; i++)
+		{
+			for (int j = 0; j < Ocean.OCEAN_WIDTH; j++)
+			{
+				ocean.shootAt(i, j);
+				ocean.shootAt(i, j);
+			}
+		}
+
+		assertTrue("snapshot too large: " + OceanSnapshot.encodedLength(ocean),
+				OceanSnapshot.encodedLength(ocean) <= 40);
+	}
+
+	/**
+	 * Saving into a buffer too small should fail without writing anything
+	 */
+	@Test
+	public void test_encode_shouldNotWriteIntoABufferTooSmall()
+	{
+		Ocean ocean = new Ocean();
+		ocean.placeAllShipsRandomly();
+
+		ByteBuffer buffer = ByteBuffer.allocate(OceanSnapshot.encodedLength(ocean) - 1);
+
+		try
+		{
+			OceanSnapshot.encode(ocean, buffer);
+		}
+		catch (BufferOverflowException e)
+		{
+			assertEquals(0, buffer.position());
+			assertEquals(0, buffer.get(0));
+
+			return;
+		}
+
+		throw new AssertionError("buffer overflow not detected");
+	}
+
+	/**
+	 * Restoring a snapshot of a different version should fail
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void test_decode_shouldRejectAnUnknownVersion()
+	{
+		ByteBuffer buffer = ByteBuffer.allocate(64);
+		OceanSnapshot.encode(new Ocean(), buffer);
+
+		buffer.put(0, (byte) (OceanSnapshot.VERSION + 1));
+		buffer.flip();
+
+		OceanSnapshot.decode(buffer);
+	}
+}
@@ -6,6 +6,7 @@ package battleship;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import java.util.HashMap;
 
@@ -22,7 +23,7 @@ import org.junit.Test;
 public class OceanTest
 {
 	/** Instance of the class under test */
-	private Ocean ocean;
+	private Board ocean;
 
 	/** Contains the shios in the ocean */
 	private Ship[][] ships;
@@ -55,7 +56,7 @@ public class OceanTest
 	@Before
 	public void setUp() throws Exception
 	{
-		ocean = new Ocean();
+		ocean = createOcean();
 		ocean.placeAllShipsRandomly();
 		ships = ocean.getShipArray();
 		rotatedShips = rotateOceanNinetyDegreeAntiClockwise();
@@ -83,7 +84,7 @@ public class OceanTest
 	public void test_Ocean_allCellsShouldContainAnEmptySeaWhenOceanIsCreated()
 	{
 		// if we create an empty Ocean
-		ocean = new Ocean();
+		ocean = createOcean();
 		ships = ocean.getShipArray();
 
 		// the total amount of cells should be equal to
@@ -165,7 +166,7 @@ public class OceanTest
 	public void test_getHitCount_shouldReturnTheCorrectNumberOfHits()
 	{
 		// if we place a ship onto a newly created ocean
-		ocean = new Ocean();
+		ocean = createOcean();
 		ships = ocean.getShipArray();
 
 		// horizontally at location (0, 0)
@@ -415,12 +416,78 @@ public class OceanTest
 	public void test_Ocean_shipsShouldBePlacedOnTheOceanWithinTenSeconds()
 	{
 		// if we have a brand new ocean
-		Ocean ocean = new Ocean();
+		Board ocean = createOcean();
 
 		// and we place the ships onto it, the operation should not timeout
 		ocean.placeAllShipsRandomly();
 	}
 
+	/**
+	 * Placing the fleet a second time should be refused, and leave the fleet
+	 * placed the first time as it was
+	 */
+	@Test
+	public void test_placeAllShipsRandomly_shouldRejectASecondFleet()
+	{
+		// if we count the empty sea of the ocean holding a whole fleet
+		int seaArea = countTotalSeaArea();
+
+		// and then try and place the whole fleet again
+		try
+		{
+			ocean.placeAllShipsRandomly();
+			fail("placed a second fleet onto the ocean");
+		}
+		catch (IllegalStateException e)
+		{
+			// expected
+		}
+
+		// we should expect the first fleet only to be on the ocean, and the
+		// game to be still on
+		assertEquals("the fleet was changed", ocean.getSpec().getFleetSize(), ocean.getShipsPlaced());
+		assertEquals("ships were added to the ocean", seaArea, countTotalSeaArea());
+		assertFalse("the game was over before any shot", ocean.isGameOver());
+	}
+
+	/**
+	 * The fleet should not be placed onto a board already holding a ship, as
+	 * its positions would ignore that ship, and the board should be left as it
+	 * was
+	 */
+	@Test
+	public void test_placeAllShipsRandomly_shouldRejectABoardHoldingShipsAlready()
+	{
+		// if we place a single ship onto a brand new board
+		Board board = createOcean();
+		placeShipTypeAt(Submarine.class, 0, 0, true, board);
+
+		// and then try and place the whole fleet onto it
+		try
+		{
+			board.placeAllShipsRandomly();
+			fail("placed the fleet onto a board holding a ship");
+		}
+		catch (IllegalStateException e)
+		{
+			// expected
+		}
+
+		// we should expect the board to still hold that single ship only
+		int occupied = 0;
+
+		for (int i = 0; i < Ocean.OCEAN_HEIGHT; i++)
+		{
+			for (int j = 0; j < Ocean.OCEAN_WIDTH; j++)
+			{
+				occupied += board.isOccupied(i, j) ? 1 : 0;
+			}
+		}
+
+		assertEquals("the board did not keep the ship placed", 1, board.getShipsPlaced());
+		assertEquals("ships were added to the board", Submarine.SUBMARINE_LENGTH, occupied);
+	}
+
 	/**
 	 * If an ocean spot is occupied it should be marked as such
 	 */
@@ -428,7 +495,7 @@ public class OceanTest
 	public void test_isOccupied_occupiedOceanSpotsShouldBeFlaggedAccordingly()
 	{
 		// if we create an empty ocean
-		ocean = new Ocean();
+		ocean = createOcean();
 
 		// and we place a ship onto it, horizontally for instance
 		boolean isHorizontal = true;
@@ -456,7 +523,7 @@ public class OceanTest
 	public void test_isOccupied_clearOceanSpotsShouldBeFlaggedAccordingly()
 	{
 		// if we create an empty ocean
-		ocean = new Ocean();
+		ocean = createOcean();
 
 		// whatever location we pick within its borders
 		int row = 0;
@@ -518,7 +585,7 @@ public class OceanTest
 	public void test_shootAt_theNumberOfHitsShouldIncreaseWhenRealAfloatShipGetsHit()
 	{
 		// if we place a real ship onto a newly created ocean
-		ocean = new Ocean();
+		ocean = createOcean();
 		ships = ocean.getShipArray();
 
 		int bowRow = 3;
@@ -556,7 +623,7 @@ public class OceanTest
 	public void test_shootAt_theNumberOfHitsShouldNotIncreaseWhenTheShotMissesTheTarget()
 	{
 		// if we create a new empty ocean
-		ocean = new Ocean();
+		ocean = createOcean();
 		ships = ocean.getShipArray();
 
 		// and then we shoot at any location without hitting any ship
@@ -585,7 +652,7 @@ public class OceanTest
 	public void test_shootAt_shootingAfloatShipShouldBeSuccessful()
 	{
 		// if we create an empty ocean
-		ocean = new Ocean();
+		ocean = createOcean();
 		ships = ocean.getShipArray();
 
 		// and place a ship onto it
@@ -609,7 +676,7 @@ public class OceanTest
 	public void test_shootAt_shootingAfloatShipWithoutSinkingItShouldBeSuccessful()
 	{
 		// if we create an empty ocean
-		ocean = new Ocean();
+		ocean = createOcean();
 		ships = ocean.getShipArray();
 
 		// and place a ship onto it
@@ -646,7 +713,7 @@ public class OceanTest
 	public void test_shootAt_shootingSunkShipsShouldBeUnsuccessful()
 	{
 		// if we create an empty ocean
-		ocean = new Ocean();
+		ocean = createOcean();
 		ships = ocean.getShipArray();
 
 		// and place a ship onto it
@@ -699,7 +766,7 @@ public class OceanTest
 	public void test_shootAt_numberOfHitsShouldBeUpdatedOnlyAfterSuccessfulShots()
 	{
 		// if we create an empty ocean
-		ocean = new Ocean();
+		ocean = createOcean();
 		ships = ocean.getShipArray();
 
 		// and place a real ship at location (0,0), vertically
@@ -769,6 +836,46 @@ public class OceanTest
 		assertFalse("shooting at locations with negative column coordinate was succesful", shotWasSuccesful);
 	}
 
+	/**
+	 * A batch of shots should report the outcome of each shot and leave the
+	 * ocean in the same state as the same shots fired one by one
+	 */
+	@Test
+	public void test_shootAt_batchShouldReportEachOutcomeAndUpdateTheCounts()
+	{
+		// if we create an empty ocean with a horizontal destroyer at (0,0)
+		ocean = createOcean();
+		placeShipTypeAt(Destroyer.class, 0, 0, true, ocean);
+
+		// and we fire a volley at it, around it and outside the ocean
+		int[] rows = { 5, 5, 0, 0, 0, 0, Ocean.OCEAN_HEIGHT };
+		int[] columns = { 5, 5, 0, 0, 1, 1, 0 };
+		byte[] results = new byte[rows.length];
+		ocean.shootAt(rows, columns, results);
+
+		// we should get a code per shot
+		byte destroyerHit = ShotResults.DESTROYER | ShotResults.SCORED;
+		assertEquals("incorrect miss", ShotResults.MISS, results[0]);
+		assertEquals("incorrect repeated miss", ShotResults.ALREADY_HIT, results[1]);
+		assertEquals("incorrect hit", ShotResults.HIT | destroyerHit, results[2]);
+		assertEquals("incorrect repeated hit", ShotResults.ALREADY_HIT | destroyerHit, results[3]);
+		assertEquals("incorrect sinking hit", ShotResults.SUNK | destroyerHit, results[4]);
+		assertEquals("incorrect shot at a sunk ship", ShotResults.ALREADY_HIT | ShotResults.DESTROYER, results[5]);
+		assertEquals("incorrect shot out of range", ShotResults.OUT_OF_RANGE, results[6]);
+
+		// and the counts should be the same as for single shots
+		assertEquals("incorrect shots fired", rows.length, ocean.getShotsFired());
+		assertEquals("incorrect hit count", 3, ocean.getHitCount());
+		assertEquals("incorrect ships sunk", 1, ocean.getShipsSunk());
+		assertTrue("destroyer not sunk", ocean.hasSunkShipAt(0, 1));
+
+		// and packed shots should behave the same way
+		ocean.shootAt(new long[] { ShotResults.shot(5, 5), ShotResults.shot(-1, 2) }, results);
+		assertEquals("incorrect repeated packed miss", ShotResults.ALREADY_HIT, results[0]);
+		assertEquals("incorrect packed shot out of range", ShotResults.OUT_OF_RANGE, results[1]);
+		assertEquals("incorrect shots fired", rows.length + 2, ocean.getShotsFired());
+	}
+
 	/**
 	 * If the location contains a sunk ship it should be reported correctly
 	 */
@@ -776,7 +883,7 @@ public class OceanTest
 	public void test_hasSunkShipAt_shouldReturnTrueIfLocationContainsSunkShip()
 	{
 		// if we create an empty ocean
-		ocean = new Ocean();
+		ocean = createOcean();
 
 		// and place a ship onto it
 		int row = 0;
@@ -803,7 +910,7 @@ public class OceanTest
 	public void test_hasSunkShipAt_shouldReturnFalseIfLocationContainsAfloatShip()
 	{
 		// if we create an empty ocean
-		ocean = new Ocean();
+		ocean = createOcean();
 
 		// and place a ship onto it
 		int row = 0;
@@ -831,7 +938,7 @@ public class OceanTest
 	public void test_hasSunkShipAt_shouldReturnFalseIfLocationContainsEmptySea()
 	{
 		// if we create an empty ocean
-		ocean = new Ocean();
+		ocean = createOcean();
 
 		// then check a random location to see if it contains a sunk ship
 		boolean locationHasASunkShip = ocean.hasSunkShipAt(3, 0);
@@ -945,7 +1052,7 @@ public class OceanTest
 	public void test_getShipsTypeAt_shouldReturnTheCorrectShipType()
 	{
 		// if we have an empty ocean
-		ocean = new Ocean();
+		ocean = createOcean();
 
 		// and we get the ship type anywhere at its location
 		String emptySeaType = ocean.getShipTypeAt(5, 6);
@@ -1036,8 +1143,99 @@ public class OceanTest
 		ocean.getShipTypeAt(inRangeRowCoordinate, negativeColumnCoordinate);
 	}
 
+	/**
+	 * The outcome of each shot should tell at once whether it missed, hit or
+	 * sunk a ship and of what type, and be counted as a plain shot would
+	 */
+	@Test
+	public void test_shoot_shouldTellTheWholeOutcomeOfEachShot()
+	{
+		// if we place a destroyer onto a newly created ocean
+		ocean = createOcean();
+		placeShipTypeAt(Destroyer.class, 2, 3, true, ocean);
+
+		// each shot should be told apart
+		assertEquals(ShotOutcome.HIT, ocean.shoot(2, 3));
+		assertEquals(ShotOutcome.REPEATED_HIT, ocean.shoot(2, 3));
+		assertEquals(ShotOutcome.SUNK_DESTROYER, ocean.shoot(2, 4));
+		assertEquals(ShotOutcome.REPEAT, ocean.shoot(2, 4));
+		assertEquals(ShotOutcome.MISS, ocean.shoot(7, 7));
+		assertEquals(ShotOutcome.REPEAT, ocean.shoot(7, 7));
+		assertEquals(ShotOutcome.OUT_OF_RANGE, ocean.shoot(-1, 7));
+
+		assertEquals(Destroyer.DESTROYER_TYPE, ShotOutcome.SUNK_DESTROYER.getShipType());
+
+		// and counted as the same shots fired by shootAt
+		assertEquals(7, ocean.getShotsFired());
+		assertEquals(3, ocean.getHitCount());
+		assertEquals(1, ocean.getShipsSunk());
+	}
+
 	// ======================= helper methods ======================== //
 
+	/**
+	 * Factory method to create the board under test. Subclasses can override
+	 * it to run the same tests against a different implementation
+	 *
+	 * @return a new empty board
+	 */
+	protected Board createOcean()
+	{
+		return new Ocean();
+	}
+
+	/**
+	 * Counts the locations of the board that were fired upon, shared by the
+	 * tests of the shooters.
+	 *
+	 * @param board
+	 *            a board whose fleet has been sunk.
+	 * @return the number of empty sea locations fired upon plus the area of
+	 *         the fleet.
+	 */
+	static int firedUpon(Board board)
+	{
+		int misses = 0;
+
+		for (int i = 0; i < board.getSpec().getHeight(); i++)
+		{
+			for (int j = 0; j < board.getSpec().getWidth(); j++)
+			{
+				misses += board.getStateAt(i, j) == '-' ? 1 : 0;
+			}
+		}
+
+		return misses + board.getSpec().getFleetArea();
+	}
+
+	/**
+	 * Asserts that the given boards are in the same state, location by
+	 * location, shared by the tests saving and restoring boards.
+	 *
+	 * @param expected
+	 *            the board saved or played.
+	 * @param actual
+	 *            the board restored or replayed.
+	 */
+	static void assertSameState(Board expected, Board actual)
+	{
+		assertEquals(expected.getSpec().toString(), actual.getSpec().toString());
+		assertEquals(expected.getShotsFired(), actual.getShotsFired());
+		assertEquals(expected.getHitCount(), actual.getHitCount());
+		assertEquals(expected.getShipsSunk(), actual.getShipsSunk());
+
+		for (int i = 0; i < expected.getSpec().getHeight(); i++)
+		{
+			for (int j = 0; j < expected.getSpec().getWidth(); j++)
+			{
+				assertEquals("different ship at " + i + ", " + j, expected.getShipTypeAt(i, j),
+						actual.getShipTypeAt(i, j));
+				assertEquals("different state at " + i + ", " + j, expected.getStateAt(i, j),
+						actual.getStateAt(i, j));
+			}
+		}
+	}
+
 	/**
 	 * Creates a matrix containing the same ships in the original ocean but
 	 * rotated 90 degree anticlockwise. The method is useful to reduce branching
@@ -1239,26 +1437,16 @@ public class OceanTest
 	 *            ocean containing the matrix where the ships will be placed
 	 */
 	private <T extends Ship> void placeShipTypeAt(Class<T> shipClass, int bowRow, int bowColumn, boolean isHorizontal,
-			Ocean ocean)
+			Board ocean)
 	{
-		int row;
-		int column;
-
 		// create the ship
 		Ship ship = createShip(shipClass);
 		ship.setBowRow(bowRow);
 		ship.setBowColumn(bowColumn);
 		ship.setHorizontal(isHorizontal);
 
-		Ship[][] ships = ocean.getShipArray();
-
-		for (int k = 0; k < ship.getLength(); k++)
-		{
-			// place it on the ocean
-			row = isHorizontal ? bowRow : bowRow + k;
-			column = isHorizontal ? bowColumn + k : bowColumn;
-			ships[row][column] = ship;
-		}
+		// place it on the ocean
+		ocean.placeShip(ship);
 	}
 
 	/**
@@ -0,0 +1,681 @@
+package battleship;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Store of games kept off the heap, so that millions of idle games can be held
+ * without the object graph of an {@linkplain Ocean} for each of them. Every
+ * game is a fixed size record in a slab of direct memory, addressed by the id
+ * of its slot, and holds:
+ * <ul>
+ * <li>the counters of the game: the shots fired, the hits and the ships
+ * sunk;</li>
+ * <li>the layout of the fleet: one byte per location holding the (1-based)
+ * index of the ship covering it, {@code 0} meaning empty sea;</li>
+ * <li>the shot bitmap: one bit per location fired upon;</li>
+ * <li>the fleet table: the {@linkplain ShipKind} id and the number of parts
+ * hit of each ship.</li>
+ * </ul>
+ * A standard game takes 152 bytes of direct memory, against the couple of
+ * kilobytes of heap of an {@linkplain Ocean} and its ships. Shots follow the
+ * same rules as {@linkplain Ocean#shootAt(int, int)} and leave no garbage
+ * behind.
+ * <p>
+ * Slabs hold a power of two of records and are allocated the first time one of
+ * their slots is handed out, so the memory reserved grows with the peak number
+ * of games rather than with the capacity. Slots are allocated and freed under
+ * a lock; each game, as an {@linkplain Ocean}, must only be played by a thread
+ * at a time.
+ *
+ * @author Angelo Oparah
+ *
+ */
+public final class OffHeapGameStore
+{
+	/** max number of ships of a game, as their indexes are stored as bytes. */
+	public static final int MAX_SHIPS = 255;
+
+	/** max number of records of a slab, as a power of two. */
+	private static final int MAX_SLAB_SHIFT = 16;
+
+	/** offset of the count of the shots fired (an {@code int}). */
+	private static final int SHOTS_FIRED = 0;
+
+	/** offset of the count of the hits (an {@code int}). */
+	private static final int HIT_COUNT = 4;
+
+	/** offset of the count of the ships sunk (a {@code short}). */
+	private static final int SHIPS_SUNK = 8;
+
+	/** offset of the count of the ships placed (a {@code short}). */
+	private static final int SHIPS_PLACED = 10;
+
+	/** offset of the layout of the fleet, one byte per location. */
+	private static final int LAYOUT = 12;
+
+	/** lengths of the ships, by id of their {@linkplain ShipKind}. */
+	private static final byte[] LENGTHS = new byte[ShipKind.count()];
+
+	static
+	{
+		for (int id = 0; id < LENGTHS.length; id++)
+		{
+			LENGTHS[id] = (byte) ShipKind.byId(id).getLength();
+		}
+	}
+
+	/** dimensions and fleet of the games of the store. */
+	private final BoardSpec spec;
+
+	/** max number of games held at once. */
+	private final int capacity;
+
+	/** offset of the shot bitmap within a record. */
+	private final int shotsOffset;
+
+	/** offset of the fleet table within a record. */
+	private final int fleetOffset;
+
+	/** size in bytes of a record, a multiple of 8. */
+	private final int recordSize;
+
+	/** number of records of a slab, as a power of two. */
+	private final int slabShift;
+
+	/** slabs of records, allocated on demand. */
+	private final ByteBuffer[] slabs;
+
+	/** bits set for the slots handed out. */
+	private final long[] allocated;
+
+	/** slots freed, ready to be handed out again (as a stack). */
+	private int[] freed = new int[16];
+
+	/** number of slots in {@link #freed}. */
+	private int freedCount;
+
+	/** lowest slot never handed out. */
+	private int nextSlot;
+
+	/** number of games held. */
+	private int size;
+
+
+	/**
+	 * Builds a new, empty store of games of the given spec. No memory is
+	 * reserved for the games until they are {@linkplain #allocate()
+	 * allocated}.
+	 *
+	 * @param spec
+	 *            dimensions of the games and composition of their fleet.
+	 * @param capacity
+	 *            the max number of games held at once; must be strictly
+	 *            positive.
+	 * @throws IllegalArgumentException
+	 *             if the capacity is not positive or the fleet of the spec has
+	 *             more than {@value #MAX_SHIPS} ships.
+	 */
+	public OffHeapGameStore(BoardSpec spec, int capacity)
+	{
+		if (capacity <= 0)
+		{
+			throw new IllegalArgumentException("Illegal non positive value for capacity: " + capacity);
+		}
+		if (spec.getFleetSize() > MAX_SHIPS)
+		{
+			throw new IllegalArgumentException("Illegal fleet larger than " + MAX_SHIPS + " ships: " + spec);
+		}
+
+		this.spec = spec;
+		this.capacity = capacity;
+
+		int area = spec.getHeight() * spec.getWidth();
+
+		// lay out the record: counters, layout, shot bitmap and fleet table,
+		// rounded up to a multiple of 8 bytes
+		shotsOffset = LAYOUT + area;
+		fleetOffset = shotsOffset + (area + Byte.SIZE - 1) / Byte.SIZE;
+		recordSize = (fleetOffset + 2 * spec.getFleetSize() + 7) & ~7;
+
+		// as many records per slab as fit a buffer, up to the max
+		int shift = 0;
+
+		while (shift < MAX_SLAB_SHIFT && (long) recordSize << (shift + 1) <= Integer.MAX_VALUE)
+		{
+			shift++;
+		}
+
+		slabShift = shift;
+		slabs = new ByteBuffer[(int) (((long) capacity + (1 << shift) - 1) >>> shift)];
+		allocated = new long[(capacity + Long.SIZE - 1) / Long.SIZE];
+	}
+
+	/**
+	 * Returns the dimensions and the fleet of the games of the store.
+	 *
+	 * @return the spec of the games.
+	 */
+	public BoardSpec getSpec()
+	{
+		return spec;
+	}
+
+	/**
+	 * Returns the max number of games held at once.
+	 *
+	 * @return the capacity of the store.
+	 */
+	public int getCapacity()
+	{
+		return capacity;
+	}
+
+	/**
+	 * Returns the number of games held.
+	 *
+	 * @return the number of slots handed out and not freed.
+	 */
+	public synchronized int size()
+	{
+		return size;
+	}
+
+	/**
+	 * Returns the size in bytes of the record of a game.
+	 *
+	 * @return the bytes of direct memory taken by a game.
+	 */
+	public int getRecordSize()
+	{
+		return recordSize;
+	}
+
+	/**
+	 * Returns the direct memory reserved by the store, that is the size of the
+	 * slabs allocated so far.
+	 *
+	 * @return the number of bytes of direct memory reserved.
+	 */
+	public synchronized long getFootprint()
+	{
+		long footprint = 0;
+
+		for (ByteBuffer slab : slabs)
+		{
+			footprint += slab == null ? 0 : slab.capacity();
+		}
+
+		return footprint;
+	}
+
+	/**
+	 * Hands out the slot of a new game, in the same state as a new
+	 * {@linkplain Ocean}: no ship placed and no shot fired.
+	 *
+	 * @return the id of the slot, to be {@linkplain #free(int) freed} once the
+	 *         game is over.
+	 * @throws IllegalStateException
+	 *             if the store already holds as many games as its capacity.
+	 */
+	public synchronized int allocate()
+	{
+		int slot;
+
+		if (freedCount > 0)
+		{
+			slot = freed[--freedCount];
+		}
+		else if (nextSlot < capacity)
+		{
+			slot = nextSlot++;
+
+			if (slabs[slot >>> slabShift] == null)
+			{
+				// first slot of the slab: reserve the whole slab
+				int records = Math.min(1 << slabShift, capacity - (slot >>> slabShift << slabShift));
+				slabs[slot >>> slabShift] = ByteBuffer.allocateDirect(records * recordSize)
+						.order(ByteOrder.nativeOrder());
+			}
+		}
+		else
+		{
+			throw new IllegalStateException("The store is full: " + capacity + " games");
+		}
+
+		// clear the record, as it may hold a game freed earlier
+		ByteBuffer slab = slabs[slot >>> slabShift];
+		int base = base(slot);
+
+		for (int i = 0; i < recordSize; i += Long.BYTES)
+		{
+			slab.putLong(base + i, 0);
+		}
+
+		allocated[slot >>> 6] |= 1L << slot;
+		size++;
+
+		return slot;
+	}
+
+	/**
+	 * Frees the slot of a game, so that it can be handed out again. The slot
+	 * must no longer be used by the caller.
+	 *
+	 * @param slot
+	 *            the id of the slot of the game.
+	 * @throws IllegalArgumentException
+	 *             if the slot is not allocated.
+	 */
+	public synchronized void free(int slot)
+	{
+		checkSlot(slot);
+
+		if (freedCount == freed.length)
+		{
+			freed = Arrays.copyOf(freed, freed.length * 2);
+		}
+
+		allocated[slot >>> 6] &= ~(1L << slot);
+		freed[freedCount++] = slot;
+		size--;
+	}
+
+	/**
+	 * Places the whole fleet of the spec randomly onto the given game, with the
+	 * same rules as {@linkplain Ocean#placeAllShipsRandomly()}.
+	 *
+	 * @param slot
+	 *            the id of the slot of the game.
+	 * @throws IllegalArgumentException
+	 *             if the slot is not allocated.
+	 * @throws IllegalStateException
+	 *             if any ship was already placed onto the game, as for any
+	 *             {@linkplain Board}.
+	 */
+	public void placeAllShipsRandomly(int slot)
+	{
+		ByteBuffer slab = checkSlot(slot);
+		int base = base(slot);
+
+		if (slab.getShort(base + SHIPS_PLACED) != 0)
+		{
+			throw new IllegalStateException("The game in slot " + slot + " already holds "
+					+ slab.getShort(base + SHIPS_PLACED) + " ships");
+		}
+
+		ShipPlacer placer = new ShipPlacer(spec, ThreadLocalRandom.current());
+		placer.drawFleet();
+
+		for (int i = 0; i < spec.getFleetSize(); i++)
+		{
+			int kind = placer.getShipType(i);
+
+			addShip(slab, base, kind, ShipPlacer.LENGTHS[kind], placer.getBowRow(i), placer.getBowColumn(i),
+					placer.isHorizontal(i));
+		}
+	}
+
+	/**
+	 * Places the given ship onto the given game, copying its position and its
+	 * kind into the record: the ship itself is not kept.
+	 *
+	 * @param slot
+	 *            the id of the slot of the game.
+	 * @param ship
+	 *            the (real) ship to place.
+	 * @throws IllegalArgumentException
+	 *             if the slot is not allocated, the ship is not real or not of
+	 *             a registered {@linkplain ShipKind}, exceeds the borders of
+	 *             the ocean, overlaps with a ship already placed or if the game
+	 *             already holds as many ships as the fleet of the spec.
+	 */
+	public void placeShip(int slot, Ship ship)
+	{
+		ByteBuffer slab = checkSlot(slot);
+		int base = base(slot);
+
+		if (ship != null && ship.getKind() == null)
+		{
+			throw new IllegalArgumentException("Illegal ship to place: " + ship);
+		}
+		if (slab.getShort(base + SHIPS_PLACED) == spec.getFleetSize())
+		{
+			throw new IllegalArgumentException("Illegal ship to place beyond the fleet of the spec: " + ship);
+		}
+
+		ShipPlacer.checkPlacement(spec, ship,
+				(row, column) -> slab.get(base + LAYOUT + row * spec.getWidth() + column) != 0);
+
+		addShip(slab, base, ship.getKind().getId(), ship.getLength(), ship.getBowRow(), ship.getBowColumn(),
+				ship.isHorizontal());
+	}
+
+	/**
+	 * Shoots at the given location of the given game and updates its shot and
+	 * hit count, following the same rules as
+	 * {@linkplain Ocean#shootAt(int, int)}.
+	 *
+	 * @param slot
+	 *            the id of the slot of the game.
+	 * @param row
+	 *            vertical coordinate to be fired upon.
+	 * @param column
+	 *            horizontal coordinate to be fired upon.
+	 * @return {@code true} if the location contains a real ship still afloat,
+	 *         {@code false} otherwise.
+	 * @throws IllegalArgumentException
+	 *             if the slot is not allocated.
+	 */
+	public boolean shootAt(int slot, int row, int column)
+	{
+		return shoot(slot, row, column).isScored();
+	}
+
+	/**
+	 * Shoots at the given location of the given game, as
+	 * {@linkplain Board#shoot(int, int)} does.
+	 *
+	 * @param slot
+	 *            the id of the slot of the game.
+	 * @param row
+	 *            vertical coordinate to be fired upon.
+	 * @param column
+	 *            horizontal coordinate to be fired upon.
+	 * @return the outcome of the shot.
+	 * @throws IllegalArgumentException
+	 *             if the slot is not allocated.
+	 */
+	public ShotOutcome shoot(int slot, int row, int column)
+	{
+		ByteBuffer slab = checkSlot(slot);
+		int base = base(slot);
+
+		// increment the total number of shots fired, regardless
+		slab.putInt(base + SHOTS_FIRED, slab.getInt(base + SHOTS_FIRED) + 1);
+
+		byte result = fire(slab, base, row, column);
+
+		if (ShotResults.isScored(result))
+		{
+			// increment the hit count in case of a successful shot
+			slab.putInt(base + HIT_COUNT, slab.getInt(base + HIT_COUNT) + 1);
+
+			if (ShotResults.outcome(result) == ShotResults.SUNK)
+			{
+				// increment the count of the sunk ships if this shot sunk the
+				// ship
+				slab.putShort(base + SHIPS_SUNK, (short) (slab.getShort(base + SHIPS_SUNK) + 1));
+			}
+		}
+
+		return ShotOutcome.of(result);
+	}
+
+	/**
+	 * Returns the number of shots fired at the given game.
+	 *
+	 * @param slot
+	 *            the id of the slot of the game.
+	 * @return the number of shots fired.
+	 * @throws IllegalArgumentException
+	 *             if the slot is not allocated.
+	 */
+	public int getShotsFired(int slot)
+	{
+		return checkSlot(slot).getInt(base(slot) + SHOTS_FIRED);
+	}
+
+	/**
+	 * Returns the number of hits scored on the given game.
+	 *
+	 * @param slot
+	 *            the id of the slot of the game.
+	 * @return the number of hits.
+	 * @throws IllegalArgumentException
+	 *             if the slot is not allocated.
+	 */
+	public int getHitCount(int slot)
+	{
+		return checkSlot(slot).getInt(base(slot) + HIT_COUNT);
+	}
+
+	/**
+	 * Returns the number of ships sunk in the given game.
+	 *
+	 * @param slot
+	 *            the id of the slot of the game.
+	 * @return the number of ships sunk.
+	 * @throws IllegalArgumentException
+	 *             if the slot is not allocated.
+	 */
+	public int getShipsSunk(int slot)
+	{
+		return checkSlot(slot).getShort(base(slot) + SHIPS_SUNK);
+	}
+
+	/**
+	 * Indicates whether every ship of the fleet of the given game was sunk.
+	 *
+	 * @param slot
+	 *            the id of the slot of the game.
+	 * @return {@code true} if the game is over, {@code false} otherwise.
+	 * @throws IllegalArgumentException
+	 *             if the slot is not allocated.
+	 */
+	public boolean isGameOver(int slot)
+	{
+		return getShipsSunk(slot) == spec.getFleetSize();
+	}
+
+	/**
+	 * Returns the type of the ship at the given location of the given game, as
+	 * {@linkplain Board#getShipTypeAt(int, int)} does.
+	 *
+	 * @param slot
+	 *            the id of the slot of the game.
+	 * @param row
+	 *            vertical coordinate of the location.
+	 * @param column
+	 *            horizontal coordinate of the location.
+	 * @return the type of the ship, or {@value EmptySea#EMPTY_SEA_TYPE} for
+	 *         empty sea.
+	 * @throws IllegalArgumentException
+	 *             if the slot is not allocated or the coordinates fall outside
+	 *             the ocean.
+	 */
+	public String getShipTypeAt(int slot, int row, int column)
+	{
+		ByteBuffer slab = checkSlot(slot);
+		int base = base(slot);
+		int ship = (slab.get(base + LAYOUT + checkedCell(row, column)) & 0xFF) - 1;
+
+		return ship < 0 ? EmptySea.EMPTY_SEA_TYPE : ShipKind.byId(slab.get(base + fleetOffset + 2 * ship)).getType();
+	}
+
+	/**
+	 * Returns a {@code char} representing the current state of the given
+	 * location of the given game, with the same notation as
+	 * {@linkplain Board#getStateAt(int, int)}.
+	 *
+	 * @param slot
+	 *            the id of the slot of the game.
+	 * @param row
+	 *            vertical coordinate of the location.
+	 * @param column
+	 *            horizontal coordinate of the location.
+	 * @return a {@code char} representing the state of the location.
+	 * @throws IllegalArgumentException
+	 *             if the slot is not allocated or the coordinates fall outside
+	 *             the ocean.
+	 */
+	public char getStateAt(int slot, int row, int column)
+	{
+		ByteBuffer slab = checkSlot(slot);
+		int base = base(slot);
+		int cell = checkedCell(row, column);
+		int ship = (slab.get(base + LAYOUT + cell) & 0xFF) - 1;
+		boolean fired = (slab.get(base + shotsOffset + (cell >>> 3)) & 1 << (cell & 7)) != 0;
+
+		if (ship < 0)
+		{
+			return fired ? '-' : '.';
+		}
+
+		int shipOffset = base + fleetOffset + 2 * ship;
+
+		if (slab.get(shipOffset + 1) == LENGTHS[slab.get(shipOffset)])
+		{
+			return 'x';
+		}
+
+		return fired ? 'S' : '.';
+	}
+
+
+	// ============== private methods ============= //
+
+	/**
+	 * Fires a shot at the given location of a record, updating the state of
+	 * the location and of the ship but none of the counts.
+	 *
+	 * @param slab
+	 *            the slab holding the record.
+	 * @param base
+	 *            the offset of the record in the slab.
+	 * @param row
+	 *            vertical coordinate to be fired upon.
+	 * @param column
+	 *            horizontal coordinate to be fired upon.
+	 * @return the result of the shot, as a code of the
+	 *         {@linkplain ShotResults}.
+	 */
+	private byte fire(ByteBuffer slab, int base, int row, int column)
+	{
+		// try and hit ships only within the ocean's borders
+		if (!spec.contains(row, column))
+		{
+			return ShotResults.OUT_OF_RANGE;
+		}
+
+		int cell = row * spec.getWidth() + column;
+		int ship = (slab.get(base + LAYOUT + cell) & 0xFF) - 1;
+
+		// mark the location as fired upon, remembering whether it already was
+		int shots = base + shotsOffset + (cell >>> 3);
+		int bits = slab.get(shots);
+		int bit = 1 << (cell & 7);
+		boolean repeated = (bits & bit) != 0;
+
+		slab.put(shots, (byte) (bits | bit));
+
+		if (ship < 0)
+		{
+			return ShotResults.shotAtSea(repeated);
+		}
+
+		int shipOffset = base + fleetOffset + 2 * ship;
+		int kindId = slab.get(shipOffset);
+		int hits = slab.get(shipOffset + 1);
+		byte kind = ShotResults.kindOf(kindId);
+
+		if (hits == LENGTHS[kindId])
+		{
+			return ShotResults.shotAtSunkShip(kind);
+		}
+		if (!repeated)
+		{
+			slab.put(shipOffset + 1, (byte) (hits + 1));
+		}
+
+		return ShotResults.shotAtShip(kind, repeated, !repeated && hits + 1 == LENGTHS[kindId]);
+	}
+
+	/**
+	 * Adds a ship to the fleet table of a record and writes its index onto the
+	 * layout. No check is performed on the area covered.
+	 *
+	 * @param slab
+	 *            the slab holding the record.
+	 * @param base
+	 *            the offset of the record in the slab.
+	 * @param kind
+	 *            the id of the {@linkplain ShipKind} of the ship.
+	 * @param length
+	 *            the length of the ship.
+	 * @param bowRow
+	 *            vertical coordinate of the bow.
+	 * @param bowColumn
+	 *            horizontal coordinate of the bow.
+	 * @param horizontal
+	 *            orientation of the ship.
+	 */
+	private void addShip(ByteBuffer slab, int base, int kind, int length, int bowRow, int bowColumn,
+			boolean horizontal)
+	{
+		int ship = slab.getShort(base + SHIPS_PLACED);
+
+		slab.putShort(base + SHIPS_PLACED, (short) (ship + 1));
+		slab.put(base + fleetOffset + 2 * ship, (byte) kind);
+
+		for (int i = 0; i < length; i++)
+		{
+			int row = horizontal ? bowRow : bowRow + i;
+			int column = horizontal ? bowColumn + i : bowColumn;
+
+			slab.put(base + LAYOUT + row * spec.getWidth() + column, (byte) (ship + 1));
+		}
+	}
+
+	/**
+	 * Returns the slab holding the record of the given slot, making sure the
+	 * slot is allocated.
+	 *
+	 * @param slot
+	 *            the id of the slot of a game.
+	 * @return the slab of the slot.
+	 * @throws IllegalArgumentException
+	 *             if the slot is not allocated.
+	 */
+	private ByteBuffer checkSlot(int slot)
+	{
+		if (slot < 0 || slot >= capacity || (allocated[slot >>> 6] & (1L << slot)) == 0)
+		{
+			throw new IllegalArgumentException("Illegal slot not allocated: " + slot);
+		}
+
+		return slabs[slot >>> slabShift];
+	}
+
+	/**
+	 * Returns the offset of the record of the given slot in its slab.
+	 *
+	 * @param slot
+	 *            the id of the slot of a game.
+	 * @return the offset of the record.
+	 */
+	private int base(int slot)
+	{
+		return (slot & ((1 << slabShift) - 1)) * recordSize;
+	}
+
+	/**
+	 * Returns the index of the given location, row by row.
+	 *
+	 * @param row
+	 *            vertical coordinate of the location.
+	 * @param column
+	 *            horizontal coordinate of the location.
+	 * @return the index of the location.
+	 * @throws IllegalArgumentException
+	 *             if the coordinates provided fall outside the ocean.
+	 */
+	private int checkedCell(int row, int column)
+	{
+		spec.checkLocation(row, column);
+
+		return row * spec.getWidth() + column;
+	}
+}
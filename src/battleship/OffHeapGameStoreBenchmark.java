@@ -0,0 +1,184 @@
+package battleship;
+
+import java.util.Random;
+
+/**
+ * Compares the {@linkplain OffHeapGameStore} against as many
+ * {@linkplain Ocean oceans} on the heap, all standard games with their fleet
+ * placed. It first reports the memory taken by each game, on the heap and off
+ * it, then measures shots fired at random games among all the games held, as
+ * a server does with its idle sessions, and whole games played from start to
+ * finish.
+ *
+ * @author Angelo Oparah
+ *
+ */
+public class OffHeapGameStoreBenchmark
+{
+	/** number of games held by default. */
+	private static final int GAMES = 100_000;
+
+	/** number of shots fired by each round of the shot benchmarks. */
+	private static final int SHOTS = 1_000_000;
+
+	/** number of games played by each round of the game benchmarks. */
+	private static final int PLAYED = 10_000;
+
+	/** seed of the random shots, so that every run fires the same shots. */
+	private static final long SEED = 42;
+
+
+	/**
+	 * Runs the benchmarks, printing the footprint report and one line per
+	 * benchmark.
+	 *
+	 * @param args
+	 *            optionally, the number of games held.
+	 */
+	public static void main(String[] args)
+	{
+		int games = args.length > 0 ? Integer.parseInt(args[0]) : GAMES;
+
+		// the oceans on the heap, with their fleet placed
+		long before = usedMemory();
+		Ocean[] oceans = new Ocean[games];
+
+		for (int i = 0; i < games; i++)
+		{
+			oceans[i] = new Ocean();
+			oceans[i].placeAllShipsRandomly();
+		}
+
+		long oceanHeap = usedMemory() - before;
+
+		// the same number of games in the store
+		before = usedMemory();
+		OffHeapGameStore store = new OffHeapGameStore(BoardSpec.STANDARD, games);
+
+		for (int i = 0; i < games; i++)
+		{
+			store.placeAllShipsRandomly(store.allocate());
+		}
+
+		long storeHeap = usedMemory() - before;
+
+		System.out.printf("%-24s %16s %16s %16s%n", games + " games", "heap (B/game)", "off-heap (B/game)",
+				"total (MB)");
+		System.out.printf("%-24s %16d %16d %16.1f%n", "Ocean", oceanHeap / games, 0, oceanHeap / 1e6);
+		System.out.printf("%-24s %16d %16d %16.1f%n", "OffHeapGameStore", storeHeap / games,
+				store.getFootprint() / games, (storeHeap + store.getFootprint()) / 1e6);
+		System.out.println();
+
+		// draw the shots up front, so that only the shots are measured
+		Random random = new Random(SEED);
+		int[] targets = new int[SHOTS];
+		int[] rows = new int[SHOTS];
+		int[] columns = new int[SHOTS];
+
+		for (int i = 0; i < SHOTS; i++)
+		{
+			targets[i] = random.nextInt(games);
+			rows[i] = random.nextInt(Ocean.OCEAN_HEIGHT);
+			columns[i] = random.nextInt(Ocean.OCEAN_WIDTH);
+		}
+
+		MicroBenchmark.printHeader();
+
+		MicroBenchmark.measure("Ocean shot at a random game", SHOTS, () -> () ->
+		{
+			long hits = 0;
+
+			for (int i = 0; i < SHOTS; i++)
+			{
+				hits += oceans[targets[i]].shootAt(rows[i], columns[i]) ? 1 : 0;
+			}
+
+			return hits;
+		});
+
+		MicroBenchmark.measure("store shot at a random game", SHOTS, () -> () ->
+		{
+			long hits = 0;
+
+			for (int i = 0; i < SHOTS; i++)
+			{
+				// slots were handed out in order, from 0
+				hits += store.shootAt(targets[i], rows[i], columns[i]) ? 1 : 0;
+			}
+
+			return hits;
+		});
+
+		MicroBenchmark.measure("Ocean whole game", PLAYED, () -> () ->
+		{
+			long shots = 0;
+
+			for (int i = 0; i < PLAYED; i++)
+			{
+				Ocean ocean = new Ocean();
+				ocean.placeAllShipsRandomly();
+
+				for (int j = 0; j < Ocean.OCEAN_HEIGHT && !ocean.isGameOver(); j++)
+				{
+					for (int k = 0; k < Ocean.OCEAN_WIDTH; k++)
+					{
+						ocean.shootAt(j, k);
+					}
+				}
+
+				shots += ocean.getShotsFired();
+			}
+
+			return shots;
+		});
+
+		OffHeapGameStore played = new OffHeapGameStore(BoardSpec.STANDARD, 1);
+
+		MicroBenchmark.measure("store whole game", PLAYED, () -> () ->
+		{
+			long shots = 0;
+
+			for (int i = 0; i < PLAYED; i++)
+			{
+				int slot = played.allocate();
+				played.placeAllShipsRandomly(slot);
+
+				for (int j = 0; j < Ocean.OCEAN_HEIGHT && !played.isGameOver(slot); j++)
+				{
+					for (int k = 0; k < Ocean.OCEAN_WIDTH; k++)
+					{
+						played.shootAt(slot, j, k);
+					}
+				}
+
+				shots += played.getShotsFired(slot);
+				played.free(slot);
+			}
+
+			return shots;
+		});
+
+		// keep the games reachable until the end
+		System.out.printf("%d oceans, %d games in the store%n", oceans.length, store.size());
+	}
+
+
+	// ============== private methods ============= //
+
+	/**
+	 * Returns the heap in use after running the garbage collector.
+	 *
+	 * @return the number of bytes in use.
+	 */
+	private static long usedMemory()
+	{
+		Runtime runtime = Runtime.getRuntime();
+
+		for (int i = 0; i < 3; i++)
+		{
+			System.gc();
+		}
+
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+}
@@ -0,0 +1,161 @@
+package battleship;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+import org.junit.Test;
+
+/**
+ * Test class to test the API of the {@linkplain OffHeapGameStore}.
+ *
+ * @author Angelo Oparah
+ *
+ */
+public class OffHeapGameStoreTest
+{
+	/**
+	 * A game of the store should play exactly as an ocean with the same
+	 * fleet, shot after shot
+	 */
+	@Test
+	public void test_shoot_shouldFollowTheSameRulesAsOcean()
+	{
+		OffHeapGameStore store = new OffHeapGameStore(BoardSpec.STANDARD, 4);
+		int slot = store.allocate();
+
+		Ocean ocean = new Ocean();
+		ocean.placeAllShipsRandomly();
+		copyFleet(ocean, store, slot);
+
+		// fire at every location twice, so that every rule is applied
+		for (int shot = 0; shot < 2; shot++)
+		{
+			for (int i = 0; i < Ocean.OCEAN_HEIGHT; i++)
+			{
+				for (int j = 0; j < Ocean.OCEAN_WIDTH; j++)
+				{
+					assertEquals("type at " + i + ", " + j, ocean.getShipTypeAt(i, j), store.getShipTypeAt(slot, i, j));
+					assertSame("outcome at " + i + ", " + j, ocean.shoot(i, j), store.shoot(slot, i, j));
+					assertEquals("state at " + i + ", " + j, ocean.getStateAt(i, j), store.getStateAt(slot, i, j));
+				}
+			}
+		}
+
+		assertSame(ShotOutcome.OUT_OF_RANGE, store.shoot(slot, -1, Ocean.OCEAN_WIDTH));
+
+		assertEquals(ocean.getShotsFired() + 1, store.getShotsFired(slot));
+		assertEquals(ocean.getHitCount(), store.getHitCount(slot));
+		assertEquals(ocean.getShipsSunk(), store.getShipsSunk(slot));
+		assertTrue("game not over", store.isGameOver(slot));
+	}
+
+	/**
+	 * The fleet placed randomly should cover the fleet area of the spec, and
+	 * sink once every location has been fired upon
+	 */
+	@Test
+	public void test_placeAllShipsRandomly_shouldPlaceTheWholeFleet()
+	{
+		OffHeapGameStore store = new OffHeapGameStore(BoardSpec.STANDARD, 1);
+		int slot = store.allocate();
+
+		store.placeAllShipsRandomly(slot);
+
+		int hits = 0;
+
+		for (int i = 0; i < Ocean.OCEAN_HEIGHT; i++)
+		{
+			for (int j = 0; j < Ocean.OCEAN_WIDTH; j++)
+			{
+				hits += store.shootAt(slot, i, j) ? 1 : 0;
+			}
+		}
+
+		assertEquals(BoardSpec.STANDARD.getFleetArea(), hits);
+		assertEquals(BoardSpec.STANDARD.getFleetSize(), store.getShipsSunk(slot));
+		assertEquals(152, store.getRecordSize());
+		assertEquals(store.getRecordSize(), store.getFootprint());
+	}
+
+	/**
+	 * Slots freed should be handed out again as new games, and no more games
+	 * than the capacity should be held at once
+	 */
+	@Test
+	public void test_allocate_shouldReuseTheSlotsFreedUpToTheCapacity()
+	{
+		OffHeapGameStore store = new OffHeapGameStore(BoardSpec.STANDARD, 2);
+		int first = store.allocate();
+		int second = store.allocate();
+
+		store.placeAllShipsRandomly(first);
+		store.shootAt(first, 0, 0);
+
+		try
+		{
+			store.allocate();
+			fail("allocated beyond the capacity");
+		}
+		catch (IllegalStateException e)
+		{
+			// expected
+		}
+
+		store.free(first);
+		assertEquals(1, store.size());
+
+		assertEquals(first, store.allocate());
+		assertEquals(0, store.getShotsFired(first));
+		assertEquals('.', store.getStateAt(first, 0, 0));
+		assertEquals(EmptySea.EMPTY_SEA_TYPE, store.getShipTypeAt(first, 0, 0));
+		assertEquals(0, store.getShotsFired(second));
+	}
+
+	/**
+	 * A slot freed should no longer be played
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void test_shoot_shouldRejectASlotFreed()
+	{
+		OffHeapGameStore store = new OffHeapGameStore(BoardSpec.STANDARD, 1);
+		int slot = store.allocate();
+
+		store.free(slot);
+		store.shoot(slot, 0, 0);
+	}
+
+
+	// ======================= helper methods ======================== //
+
+	/**
+	 * Places the fleet of the given ocean onto the given game of the store.
+	 *
+	 * @param ocean
+	 *            the ocean, with its fleet placed.
+	 * @param store
+	 *            the store of the game.
+	 * @param slot
+	 *            the slot of the game, with no ship placed.
+	 */
+	private static void copyFleet(Ocean ocean, OffHeapGameStore store, int slot)
+	{
+		Set<Ship> ships = Collections.newSetFromMap(new IdentityHashMap<>());
+
+		for (Ship[] row : ocean.getShipArray())
+		{
+			for (Ship ship : row)
+			{
+				if (ship.isRealShip() && ships.add(ship))
+				{
+					store.placeShip(slot, ship);
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,257 @@
+package battleship;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Precomputed masks of every position a ship can take on a board of given
+ * dimensions, for every ship length and orientation. Locations are numbered
+ * row by row and each mask takes {@link #words} {@code long} words, one bit
+ * per location: the footprint of a position covers the locations of the ship,
+ * while its halo also covers the locations surrounding the ship. As ships must
+ * not touch each other, a position is legal if and only if its halo does not
+ * intersect the footprints of the ships placed so far, which takes a single
+ * {@code AND} per word.
+ * <p>
+ * Tables are immutable and only built for boards up to
+ * {@value #MAX_AREA} locations; they are cached, so that every board with the
+ * same dimensions shares the same table.
+ *
+ * @author Angelo Oparah
+ *
+ */
+final class PlacementTable
+{
+	/** max number of locations of a board for which a table is built. */
+	static final int MAX_AREA = 256;
+
+	/** tables built so far, by dimensions. */
+	private static final ConcurrentMap<Long, PlacementTable> CACHE = new ConcurrentHashMap<>();
+
+	/** height of the board. */
+	final int height;
+
+	/** width of the board. */
+	final int width;
+
+	/** number of {@code long} words of each mask. */
+	final int words;
+
+	/**
+	 * footprints of the positions: the mask of the horizontal ship of type
+	 * {@code t} with bow {@code b} starts at {@code offset(t, true, b)}.
+	 */
+	private final long[] footprints;
+
+	/** halos of the positions, laid out as the {@link #footprints}. */
+	private final long[] halos;
+
+
+	/**
+	 * Builds the table of the given dimensions.
+	 *
+	 * @param height
+	 *            height of the board.
+	 * @param width
+	 *            width of the board.
+	 */
+	private PlacementTable(int height, int width)
+	{
+		this.height = height;
+		this.width = width;
+
+		int area = height * width;
+
+		words = (area + Long.SIZE - 1) / Long.SIZE;
+		footprints = new long[2 * ShipPlacer.LENGTHS.length * area * words];
+		halos = new long[footprints.length];
+
+		for (int type = 0; type < ShipPlacer.LENGTHS.length; type++)
+		{
+			int length = ShipPlacer.LENGTHS[type];
+
+			for (int bow = 0; bow < area; bow++)
+			{
+				int row = bow / width;
+				int column = bow % width;
+
+				if (column + length <= width)
+				{
+					fill(offset(type, true, bow), row, column, length, true);
+				}
+				if (row + length <= height)
+				{
+					fill(offset(type, false, bow), row, column, length, false);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the table of the given dimensions, building it on first use.
+	 *
+	 * @param height
+	 *            height of the board.
+	 * @param width
+	 *            width of the board.
+	 * @return the table shared by every board with the given dimensions, or
+	 *         {@code null} if the board is larger than {@value #MAX_AREA}
+	 *         locations.
+	 */
+	static PlacementTable forDimensions(int height, int width)
+	{
+		if ((long) height * width > MAX_AREA)
+		{
+			return null;
+		}
+
+		return CACHE.computeIfAbsent((long) height << 32 | width, key -> new PlacementTable(height, width));
+	}
+
+	/**
+	 * Returns the number of positions a ship of the given type can take with
+	 * the given orientation.
+	 *
+	 * @param type
+	 *            the type of the ship, as an index of {@link ShipPlacer#LENGTHS}.
+	 * @param horizontal
+	 *            orientation of the ship.
+	 * @return the number of positions keeping the ship within the board.
+	 */
+	int positions(int type, boolean horizontal)
+	{
+		int length = ShipPlacer.LENGTHS[type];
+
+		if (horizontal)
+		{
+			return length <= width ? height * (width - length + 1) : 0;
+		}
+
+		return length <= height ? (height - length + 1) * width : 0;
+	}
+
+	/**
+	 * Returns the bow of the n-th position a ship of the given type can take
+	 * with the given orientation, positions being sorted by bow.
+	 *
+	 * @param type
+	 *            the type of the ship, as an index of {@link ShipPlacer#LENGTHS}.
+	 * @param horizontal
+	 *            orientation of the ship.
+	 * @param position
+	 *            index of the position, less than
+	 *            {@link #positions(int, boolean)}.
+	 * @return the bow, as the index of a location.
+	 */
+	int bow(int type, boolean horizontal, int position)
+	{
+		if (horizontal)
+		{
+			// each row has room for the same number of horizontal bows
+			int perRow = width - ShipPlacer.LENGTHS[type] + 1;
+
+			return position / perRow * width + position % perRow;
+		}
+
+		// vertical bows fill the top rows entirely
+		return position;
+	}
+
+	/**
+	 * Returns the offset of the masks of the given position within the
+	 * arrays of masks.
+	 *
+	 * @param type
+	 *            the type of the ship, as an index of {@link ShipPlacer#LENGTHS}.
+	 * @param horizontal
+	 *            orientation of the ship.
+	 * @param bow
+	 *            the bow, as the index of a location.
+	 * @return the offset of the first word of the masks.
+	 */
+	int offset(int type, boolean horizontal, int bow)
+	{
+		return ((2 * type + (horizontal ? 0 : 1)) * height * width + bow) * words;
+	}
+
+	/**
+	 * Determines whether the halo of the position at the given offset does not
+	 * intersect the given occupancy mask.
+	 *
+	 * @param offset
+	 *            offset of the position, as given by
+	 *            {@link #offset(int, boolean, int)}.
+	 * @param occupied
+	 *            the locations covered by the ships placed so far.
+	 * @return {@code true} if a ship can be placed at the position,
+	 *         {@code false} otherwise.
+	 */
+	boolean isClear(int offset, long[] occupied)
+	{
+		for (int word = 0; word < words; word++)
+		{
+			if ((halos[offset + word] & occupied[word]) != 0)
+			{
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Adds the footprint of the position at the given offset to the given
+	 * occupancy mask.
+	 *
+	 * @param offset
+	 *            offset of the position, as given by
+	 *            {@link #offset(int, boolean, int)}.
+	 * @param occupied
+	 *            the locations covered by the ships placed so far.
+	 */
+	void occupy(int offset, long[] occupied)
+	{
+		for (int word = 0; word < words; word++)
+		{
+			occupied[word] |= footprints[offset + word];
+		}
+	}
+
+
+	// ============== private methods ============= //
+
+	/**
+	 * Fills the footprint and the halo of the given position.
+	 *
+	 * @param offset
+	 *            offset of the masks of the position.
+	 * @param bowRow
+	 *            vertical coordinate of the bow.
+	 * @param bowColumn
+	 *            horizontal coordinate of the bow.
+	 * @param length
+	 *            length of the ship.
+	 * @param horizontal
+	 *            orientation of the ship.
+	 */
+	private void fill(int offset, int bowRow, int bowColumn, int length, boolean horizontal)
+	{
+		int lastRow = horizontal ? bowRow : bowRow + length - 1;
+		int lastColumn = horizontal ? bowColumn + length - 1 : bowColumn;
+
+		for (int row = Math.max(0, bowRow - 1); row <= Math.min(height - 1, lastRow + 1); row++)
+		{
+			for (int column = Math.max(0, bowColumn - 1); column <= Math.min(width - 1, lastColumn + 1); column++)
+			{
+				int cell = row * width + column;
+
+				halos[offset + cell / Long.SIZE] |= 1L << cell;
+
+				if (row >= bowRow && row <= lastRow && column >= bowColumn && column <= lastColumn)
+				{
+					footprints[offset + cell / Long.SIZE] |= 1L << cell;
+				}
+			}
+		}
+	}
+}
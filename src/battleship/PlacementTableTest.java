@@ -0,0 +1,58 @@
+package battleship;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * Test class to test the API of the {@linkplain PlacementTable} class.
+ *
+ * @author Angelo Oparah
+ *
+ */
+public class PlacementTableTest
+{
+	/**
+	 * Boards with the same dimensions should share the same table, and large
+	 * boards should not have one
+	 */
+	@Test
+	public void test_forDimensions_tablesShouldBeSharedAndOnlyBuiltForSmallBoards()
+	{
+		assertSame("table not shared", PlacementTable.forDimensions(10, 10), PlacementTable.forDimensions(10, 10));
+		assertNull("table built for a large board", PlacementTable.forDimensions(100, 100));
+	}
+
+	/**
+	 * A position should only be clear if no ship placed so far touches it,
+	 * diagonally included
+	 */
+	@Test
+	public void test_isClear_positionsTouchingAShipShouldNotBeClear()
+	{
+		// if we place a horizontal destroyer with its bow at 4, 4
+		PlacementTable table = PlacementTable.forDimensions(10, 10);
+		long[] occupied = new long[table.words];
+		int destroyer = 2;
+		int submarine = 3;
+
+		table.occupy(table.offset(destroyer, true, 44), occupied);
+
+		// a submarine should not fit on it or around it, diagonals included
+		assertFalse("overlapping position clear", table.isClear(table.offset(submarine, true, 45), occupied));
+		assertFalse("adjacent position clear", table.isClear(table.offset(submarine, true, 46), occupied));
+		assertFalse("diagonal position clear", table.isClear(table.offset(submarine, true, 33), occupied));
+		assertFalse("diagonal position clear", table.isClear(table.offset(submarine, true, 56), occupied));
+
+		// but it should fit anywhere else
+		assertTrue("distant position not clear", table.isClear(table.offset(submarine, true, 47), occupied));
+		assertTrue("distant position not clear", table.isClear(table.offset(submarine, true, 64), occupied));
+
+		// and a vertical cruiser should not be allowed to reach it from above
+		assertFalse("touching position clear", table.isClear(table.offset(1, false, 13), occupied));
+		assertTrue("distant position not clear", table.isClear(table.offset(1, false, 3), occupied));
+	}
+}
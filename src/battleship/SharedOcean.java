@@ -0,0 +1,709 @@
+package battleship;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Implementation of the {@linkplain Board} meant for one very large ocean
+ * shared by many players shooting at it at the same time. The rows of the
+ * ocean are partitioned into stripes, each guarded by its own lock: an empty
+ * sea location is guarded by the stripe holding its row, while a ship (with
+ * all its parts) is guarded by the stripe holding its bow, so that every shot
+ * takes exactly one lock and shots landing in different stripes never contend.
+ * Like the {@linkplain SparseOcean}, only the locations covered by real ships
+ * are indexed, and each stripe keeps the empty sea locations fired upon in its
+ * own {@linkplain CompressedBitmap}.
+ * <p>
+ * Players {@linkplain #join(String) join} the ocean and shoot through their
+ * own {@linkplain Player}, which keeps the score of that player only: each
+ * score is written by a single thread, so attributing the shots never
+ * contends. As the ship is updated under its lock, exactly one shot sinks it,
+ * and that sink is reported to the player who fired it. Shots fired through
+ * the ocean itself count towards its totals, but are not attributed to any
+ * player. Ships must be placed before the ocean is shared with the players.
+ *
+ * @author Angelo Oparah
+ *
+ */
+public class SharedOcean extends AbstractBoard
+{
+	/** number of stripes per available processor, unless given otherwise. */
+	private static final int STRIPES_PER_PROCESSOR = 8;
+
+	/** dimensions of the ocean and composition of the fleet. */
+	private final BoardSpec spec;
+
+	/**
+	 * maps the index of each location covered by a real ship (row by row) to
+	 * the (1-based) index of the ship in the fleet; written only while placing
+	 * the ships.
+	 */
+	private final LongIntHashMap segments;
+
+	/** number of rows in each stripe (but the last one, possibly). */
+	private final int stripeRows;
+
+	/** stripes of rows, from the top of the ocean to the bottom. */
+	private final Stripe[] stripes;
+
+	/** ships placed onto the ocean, in order of placement. */
+	private Ship[] fleet;
+
+	/** number of ships placed onto the ocean. */
+	private int fleetSize;
+
+	/** number of ships sunk. */
+	private final AtomicInteger shipsSunk = new AtomicInteger();
+
+	/** number of shots fired out of range, counted without any stripe lock. */
+	private final LongAdder shotsOutOfRange = new LongAdder();
+
+	/** players that joined the ocean, in order of arrival. */
+	private final List<Player> players = new CopyOnWriteArrayList<>();
+
+
+	/**
+	 * Constructs a new empty standard SharedOcean and sets the hit, the shot
+	 * and the ship sunk count to {@code 0}.
+	 */
+	public SharedOcean()
+	{
+		this(BoardSpec.STANDARD);
+	}
+
+	/**
+	 * Constructs a new empty SharedOcean with the dimensions and the fleet
+	 * given by the spec, split into {@value #STRIPES_PER_PROCESSOR} stripes per
+	 * available processor (as long as there are enough rows).
+	 *
+	 * @param spec
+	 *            dimensions of the ocean and composition of the fleet.
+	 */
+	public SharedOcean(BoardSpec spec)
+	{
+		this(spec, STRIPES_PER_PROCESSOR * Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Constructs a new empty SharedOcean with the dimensions and the fleet
+	 * given by the spec, split into the given number of stripes (as long as
+	 * there are enough rows).
+	 *
+	 * @param spec
+	 *            dimensions of the ocean and composition of the fleet.
+	 * @param stripeCount
+	 *            the number of stripes the rows are split into; at least 1.
+	 * @throws IllegalArgumentException
+	 *             if the number of stripes is not positive.
+	 */
+	public SharedOcean(BoardSpec spec, int stripeCount)
+	{
+		if (stripeCount <= 0)
+		{
+			throw new IllegalArgumentException("Illegal number of stripes: " + stripeCount);
+		}
+
+		this.spec = spec;
+
+		segments = new LongIntHashMap(spec.getFleetArea());
+		fleet = new Ship[Math.max(1, spec.getFleetSize())];
+
+		// round the rows per stripe up, then drop the stripes left empty
+		stripeRows = (spec.getHeight() + stripeCount - 1) / stripeCount;
+		stripes = new Stripe[(spec.getHeight() + stripeRows - 1) / stripeRows];
+
+		for (int i = 0; i < stripes.length; i++)
+		{
+			int rows = Math.min(stripeRows, spec.getHeight() - i * stripeRows);
+
+			stripes[i] = new Stripe(i * stripeRows, (long) rows * spec.getWidth());
+		}
+	}
+
+	/**
+	 * Adds a new player to the ocean.
+	 *
+	 * @param name
+	 *            the name of the player.
+	 * @return the player, to be used by one thread at a time.
+	 */
+	public Player join(String name)
+	{
+		Player player = new Player(name);
+
+		players.add(player);
+
+		return player;
+	}
+
+	/**
+	 * Returns the players that joined the ocean, in order of arrival.
+	 *
+	 * @return an unmodifiable view of the players.
+	 */
+	public List<Player> getPlayers()
+	{
+		return Collections.unmodifiableList(players);
+	}
+
+	/**
+	 * Returns the number of stripes the rows of the ocean are split into.
+	 *
+	 * @return the number of stripes.
+	 */
+	public int getStripeCount()
+	{
+		return stripes.length;
+	}
+
+	@Override
+	public BoardSpec getSpec()
+	{
+		return spec;
+	}
+
+	@Override
+	public int getShotsFired()
+	{
+		int shots = (int) shotsOutOfRange.sum();
+
+		for (Stripe stripe : stripes)
+		{
+			synchronized (stripe)
+			{
+				shots += stripe.shotsFired;
+			}
+		}
+
+		return shots;
+	}
+
+	@Override
+	public int getHitCount()
+	{
+		int hits = 0;
+
+		for (Stripe stripe : stripes)
+		{
+			synchronized (stripe)
+			{
+				hits += stripe.hitCount;
+			}
+		}
+
+		return hits;
+	}
+
+	@Override
+	public int getShipsSunk()
+	{
+		return shipsSunk.get();
+	}
+
+	@Override
+	public synchronized int getShipsPlaced()
+	{
+		return fleetSize;
+	}
+
+	@Override
+	public boolean isGameOver()
+	{
+		return shipsSunk.get() == spec.getFleetSize();
+	}
+
+	/**
+	 * {@inheritDoc} The matrix is built under the lock of the ocean, one
+	 * stripe at a time, and kept up to date with the shots fired under the
+	 * lock of each stripe.
+	 */
+	@Override
+	public synchronized Ship[][] getShipArray()
+	{
+		return super.getShipArray();
+	}
+
+	/**
+	 * {@inheritDoc} Ships must be placed before the ocean is shared with the
+	 * players.
+	 */
+	@Override
+	public synchronized void placeShip(Ship ship)
+	{
+		super.placeShip(ship);
+	}
+
+	@Override
+	public boolean isOccupied(int row, int column)
+	{
+		if (spec.contains(row, column))
+		{
+			// check only if the coordinates are in range
+			return segments.get((long) row * spec.getWidth() + column) != 0;
+		}
+
+		return false;
+	}
+
+	@Override
+	public String getShipTypeAt(int row, int column)
+	{
+		spec.checkLocation(row, column);
+
+		int shipIndex = segments.get((long) row * spec.getWidth() + column);
+
+		return shipIndex == 0 ? EmptySea.EMPTY_SEA_TYPE : fleet[shipIndex - 1].getShipType();
+	}
+
+	@Override
+	public boolean hasSunkShipAt(int row, int column)
+	{
+		if (spec.contains(row, column))
+		{
+			// check only if the coordinates are in range
+			int shipIndex = segments.get((long) row * spec.getWidth() + column);
+
+			if (shipIndex != 0)
+			{
+				Ship ship = fleet[shipIndex - 1];
+
+				synchronized (stripeOf(ship.getBowRow()))
+				{
+					return ship.isSunk();
+				}
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Returns a {@code char} representing the current state of the given
+	 * location, using the same notation as {@linkplain Ocean#print()}.
+	 *
+	 * @param row
+	 *            vertical coordinate of the location to display.
+	 * @param column
+	 *            horizontal coordinate of the location to display.
+	 * @return a {@code char} representing the state of the location.
+	 * @throws IllegalArgumentException
+	 *             if the coordinates provided fall outside the ocean.
+	 */
+	@Override
+	public char getStateAt(int row, int column)
+	{
+		spec.checkLocation(row, column);
+
+		long cell = (long) row * spec.getWidth() + column;
+		int shipIndex = segments.get(cell);
+
+		if (shipIndex == 0)
+		{
+			Stripe stripe = stripeOf(row);
+
+			synchronized (stripe)
+			{
+				return stripe.misses.contains(cell - stripe.firstCell()) ? '-' : '.';
+			}
+		}
+
+		Ship ship = fleet[shipIndex - 1];
+
+		synchronized (stripeOf(ship.getBowRow()))
+		{
+			// get the relevant char from the ship state based on orientation
+			// and offset from the bow
+			int offset = ship.isHorizontal() ? column - ship.getBowColumn() : row - ship.getBowRow();
+
+			return ship.isSunk() ? 'x' : ship.getStateAt(offset);
+		}
+	}
+
+	/**
+	 * {@inheritDoc} Each stripe is handed the matrix as it is filled in, so
+	 * that it can replay the shots it guards.
+	 */
+	@Override
+	protected Ship[][] buildShipArray()
+	{
+		Ship[][] ships = new Ship[spec.getHeight()][spec.getWidth()];
+
+		for (Stripe stripe : stripes)
+		{
+			// fill in one stripe at a time, keeping out the shots at its
+			// empty sea and at the ships it guards
+			synchronized (stripe)
+			{
+				int lastRow = Math.min(spec.getHeight(), stripe.firstRow + stripeRows);
+
+				for (int i = stripe.firstRow; i < lastRow; i++)
+				{
+					for (int j = 0; j < spec.getWidth(); j++)
+					{
+						long cell = (long) i * spec.getWidth() + j;
+						int shipIndex = segments.get(cell);
+
+						if (shipIndex == 0)
+						{
+							// create an empty sea and replay the shot fired
+							// at it
+							ships[i][j] = Ocean.createShip(ShipKind.EMPTY_SEA, spec, i, j, true);
+
+							if (stripe.misses.contains(cell - stripe.firstCell()))
+							{
+								ships[i][j].shootAt(i, j);
+							}
+						}
+						else
+						{
+							ships[i][j] = fleet[shipIndex - 1];
+						}
+					}
+				}
+
+				stripe.view = ships;
+			}
+		}
+
+		return ships;
+	}
+
+	/**
+	 * Fires a shot at the given location, updating the state of the location
+	 * and the counts of the stripe guarding it, under the lock of the stripe.
+	 * Shots out of range are still counted, apart from any stripe so that they
+	 * do not contend for the lock of the first one.
+	 *
+	 * @param row
+	 *            vertical coordinate to be fired upon.
+	 * @param column
+	 *            horizontal coordinate to be fired upon.
+	 * @return the result of the shot, as a code of the
+	 *         {@linkplain ShotResults}.
+	 */
+	@Override
+	protected byte fire(int row, int column)
+	{
+		// try and hit ships only within the ocean's borders
+		if (!spec.contains(row, column))
+		{
+			// still count the shot, as every other board does
+			shotsOutOfRange.increment();
+
+			return ShotResults.OUT_OF_RANGE;
+		}
+
+		long cell = (long) row * spec.getWidth() + column;
+		int shipIndex = segments.get(cell);
+
+		if (shipIndex == 0)
+		{
+			Stripe stripe = stripeOf(row);
+
+			synchronized (stripe)
+			{
+				stripe.shotsFired++;
+
+				// empty sea: just remember that the location was fired upon
+				boolean repeated = !stripe.misses.add(cell - stripe.firstCell());
+
+				if (!repeated && stripe.view != null)
+				{
+					stripe.view[row][column].shootAt(row, column);
+				}
+
+				return ShotResults.shotAtSea(repeated);
+			}
+		}
+
+		Ship ship = fleet[shipIndex - 1];
+		byte kind = ShotResults.kindOf(ship);
+		Stripe stripe = stripeOf(ship.getBowRow());
+
+		synchronized (stripe)
+		{
+			stripe.shotsFired++;
+
+			if (ship.isSunk())
+			{
+				return ShotResults.shotAtSunkShip(kind);
+			}
+
+			int offset = ship.isHorizontal() ? column - ship.getBowColumn() : row - ship.getBowRow();
+			boolean repeated = ship.isHitAt(offset);
+
+			ship.shootAt(row, column);
+			stripe.hitCount++;
+
+			// only the shot hitting the last part sinks the ship
+			boolean sinking = !repeated && ship.isSunk();
+
+			if (sinking)
+			{
+				shipsSunk.incrementAndGet();
+			}
+
+			return ShotResults.shotAtShip(kind, repeated, sinking);
+		}
+	}
+
+	/**
+	 * {@inheritDoc} Every shot is counted as it is fired, by the stripe it
+	 * lands in, so there is nothing left to count.
+	 */
+	@Override
+	protected void countShots(int fired, int hits, int sinks)
+	{
+	}
+
+	/**
+	 * Indexes the locations covered by the given ship and adds it to the fleet.
+	 * No check is performed on the area covered.
+	 *
+	 * @param ship
+	 *            the ship to add.
+	 */
+	@Override
+	protected void dropShip(Ship ship)
+	{
+		if (fleetSize == fleet.length)
+		{
+			// more ships than the fleet in the spec: make room for them
+			fleet = Arrays.copyOf(fleet, fleetSize * 2);
+		}
+
+		fleet[fleetSize++] = ship;
+
+		for (int i = 0; i < ship.getLength(); i++)
+		{
+			int row = ship.isHorizontal() ? ship.getBowRow() : ship.getBowRow() + i;
+			int column = ship.isHorizontal() ? ship.getBowColumn() + i : ship.getBowColumn();
+
+			segments.put((long) row * spec.getWidth() + column, fleetSize);
+		}
+
+		viewShip(ship);
+	}
+
+
+	// ============== private methods ============= //
+
+	/**
+	 * Returns the stripe holding the given row.
+	 *
+	 * @param row
+	 *            a row within the ocean.
+	 * @return the stripe holding the row.
+	 */
+	private Stripe stripeOf(int row)
+	{
+		return stripes[row / stripeRows];
+	}
+
+
+	// ============== nested classes ============= //
+
+	/**
+	 * Stripe of consecutive rows of the ocean, guarding the empty sea in its
+	 * rows and the ships whose bow lies in its rows. Every field is accessed
+	 * under the lock of the stripe.
+	 */
+	private final class Stripe
+	{
+		/** first row of the stripe. */
+		private final int firstRow;
+
+		/**
+		 * indexes of the empty sea locations of the stripe that have been fired
+		 * upon, relative to the first location of the stripe.
+		 */
+		private final CompressedBitmap misses;
+
+		/** count of the shots fired at the locations guarded by the stripe. */
+		private int shotsFired;
+
+		/** count of the hits on the ships guarded by the stripe. */
+		private int hitCount;
+
+		/** matrix of ships handed out for debugging, once built. */
+		private Ship[][] view;
+
+
+		/**
+		 * Builds an empty stripe.
+		 *
+		 * @param firstRow
+		 *            the first row of the stripe.
+		 * @param area
+		 *            the number of locations of the stripe.
+		 */
+		private Stripe(int firstRow, long area)
+		{
+			this.firstRow = firstRow;
+			this.misses = new CompressedBitmap(area);
+		}
+
+		/**
+		 * Returns the index of the first location of the stripe.
+		 *
+		 * @return the index of the first location, row by row.
+		 */
+		private long firstCell()
+		{
+			return (long) firstRow * spec.getWidth();
+		}
+	}
+
+	/**
+	 * Player shooting at the shared ocean, keeping its own score. A player
+	 * must be used by one thread at a time: its score is only ever written by
+	 * that thread, so it can be read at any time from any other thread without
+	 * slowing down the shots of the other players.
+	 */
+	public final class Player
+	{
+		/** the name of the player. */
+		private final String name;
+
+		/** count of the shots fired by the player. */
+		private volatile int shotsFired;
+
+		/** count of the times the player hit a ship that was not sunken. */
+		private volatile int hitCount;
+
+		/** number of ships sunk by the player. */
+		private volatile int shipsSunk;
+
+
+		/**
+		 * Builds a player with no shots fired.
+		 *
+		 * @param name
+		 *            the name of the player.
+		 */
+		private Player(String name)
+		{
+			this.name = name;
+		}
+
+		/**
+		 * Returns the name of the player.
+		 *
+		 * @return the name of the player.
+		 */
+		public String getName()
+		{
+			return name;
+		}
+
+		/**
+		 * Returns the number of shots fired by the player.
+		 *
+		 * @return the number of shots fired.
+		 */
+		public int getShotsFired()
+		{
+			return shotsFired;
+		}
+
+		/**
+		 * Returns the number of times the player hit a ship that was not
+		 * sunken.
+		 *
+		 * @return the number of hits.
+		 */
+		public int getHitCount()
+		{
+			return hitCount;
+		}
+
+		/**
+		 * Returns the number of ships sunk by the player: every ship is
+		 * credited to the one player whose shot sunk it.
+		 *
+		 * @return the number of ships sunk.
+		 */
+		public int getShipsSunk()
+		{
+			return shipsSunk;
+		}
+
+		/**
+		 * Shoots at the location correspondent to the given coordinates on
+		 * behalf of the player, and updates the score of the player.
+		 *
+		 * @param row
+		 *            vertical coordinate to be fired upon.
+		 * @param column
+		 *            horizontal coordinate to be fired upon.
+		 * @return the result of the shot, as a code of the
+		 *         {@linkplain ShotResults}; {@linkplain ShotResults#SUNK} is
+		 *         returned to a single player for each ship.
+		 */
+		public byte shootAt(int row, int column)
+		{
+			byte result = fire(row, column);
+
+			score(result);
+
+			return result;
+		}
+
+		/**
+		 * Shoots at each of the given locations on behalf of the player, and
+		 * updates the score of the player.
+		 *
+		 * @param shots
+		 *            the locations to be fired upon, as packed by
+		 *            {@linkplain ShotResults#shot(int, int)}.
+		 * @param results
+		 *            where to write the result of each shot; at least as long
+		 *            as the shots.
+		 * @throws IllegalArgumentException
+		 *             if the results cannot hold a result for every shot.
+		 */
+		public void shootAt(long[] shots, byte[] results)
+		{
+			ShotResults.checkBatch(shots.length, shots.length, results.length);
+
+			for (int i = 0; i < shots.length; i++)
+			{
+				results[i] = fire(ShotResults.row(shots[i]), ShotResults.column(shots[i]));
+
+				score(results[i]);
+			}
+		}
+
+		@Override
+		public String toString()
+		{
+			return name + ": " + shotsFired + " shots, " + hitCount + " hits, " + shipsSunk + " ships sunk";
+		}
+
+		/**
+		 * Updates the score of the player with the result of a shot. Only the
+		 * thread using the player writes its score.
+		 *
+		 * @param result
+		 *            the result of the shot.
+		 */
+		private void score(byte result)
+		{
+			shotsFired++;
+
+			if (ShotResults.isScored(result))
+			{
+				hitCount++;
+
+				if (ShotResults.outcome(result) == ShotResults.SUNK)
+				{
+					shipsSunk++;
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,147 @@
+package battleship;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Measures how the throughput of the players shooting at one giant
+ * {@linkplain SharedOcean} scales with the number of players, each on its own
+ * thread. The ocean split into many stripes is compared against the same
+ * ocean held by a single stripe, that is under one global lock; for each
+ * number of players the benchmark reports the total shots per second and the
+ * shots per second of each player.
+ *
+ * @author Angelo Oparah
+ *
+ */
+public class SharedOceanBenchmark
+{
+	/** dimensions of the shared ocean and composition of its fleet. */
+	private static final BoardSpec SPEC = new BoardSpec(BoardSpec.MAX_HEIGHT, BoardSpec.MAX_WIDTH, 500, 1000, 1500,
+			2000);
+
+	/** number of random shots fired by each player. */
+	private static final int SHOTS = 2_000_000;
+
+	/** number of players to measure, unless given on the command line. */
+	private static final int[] PLAYERS = { 1, 2, 4, 8, 16 };
+
+
+	/**
+	 * Runs the benchmark for both the striped and the globally locked ocean,
+	 * printing one line per measurement.
+	 *
+	 * @param args
+	 *            optionally, the numbers of players to measure.
+	 */
+	public static void main(String[] args) throws InterruptedException
+	{
+		int[] players = PLAYERS;
+
+		if (args.length > 0)
+		{
+			players = new int[args.length];
+
+			for (int i = 0; i < args.length; i++)
+			{
+				players[i] = Integer.parseInt(args[i]);
+			}
+		}
+
+		System.out.printf("available processors: %d%n", Runtime.getRuntime().availableProcessors());
+		System.out.printf("%-10s %8s %8s %16s %18s%n", "ocean", "stripes", "players", "shots/s", "shots/s/player");
+
+		for (boolean striped : new boolean[] { true, false })
+		{
+			SharedOcean ocean = striped ? new SharedOcean(SPEC) : new SharedOcean(SPEC, 1);
+			ocean.placeAllShipsRandomly();
+
+			for (int count : players)
+			{
+				// run twice, so that the second run is measured on warm code
+				measure(ocean, count, false);
+				measure(ocean, count, true);
+			}
+		}
+	}
+
+	/**
+	 * Measures a number of players shooting at the same ocean.
+	 *
+	 * @param ocean
+	 *            the ocean to shoot at.
+	 * @param players
+	 *            the number of players shooting, each on its own thread.
+	 * @param report
+	 *            whether or not the results should be printed.
+	 */
+	private static void measure(SharedOcean ocean, int players, boolean report) throws InterruptedException
+	{
+		CountDownLatch ready = new CountDownLatch(players);
+		CountDownLatch start = new CountDownLatch(1);
+		Thread[] shooters = new Thread[players];
+
+		for (int p = 0; p < players; p++)
+		{
+			SharedOcean.Player player = ocean.join("player " + p);
+
+			// draw the shots up front, so that only the shots are measured
+			long[] shots = new long[SHOTS];
+			SplittableRandom random = new SplittableRandom(ocean.getPlayers().size());
+
+			for (int i = 0; i < SHOTS; i++)
+			{
+				shots[i] = ShotResults.shot(random.nextInt(SPEC.getHeight()), random.nextInt(SPEC.getWidth()));
+			}
+
+			shooters[p] = new Thread(() ->
+			{
+				ready.countDown();
+				awaitQuietly(start);
+
+				for (int i = 0; i < SHOTS; i++)
+				{
+					player.shootAt(ShotResults.row(shots[i]), ShotResults.column(shots[i]));
+				}
+			});
+			shooters[p].start();
+		}
+
+		ready.await();
+		long begin = System.nanoTime();
+		start.countDown();
+
+		for (Thread shooter : shooters)
+		{
+			shooter.join();
+		}
+
+		long elapsed = System.nanoTime() - begin;
+		double shotsPerSecond = (double) SHOTS * players * 1e9 / elapsed;
+
+		if (report)
+		{
+			System.out.printf("%-10s %8d %8d %16.0f %18.0f%n", ocean.getStripeCount() > 1 ? "striped" : "global",
+					ocean.getStripeCount(), players, shotsPerSecond, shotsPerSecond / players);
+		}
+	}
+
+	/**
+	 * Waits for the given latch to be released, restoring the interrupt status
+	 * if interrupted.
+	 *
+	 * @param latch
+	 *            the latch to wait for.
+	 */
+	private static void awaitQuietly(CountDownLatch latch)
+	{
+		try
+		{
+			latch.await();
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+		}
+	}
+}
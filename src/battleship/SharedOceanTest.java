@@ -0,0 +1,137 @@
+package battleship;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+/**
+ * Runs every test in {@linkplain OceanTest} against the
+ * {@linkplain SharedOcean} implementation, and checks that the scores of many
+ * players shooting at the same ocean at once add up.
+ *
+ * @author Angelo Oparah
+ *
+ */
+public class SharedOceanTest extends OceanTest
+{
+	/** number of players shooting at the same ocean. */
+	private static final int PLAYERS = 8;
+
+
+	/** {@inheritDoc} */
+	@Override
+	protected Board createOcean()
+	{
+		return new SharedOcean();
+	}
+
+	/**
+	 * Each ship sunk should be credited to exactly one player, and the scores
+	 * of the players should add up to the totals of the ocean
+	 */
+	@Test
+	public void test_Player_eachSinkShouldBeCreditedToExactlyOnePlayer() throws Exception
+	{
+		// if we place the fleet onto a large ocean split into a few stripes
+		BoardSpec spec = new BoardSpec(60, 50, 5, 8, 10, 12);
+		SharedOcean ocean = new SharedOcean(spec, 7);
+		ocean.placeAllShipsRandomly();
+
+		// and many players fire twice at every location at once, each one
+		// starting from a different row
+		ExecutorService executor = Executors.newFixedThreadPool(PLAYERS);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<?>> shooters = new ArrayList<>();
+
+		try
+		{
+			for (int p = 0; p < PLAYERS; p++)
+			{
+				SharedOcean.Player player = ocean.join("player " + p);
+				int offset = p * spec.getHeight() / PLAYERS;
+
+				shooters.add(executor.submit(() ->
+				{
+					long[] shots = new long[spec.getWidth()];
+					byte[] results = new byte[spec.getWidth()];
+
+					start.await();
+
+					for (int i = 0; i < 2 * spec.getHeight(); i++)
+					{
+						int row = (i + offset) % spec.getHeight();
+
+						for (int j = 0; j < spec.getWidth(); j++)
+						{
+							shots[j] = ShotResults.shot(row, j);
+						}
+
+						// alternate whole rows and single shots
+						if (i % 2 == 0)
+						{
+							player.shootAt(shots, results);
+						}
+						else
+						{
+							for (int j = 0; j < spec.getWidth(); j++)
+							{
+								player.shootAt(row, j);
+							}
+						}
+					}
+
+					return null;
+				}));
+			}
+
+			start.countDown();
+
+			for (Future<?> shooter : shooters)
+			{
+				shooter.get();
+			}
+		}
+		finally
+		{
+			executor.shutdownNow();
+		}
+
+		// we should expect the scores of the players to add up to the totals
+		// of the ocean, and every ship to be credited to one player only
+		int shots = 0;
+		int hits = 0;
+		int sunk = 0;
+
+		for (SharedOcean.Player player : ocean.getPlayers())
+		{
+			shots += player.getShotsFired();
+			hits += player.getHitCount();
+			sunk += player.getShipsSunk();
+		}
+
+		assertEquals(PLAYERS, ocean.getPlayers().size());
+		assertEquals(PLAYERS * 2 * spec.getHeight() * spec.getWidth(), shots);
+		assertEquals(ocean.getShotsFired(), shots);
+		assertEquals(ocean.getHitCount(), hits);
+		assertEquals(spec.getFleetSize(), sunk);
+		assertEquals(spec.getFleetSize(), ocean.getShipsSunk());
+		assertTrue(ocean.isGameOver());
+	}
+
+	/**
+	 * Expect a IAE for a non positive number of stripes
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void test_SharedOcean_shouldRejectANonPositiveNumberOfStripes()
+	{
+		new SharedOcean(BoardSpec.STANDARD, 0);
+	}
+}
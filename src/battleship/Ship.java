@@ -5,12 +5,17 @@ package battleship;
  * Represents a ship of variable length in the {@linkplain Ocean}. Each ship
  * holds information about the coordinates of the bow, the length of the ship,
  * its orientation (vertical or horizontal) and the state of each part of the
- * ship (hit or non-hit).
+ * ship (hit or non-hit). The parts hit are kept in a bit mask alongside the
+ * count of the parts still afloat, so that telling whether the ship is sunk
+ * takes constant time.
  *
  * @author Angelo Oparah
  */
 public abstract class Ship
 {
+	/** max length of a ship, as the parts hit are kept in a bit mask. */
+	public static final int MAX_LENGTH = Integer.SIZE;
+
 	/** measures the length of the (whole) ship. */
 	private int length;
 
@@ -23,8 +28,14 @@ public abstract class Ship
 	/** orientation of the ship: true means horizontal, false vertical. */
 	private boolean horizontal;
 
-	/** indicates what parts of the ship have been hit. */
-	private boolean[] hit;
+	/** indicates what parts of the ship have been hit, one bit per part. */
+	private int hits;
+
+	/** number of parts of the ship that have not been hit yet. */
+	private int partsAfloat;
+
+	/** spec of the board the ship is built for. */
+	private final BoardSpec spec;
 
 
 	/**
@@ -35,8 +46,9 @@ public abstract class Ship
 	 * whole ship, so each ship part belonging to the same ship should have the
 	 * same length. The length must be less than both the {@linkplain Ocean}'s
 	 * height and width to ensure that the ship can be placed anywhere in the
-	 * ocean regardless of what orientation: if that is not the case an
-	 * exception will be thrown.
+	 * ocean regardless of what orientation, and no greater than
+	 * {@value #MAX_LENGTH}: if that is not the case an exception will be
+	 * thrown.
 	 *
 	 *
 	 * @param length
@@ -46,18 +58,38 @@ public abstract class Ship
 	 *             exceeds the {@linkplain Ocean} boundaries.
 	 */
 	public Ship(int length)
+	{
+		this(length, BoardSpec.STANDARD);
+	}
+
+	/**
+	 * Builds a part of a ship that will be placed onto a board of the given
+	 * spec. The length of the ship and the bow coordinates are validated
+	 * against the dimensions of the board rather than the standard
+	 * {@linkplain Ocean} ones.
+	 *
+	 * @param length
+	 *            the length of the ship; must be greater than zero.
+	 * @param spec
+	 *            spec of the board the ship will be placed onto.
+	 * @throws IllegalArgumentException
+	 *             if the length provided is less or equal to zero or if it
+	 *             exceeds the board's boundaries.
+	 */
+	public Ship(int length, BoardSpec spec)
 	{
 		if (length <= 0)
 		{
 			throw new IllegalArgumentException("Illegal non positive value for ship length: " + length);
 		}
-		if (length > Ocean.OCEAN_HEIGHT || length > Ocean.OCEAN_WIDTH)
+		if (length > spec.getHeight() || length > spec.getWidth() || length > MAX_LENGTH)
 		{
 			throw new IllegalArgumentException("Illegal out of range value for ship length: " + length);
 		}
 
 		this.length = length;
-		hit = new boolean[length];
+		this.spec = spec;
+		partsAfloat = length;
 	}
 
 	/**
@@ -67,6 +99,19 @@ public abstract class Ship
 	 */
 	public abstract String getShipType();
 
+	/**
+	 * Returns the kind of the ship, which tells its type and its length as a
+	 * compact id. Every type of ship registered in {@linkplain ShipKind}
+	 * returns its own kind.
+	 *
+	 * @return the kind of the ship, or {@code null} if its type is not
+	 *         registered.
+	 */
+	public ShipKind getKind()
+	{
+		return null;
+	}
+
 	/**
 	 * Shoots at the part of the ship placed at the given location and marks
 	 * that part of the ship as hit. If the ship receives a 'shootAt' message
@@ -106,9 +151,15 @@ public abstract class Ship
 			// can safely mark the hit array based on the correct offset
 			int offsetFromTheBow = horizontal ? horizontalOffset : verticalOffset;
 
-			// mark the hit array accordingly to indicate what
-			// part of the ship (as a whole) was hit.
-			hit[offsetFromTheBow] = true;
+			// mark the hit mask accordingly to indicate what part of the
+			// ship (as a whole) was hit: parts hit again are counted once
+			int part = 1 << offsetFromTheBow;
+
+			if ((hits & part) == 0)
+			{
+				hits |= part;
+				partsAfloat--;
+			}
 
 			return isRealShip();
 		}
@@ -125,17 +176,55 @@ public abstract class Ship
 	 */
 	public boolean isSunk()
 	{
-		for (boolean shipPartWasHit : hit)
+		return partsAfloat == 0;
+	}
+
+	/**
+	 * Repairs every part of the ship, as if it was never fired upon, so that
+	 * the same ship can be placed again in a new game.
+	 */
+	void repair()
+	{
+		hits = 0;
+		partsAfloat = length;
+	}
+
+	/**
+	 * Indicates whether the part of the ship at the given offset from the bow
+	 * has been hit.
+	 *
+	 * @param offset
+	 *            offset of the part from the bow; must be greater or equal to
+	 *            zero and less than the length of the ship.
+	 * @return {@code true} if the part was hit, {@code false} otherwise.
+	 * @throws IllegalArgumentException
+	 *             if the offset is out of range.
+	 */
+	public boolean isHitAt(int offset)
+	{
+		if (offset < 0 || offset >= length)
 		{
-			if (!shipPartWasHit)
-			{
-				// return false soon as a "safe" (hit == false) part of the ship
-				// is found
-				return false;
-			}
+			throw new IllegalArgumentException("Illegal out of range value for offset: " + offset);
 		}
 
-		return true;
+		return (hits & (1 << offset)) != 0;
+	}
+
+	/**
+	 * Returns a {@code char} representing the current state of the part of the
+	 * ship at the given offset from the bow, using the same notation as
+	 * {@link #toString()}.
+	 *
+	 * @param offset
+	 *            offset of the part from the bow; must be greater or equal to
+	 *            zero and less than the length of the ship.
+	 * @return a {@code char} representing the state of the part.
+	 * @throws IllegalArgumentException
+	 *             if the offset is out of range.
+	 */
+	public char getStateAt(int offset)
+	{
+		return isHitAt(offset) ? (isRealShip() ? 'S' : '-') : '.';
 	}
 
 	/**
@@ -148,6 +237,16 @@ public abstract class Ship
 		return length;
 	}
 
+	/**
+	 * Returns the spec of the board the ship was built for.
+	 *
+	 * @return the spec of the board.
+	 */
+	public BoardSpec getSpec()
+	{
+		return spec;
+	}
+
 	/**
 	 * Returns the vertical coordinate of the bow.
 	 *
@@ -163,14 +262,13 @@ public abstract class Ship
 	 *
 	 * @param bowRow
 	 *            value to set the vertical coordinate to; must be greater or
-	 *            equal to zero and less than the {@linkplain Ocean} Height.
+	 *            equal to zero and less than the board's height.
 	 * @throws IllegalArgumentException
-	 *             if the coordinate falls outside the {@linkplain Ocean}
-	 *             borders
+	 *             if the coordinate falls outside the board's borders
 	 */
 	public void setBowRow(int bowRow)
 	{
-		if (bowRow < 0 || bowRow > Ocean.OCEAN_HEIGHT)
+		if (bowRow < 0 || bowRow > spec.getHeight())
 		{
 			throw new IllegalArgumentException("Illegal out of range value for bowRow: " + bowRow);
 		}
@@ -193,14 +291,13 @@ public abstract class Ship
 	 *
 	 * @param bowColumn
 	 *            value to set the vertical coordinate to; must be greater or
-	 *            equal to zero and less than the {@linkplain Ocean} Width.
+	 *            equal to zero and less than the board's width.
 	 * @throws IllegalArgumentException
-	 *             if the coordinate falls outside the {@linkplain Ocean}
-	 *             borders
+	 *             if the coordinate falls outside the board's borders
 	 */
 	public void setBowColumn(int bowColumn)
 	{
-		if (bowColumn < 0 || bowColumn > Ocean.OCEAN_WIDTH)
+		if (bowColumn < 0 || bowColumn > spec.getWidth())
 		{
 			throw new IllegalArgumentException("Illegal out of range value for bowColumn: " + bowColumn);
 		}
@@ -257,16 +354,16 @@ public abstract class Ship
 	@Override
 	public String toString()
 	{
-		String state = "";
+		char[] state = new char[length];
 
-		for (boolean shipPartWasHit : hit)
+		for (int i = 0; i < length; i++)
 		{
 			// if the ship part was hit add an "S" for real ships or a "-" for
 			// empty sea spots, otherwise add a "." to indicate that the ship
 			// part is yet to be fired upon
-			state += shipPartWasHit ? (isRealShip() ? "S" : "-") : ".";
+			state[i] = getStateAt(i);
 		}
 
-		return state;
+		return new String(state);
 	}
 }
@@ -0,0 +1,186 @@
+package battleship;
+
+import java.util.function.Function;
+
+/**
+ * Registry of the kinds of {@linkplain Ship}, each with a compact id, its
+ * length, its type and a factory of its ships. Ships are built from their kind
+ * by {@linkplain #newShip(BoardSpec)}, and every lookup by id is a plain array
+ * access, so hot paths can store and compare the {@code int} id of a kind
+ * rather than classes or strings: a board can keep the id of the kind at each
+ * location in a single {@code byte}. A new type of ship takes a new constant
+ * here, before {@link #EMPTY_SEA}, and its class returning it from
+ * {@linkplain Ship#getKind()}: the {@linkplain ShipPlacer} and the
+ * {@linkplain ShotResults} pick up its length and its code from the registry.
+ * A {@linkplain BoardSpec} still counts the four standard types only, and the
+ * {@linkplain ShotOutcome outcomes} of the shots report any other type as
+ * another ship.
+ * <p>
+ * The ids of the kinds making up a fleet follow the order of the
+ * {@linkplain BoardSpec}, from the longest ship to the shortest, so that they
+ * double as the types of the {@linkplain ShipPlacer}; the empty sea comes
+ * last.
+ *
+ * @author Angelo Oparah
+ *
+ */
+public enum ShipKind
+{
+	/** the {@linkplain Battleship}. */
+	BATTLESHIP(Battleship.class, Battleship.BATTLESHIP_TYPE, Battleship.BATTLESHIP_LENGTH, Battleship::new),
+
+	/** the {@linkplain Cruiser}. */
+	CRUISER(Cruiser.class, Cruiser.CRUISER_TYPE, Cruiser.CRUISER_LENGTH, Cruiser::new),
+
+	/** the {@linkplain Destroyer}. */
+	DESTROYER(Destroyer.class, Destroyer.DESTROYER_TYPE, Destroyer.DESTROYER_LENGTH, Destroyer::new),
+
+	/** the {@linkplain Submarine}. */
+	SUBMARINE(Submarine.class, Submarine.SUBMARINE_TYPE, Submarine.SUBMARINE_LENGTH, Submarine::new),
+
+	/** the {@linkplain EmptySea}, covering a single location. */
+	EMPTY_SEA(EmptySea.class, EmptySea.EMPTY_SEA_TYPE, EmptySea.EMPTY_SEA_LENGTH, EmptySea::new);
+
+	/** every kind, by id. */
+	private static final ShipKind[] KINDS = values();
+
+	/** class of the ships of this kind. */
+	private final Class<? extends Ship> shipClass;
+
+	/** type of the ships of this kind, as given by the ships themselves. */
+	private final String type;
+
+	/** length of the ships of this kind. */
+	private final int length;
+
+	/** builds a ship of this kind for a board of the given spec. */
+	private final Function<BoardSpec, Ship> factory;
+
+
+	/**
+	 * Registers a kind of ship.
+	 *
+	 * @param shipClass
+	 *            class of the ships of the kind.
+	 * @param type
+	 *            type of the ships of the kind.
+	 * @param length
+	 *            length of the ships of the kind.
+	 * @param factory
+	 *            builds a ship of the kind for a board of the given spec.
+	 */
+	private ShipKind(Class<? extends Ship> shipClass, String type, int length, Function<BoardSpec, Ship> factory)
+	{
+		this.shipClass = shipClass;
+		this.type = type;
+		this.length = length;
+		this.factory = factory;
+	}
+
+	/**
+	 * Returns the kind with the given id.
+	 *
+	 * @param id
+	 *            the id of the kind, as given by {@link #getId()}.
+	 * @return the kind of ship.
+	 * @throws IllegalArgumentException
+	 *             if no kind has the given id.
+	 */
+	public static ShipKind byId(int id)
+	{
+		if (id < 0 || id >= KINDS.length)
+		{
+			throw new IllegalArgumentException("Illegal out of range value for ship kind id: " + id);
+		}
+
+		return KINDS[id];
+	}
+
+	/**
+	 * Returns the kind of the ships of the given class.
+	 *
+	 * @param shipClass
+	 *            the class of the ships.
+	 * @return the kind of ship, or {@code null} if the class is not
+	 *         registered.
+	 */
+	public static ShipKind forClass(Class<? extends Ship> shipClass)
+	{
+		// a handful of kinds: a scan beats hashing the class
+		for (ShipKind kind : KINDS)
+		{
+			if (kind.shipClass == shipClass)
+			{
+				return kind;
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * Returns the number of kinds registered, so that arrays indexed by the id
+	 * of the kinds can be sized.
+	 *
+	 * @return the number of kinds.
+	 */
+	public static int count()
+	{
+		return KINDS.length;
+	}
+
+	/**
+	 * Returns the compact id of the kind, from {@code 0} up to
+	 * {@link #count()} (exclusive).
+	 *
+	 * @return the id of the kind.
+	 */
+	public int getId()
+	{
+		return ordinal();
+	}
+
+	/**
+	 * Returns the type of the ships of this kind, such as
+	 * {@code "destroyer"}.
+	 *
+	 * @return the type of the ships.
+	 */
+	public String getType()
+	{
+		return type;
+	}
+
+	/**
+	 * Returns the length of the ships of this kind.
+	 *
+	 * @return the length of the ships.
+	 */
+	public int getLength()
+	{
+		return length;
+	}
+
+	/**
+	 * Indicates whether the ships of this kind are real ships, that is
+	 * anything but the {@linkplain EmptySea}.
+	 *
+	 * @return {@code true} for real ships, {@code false} otherwise.
+	 */
+	public boolean isReal()
+	{
+		return this != EMPTY_SEA;
+	}
+
+	/**
+	 * Builds a new ship part of this kind, for a board of the given spec.
+	 *
+	 * @param spec
+	 *            spec of the board the ship part will be placed onto.
+	 * @return a new ship part.
+	 */
+	public Ship newShip(BoardSpec spec)
+	{
+		return factory.apply(spec);
+	}
+}
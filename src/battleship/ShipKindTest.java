@@ -0,0 +1,62 @@
+package battleship;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+/**
+ * Test class to test the API of the {@linkplain ShipKind} registry.
+ *
+ * @author Angelo Oparah
+ *
+ */
+public class ShipKindTest
+{
+	/**
+	 * Every kind should build ships of its own kind, type and length, and be
+	 * found again from its id and from the class of its ships
+	 */
+	@Test
+	public void test_newShip_shouldBuildShipsOfTheSameKind()
+	{
+		for (int id = 0; id < ShipKind.count(); id++)
+		{
+			ShipKind kind = ShipKind.byId(id);
+			Ship ship = kind.newShip(BoardSpec.STANDARD);
+
+			assertEquals(id, kind.getId());
+			assertSame(kind, ship.getKind());
+			assertSame(kind, ShipKind.forClass(ship.getClass()));
+			assertEquals(kind.getType(), ship.getShipType());
+			assertEquals(kind.getLength(), ship.getLength());
+			assertEquals(kind.isReal(), ship.isRealShip());
+		}
+	}
+
+	/**
+	 * The kinds of the fleet should double as the types of the placement
+	 * engine, and the classes not registered should have no kind
+	 */
+	@Test
+	public void test_byId_fleetKindsShouldMatchThePlacementTypes()
+	{
+		for (int type = 0; type < ShipPlacer.LENGTHS.length; type++)
+		{
+			assertEquals(ShipPlacer.LENGTHS[type], ShipKind.byId(type).getLength());
+		}
+
+		assertNull(ShipKind.forClass(Ship.class));
+		assertNull(Ocean.createShip(Ship.class, BoardSpec.STANDARD, 0, 0, true));
+	}
+
+	/**
+	 * Looking up an id out of range should fail
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void test_byId_shouldRejectAnIdOutOfRange()
+	{
+		ShipKind.byId(ShipKind.count());
+	}
+}
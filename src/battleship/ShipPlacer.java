@@ -0,0 +1,820 @@
+package battleship;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Placement engine dropping a whole fleet onto a {@linkplain Board} in such a
+ * way that ships do not overlap and are not adjacent to other ships either
+ * vertically, horizontally, or diagonally. Rather than drawing random bows
+ * until one fits, the engine keeps, for every ship length and orientation, the
+ * set of bow positions that are still legal given the ships placed so far and
+ * draws each bow directly from it. When no legal position is left for the next
+ * ship it backtracks, moving the last ship placed to a different position, so
+ * that placing a fleet always terminates: either with a layout or, once every
+ * alternative or the backtrack budget has been exhausted, with an
+ * {@linkplain IllegalStateException}.
+ * <p>
+ * Keeping the legal sets takes a few bits per location, so boards larger than
+ * {@value #EXACT_AREA_LIMIT} locations, which are mostly empty anyway, are
+ * placed by drawing random bows with a bounded number of retries per ship.
+ * Small boards, such as the standard one, are first placed by drawing random
+ * positions and checking them against the precomputed masks of a
+ * {@linkplain PlacementTable}, falling back to the legal sets only when the
+ * fleet is so tight that random positions keep turning out illegal.
+ *
+ * @author Angelo Oparah
+ *
+ */
+public class ShipPlacer
+{
+	/** default max number of backtracks before giving up. */
+	public static final int DEFAULT_MAX_BACKTRACKS = 10_000;
+
+	/** default max number of random bows drawn for a ship on large boards. */
+	public static final int DEFAULT_MAX_RETRIES = 1 << 16;
+
+	/** max number of locations of a board placed by keeping the legal sets. */
+	public static final int EXACT_AREA_LIMIT = 1 << 20;
+
+	/** max number of positions drawn for a ship from a placement table. */
+	private static final int TABLE_RETRIES = 64;
+
+	/**
+	 * lengths of the ship types, one for each real {@linkplain ShipKind}: each
+	 * type is the id of its kind.
+	 */
+	static final int[] LENGTHS = new int[ShipKind.count() - 1];
+
+	static
+	{
+		for (ShipKind kind : ShipKind.values())
+		{
+			if (kind.isReal())
+			{
+				LENGTHS[kind.getId()] = kind.getLength();
+			}
+		}
+	}
+
+	/** dimensions of the board and composition of the fleet. */
+	private final BoardSpec spec;
+
+	/** source of the random positions. */
+	private final Random random;
+
+	/** max number of backtracks before giving up. */
+	private final int maxBacktracks;
+
+	/** max number of random bows drawn for a ship on large boards. */
+	private final int maxRetries;
+
+	/** masks of the positions of the ships, for small boards only. */
+	private final PlacementTable table;
+
+	/** locations covered by the ships placed from the {@link #table}. */
+	private final long[] occupied;
+
+	/** type of each ship of the fleet, as an index of {@link #LENGTHS}. */
+	private final int[] shipTypes;
+
+	/** vertical coordinate of the bow of each ship placed. */
+	private final int[] bowRows;
+
+	/** horizontal coordinate of the bow of each ship placed. */
+	private final int[] bowColumns;
+
+	/** orientation of each ship placed. */
+	private final boolean[] horizontals;
+
+	/** number of random bows that turned out not to be legal. */
+	private long retries;
+
+	/** number of times a ship had to be moved to make room for the next. */
+	private long backtracks;
+
+
+	/**
+	 * Builds a placement engine for the given spec with the default limits.
+	 *
+	 * @param spec
+	 *            dimensions of the board and composition of the fleet.
+	 * @param random
+	 *            source of the random positions.
+	 */
+	public ShipPlacer(BoardSpec spec, Random random)
+	{
+		this(spec, random, DEFAULT_MAX_BACKTRACKS, DEFAULT_MAX_RETRIES);
+	}
+
+	/**
+	 * Builds a placement engine for the given spec with the given limits.
+	 *
+	 * @param spec
+	 *            dimensions of the board and composition of the fleet.
+	 * @param random
+	 *            source of the random positions.
+	 * @param maxBacktracks
+	 *            max number of backtracks before giving up; must not be
+	 *            negative.
+	 * @param maxRetries
+	 *            max number of random bows drawn for a single ship on boards
+	 *            larger than {@value #EXACT_AREA_LIMIT} locations; must be
+	 *            strictly positive.
+	 * @throws IllegalArgumentException
+	 *             if a limit is out of range.
+	 */
+	public ShipPlacer(BoardSpec spec, Random random, int maxBacktracks, int maxRetries)
+	{
+		if (maxBacktracks < 0)
+		{
+			throw new IllegalArgumentException("Illegal negative value for maxBacktracks: " + maxBacktracks);
+		}
+		if (maxRetries <= 0)
+		{
+			throw new IllegalArgumentException("Illegal non positive value for maxRetries: " + maxRetries);
+		}
+
+		this.spec = spec;
+		this.random = random;
+		this.maxBacktracks = maxBacktracks;
+		this.maxRetries = maxRetries;
+
+		table = PlacementTable.forDimensions(spec.getHeight(), spec.getWidth());
+		occupied = table == null ? null : new long[table.words];
+
+		shipTypes = new int[spec.getFleetSize()];
+		bowRows = new int[shipTypes.length];
+		bowColumns = new int[shipTypes.length];
+		horizontals = new boolean[shipTypes.length];
+
+		// longer ones are placed first, as they are the hardest to fit
+		int[] counts = { spec.getBattleships(), spec.getCruisers(), spec.getDestroyers(), spec.getSubmarines() };
+
+		for (int type = 0, ship = 0; type < counts.length; type++)
+		{
+			Arrays.fill(shipTypes, ship, ship + counts[type], type);
+			ship += counts[type];
+		}
+	}
+
+	/**
+	 * Places the whole fleet of the spec onto the given board, which must have
+	 * the dimensions of the spec and be empty.
+	 *
+	 * @param board
+	 *            the board to place the fleet onto.
+	 * @throws IllegalStateException
+	 *             if any ship was already placed onto the board, or if the
+	 *             fleet could not be placed within the limits.
+	 */
+	public void placeFleet(Board board)
+	{
+		checkEmpty(board);
+		drawFleet();
+
+		for (int i = 0; i < shipTypes.length; i++)
+		{
+			board.placeShip(Ocean.createShip(ShipKind.byId(shipTypes[i]), spec, bowRows[i], bowColumns[i],
+					horizontals[i]));
+		}
+	}
+
+	/**
+	 * Checks that no ship was placed onto the given board yet. The positions
+	 * drawn for a fleet ignore the ships already placed, so placing a fleet
+	 * onto a board that is not empty would either stop half way, on a ship
+	 * overlapping with another one, or lay ships next to each other.
+	 *
+	 * @param board
+	 *            the board the fleet is about to be placed onto.
+	 * @throws IllegalStateException
+	 *             if any ship was already placed onto the board.
+	 */
+	static void checkEmpty(Board board)
+	{
+		if (board.getShipsPlaced() != 0)
+		{
+			throw new IllegalStateException("The board already holds " + board.getShipsPlaced() + " ships");
+		}
+	}
+
+	/**
+	 * Checks that the given ship can be placed onto a board of the given spec:
+	 * it must be a real ship, lie within the borders of the board and not
+	 * overlap with any ship already placed. Unlike the fleets placed by the
+	 * engine, ships placed one by one may be adjacent, so that any layout can
+	 * be reproduced.
+	 *
+	 * @param spec
+	 *            dimensions of the board.
+	 * @param ship
+	 *            the ship to place.
+	 * @param occupancy
+	 *            the locations of the board covered by the ships placed.
+	 * @throws IllegalArgumentException
+	 *             if the ship is not real, exceeds the board's borders or
+	 *             overlaps with a ship already placed.
+	 */
+	static void checkPlacement(BoardSpec spec, Ship ship, Occupancy occupancy)
+	{
+		if (ship == null || !ship.isRealShip())
+		{
+			throw new IllegalArgumentException("Illegal ship to place: " + ship);
+		}
+
+		int sternRow = ship.isHorizontal() ? ship.getBowRow() : ship.getBowRow() + ship.getLength() - 1;
+		int sternColumn = ship.isHorizontal() ? ship.getBowColumn() + ship.getLength() - 1 : ship.getBowColumn();
+
+		if (!spec.contains(sternRow, sternColumn))
+		{
+			throw new IllegalArgumentException("Illegal out of range ship stern: " + sternRow + ", " + sternColumn);
+		}
+
+		for (int i = 0; i < ship.getLength(); i++)
+		{
+			// refuse to overwrite any part of a ship already on the board
+			if (occupancy.isOccupied(ship.isHorizontal() ? ship.getBowRow() : ship.getBowRow() + i,
+					ship.isHorizontal() ? ship.getBowColumn() + i : ship.getBowColumn()))
+			{
+				throw new IllegalArgumentException("Illegal overlapping ship at: " + ship.getBowRow() + ", "
+						+ ship.getBowColumn());
+			}
+		}
+	}
+
+	/**
+	 * Draws a legal position for every ship of the fleet, without placing any
+	 * of them: the positions drawn are given by
+	 * {@linkplain #getBowRow(int)}, {@linkplain #getBowColumn(int)} and
+	 * {@linkplain #isHorizontal(int)}, the ships following the order of
+	 * {@linkplain #getShipType(int)}, which is the same for every fleet.
+	 *
+	 * @throws IllegalStateException
+	 *             if the fleet could not be placed within the limits.
+	 */
+	void drawFleet()
+	{
+		// small boards are mostly placed from the precomputed masks alone
+		if (table == null || !placeFromTable())
+		{
+			if ((long) spec.getHeight() * spec.getWidth() <= EXACT_AREA_LIMIT)
+			{
+				placeFromLegalSets();
+			}
+			else
+			{
+				placeByRetrying();
+			}
+		}
+	}
+
+	/**
+	 * Returns the type of the given ship of the fleet.
+	 *
+	 * @param ship
+	 *            the index of the ship within the fleet.
+	 * @return the type of the ship, as an index of {@link #LENGTHS}.
+	 */
+	int getShipType(int ship)
+	{
+		return shipTypes[ship];
+	}
+
+	/**
+	 * Returns the vertical coordinate of the bow of the given ship, as last
+	 * drawn.
+	 *
+	 * @param ship
+	 *            the index of the ship within the fleet.
+	 * @return the row of the bow.
+	 */
+	int getBowRow(int ship)
+	{
+		return bowRows[ship];
+	}
+
+	/**
+	 * Returns the horizontal coordinate of the bow of the given ship, as last
+	 * drawn.
+	 *
+	 * @param ship
+	 *            the index of the ship within the fleet.
+	 * @return the column of the bow.
+	 */
+	int getBowColumn(int ship)
+	{
+		return bowColumns[ship];
+	}
+
+	/**
+	 * Returns the orientation of the given ship, as last drawn.
+	 *
+	 * @param ship
+	 *            the index of the ship within the fleet.
+	 * @return {@code true} if the ship is horizontal, {@code false}
+	 *         otherwise.
+	 */
+	boolean isHorizontal(int ship)
+	{
+		return horizontals[ship];
+	}
+
+	/**
+	 * Returns the number of random bows that turned out not to be legal, over
+	 * every fleet placed by this engine. Only boards up to
+	 * {@value PlacementTable#MAX_AREA} locations or larger than
+	 * {@value #EXACT_AREA_LIMIT} locations retry.
+	 *
+	 * @return the number of retries.
+	 */
+	public long getRetries()
+	{
+		return retries;
+	}
+
+	/**
+	 * Returns the number of times a ship had to be moved because no legal
+	 * position was left for the following ship, over every fleet placed by
+	 * this engine.
+	 *
+	 * @return the number of backtracks.
+	 */
+	public long getBacktracks()
+	{
+		return backtracks;
+	}
+
+
+	// ============== private methods ============= //
+
+	/**
+	 * Places the fleet drawing random positions from the placement table and
+	 * checking each of them against the locations covered so far, which takes
+	 * a few nanoseconds on small boards. Tight fleets may leave no room for
+	 * the next ship: after {@value #TABLE_RETRIES} positions drawn for the
+	 * same ship the attempt is abandoned, for the exact engine to take over.
+	 *
+	 * @return {@code true} if the whole fleet was placed, {@code false}
+	 *         otherwise.
+	 */
+	private boolean placeFromTable()
+	{
+		Arrays.fill(occupied, 0);
+
+		for (int ship = 0; ship < shipTypes.length; ship++)
+		{
+			int type = shipTypes[ship];
+			int horizontalCount = table.positions(type, true);
+			int total = horizontalCount + table.positions(type, false);
+			int attempts = 0;
+
+			while (true)
+			{
+				// draw uniformly among every position, of either orientation
+				int pick = random.nextInt(total);
+				boolean horizontal = pick < horizontalCount;
+				int bow = table.bow(type, horizontal, horizontal ? pick : pick - horizontalCount);
+				int offset = table.offset(type, horizontal, bow);
+
+				if (table.isClear(offset, occupied))
+				{
+					bowRows[ship] = bow / spec.getWidth();
+					bowColumns[ship] = bow % spec.getWidth();
+					horizontals[ship] = horizontal;
+
+					table.occupy(offset, occupied);
+
+					break;
+				}
+
+				retries++;
+
+				if (++attempts == TABLE_RETRIES)
+				{
+					return false;
+				}
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Places the fleet drawing each bow from the set of the legal ones,
+	 * backtracking whenever the set of the next ship is empty. There is a set
+	 * per ship type and orientation: set {@code 2 * type} holds the horizontal
+	 * bows and set {@code 2 * type + 1} the vertical ones.
+	 */
+	private void placeFromLegalSets()
+	{
+		int area = spec.getHeight() * spec.getWidth();
+
+		LegalSet[] legal = new LegalSet[2 * LENGTHS.length];
+
+		for (int set = 0; set < legal.length; set++)
+		{
+			legal[set] = new LegalSet(area);
+		}
+
+		// positions ruled out at each depth by backtracking, encoded as
+		// 2 * bow + (horizontal ? 0 : 1)
+		int[][] banned = new int[shipTypes.length][];
+		int[] bannedCounts = new int[shipTypes.length];
+
+		resetLegalSets(legal, 0);
+
+		int depth = 0;
+
+		while (depth < shipTypes.length)
+		{
+			int type = shipTypes[depth];
+			int horizontalCount = legal[2 * type].count;
+			int total = horizontalCount + legal[2 * type + 1].count;
+
+			if (total == 0)
+			{
+				// the ship cannot be placed: move the previous one elsewhere
+				if (depth == 0 || backtracks == maxBacktracks)
+				{
+					throw new IllegalStateException("Unable to place the fleet of " + spec + " after " + backtracks
+							+ " backtracks");
+				}
+
+				backtracks++;
+				bannedCounts[depth] = 0;
+				depth--;
+
+				if (banned[depth] == null || bannedCounts[depth] == banned[depth].length)
+				{
+					banned[depth] = Arrays.copyOf(banned[depth] == null ? new int[0] : banned[depth],
+							Math.max(4, bannedCounts[depth] * 2));
+				}
+
+				int bow = bowRows[depth] * spec.getWidth() + bowColumns[depth];
+				banned[depth][bannedCounts[depth]++] = 2 * bow + (horizontals[depth] ? 0 : 1);
+
+				// rebuild the sets without the ships from this depth on
+				resetLegalSets(legal, depth);
+
+				for (int i = 0; i < bannedCounts[depth]; i++)
+				{
+					legal[2 * shipTypes[depth] + (banned[depth][i] & 1)].clear(banned[depth][i] >>> 1);
+				}
+
+				continue;
+			}
+
+			// draw uniformly among every legal bow, of either orientation
+			int pick = random.nextInt(total);
+			boolean horizontal = pick < horizontalCount;
+			int bow = legal[2 * type + (horizontal ? 0 : 1)].select(horizontal ? pick : pick - horizontalCount);
+
+			bowRows[depth] = bow / spec.getWidth();
+			bowColumns[depth] = bow % spec.getWidth();
+			horizontals[depth] = horizontal;
+
+			invalidateArea(legal, depth);
+			depth++;
+		}
+	}
+
+	/**
+	 * Resets the legal sets to hold every bow keeping the ship within the
+	 * board, then removes the bows made illegal by the ships placed before the
+	 * given depth.
+	 *
+	 * @param legal
+	 *            the legal sets.
+	 * @param depth
+	 *            number of ships placed.
+	 */
+	private void resetLegalSets(LegalSet[] legal, int depth)
+	{
+		int height = spec.getHeight();
+		int width = spec.getWidth();
+
+		for (int type = 0; type < LENGTHS.length; type++)
+		{
+			LegalSet horizontalSet = legal[2 * type];
+			LegalSet verticalSet = legal[2 * type + 1];
+			int length = LENGTHS[type];
+
+			horizontalSet.clearAll();
+			verticalSet.clearAll();
+
+			for (int row = 0; row < height && length <= width; row++)
+			{
+				// horizontal bows must leave room for the ship on the right
+				horizontalSet.setRange(row * width, row * width + width - length + 1);
+			}
+
+			if (length <= height)
+			{
+				// vertical bows must leave room for the ship below
+				verticalSet.setRange(0, (height - length + 1) * width);
+			}
+		}
+
+		for (int ship = 0; ship < depth; ship++)
+		{
+			invalidateArea(legal, ship);
+		}
+	}
+
+	/**
+	 * Removes from the legal sets the bows of the ships that would touch the
+	 * area surrounding the given ship placed. Only the sets of the types that
+	 * are still to be placed (that is the ship type and the shorter ones) are
+	 * updated.
+	 *
+	 * @param legal
+	 *            the legal sets.
+	 * @param ship
+	 *            index of the ship placed.
+	 */
+	private void invalidateArea(LegalSet[] legal, int ship)
+	{
+		int width = spec.getWidth();
+		int length = LENGTHS[shipTypes[ship]];
+		int firstRow = Math.max(0, bowRows[ship] - 1);
+		int firstColumn = Math.max(0, bowColumns[ship] - 1);
+		int lastRow = Math.min(spec.getHeight() - 1, bowRows[ship] + (horizontals[ship] ? 1 : length));
+		int lastColumn = Math.min(width - 1, bowColumns[ship] + (horizontals[ship] ? length : 1));
+
+		// no other ship can cover any location of the augmented area
+		// surrounding the ship: a ship covers a location if its bow is at
+		// most its length minus one locations before it
+		for (int type = shipTypes[ship]; type < LENGTHS.length; type++)
+		{
+			int reach = LENGTHS[type] - 1;
+
+			for (int row = firstRow; row <= lastRow; row++)
+			{
+				legal[2 * type].clearRange(row * width + Math.max(0, firstColumn - reach), row * width + lastColumn + 1);
+			}
+
+			for (int row = Math.max(0, firstRow - reach); row <= lastRow; row++)
+			{
+				legal[2 * type + 1].clearRange(row * width + firstColumn, row * width + lastColumn + 1);
+			}
+		}
+	}
+
+	/**
+	 * Places the fleet drawing random bows until one is legal, giving up after
+	 * {@link #maxRetries} attempts for the same ship. Only the locations
+	 * covered by ships are kept, so memory grows with the fleet rather than
+	 * with the board.
+	 */
+	private void placeByRetrying()
+	{
+		LongIntHashMap occupied = new LongIntHashMap(spec.getFleetArea());
+
+		for (int ship = 0; ship < shipTypes.length; ship++)
+		{
+			int length = LENGTHS[shipTypes[ship]];
+			int attempts = 0;
+
+			while (true)
+			{
+				boolean horizontal = random.nextBoolean();
+				int bowColumn = random.nextInt(horizontal ? spec.getWidth() - length + 1 : spec.getWidth());
+				int bowRow = random.nextInt(horizontal ? spec.getHeight() : spec.getHeight() - length + 1);
+
+				if (areaIsClear(occupied, bowRow, bowColumn, length, horizontal))
+				{
+					bowRows[ship] = bowRow;
+					bowColumns[ship] = bowColumn;
+					horizontals[ship] = horizontal;
+
+					for (int i = 0; i < length; i++)
+					{
+						occupied.put((long) (horizontal ? bowRow : bowRow + i) * spec.getWidth()
+								+ (horizontal ? bowColumn + i : bowColumn), 1);
+					}
+
+					break;
+				}
+
+				retries++;
+
+				if (++attempts == maxRetries)
+				{
+					throw new IllegalStateException("Unable to place the fleet of " + spec + " after " + attempts
+							+ " attempts for the same ship");
+				}
+			}
+		}
+	}
+
+	/**
+	 * Determines whether the area surrounding a ship with the given bow, length
+	 * and orientation is clear of any other ship.
+	 *
+	 * @param occupied
+	 *            the locations covered by the ships placed so far.
+	 * @param bowRow
+	 *            vertical coordinate of the bow.
+	 * @param bowColumn
+	 *            horizontal coordinate of the bow.
+	 * @param length
+	 *            length of the ship.
+	 * @param horizontal
+	 *            orientation of the ship.
+	 * @return {@code true} if no ship covers the area, {@code false}
+	 *         otherwise.
+	 */
+	private boolean areaIsClear(LongIntHashMap occupied, int bowRow, int bowColumn, int length, boolean horizontal)
+	{
+		int lastRow = Math.min(spec.getHeight() - 1, bowRow + (horizontal ? 1 : length));
+		int lastColumn = Math.min(spec.getWidth() - 1, bowColumn + (horizontal ? length : 1));
+
+		for (int row = Math.max(0, bowRow - 1); row <= lastRow; row++)
+		{
+			for (int column = Math.max(0, bowColumn - 1); column <= lastColumn; column++)
+			{
+				if (occupied.get((long) row * spec.getWidth() + column) != 0)
+				{
+					return false;
+				}
+			}
+		}
+
+		return true;
+	}
+
+	// ============== nested classes ============= //
+
+	/**
+	 * Tells the locations of a board covered by the ships placed, for
+	 * {@linkplain ShipPlacer#checkPlacement(BoardSpec, Ship, Occupancy)}.
+	 */
+	interface Occupancy
+	{
+		/**
+		 * Indicates whether the given location is covered by a ship.
+		 *
+		 * @param row
+		 *            vertical coordinate, within the board.
+		 * @param column
+		 *            horizontal coordinate, within the board.
+		 * @return {@code true} if a ship covers the location, {@code false}
+		 *         otherwise.
+		 */
+		boolean isOccupied(int row, int column);
+	}
+
+	/**
+	 * Set of bow positions, one bit per location (row by row), able to draw
+	 * the n-th position quickly: the number of bits set is also kept for every
+	 * block of {@value #BLOCK_WORDS} words, so that drawing a position only
+	 * scans a single block.
+	 */
+	private static final class LegalSet
+	{
+		/** number of words of each block. */
+		private static final int BLOCK_WORDS = 64;
+
+		/** one bit per location. */
+		private final long[] bits;
+
+		/** number of bits set in each block. */
+		private final int[] blockCounts;
+
+		/** number of bits set. */
+		private int count;
+
+
+		/**
+		 * Builds an empty set for the given number of locations.
+		 *
+		 * @param area
+		 *            the number of locations.
+		 */
+		LegalSet(int area)
+		{
+			bits = new long[(area + Long.SIZE - 1) / Long.SIZE];
+			blockCounts = new int[(bits.length + BLOCK_WORDS - 1) / BLOCK_WORDS];
+		}
+
+		/**
+		 * Removes every position from the set.
+		 */
+		void clearAll()
+		{
+			Arrays.fill(bits, 0);
+			Arrays.fill(blockCounts, 0);
+			count = 0;
+		}
+
+		/**
+		 * Adds every position from the given index (inclusive) up to the
+		 * given index (exclusive), none of which must be in the set.
+		 *
+		 * @param from
+		 *            index of the first position.
+		 * @param to
+		 *            index after the last position.
+		 */
+		void setRange(int from, int to)
+		{
+			count += to - from;
+
+			for (int word = from >>> 6; from < to; word++)
+			{
+				int end = Math.min(to, (word + 1) * Long.SIZE);
+
+				bits[word] |= rangeMask(from, end);
+				blockCounts[word / BLOCK_WORDS] += end - from;
+				from = end;
+			}
+		}
+
+		/**
+		 * Removes the given position from the set, if it is there.
+		 *
+		 * @param index
+		 *            index of the position.
+		 */
+		void clear(int index)
+		{
+			clearRange(index, index + 1);
+		}
+
+		/**
+		 * Removes every position from the given index (inclusive) up to the
+		 * given index (exclusive).
+		 *
+		 * @param from
+		 *            index of the first position.
+		 * @param to
+		 *            index after the last position.
+		 */
+		void clearRange(int from, int to)
+		{
+			for (int word = from >>> 6; from < to; word++)
+			{
+				int end = Math.min(to, (word + 1) * Long.SIZE);
+				long mask = rangeMask(from, end);
+				int cleared = Long.bitCount(bits[word] & mask);
+
+				bits[word] &= ~mask;
+				blockCounts[word / BLOCK_WORDS] -= cleared;
+				count -= cleared;
+				from = end;
+			}
+		}
+
+		/**
+		 * Returns the mask of the bits of a range falling into a single word.
+		 *
+		 * @param from
+		 *            index of the first bit.
+		 * @param to
+		 *            index after the last bit; in the same word as the first.
+		 * @return the mask of the bits within the word.
+		 */
+		private static long rangeMask(int from, int to)
+		{
+			return (to - from == Long.SIZE ? -1L : (1L << (to - from)) - 1) << from;
+		}
+
+		/**
+		 * Returns the n-th position of the set (starting from {@code 0}).
+		 *
+		 * @param n
+		 *            rank of the position; less than the number of positions.
+		 * @return the index of the position.
+		 */
+		int select(int n)
+		{
+			int block = 0;
+
+			while (n >= blockCounts[block])
+			{
+				n -= blockCounts[block++];
+			}
+
+			for (int i = block * BLOCK_WORDS;; i++)
+			{
+				int wordCount = Long.bitCount(bits[i]);
+
+				if (n < wordCount)
+				{
+					long word = bits[i];
+
+					// drop the lowest bits set until the one we are after
+					for (int j = 0; j < n; j++)
+					{
+						word &= word - 1;
+					}
+
+					return i * Long.SIZE + Long.numberOfTrailingZeros(word);
+				}
+
+				n -= wordCount;
+			}
+		}
+	}
+}
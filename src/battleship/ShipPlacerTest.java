@@ -0,0 +1,115 @@
+package battleship;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Test class to test the API of the {@linkplain ShipPlacer} class.
+ *
+ * @author Angelo Oparah
+ *
+ */
+public class ShipPlacerTest
+{
+	/** default timeout test duration in milliseconds */
+	private static final int DEFAULT_TIMEOUT = 2000;
+
+	/**
+	 * A fleet with very few legal layouts should still be placed, without any
+	 * ship touching another one
+	 */
+	@Test(timeout = DEFAULT_TIMEOUT)
+	public void test_placeFleet_tightFleetShouldBePlacedWithoutAdjacentShips()
+	{
+		// if we place 4 submarines on a 4 x 4 ocean many times over
+		BoardSpec spec = new BoardSpec(4, 4, 0, 0, 0, 4);
+
+		for (int seed = 0; seed < 100; seed++)
+		{
+			Ocean ocean = new Ocean(spec);
+			new ShipPlacer(spec, new Random(seed)).placeFleet(ocean);
+
+			// we should always find 4 submarines, none of which has another
+			// ship in any of the surrounding locations
+			int submarines = 0;
+
+			for (int i = 0; i < spec.getHeight(); i++)
+			{
+				for (int j = 0; j < spec.getWidth(); j++)
+				{
+					if (ocean.isOccupied(i, j))
+					{
+						submarines++;
+
+						assertFalse("adjacent ships found", ocean.isOccupied(i, j + 1) || ocean.isOccupied(i + 1, j)
+								|| ocean.isOccupied(i + 1, j + 1) || ocean.isOccupied(i + 1, j - 1));
+					}
+				}
+			}
+
+			assertEquals("incorrect number of ships placed", spec.getFleetSize(), submarines);
+		}
+	}
+
+	/**
+	 * A fleet that cannot be placed should make the engine give up rather than
+	 * spin forever
+	 */
+	@Test(timeout = DEFAULT_TIMEOUT, expected = IllegalStateException.class)
+	public void test_placeFleet_unsatisfiableFleetShouldThrowAnException()
+	{
+		// if we try and place 5 submarines on a 4 x 4 ocean, where at most 4
+		// fit, we should expect an ISE to be thrown
+		BoardSpec spec = new BoardSpec(4, 4, 0, 0, 0, 5);
+		new ShipPlacer(spec, new Random(), Integer.MAX_VALUE, 1).placeFleet(new Ocean(spec));
+	}
+
+	/**
+	 * Backtracks should be counted when the first ships leave no room for the
+	 * others
+	 */
+	@Test(timeout = DEFAULT_TIMEOUT)
+	public void test_getBacktracks_shouldCountTheShipsMoved()
+	{
+		// if we fail to place a fleet that does not fit
+		BoardSpec spec = new BoardSpec(4, 4, 0, 0, 0, 5);
+		ShipPlacer placer = new ShipPlacer(spec, new Random(), 10, 1);
+
+		try
+		{
+			placer.placeFleet(new Ocean(spec));
+		}
+		catch (IllegalStateException e)
+		{
+			// expected: the fleet does not fit
+		}
+
+		// we should have moved ships exactly as many times as allowed
+		assertEquals("incorrect backtrack count", 10, placer.getBacktracks());
+	}
+
+	/**
+	 * The same seed should always produce the same layout
+	 */
+	@Test
+	public void test_placeFleet_sameSeedShouldProduceTheSameLayout()
+	{
+		Ocean first = new Ocean();
+		Ocean second = new Ocean();
+
+		new ShipPlacer(BoardSpec.STANDARD, new Random(7)).placeFleet(first);
+		new ShipPlacer(BoardSpec.STANDARD, new Random(7)).placeFleet(second);
+
+		for (int i = 0; i < Ocean.OCEAN_HEIGHT; i++)
+		{
+			for (int j = 0; j < Ocean.OCEAN_WIDTH; j++)
+			{
+				assertEquals("layouts differ", first.getShipTypeAt(i, j), second.getShipTypeAt(i, j));
+			}
+		}
+	}
+}
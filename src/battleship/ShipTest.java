@@ -73,6 +73,20 @@ public class ShipTest
 		Ship ship = new MockShip(invalidLength);
 	}
 
+	/**
+	 * Expect a IAE for ships longer than the parts that can be tracked, even
+	 * on a board large enough to hold them
+	 */
+	@SuppressWarnings("unused")
+	@Test(expected = IllegalArgumentException.class)
+	public void test_Ship_shouldThrowExceptionIfLengthExceedsMaxLength()
+	{
+		// if we create a new ship longer than the max length on a board with
+		// room for it we should expect an IAE to be thrown
+		BoardSpec spec = new BoardSpec(100, 100, 0, 0, 0, 1);
+		Ship ship = new MockShip(Ship.MAX_LENGTH + 1, spec);
+	}
+
 	// =================== getters and setters tests ==================== //
 
 	/**
@@ -382,6 +396,30 @@ public class ShipTest
 		assertFalse("submarine was missed", expectedSubmarineState);
 	}
 
+	/**
+	 * Hitting the same part over and over should not sink a ship
+	 */
+	@Test
+	public void test_isSunk_repeatedHitsOnTheSamePartShouldNotSinkTheShip()
+	{
+		// if we have a horizontal cruiser at 0, 0
+		Ship cruiser = new Cruiser();
+		cruiser.setHorizontal(true);
+
+		// and we keep shooting at its bow
+		for (int i = 0; i < Cruiser.CRUISER_LENGTH + 1; i++)
+		{
+			assertTrue("shot at the bow missed", cruiser.shootAt(0, 0));
+		}
+
+		// only the bow should be hit and the cruiser should still be afloat
+		assertTrue("bow not hit", cruiser.isHitAt(0));
+		assertFalse("part not shot at was hit", cruiser.isHitAt(1));
+		assertFalse("repeated hits on the bow sunk the cruiser", cruiser.isSunk());
+		assertEquals("incorrect state of the bow", 'S', cruiser.getStateAt(0));
+		assertEquals("incorrect state of the stern", '.', cruiser.getStateAt(2));
+	}
+
 	/**
 	 * The internal state of the empty ship should be correctly represented
 	 */
@@ -410,6 +448,21 @@ public class ShipTest
 
 	}
 
+	/**
+	 * The shared empty sea should never record a shot, as it sits on every
+	 * empty location of the ocean
+	 */
+	@Test
+	public void test_shootAt_sharedEmptySeaShouldNotRecordShots()
+	{
+		// if we shoot at the shared empty sea
+		boolean shotWasSuccessful = EmptySea.SHARED.shootAt(0, 0);
+
+		// we should expect a miss that leaves its representation untouched
+		assertFalse("shooting the shared empty sea was successful", shotWasSuccessful);
+		assertEquals("shared empty sea recorded a shot", ".", EmptySea.SHARED.toString());
+	}
+
 	/**
 	 * The internal state of the real ships should be correctly represented
 	 */
@@ -624,6 +677,20 @@ public class ShipTest
 			super(length);
 		}
 
+		/**
+		 * Builds a mock ship class of the specified length for the given
+		 * spec.
+		 *
+		 * @param length
+		 *            length of the ship.
+		 * @param spec
+		 *            spec of the board the ship is built for.
+		 */
+		public MockShip(int length, BoardSpec spec)
+		{
+			super(length, spec);
+		}
+
 		@Override
 		public String getShipType()
 		{
@@ -0,0 +1,99 @@
+package battleship;
+
+/**
+ * Strategy choosing where to fire next on a {@linkplain Board}, learning from
+ * the outcome of each shot. A shooter plays one board at a time: it is
+ * {@linkplain #reset(BoardSpec) reset} for a new board, then asked for a shot
+ * and told its outcome until every ship has been sunk. The same shooter can
+ * play against a human opponent's board, or be used to generate load.
+ *
+ * @author Angelo Oparah
+ *
+ */
+public interface Shooter
+{
+	/**
+	 * Forgets every shot fired so far and gets ready to play a new board.
+	 *
+	 * @param spec
+	 *            dimensions of the board and composition of its fleet.
+	 */
+	void reset(BoardSpec spec);
+
+	/**
+	 * Chooses the next location to fire upon.
+	 *
+	 * @return the location to fire upon, as packed by
+	 *         {@linkplain ShotResults#shot(int, int)}.
+	 * @throws IllegalStateException
+	 *             if every location has been fired upon already.
+	 */
+	long nextShot();
+
+	/**
+	 * Learns the outcome of a shot fired.
+	 *
+	 * @param row
+	 *            vertical coordinate fired upon.
+	 * @param column
+	 *            horizontal coordinate fired upon.
+	 * @param hit
+	 *            whether the shot hit a ship still afloat.
+	 * @param sunk
+	 *            whether there is a sunken ship at the location.
+	 */
+	void observe(int row, int column, boolean hit, boolean sunk);
+
+	/**
+	 * Plays the given board from scratch until every ship has been sunk,
+	 * firing through {@linkplain Board#shoot(int, int)} and finding out
+	 * about hits and sinks from the {@linkplain ShotOutcome} of each shot.
+	 *
+	 * @param board
+	 *            the board to play, with its fleet placed.
+	 * @return the number of shots fired.
+	 */
+	default int play(Board board)
+	{
+		return play(board, Long.MAX_VALUE);
+	}
+
+	/**
+	 * Plays the given board from scratch until every ship has been sunk, as
+	 * {@linkplain #play(Board)} does, giving up after the given number of
+	 * shots.
+	 *
+	 * @param board
+	 *            the board to play, with its fleet placed.
+	 * @param maxShots
+	 *            max number of shots to fire.
+	 * @return the number of shots fired.
+	 * @throws IllegalStateException
+	 *             if the fleet was not sunk within the max number of shots.
+	 */
+	default int play(Board board, long maxShots)
+	{
+		reset(board.getSpec());
+
+		int shots = 0;
+
+		while (!board.isGameOver())
+		{
+			if (shots == maxShots)
+			{
+				throw new IllegalStateException("The fleet was not sunk in " + shots + " shots");
+			}
+
+			long shot = nextShot();
+			int row = ShotResults.row(shot);
+			int column = ShotResults.column(shot);
+
+			ShotOutcome outcome = board.shoot(row, column);
+
+			observe(row, column, outcome.isScored(), outcome.isSunk());
+			shots++;
+		}
+
+		return shots;
+	}
+}
@@ -0,0 +1,492 @@
+package battleship;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Append-only journal of games, memory mapped from a file. Each game is
+ * journaled as the spec of its board, the position of every ship placed onto
+ * it and every shot fired at it, as fixed-size records of
+ * {@value #RECORD_SIZE} bytes: records of different games can be interleaved,
+ * each carrying the id of its game. Appending a record writes a few bytes into
+ * the mapped file, leaving it to the operating system to write them back to
+ * the disk, so that the shot path never waits for the disk; records only
+ * survive a crash of the machine once {@linkplain #flush() flushed}, while
+ * they survive a crash of the JVM as soon as they are appended. The file is
+ * mapped {@value #SEGMENT_SIZE} bytes at a time, growing as needed.
+ * {@linkplain #replay(Path, BoardEngine)} rebuilds every game journaled, in
+ * the same state it was left.
+ * <p>
+ * Records are laid out as the id of the game ({@code int}), the type of the
+ * record ({@code byte}), an argument ({@code byte}), two reserved bytes and
+ * two {@code int} values. The type is written last and is never {@code 0}:
+ * the first record whose type is {@code 0} marks the end of the journal.
+ *
+ * @author Angelo Oparah
+ *
+ */
+public final class ShotJournal implements Closeable
+{
+	/** size of each record, in bytes. */
+	public static final int RECORD_SIZE = 16;
+
+	/** number of bytes of the file mapped at a time. */
+	static final int SEGMENT_SIZE = 1 << 26;
+
+	/** start of a game: the height and the width of the board. */
+	private static final byte GAME = 1;
+
+	/** fleet of a game: the number of battleships and cruisers. */
+	private static final byte LARGE_SHIPS = 2;
+
+	/** fleet of a game: the number of destroyers and submarines. */
+	private static final byte SMALL_SHIPS = 3;
+
+	/**
+	 * ship placed: the type of ship (with {@link #HORIZONTAL} set for
+	 * horizontal ships) and the bow row and column.
+	 */
+	private static final byte SHIP = 4;
+
+	/** shot fired: the row and the column. */
+	private static final byte SHOT = 5;
+
+	/** flag of the argument of the ship records of horizontal ships. */
+	private static final int HORIZONTAL = 0x80;
+
+	/** offset of the type within a record. */
+	private static final int TYPE = 4;
+
+	/** offset of the argument within a record. */
+	private static final int ARGUMENT = 5;
+
+	/** offset of the first value within a record. */
+	private static final int FIRST = 8;
+
+	/** offset of the second value within a record. */
+	private static final int SECOND = 12;
+
+	/** channel of the journal file. */
+	private final FileChannel channel;
+
+	/** number of bytes of the file mapped at a time. */
+	private final int segmentSize;
+
+	/** segment of the file records are appended to. */
+	private MappedByteBuffer segment;
+
+	/** offset of the segment within the file. */
+	private long segmentStart;
+
+	/** offset within the file of the next record to append. */
+	private long position;
+
+
+	/**
+	 * Opens the journal in the given file, creating it if it does not exist;
+	 * records are appended after those already in the file.
+	 *
+	 * @param file
+	 *            the journal file.
+	 * @return the journal, to be closed once done.
+	 * @throws IOException
+	 *             if the file cannot be opened or mapped.
+	 */
+	public static ShotJournal open(Path file) throws IOException
+	{
+		return new ShotJournal(file, SEGMENT_SIZE);
+	}
+
+	/**
+	 * Opens the journal in the given file, mapping the given number of bytes
+	 * at a time.
+	 *
+	 * @param file
+	 *            the journal file.
+	 * @param segmentSize
+	 *            the number of bytes mapped at a time; a positive multiple of
+	 *            {@value #RECORD_SIZE}.
+	 * @throws IOException
+	 *             if the file cannot be opened or mapped.
+	 */
+	ShotJournal(Path file, int segmentSize) throws IOException
+	{
+		if (segmentSize <= 0 || segmentSize % RECORD_SIZE != 0)
+		{
+			throw new IllegalArgumentException("Illegal segment size: " + segmentSize);
+		}
+
+		this.segmentSize = segmentSize;
+		this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+				StandardOpenOption.WRITE);
+
+		try
+		{
+			position = findEnd(channel);
+			map(position);
+		}
+		catch (IOException | RuntimeException e)
+		{
+			channel.close();
+
+			throw e;
+		}
+	}
+
+	/**
+	 * Journals the start of a game on a board of the given spec.
+	 *
+	 * @param game
+	 *            the id of the game.
+	 * @param spec
+	 *            dimensions of the board and composition of the fleet.
+	 */
+	public synchronized void startGame(int game, BoardSpec spec)
+	{
+		append(game, GAME, 0, spec.getHeight(), spec.getWidth());
+		append(game, LARGE_SHIPS, 0, spec.getBattleships(), spec.getCruisers());
+		append(game, SMALL_SHIPS, 0, spec.getDestroyers(), spec.getSubmarines());
+	}
+
+	/**
+	 * Journals a ship placed onto the board of a game.
+	 *
+	 * @param game
+	 *            the id of the game.
+	 * @param ship
+	 *            the ship placed.
+	 * @throws IllegalArgumentException
+	 *             if the ship is not of a real, registered
+	 *             {@linkplain ShipKind}.
+	 */
+	public synchronized void appendShip(int game, Ship ship)
+	{
+		ShipKind kind = ship.getKind();
+
+		if (kind == null || !kind.isReal())
+		{
+			throw new IllegalArgumentException("Illegal ship to journal: " + ship);
+		}
+
+		append(game, SHIP, kind.getId() | (ship.isHorizontal() ? HORIZONTAL : 0), ship.getBowRow(),
+				ship.getBowColumn());
+	}
+
+	/**
+	 * Journals a shot fired at the board of a game.
+	 *
+	 * @param game
+	 *            the id of the game.
+	 * @param row
+	 *            vertical coordinate fired upon.
+	 * @param column
+	 *            horizontal coordinate fired upon.
+	 */
+	public synchronized void appendShot(int game, int row, int column)
+	{
+		append(game, SHOT, 0, row, column);
+	}
+
+	/**
+	 * Journals a batch of shots fired at the board of a game.
+	 *
+	 * @param game
+	 *            the id of the game.
+	 * @param rows
+	 *            vertical coordinates fired upon.
+	 * @param columns
+	 *            horizontal coordinates fired upon, as many as the rows.
+	 */
+	public synchronized void appendShots(int game, int[] rows, int[] columns)
+	{
+		for (int i = 0; i < rows.length; i++)
+		{
+			append(game, SHOT, 0, rows[i], columns[i]);
+		}
+	}
+
+	/**
+	 * Journals a batch of shots fired at the board of a game.
+	 *
+	 * @param game
+	 *            the id of the game.
+	 * @param shots
+	 *            the locations fired upon, as packed by
+	 *            {@linkplain ShotResults#shot(int, int)}.
+	 */
+	public synchronized void appendShots(int game, long[] shots)
+	{
+		for (long shot : shots)
+		{
+			append(game, SHOT, 0, ShotResults.row(shot), ShotResults.column(shot));
+		}
+	}
+
+	/**
+	 * Returns the number of records in the journal.
+	 *
+	 * @return the number of records.
+	 */
+	public synchronized long getRecordCount()
+	{
+		return position / RECORD_SIZE;
+	}
+
+	/**
+	 * Forces the records appended so far to be written to the disk, so that
+	 * they survive a crash of the machine. Meant to be called periodically or
+	 * at the end of a game, never on the shot path.
+	 */
+	public synchronized void flush()
+	{
+		segment.force();
+	}
+
+	/**
+	 * Flushes the records appended and closes the journal file.
+	 *
+	 * @throws IOException
+	 *             if the file cannot be closed.
+	 */
+	@Override
+	public synchronized void close() throws IOException
+	{
+		if (channel.isOpen())
+		{
+			segment.force();
+			channel.close();
+		}
+	}
+
+	/**
+	 * Rebuilds every game journaled in the given file, replaying the placement
+	 * of its ships and the shots fired at it onto a new board of the given
+	 * kind.
+	 *
+	 * @param file
+	 *            the journal file.
+	 * @param engine
+	 *            the kind of the boards to rebuild.
+	 * @return the boards of the games, by id, in the order the games started.
+	 * @throws IOException
+	 *             if the file cannot be read or is corrupt.
+	 */
+	public static Map<Integer, Board> replay(Path file, BoardEngine engine) throws IOException
+	{
+		Replayer replayer = new Replayer(engine);
+
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ))
+		{
+			long end = findEnd(channel);
+
+			for (long start = 0; start < end; start += SEGMENT_SIZE)
+			{
+				// a whole number of records is mapped at a time
+				ByteBuffer records = channel.map(FileChannel.MapMode.READ_ONLY, start,
+						Math.min(SEGMENT_SIZE, end - start));
+
+				for (int offset = 0; offset < records.limit(); offset += RECORD_SIZE)
+				{
+					replayer.replay(records, offset, start + offset);
+				}
+			}
+		}
+
+		return replayer.games;
+	}
+
+
+	// ============== private methods ============= //
+
+	/**
+	 * Appends a record, mapping the next segment of the file if needed.
+	 *
+	 * @param game
+	 *            the id of the game.
+	 * @param type
+	 *            the type of the record.
+	 * @param argument
+	 *            the argument of the record.
+	 * @param first
+	 *            the first value of the record.
+	 * @param second
+	 *            the second value of the record.
+	 * @throws UncheckedIOException
+	 *             if the next segment of the file cannot be mapped.
+	 */
+	private void append(int game, byte type, int argument, int first, int second)
+	{
+		if (position == segmentStart + segmentSize)
+		{
+			try
+			{
+				map(position);
+			}
+			catch (IOException e)
+			{
+				throw new UncheckedIOException(e);
+			}
+		}
+
+		int offset = (int) (position - segmentStart);
+
+		segment.putInt(offset, game);
+		segment.put(offset + ARGUMENT, (byte) argument);
+		segment.putInt(offset + FIRST, first);
+		segment.putInt(offset + SECOND, second);
+
+		// the type last, so that a record is only seen once complete
+		segment.put(offset + TYPE, type);
+
+		position += RECORD_SIZE;
+	}
+
+	/**
+	 * Maps the segment of the file holding the given offset.
+	 *
+	 * @param offset
+	 *            an offset within the file.
+	 * @throws IOException
+	 *             if the segment cannot be mapped.
+	 */
+	private void map(long offset) throws IOException
+	{
+		segmentStart = offset / segmentSize * segmentSize;
+		segment = channel.map(FileChannel.MapMode.READ_WRITE, segmentStart, segmentSize);
+	}
+
+	/**
+	 * Finds the end of the records of a journal file, that is the first record
+	 * whose type is {@code 0}: as records are appended one after the other, a
+	 * binary search over the records of the file finds it.
+	 *
+	 * @param channel
+	 *            the channel of the journal file.
+	 * @return the offset of the end of the records.
+	 * @throws IOException
+	 *             if the file cannot be read.
+	 */
+	private static long findEnd(FileChannel channel) throws IOException
+	{
+		ByteBuffer type = ByteBuffer.allocate(1);
+		long low = 0;
+		long high = channel.size() / RECORD_SIZE;
+
+		while (low < high)
+		{
+			long middle = (low + high) >>> 1;
+
+			type.clear();
+			channel.read(type, middle * RECORD_SIZE + TYPE);
+
+			if (type.get(0) != 0)
+			{
+				low = middle + 1;
+			}
+			else
+			{
+				high = middle;
+			}
+		}
+
+		return low * RECORD_SIZE;
+	}
+
+
+	// ============== nested classes ============= //
+
+	/**
+	 * Rebuilds the games of a journal, one record at a time.
+	 */
+	private static final class Replayer
+	{
+		/** the kind of the boards to rebuild. */
+		private final BoardEngine engine;
+
+		/** the boards of the games replayed so far, by id. */
+		final Map<Integer, Board> games = new LinkedHashMap<>();
+
+		/** the dimensions and the fleet of the game being started. */
+		private final int[] spec = new int[6];
+
+		/**
+		 * Builds a new replayer of games onto boards of the given kind.
+		 *
+		 * @param engine
+		 *            the kind of the boards to rebuild.
+		 */
+		Replayer(BoardEngine engine)
+		{
+			this.engine = engine;
+		}
+
+		/**
+		 * Replays a single record onto the board of its game.
+		 *
+		 * @param records
+		 *            the records of a segment.
+		 * @param offset
+		 *            the offset of the record within the segment.
+		 * @param fileOffset
+		 *            the offset of the record within the file.
+		 * @throws IOException
+		 *             if the record is corrupt.
+		 */
+		void replay(ByteBuffer records, int offset, long fileOffset) throws IOException
+		{
+			int game = records.getInt(offset);
+			byte type = records.get(offset + TYPE);
+			int argument = records.get(offset + ARGUMENT) & 0xFF;
+			int first = records.getInt(offset + FIRST);
+			int second = records.getInt(offset + SECOND);
+
+			switch (type)
+			{
+				case GAME:
+					spec[0] = first;
+					spec[1] = second;
+					return;
+				case LARGE_SHIPS:
+					spec[2] = first;
+					spec[3] = second;
+					return;
+				case SMALL_SHIPS:
+					// the spec is complete: start the game
+					games.put(game, engine.newBoard(new BoardSpec(spec[0], spec[1], spec[2], spec[3], first,
+							second)));
+					return;
+				default:
+					break;
+			}
+
+			Board board = games.get(game);
+
+			if (board == null)
+			{
+				throw new IOException("Corrupt journal: unknown game " + game + " at offset " + fileOffset);
+			}
+
+			if (type == SHIP)
+			{
+				board.placeShip(Ocean.createShip(ShipKind.byId(argument & ~HORIZONTAL), board.getSpec(),
+						first, second, (argument & HORIZONTAL) != 0));
+			}
+			else if (type == SHOT)
+			{
+				board.shootAt(first, second);
+			}
+			else
+			{
+				throw new IOException("Corrupt journal: unknown record " + type + " at offset " + fileOffset);
+			}
+		}
+	}
+}
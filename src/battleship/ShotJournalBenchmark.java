@@ -0,0 +1,113 @@
+package battleship;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Measures the cost of journaling every shot to a {@linkplain ShotJournal}:
+ * the same random shots are fired at plain boards and at
+ * {@linkplain JournaledBoard}s, a new game starting every
+ * {@value #SHOTS_PER_GAME} shots, then the journal is replayed. The benchmark
+ * reports the shots per second with and without the journal, the size of the
+ * journal and the time taken to replay it.
+ *
+ * @author Angelo Oparah
+ *
+ */
+public class ShotJournalBenchmark
+{
+	/** number of shots fired at each board. */
+	private static final int SHOTS_PER_GAME = 100;
+
+	/** number of games played in each run. */
+	private static final int GAMES = 100_000;
+
+	/** seed of the random shots, so that every run fires the same shots. */
+	private static final long SEED = 42;
+
+
+	/**
+	 * Runs the benchmark, printing one line per measurement.
+	 *
+	 * @param args
+	 *            optionally, the directory to write the journal to; the
+	 *            temporary directory otherwise.
+	 * @throws IOException
+	 *             if the journal cannot be written or read.
+	 */
+	public static void main(String[] args) throws IOException
+	{
+		Path directory = args.length > 0 ? Paths.get(args[0])
+				: Paths.get(System.getProperty("java.io.tmpdir"));
+
+		// run twice, so that the second run is measured on warm code
+		for (int run = 0; run < 2; run++)
+		{
+			Path file = Files.createTempFile(directory, "battleship", ".journal");
+
+			try
+			{
+				double plain = play(null);
+				double journaled;
+				long records;
+
+				try (ShotJournal journal = ShotJournal.open(file))
+				{
+					journaled = play(journal);
+					records = journal.getRecordCount();
+				}
+
+				long start = System.nanoTime();
+				Map<Integer, Board> games = ShotJournal.replay(file, BoardEngine.GRID);
+				long replay = System.nanoTime() - start;
+
+				if (run > 0)
+				{
+					System.out.printf("plain:     %12.0f shots/s%n", plain);
+					System.out.printf("journaled: %12.0f shots/s%n", journaled);
+					System.out.printf("journal:   %12d bytes for %d games%n", records * ShotJournal.RECORD_SIZE,
+							games.size());
+					System.out.printf("replay:    %12.0f shots/s%n", (double) GAMES * SHOTS_PER_GAME * 1e9 / replay);
+				}
+			}
+			finally
+			{
+				Files.deleteIfExists(file);
+			}
+		}
+	}
+
+	/**
+	 * Plays every game, journaling them if a journal is given.
+	 *
+	 * @param journal
+	 *            the journal to append to, or {@code null}.
+	 * @return the number of shots fired per second.
+	 */
+	private static double play(ShotJournal journal)
+	{
+		SplittableRandom random = new SplittableRandom(SEED);
+		long elapsed = 0;
+
+		for (int game = 0; game < GAMES; game++)
+		{
+			Board board = journal == null ? new Ocean() : new JournaledBoard(new Ocean(), journal, game);
+			board.placeAllShipsRandomly();
+
+			long start = System.nanoTime();
+
+			for (int i = 0; i < SHOTS_PER_GAME; i++)
+			{
+				board.shootAt(random.nextInt(Ocean.OCEAN_HEIGHT), random.nextInt(Ocean.OCEAN_WIDTH));
+			}
+
+			elapsed += System.nanoTime() - start;
+		}
+
+		return (double) GAMES * SHOTS_PER_GAME * 1e9 / elapsed;
+	}
+}
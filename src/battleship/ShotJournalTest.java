@@ -0,0 +1,111 @@
+package battleship;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test class to test the API of the {@linkplain ShotJournal} and of the
+ * {@linkplain JournaledBoard} classes.
+ *
+ * @author Angelo Oparah
+ *
+ */
+public class ShotJournalTest
+{
+	/** segment size small enough for every test to cross segments. */
+	private static final int SEGMENT_SIZE = 64 * ShotJournal.RECORD_SIZE;
+
+	/** journal file of each test. */
+	private Path file;
+
+	@Before
+	public void setUp() throws IOException
+	{
+		file = Files.createTempFile("battleship", ".journal");
+	}
+
+	@After
+	public void tearDown() throws IOException
+	{
+		Files.deleteIfExists(file);
+	}
+
+	/**
+	 * Replaying the journal should rebuild every game interleaved in it, on any
+	 * kind of board, in the same state
+	 */
+	@Test
+	public void test_replay_shouldRebuildEveryGameInTheSameState() throws IOException
+	{
+		BoardSpec large = new BoardSpec(20, 30, 2, 3, 4, 5);
+		Board first;
+		Board second;
+
+		try (ShotJournal journal = new ShotJournal(file, SEGMENT_SIZE))
+		{
+			first = new JournaledBoard(new Ocean(), journal, 1);
+			second = new JournaledBoard(new SparseOcean(large), journal, 2);
+
+			first.placeAllShipsRandomly();
+			second.placeAllShipsRandomly();
+
+			// interleave single shots, batches and shots out of range
+			Random random = new Random(42);
+
+			for (int i = 0; i < 150; i++)
+			{
+				first.shootAt(random.nextInt(12) - 1, random.nextInt(12) - 1);
+				second.shootAt(new long[] { ShotResults.shot(random.nextInt(20), random.nextInt(30)) }, new byte[1]);
+				second.shootAt(new int[] { random.nextInt(20) }, new int[] { random.nextInt(30) }, new byte[1]);
+			}
+		}
+
+		Map<Integer, Board> games = ShotJournal.replay(file, BoardEngine.GRID);
+
+		assertEquals(2, games.size());
+		OceanTest.assertSameState(first, games.get(1));
+		OceanTest.assertSameState(second, games.get(2));
+	}
+
+	/**
+	 * Reopening a journal should append after the records already in it
+	 */
+	@Test
+	public void test_open_shouldAppendAfterTheRecordsAlreadyJournaled() throws IOException
+	{
+		Board board;
+		long records;
+
+		try (ShotJournal journal = new ShotJournal(file, SEGMENT_SIZE))
+		{
+			board = new JournaledBoard(new Ocean(), journal, 7);
+			board.placeAllShipsRandomly();
+			board.shootAt(0, 0);
+
+			records = journal.getRecordCount();
+		}
+
+		try (ShotJournal journal = new ShotJournal(file, SEGMENT_SIZE))
+		{
+			assertEquals(records, journal.getRecordCount());
+
+			// carry on the same game after a restart
+			for (int i = 0; i < Ocean.OCEAN_HEIGHT; i++)
+			{
+				board.shootAt(i, i);
+				journal.appendShot(7, i, i);
+			}
+		}
+
+		OceanTest.assertSameState(board, ShotJournal.replay(file, BoardEngine.BITBOARD).get(7));
+	}
+}
@@ -0,0 +1,150 @@
+package battleship;
+
+/**
+ * Outcome of a single shot fired by {@linkplain Board#shoot(int, int)},
+ * telling in one go what {@linkplain Board#shootAt(int, int)} followed by
+ * {@linkplain Board#hasSunkShipAt(int, int)} and
+ * {@linkplain Board#getShipTypeAt(int, int)} would: whether the shot counted
+ * as a hit, whether it sunk a ship and of what type. The constants are shared,
+ * so firing a shot never allocates; {@linkplain #of(byte)} turns any code of
+ * the {@linkplain ShotResults} into its outcome.
+ *
+ * @author Angelo Oparah
+ *
+ */
+public enum ShotOutcome
+{
+	/** the shot fell on empty sea not fired upon yet. */
+	MISS(false, ""),
+
+	/** the shot hit a part of a ship afloat, without sinking it. */
+	HIT(true, ""),
+
+	/** the shot sunk a {@linkplain Battleship}. */
+	SUNK_BATTLESHIP(true, Battleship.BATTLESHIP_TYPE),
+
+	/** the shot sunk a {@linkplain Cruiser}. */
+	SUNK_CRUISER(true, Cruiser.CRUISER_TYPE),
+
+	/** the shot sunk a {@linkplain Destroyer}. */
+	SUNK_DESTROYER(true, Destroyer.DESTROYER_TYPE),
+
+	/** the shot sunk a {@linkplain Submarine}. */
+	SUNK_SUBMARINE(true, Submarine.SUBMARINE_TYPE),
+
+	/** the shot sunk a ship of any other type. */
+	SUNK_OTHER_SHIP(true, ShotResults.kindName(ShotResults.OTHER_SHIP)),
+
+	/**
+	 * the shot hit again a part of a ship afloat: it still counts as a hit, as
+	 * per {@linkplain Board#shootAt(int, int)}.
+	 */
+	REPEATED_HIT(true, ""),
+
+	/** the shot fell on empty sea or on a sunk ship already fired upon. */
+	REPEAT(false, ""),
+
+	/** the shot fell outside the board. */
+	OUT_OF_RANGE(false, "");
+
+	/** outcomes of every code of the {@linkplain ShotResults}, by code. */
+	private static final ShotOutcome[] BY_RESULT = new ShotOutcome[1 << (ShotResults.OUTCOME_BITS
+			+ ShotResults.KIND_BITS + 1)];
+
+	static
+	{
+		ShotOutcome[] sunk = { SUNK_OTHER_SHIP, SUNK_BATTLESHIP, SUNK_CRUISER, SUNK_DESTROYER, SUNK_SUBMARINE,
+				SUNK_OTHER_SHIP, SUNK_OTHER_SHIP, SUNK_OTHER_SHIP };
+
+		for (int code = 0; code < BY_RESULT.length; code++)
+		{
+			byte result = (byte) code;
+
+			switch (ShotResults.outcome(result))
+			{
+				case ShotResults.MISS:
+					BY_RESULT[code] = MISS;
+					break;
+				case ShotResults.HIT:
+					BY_RESULT[code] = HIT;
+					break;
+				case ShotResults.SUNK:
+					BY_RESULT[code] = sunk[ShotResults.kind(result) >>> ShotResults.OUTCOME_BITS];
+					break;
+				case ShotResults.ALREADY_HIT:
+					BY_RESULT[code] = ShotResults.isScored(result) ? REPEATED_HIT : REPEAT;
+					break;
+				default:
+					BY_RESULT[code] = OUT_OF_RANGE;
+			}
+		}
+	}
+
+	/** whether the shot counted as a hit. */
+	private final boolean scored;
+
+	/** type of the ship sunk, if any. */
+	private final String shipType;
+
+
+	/**
+	 * Builds an outcome.
+	 *
+	 * @param scored
+	 *            whether the shot counted as a hit.
+	 * @param shipType
+	 *            type of the ship sunk, or an empty string.
+	 */
+	private ShotOutcome(boolean scored, String shipType)
+	{
+		this.scored = scored;
+		this.shipType = shipType;
+	}
+
+	/**
+	 * Returns the outcome of the shot with the given result.
+	 *
+	 * @param result
+	 *            the result of the shot, as a code of the
+	 *            {@linkplain ShotResults}.
+	 * @return the outcome of the shot.
+	 */
+	public static ShotOutcome of(byte result)
+	{
+		return BY_RESULT[result & (BY_RESULT.length - 1)];
+	}
+
+	/**
+	 * Indicates whether the shot counted as a hit, that is whether
+	 * {@linkplain Board#shootAt(int, int)} would have returned {@code true}.
+	 *
+	 * @return {@code true} if a ship afloat was hit, {@code false} otherwise.
+	 */
+	public boolean isScored()
+	{
+		return scored;
+	}
+
+	/**
+	 * Indicates whether the shot sunk a ship.
+	 *
+	 * @return {@code true} if the shot hit the last part afloat of a ship,
+	 *         {@code false} otherwise.
+	 */
+	public boolean isSunk()
+	{
+		return !shipType.isEmpty();
+	}
+
+	/**
+	 * Returns the type of the ship sunk by the shot, such as
+	 * {@code "destroyer"}.
+	 *
+	 * @return the type of the ship sunk, or an empty string if the shot did
+	 *         not sink any ship.
+	 */
+	public String getShipType()
+	{
+		return shipType;
+	}
+}
@@ -0,0 +1,307 @@
+package battleship;
+
+/**
+ * Codes describing the result of each shot of a batch fired with
+ * {@linkplain Board#shootAt(int[], int[], byte[])} or
+ * {@linkplain Board#shootAt(long[], byte[])}. Each result is packed into a
+ * single {@code byte}: the lowest {@value #OUTCOME_BITS} bits hold the
+ * outcome of the shot (one of {@link #MISS}, {@link #HIT}, {@link #SUNK},
+ * {@link #ALREADY_HIT} and {@link #OUT_OF_RANGE}), the following
+ * {@value #KIND_BITS} bits hold the kind of ship fired upon (one of
+ * {@link #NO_SHIP}, {@link #BATTLESHIP}, {@link #CRUISER}, {@link #DESTROYER},
+ * {@link #SUBMARINE} and {@link #OTHER_SHIP}) and the {@link #SCORED} bit is
+ * set for every shot counted as a hit, following the same rules as
+ * {@linkplain Board#shootAt(int, int)}. Shots given as a single {@code long}
+ * keep the row in the high 32 bits and the column in the low 32 bits.
+ *
+ * @author Angelo Oparah
+ *
+ */
+public final class ShotResults
+{
+	/** number of bits holding the outcome of the shot. */
+	public static final int OUTCOME_BITS = 3;
+
+	/** number of bits holding the kind of ship fired upon. */
+	public static final int KIND_BITS = 3;
+
+	/** the shot fell on empty sea that was never fired upon before. */
+	public static final byte MISS = 0;
+
+	/** the shot hit a part of a ship afloat for the first time. */
+	public static final byte HIT = 1;
+
+	/** the shot hit the last part of a ship afloat, sinking it. */
+	public static final byte SUNK = 2;
+
+	/**
+	 * the shot fell on a location fired upon before: empty sea, a part of a
+	 * ship afloat that was already hit or a sunk ship.
+	 */
+	public static final byte ALREADY_HIT = 3;
+
+	/** the shot fell outside the board. */
+	public static final byte OUT_OF_RANGE = 4;
+
+	/** the shot did not fall on any ship. */
+	public static final byte NO_SHIP = 0;
+
+	/** the shot fell on a {@linkplain Battleship}. */
+	public static final byte BATTLESHIP = 1 << OUTCOME_BITS;
+
+	/** the shot fell on a {@linkplain Cruiser}. */
+	public static final byte CRUISER = 2 << OUTCOME_BITS;
+
+	/** the shot fell on a {@linkplain Destroyer}. */
+	public static final byte DESTROYER = 3 << OUTCOME_BITS;
+
+	/** the shot fell on a {@linkplain Submarine}. */
+	public static final byte SUBMARINE = 4 << OUTCOME_BITS;
+
+	/** the shot fell on any other kind of real ship. */
+	public static final byte OTHER_SHIP = 5 << OUTCOME_BITS;
+
+	/** set for the shots counted as a hit (a ship afloat was hit). */
+	public static final byte SCORED = 1 << (OUTCOME_BITS + KIND_BITS);
+
+	/** mask of the bits holding the outcome. */
+	private static final int OUTCOME_MASK = (1 << OUTCOME_BITS) - 1;
+
+	/** mask of the bits holding the kind of ship. */
+	private static final int KIND_MASK = ((1 << KIND_BITS) - 1) << OUTCOME_BITS;
+
+	/** names of the outcomes, by outcome. */
+	private static final String[] OUTCOME_NAMES = { "MISS", "HIT", "SUNK", "ALREADY_HIT", "OUT_OF_RANGE" };
+
+	/**
+	 * codes of the kinds of ship, by id of their {@linkplain ShipKind}: the
+	 * real kinds past the codes available share {@link #OTHER_SHIP}.
+	 */
+	private static final byte[] KIND_CODES = new byte[ShipKind.count()];
+
+	static
+	{
+		for (ShipKind kind : ShipKind.values())
+		{
+			int code = (kind.getId() + 1) << OUTCOME_BITS;
+
+			KIND_CODES[kind.getId()] = !kind.isReal() ? NO_SHIP : code < OTHER_SHIP ? (byte) code : OTHER_SHIP;
+		}
+	}
+
+	/** names of the kinds of ship, by kind (shifted to the lowest bits). */
+	private static final String[] KIND_NAMES = { "", Battleship.BATTLESHIP_TYPE, Cruiser.CRUISER_TYPE,
+			Destroyer.DESTROYER_TYPE, Submarine.SUBMARINE_TYPE, "ship" };
+
+
+	/**
+	 * Prevents the instantiation of this utility class.
+	 */
+	private ShotResults()
+	{
+	}
+
+	/**
+	 * Returns the outcome of the shot with the given result.
+	 *
+	 * @param result
+	 *            the result of the shot.
+	 * @return one of {@link #MISS}, {@link #HIT}, {@link #SUNK},
+	 *         {@link #ALREADY_HIT} and {@link #OUT_OF_RANGE}.
+	 */
+	public static int outcome(byte result)
+	{
+		return result & OUTCOME_MASK;
+	}
+
+	/**
+	 * Returns the kind of ship fired upon by the shot with the given result.
+	 *
+	 * @param result
+	 *            the result of the shot.
+	 * @return one of {@link #NO_SHIP}, {@link #BATTLESHIP}, {@link #CRUISER},
+	 *         {@link #DESTROYER}, {@link #SUBMARINE} and {@link #OTHER_SHIP}.
+	 */
+	public static int kind(byte result)
+	{
+		return result & KIND_MASK;
+	}
+
+	/**
+	 * Indicates whether the shot with the given result was counted as a hit,
+	 * that is whether {@linkplain Board#shootAt(int, int)} would have returned
+	 * {@code true} for it.
+	 *
+	 * @param result
+	 *            the result of the shot.
+	 * @return {@code true} if a ship afloat was hit, {@code false} otherwise.
+	 */
+	public static boolean isScored(byte result)
+	{
+		return (result & SCORED) != 0;
+	}
+
+	/**
+	 * Returns the name of the outcome of the shot with the given result, such
+	 * as {@code "HIT"}.
+	 *
+	 * @param result
+	 *            the result of the shot.
+	 * @return the name of the outcome.
+	 */
+	public static String outcomeName(byte result)
+	{
+		return OUTCOME_NAMES[outcome(result)];
+	}
+
+	/**
+	 * Returns the type of the ship fired upon by the shot with the given
+	 * result, such as {@code "destroyer"}.
+	 *
+	 * @param result
+	 *            the result of the shot.
+	 * @return the type of the ship, or an empty string if the shot did not
+	 *         fall on any ship.
+	 */
+	public static String kindName(byte result)
+	{
+		return KIND_NAMES[kind(result) >>> OUTCOME_BITS];
+	}
+
+	/**
+	 * Returns the code of the kind of the given ship.
+	 *
+	 * @param ship
+	 *            the ship fired upon.
+	 * @return the kind of the ship, ready to be combined with an outcome.
+	 */
+	public static byte kindOf(Ship ship)
+	{
+		ShipKind kind = ship.getKind();
+
+		if (kind != null && kind.getId() < KIND_CODES.length)
+		{
+			return KIND_CODES[kind.getId()];
+		}
+
+		return ship.isRealShip() ? OTHER_SHIP : NO_SHIP;
+	}
+
+	/**
+	 * Returns the code of the kind of ship with the given id, for the boards
+	 * storing the id of the {@linkplain ShipKind} rather than the ship itself.
+	 *
+	 * @param kindId
+	 *            the id of a real kind of ship.
+	 * @return the kind of the ship, ready to be combined with an outcome.
+	 */
+	static byte kindOf(int kindId)
+	{
+		return kindId < KIND_CODES.length ? KIND_CODES[kindId] : OTHER_SHIP;
+	}
+
+	/**
+	 * Packs the given coordinates into a single shot.
+	 *
+	 * @param row
+	 *            vertical coordinate to be fired upon.
+	 * @param column
+	 *            horizontal coordinate to be fired upon.
+	 * @return the shot.
+	 */
+	public static long shot(int row, int column)
+	{
+		return (long) row << Integer.SIZE | (column & 0xFFFFFFFFL);
+	}
+
+	/**
+	 * Returns the vertical coordinate of the given shot.
+	 *
+	 * @param shot
+	 *            the shot, as packed by {@link #shot(int, int)}.
+	 * @return the row fired upon.
+	 */
+	public static int row(long shot)
+	{
+		return (int) (shot >> Integer.SIZE);
+	}
+
+	/**
+	 * Returns the horizontal coordinate of the given shot.
+	 *
+	 * @param shot
+	 *            the shot, as packed by {@link #shot(int, int)}.
+	 * @return the column fired upon.
+	 */
+	public static int column(long shot)
+	{
+		return (int) shot;
+	}
+
+	/**
+	 * Returns the result of a shot at empty sea.
+	 *
+	 * @param repeated
+	 *            whether the location was already fired upon.
+	 * @return the result of the shot.
+	 */
+	static byte shotAtSea(boolean repeated)
+	{
+		return repeated ? ALREADY_HIT : MISS;
+	}
+
+	/**
+	 * Returns the result of a shot at a ship already sunk: shooting at a
+	 * sunken ship has no effect whatsoever, so the shot is not scored.
+	 *
+	 * @param kind
+	 *            the kind of the ship, as given by {@link #kindOf(Ship)}.
+	 * @return the result of the shot.
+	 */
+	static byte shotAtSunkShip(byte kind)
+	{
+		return (byte) (ALREADY_HIT | kind);
+	}
+
+	/**
+	 * Returns the result of a shot at a ship afloat: hitting a ship afloat
+	 * counts as a hit, even on a part already hit, so the shot is always
+	 * scored.
+	 *
+	 * @param kind
+	 *            the kind of the ship, as given by {@link #kindOf(Ship)}.
+	 * @param repeated
+	 *            whether the part of the ship was already hit.
+	 * @param sinking
+	 *            whether the shot hit the last part of the ship afloat.
+	 * @return the result of the shot.
+	 */
+	static byte shotAtShip(byte kind, boolean repeated, boolean sinking)
+	{
+		byte outcome = repeated ? ALREADY_HIT : sinking ? SUNK : HIT;
+
+		return (byte) (outcome | kind | SCORED);
+	}
+
+	/**
+	 * Checks that a batch of shots comes with as many coordinates and room for
+	 * as many results as there are shots.
+	 *
+	 * @param rows
+	 *            number of vertical coordinates.
+	 * @param columns
+	 *            number of horizontal coordinates.
+	 * @param results
+	 *            room for the results.
+	 * @throws IllegalArgumentException
+	 *             if the lengths do not match.
+	 */
+	static void checkBatch(int rows, int columns, int results)
+	{
+		if (rows != columns || results < rows)
+		{
+			throw new IllegalArgumentException("Illegal batch of " + rows + " rows, " + columns + " columns and "
+					+ results + " results");
+		}
+	}
+}
@@ -0,0 +1,300 @@
+package battleship;
+
+import java.util.Arrays;
+
+/**
+ * Implementation of the {@linkplain Board} meant for large and mostly empty
+ * oceans. Rather than holding a location for every cell of the board, it only
+ * indexes the locations covered by real ships, mapping each of them to the
+ * ship covering it through a primitive hash map: empty sea is implicit and the
+ * empty sea locations fired upon are kept in a {@linkplain CompressedBitmap}.
+ * Memory therefore grows with the size of the fleet and the number of shots
+ * fired, not with the area of the board, while {@linkplain #isOccupied(int,
+ * int)}, {@linkplain #shootAt(int, int)} and
+ * {@linkplain #hasSunkShipAt(int, int)} take constant time on average.
+ *
+ * @author Angelo Oparah
+ *
+ */
+public class SparseOcean extends AbstractBoard
+{
+	/** dimensions of the ocean and composition of the fleet. */
+	private final BoardSpec spec;
+
+	/**
+	 * maps the index of each location covered by a real ship (row by row) to
+	 * the (1-based) index of the ship in the fleet.
+	 */
+	private final LongIntHashMap segments;
+
+	/** indexes of the empty sea locations that have been fired upon. */
+	private final CompressedBitmap misses;
+
+	/** ships placed onto the ocean, in order of placement. */
+	private Ship[] fleet;
+
+	/** number of ships placed onto the ocean. */
+	private int fleetSize;
+
+	/** count of the total shots fired at any given time of the game. */
+	private int shotsFired;
+
+	/** count of the total times a shot hit any ship that was not sunken. */
+	private int hitCount;
+
+	/** number of ships sunk. */
+	private int shipsSunk;
+
+
+	/**
+	 * Constructs a new empty standard SparseOcean and sets the hit, the shot
+	 * and the ship sunk count to {@code 0}.
+	 */
+	public SparseOcean()
+	{
+		this(BoardSpec.STANDARD);
+	}
+
+	/**
+	 * Constructs a new empty SparseOcean with the dimensions and the fleet
+	 * given by the spec, and sets the hit, the shot and the ship sunk count to
+	 * {@code 0}.
+	 *
+	 * @param spec
+	 *            dimensions of the ocean and composition of the fleet.
+	 */
+	public SparseOcean(BoardSpec spec)
+	{
+		this.spec = spec;
+
+		segments = new LongIntHashMap(spec.getFleetArea());
+		misses = new CompressedBitmap((long) spec.getHeight() * spec.getWidth());
+		fleet = new Ship[Math.max(1, spec.getFleetSize())];
+	}
+
+	@Override
+	public BoardSpec getSpec()
+	{
+		return spec;
+	}
+
+	@Override
+	public int getShotsFired()
+	{
+		return shotsFired;
+	}
+
+	@Override
+	public int getHitCount()
+	{
+		return hitCount;
+	}
+
+	@Override
+	public int getShipsSunk()
+	{
+		return shipsSunk;
+	}
+
+	@Override
+	public int getShipsPlaced()
+	{
+		return fleetSize;
+	}
+
+	@Override
+	public boolean isGameOver()
+	{
+		return shipsSunk == spec.getFleetSize();
+	}
+
+	@Override
+	public boolean isOccupied(int row, int column)
+	{
+		if (spec.contains(row, column))
+		{
+			// check only if the coordinates are in range
+			return segments.get((long) row * spec.getWidth() + column) != 0;
+		}
+
+		return false;
+	}
+
+	@Override
+	public String getShipTypeAt(int row, int column)
+	{
+		spec.checkLocation(row, column);
+
+		int shipIndex = segments.get((long) row * spec.getWidth() + column);
+
+		return shipIndex == 0 ? EmptySea.EMPTY_SEA_TYPE : fleet[shipIndex - 1].getShipType();
+	}
+
+	@Override
+	public boolean hasSunkShipAt(int row, int column)
+	{
+		if (spec.contains(row, column))
+		{
+			// check only if the coordinates are in range
+			int shipIndex = segments.get((long) row * spec.getWidth() + column);
+
+			return shipIndex != 0 && fleet[shipIndex - 1].isSunk();
+		}
+
+		return false;
+	}
+
+	/**
+	 * Returns a {@code char} representing the current state of the given
+	 * location, using the same notation as {@linkplain Ocean#print()}.
+	 *
+	 * @param row
+	 *            vertical coordinate of the location to display.
+	 * @param column
+	 *            horizontal coordinate of the location to display.
+	 * @return a {@code char} representing the state of the location.
+	 * @throws IllegalArgumentException
+	 *             if the coordinates provided fall outside the ocean.
+	 */
+	@Override
+	public char getStateAt(int row, int column)
+	{
+		spec.checkLocation(row, column);
+
+		long cell = (long) row * spec.getWidth() + column;
+		int shipIndex = segments.get(cell);
+
+		if (shipIndex == 0)
+		{
+			return misses.contains(cell) ? '-' : '.';
+		}
+
+		Ship ship = fleet[shipIndex - 1];
+
+		if (ship.isSunk())
+		{
+			return 'x';
+		}
+
+		// get the relevant char from the ship state based on orientation and
+		// offset from the bow
+		int offset = ship.isHorizontal() ? column - ship.getBowColumn() : row - ship.getBowRow();
+
+		return ship.getStateAt(offset);
+	}
+
+	/**
+	 * {@inheritDoc} Changes made directly to the matrix are not reflected by
+	 * the ocean. Note: building the matrix takes memory proportional to the
+	 * area of the ocean.
+	 */
+	@Override
+	protected Ship[][] buildShipArray()
+	{
+		Ship[][] shipArray = new Ship[spec.getHeight()][spec.getWidth()];
+
+		for (int i = 0; i < spec.getHeight(); i++)
+		{
+			for (int j = 0; j < spec.getWidth(); j++)
+			{
+				long cell = (long) i * spec.getWidth() + j;
+				int shipIndex = segments.get(cell);
+
+				if (shipIndex == 0)
+				{
+					// create an empty sea and replay the shot fired at it
+					shipArray[i][j] = Ocean.createShip(ShipKind.EMPTY_SEA, spec, i, j, true);
+
+					if (misses.contains(cell))
+					{
+						shipArray[i][j].shootAt(i, j);
+					}
+				}
+				else
+				{
+					shipArray[i][j] = fleet[shipIndex - 1];
+				}
+			}
+		}
+
+		return shipArray;
+	}
+
+	@Override
+	protected byte fire(int row, int column)
+	{
+		// try and hit ships only within the ocean's borders
+		if (!spec.contains(row, column))
+		{
+			return ShotResults.OUT_OF_RANGE;
+		}
+
+		long cell = (long) row * spec.getWidth() + column;
+		int shipIndex = segments.get(cell);
+
+		if (shipIndex == 0)
+		{
+			// empty sea: just remember that the location was fired upon
+			boolean repeated = !misses.add(cell);
+
+			if (!repeated)
+			{
+				viewShot(row, column);
+			}
+
+			return ShotResults.shotAtSea(repeated);
+		}
+
+		Ship ship = fleet[shipIndex - 1];
+		byte kind = ShotResults.kindOf(ship);
+
+		if (ship.isSunk())
+		{
+			return ShotResults.shotAtSunkShip(kind);
+		}
+
+		int offset = ship.isHorizontal() ? column - ship.getBowColumn() : row - ship.getBowRow();
+		boolean repeated = ship.isHitAt(offset);
+
+		ship.shootAt(row, column);
+
+		return ShotResults.shotAtShip(kind, repeated, ship.isSunk());
+	}
+
+	@Override
+	protected void countShots(int fired, int hits, int sinks)
+	{
+		shotsFired += fired;
+		hitCount += hits;
+		shipsSunk += sinks;
+	}
+
+	/**
+	 * Indexes the locations covered by the given ship and adds it to the fleet.
+	 * No check is performed on the area covered.
+	 *
+	 * @param ship
+	 *            the ship to add.
+	 */
+	@Override
+	protected void dropShip(Ship ship)
+	{
+		if (fleetSize == fleet.length)
+		{
+			// more ships than the fleet in the spec: make room for them
+			fleet = Arrays.copyOf(fleet, fleetSize * 2);
+		}
+
+		fleet[fleetSize++] = ship;
+
+		for (int i = 0; i < ship.getLength(); i++)
+		{
+			int row = ship.isHorizontal() ? ship.getBowRow() : ship.getBowRow() + i;
+			int column = ship.isHorizontal() ? ship.getBowColumn() + i : ship.getBowColumn();
+
+			segments.put((long) row * spec.getWidth() + column, fleetSize);
+		}
+
+		viewShip(ship);
+	}
+}
@@ -0,0 +1,18 @@
+package battleship;
+
+/**
+ * Runs every test in {@linkplain OceanTest} against the
+ * {@linkplain SparseOcean} implementation.
+ *
+ * @author Angelo Oparah
+ *
+ */
+public class SparseOceanTest extends OceanTest
+{
+	/** {@inheritDoc} */
+	@Override
+	protected Board createOcean()
+	{
+		return new SparseOcean();
+	}
+}
@@ -0,0 +1,107 @@
+package battleship;
+
+import java.util.Random;
+
+/**
+ * Fast, splittable {@linkplain Random} based on the SplitMix64 generator.
+ * Unlike {@linkplain Random} it keeps its state in a plain field rather than
+ * in an atomic one, so it must not be shared between threads: each task is
+ * meant to own its stream, either derived from a (seed, index) pair with
+ * {@link #forIndex(long, long)} or split from a parent stream with
+ * {@link #split()}. Being a {@linkplain Random}, it can be handed to anything
+ * expecting one, such as the {@linkplain ShipPlacer}.
+ *
+ * @author Angelo Oparah
+ *
+ */
+public class SplitMixRandom extends Random
+{
+	private static final long serialVersionUID = 1L;
+
+	/** increment of the state at each step (the golden ratio). */
+	private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+	/**
+	 * current state of the generator. Note: not initialized here, as it is set
+	 * by {@link #setSeed(long)} while the superclass is being constructed.
+	 */
+	private long state;
+
+
+	/**
+	 * Builds a new stream starting from the given seed.
+	 *
+	 * @param seed
+	 *            the initial seed.
+	 */
+	public SplitMixRandom(long seed)
+	{
+		super(seed);
+	}
+
+	/**
+	 * Returns the stream of the given index within the family of streams of
+	 * the given seed: the same pair always produces the same stream, whatever
+	 * the order the streams are created in, and different indexes produce
+	 * statistically independent streams.
+	 *
+	 * @param seed
+	 *            the seed of the family of streams.
+	 * @param index
+	 *            the index of the stream within the family.
+	 * @return a new stream.
+	 */
+	public static SplitMixRandom forIndex(long seed, long index)
+	{
+		return new SplitMixRandom(mix(seed) ^ mix(index * GOLDEN_GAMMA + GOLDEN_GAMMA));
+	}
+
+	/**
+	 * Returns a new stream, statistically independent from this one, and
+	 * advances this one.
+	 *
+	 * @return a new stream.
+	 */
+	public SplitMixRandom split()
+	{
+		return new SplitMixRandom(nextLong());
+	}
+
+	@Override
+	public void setSeed(long seed)
+	{
+		state = seed;
+	}
+
+	@Override
+	public long nextLong()
+	{
+		state += GOLDEN_GAMMA;
+
+		return mix(state);
+	}
+
+	@Override
+	protected int next(int bits)
+	{
+		return (int) (nextLong() >>> (Long.SIZE - bits));
+	}
+
+
+	// ============== private methods ============= //
+
+	/**
+	 * Scrambles the bits of the given value (the SplitMix64 finalizer).
+	 *
+	 * @param value
+	 *            the value to scramble.
+	 * @return the scrambled value.
+	 */
+	private static long mix(long value)
+	{
+		value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+		value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+
+		return value ^ (value >>> 31);
+	}
+}
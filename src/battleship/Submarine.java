@@ -25,9 +25,27 @@ public class Submarine extends Ship
 		super(SUBMARINE_LENGTH);
 	}
 
+	/**
+	 * Creates a real {@linkplain Ship} of length equal to
+	 * {@value #SUBMARINE_LENGTH} for a board of the given spec.
+	 *
+	 * @param spec
+	 *            spec of the board the ship will be placed onto.
+	 */
+	public Submarine(BoardSpec spec)
+	{
+		super(SUBMARINE_LENGTH, spec);
+	}
+
 	@Override
 	public String getShipType()
 	{
 		return SUBMARINE_TYPE;
 	}
+
+	@Override
+	public ShipKind getKind()
+	{
+		return ShipKind.SUBMARINE;
+	}
 }